@@ -150,6 +150,12 @@ public class BPAConfiguration {
 	@Value("${egov.localization.statelevel}")
 	private Boolean isLocalizationStateLevel;
 
+	@Value("${egov.localization.cache.expiry.seconds}")
+	private Long localizationCacheExpirySeconds;
+
+	@Value("${egov.localization.cache.max.size}")
+	private Integer localizationCacheMaxSize;
+
 	// Calculator
 	@Value("${egov.bpa.calculator.host}")
 	private String calculatorHost;
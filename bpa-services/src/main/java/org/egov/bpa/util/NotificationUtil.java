@@ -3,7 +3,6 @@ package org.egov.bpa.util;
 import static org.egov.bpa.util.BPAConstants.BILL_AMOUNT;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -27,8 +26,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
-import com.jayway.jsonpath.JsonPath;
-
 import lombok.extern.slf4j.Slf4j;
 
 @Component
@@ -45,14 +42,17 @@ public class NotificationUtil {
 	
 	private BPAUtil bpaUtil;
 
+	private LocalizationCache localizationCache;
+
 	@Autowired
 	public NotificationUtil(BPAConfiguration config, ServiceRequestRepository serviceRequestRepository,
-			Producer producer, EDCRService edcrService, BPAUtil bpaUtil) {
+			Producer producer, EDCRService edcrService, BPAUtil bpaUtil, LocalizationCache localizationCache) {
 		this.config = config;
 		this.serviceRequestRepository = serviceRequestRepository;
 		this.producer = producer;
 		this.edcrService = edcrService;
 		this.bpaUtil = bpaUtil;
+		this.localizationCache = localizationCache;
 	}
 
 	final String receiptNumberKey = "receiptNumber";
@@ -138,19 +138,7 @@ public class NotificationUtil {
 	 */
 	@SuppressWarnings("rawtypes")
 	public String getMessageTemplate(String notificationCode, String localizationMessage) {
-		String path = "$..messages[?(@.code==\"{}\")].message";
-		path = path.replace("{}", notificationCode);
-		String message = null;
-		try {
-			List data = JsonPath.parse(localizationMessage).read(path);
-			if (!CollectionUtils.isEmpty(data))
-				message = data.get(0).toString();
-			else
-				log.error("Fetching from localization failed with code " + notificationCode);
-		} catch (Exception e) {
-			log.warn("Fetching from localization failed", e);
-		}
-		return message;
+		return localizationCache.getMessageTemplate(notificationCode, localizationMessage);
 	}
 
 	/**
@@ -227,13 +215,8 @@ public class NotificationUtil {
 	 *            The requestInfo of the request
 	 * @return Localization messages for the module
 	 */
-	@SuppressWarnings("rawtypes")
 	public String getLocalizationMessages(String tenantId, RequestInfo requestInfo) {
-
-		LinkedHashMap responseMap = (LinkedHashMap) serviceRequestRepository.fetchResult(getUri(tenantId, requestInfo),
-				requestInfo);
-		String jsonString = new JSONObject(responseMap).toString();
-		return jsonString;
+		return localizationCache.getLocalizationMessages(getUri(tenantId, requestInfo), requestInfo);
 	}
 
 	/**
@@ -58,6 +58,12 @@ public class NOCConfiguration {
 
 	@Value("${egov.localization.statelevel}")
 	private Boolean isLocalizationStateLevel;
+
+	@Value("${egov.localization.cache.expiry.seconds}")
+	private Long localizationCacheExpirySeconds;
+
+	@Value("${egov.localization.cache.max.size}")
+	private Integer localizationCacheMaxSize;
 	
 	@Value("${egov.idgen.host}")
 	private String idGenHost;
@@ -1,6 +1,5 @@
 package org.egov.noc.util;
 
-import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -12,7 +11,6 @@ import org.egov.noc.producer.Producer;
 import org.egov.noc.repository.ServiceRequestRepository;
 import org.egov.noc.web.model.Noc;
 import org.egov.noc.web.model.SMSRequest;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
@@ -21,8 +19,6 @@ import static org.egov.noc.util.NOCConstants.ACTION_STATUS_INITIATED;
 import static org.egov.noc.util.NOCConstants.ACTION_STATUS_REJECTED;
 import static org.egov.noc.util.NOCConstants.ACTION_STATUS_APPROVED;
 
-import com.jayway.jsonpath.JsonPath;
-
 import lombok.extern.slf4j.Slf4j;
 
 @Component
@@ -38,6 +34,9 @@ public class NotificationUtil {
 	@Autowired
 	private ServiceRequestRepository serviceRequestRepository;
 
+	@Autowired
+	private LocalizationCache localizationCache;
+
 	
 
 	/**
@@ -106,10 +105,7 @@ public class NotificationUtil {
 	 */
 	@SuppressWarnings("rawtypes")
 	public String getLocalizationMessages(String tenantId, RequestInfo requestInfo) {
-		LinkedHashMap responseMap = (LinkedHashMap) serviceRequestRepository.fetchResult(getUri(tenantId, requestInfo),
-				requestInfo);
-		String jsonString = new JSONObject(responseMap).toString();
-		return jsonString;
+		return localizationCache.getLocalizationMessages(getUri(tenantId, requestInfo), requestInfo);
 	}
 
 	/**
@@ -160,19 +156,7 @@ public class NotificationUtil {
 	 */
 	@SuppressWarnings("rawtypes")
 	public String getMessageTemplate(String notificationCode, String localizationMessage) {
-		String path = "$..messages[?(@.code==\"{}\")].message";
-		path = path.replace("{}", notificationCode);
-		String message = null;
-		try {
-			List data = JsonPath.parse(localizationMessage).read(path);
-			if (!CollectionUtils.isEmpty(data))
-				message = data.get(0).toString();
-			else
-				log.error("Fetching from localization failed with code " + notificationCode);
-		} catch (Exception e) {
-			log.warn("Fetching from localization failed", e);
-		}
-		return message;
+		return localizationCache.getMessageTemplate(notificationCode, localizationMessage);
 	}
 
 	/**
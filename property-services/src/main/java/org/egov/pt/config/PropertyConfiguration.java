@@ -67,6 +67,12 @@ public class PropertyConfiguration {
     @Value("${egov.user.search.path}")
     private String userSearchEndpoint;
 
+    @Value("${egov.user.cache.expiry.seconds}")
+    private Long userCacheExpirySeconds;
+
+    @Value("${egov.user.cache.max.size}")
+    private Integer userCacheMaxSize;
+
 
     //IDGEN config
     
@@ -154,6 +160,9 @@ public class PropertyConfiguration {
     @Value("${pt.search.pagination.max.search.limit}")
     private Long maxSearchLimit;
 
+    @Value("${pt.bulk.extract.fetch.size}")
+    private Integer bulkExtractFetchSize;
+
     //Localization
     @Value("${egov.localization.host}")
     private String localizationHost;
@@ -302,6 +311,12 @@ public class PropertyConfiguration {
     @Value("${egov.localization.statelevel}")
     private Boolean isLocalizationStateLevel;
 
+    @Value("${egov.localization.cache.expiry.seconds}")
+    private Long localizationCacheExpirySeconds;
+
+    @Value("${egov.localization.cache.max.size}")
+    private Integer localizationCacheMaxSize;
+
 
     // url shortner
 
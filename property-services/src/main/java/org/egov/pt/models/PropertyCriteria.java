@@ -44,6 +44,8 @@ public class PropertyCriteria {
 	private Long limit;
 	
 	private String locality;
+
+	private String continuationToken;
 	
 	
 	
@@ -38,5 +38,8 @@ public class MigrationCount   {
     @JsonProperty("recordCount")
     private Long recordCount;
 
+    @JsonProperty("lastMigratedId")
+    private String lastMigratedId;
+
 }
 
@@ -65,6 +65,8 @@ public class OldPropertyCriteria {
 
 	private String propertyId;
 
+	private String lastPropertyId;
+
 
 
 	public Boolean isNull(){
@@ -1,13 +1,16 @@
 package org.egov.pt.repository;
 
+import java.sql.PreparedStatement;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.egov.common.contract.request.RequestInfo;
+import org.egov.pt.config.PropertyConfiguration;
 import org.egov.pt.models.OwnerInfo;
 import org.egov.pt.models.Property;
 import org.egov.pt.models.PropertyCriteria;
@@ -21,12 +24,13 @@ import org.egov.pt.repository.rowmapper.PropertyRowMapper;
 import org.egov.pt.service.UserService;
 import org.egov.pt.util.PropertyUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
-import com.google.common.collect.Sets;
 import org.springframework.util.ObjectUtils;
 
 @Repository
@@ -52,6 +56,9 @@ public class PropertyRepository {
 	
     @Autowired
     private UserService userService;
+
+	@Autowired
+	private PropertyConfiguration config;
     
 	public List<String> getPropertyIds(Set<String> ownerIds) {
 
@@ -90,6 +97,56 @@ public class PropertyRepository {
 		preparedStmtList.add(criteria.getLimit());
 		return jdbcTemplate.query(builder.toString(), preparedStmtList.toArray(), new SingleColumnRowMapper<>(String.class));
 	}
+
+	/**
+	 * Fetches the next page of property ids ordered on last modified time and id,
+	 * seeking past the given key on the (lastmodifiedtime, id) index instead of
+	 * skipping an offset. A null last modified time is keyed as 0, so such
+	 * properties come first instead of being left out
+	 *
+	 * @param criteria PropertyCriteria with the tenantId and limit of the page
+	 * @param lastModifiedTime Last modified time of the last property of the previous page, null for the first page
+	 * @param lastId Id of the last property of the previous page, null for the first page
+	 * @return Map of property id to last modified time in the order of the keys
+	 */
+	public LinkedHashMap<String, Long> fetchIdsAfter(PropertyCriteria criteria, Long lastModifiedTime, String lastId) {
+		List<Object> preparedStmtList = new ArrayList<>();
+		StringBuilder builder = new StringBuilder(
+				"select id, coalesce(lastmodifiedtime, 0) as modifiedtime from eg_pt_property where true");
+		if (!ObjectUtils.isEmpty(criteria.getTenantId())) {
+			builder.append(" and tenantid=?");
+			preparedStmtList.add(criteria.getTenantId());
+		}
+		if (lastModifiedTime != null) {
+			builder.append(" and (coalesce(lastmodifiedtime, 0), id) > (?, ?)");
+			preparedStmtList.add(lastModifiedTime);
+			preparedStmtList.add(lastId);
+		}
+		builder.append(" order by coalesce(lastmodifiedtime, 0),id limit ?");
+		preparedStmtList.add(criteria.getLimit());
+
+		LinkedHashMap<String, Long> keys = new LinkedHashMap<>();
+		jdbcTemplate.query(builder.toString(), preparedStmtList.toArray(),
+				rs -> { keys.put(rs.getString("id"), rs.getLong("modifiedtime")); });
+		return keys;
+	}
+
+	/**
+	 * Bulk search reading the joined rows with the configured fetch size, so
+	 * that the driver does not buffer the whole result of a large page. The
+	 * driver only honours the fetch size inside a transaction
+	 */
+	@Transactional(readOnly = true)
+	public List<Property> getPropertiesForBulkExtract(PropertyCriteria criteria) {
+		List<Object> preparedStmtList = new ArrayList<>();
+		String query = queryBuilder.getPropertyQueryForBulkSearch(criteria, preparedStmtList);
+		return jdbcTemplate.query(connection -> {
+			PreparedStatement statement = connection.prepareStatement(query);
+			statement.setFetchSize(config.getBulkExtractFetchSize());
+			new ArgumentPreparedStatementSetter(preparedStmtList.toArray()).setValues(statement);
+			return statement;
+		}, rowMapper);
+	}
 	/**
 	 * Returns list of properties based on the given propertyCriteria with owner
 	 * fields populated from user service
@@ -116,10 +173,7 @@ public class PropertyRepository {
 		Set<String> ownerIds = properties.stream().map(Property::getOwners).flatMap(List::stream)
 				.map(OwnerInfo::getUuid).collect(Collectors.toSet());
 
-		UserSearchRequest userSearchRequest = userService.getBaseUserSearchRequest(criteria.getTenantId(), requestInfo);
-		userSearchRequest.setUuid(ownerIds);
-
-		UserDetailResponse userDetailResponse = userService.getUser(userSearchRequest);
+		UserDetailResponse userDetailResponse = userService.getUsersByUuid(ownerIds, criteria.getTenantId(), requestInfo);
 		util.enrichOwner(userDetailResponse, properties, isOpenSearch);
 		return properties;
 	}
@@ -157,18 +211,28 @@ public class PropertyRepository {
 		if(criteria.getTenantId() == null)
 			userTenant = requestInfo.getUserInfo().getTenantId();
 
-		UserSearchRequest userSearchRequest = userService.getBaseUserSearchRequest(userTenant, requestInfo);
-		userSearchRequest.setMobileNumber(criteria.getMobileNumber());
-		userSearchRequest.setName(criteria.getName());
-		userSearchRequest.setUuid(ownerIds);
+		if (ownerIds.isEmpty() && criteria.getName() == null && criteria.getMobileNumber() != null) {
 
-		UserDetailResponse userDetailResponse = userService.getUser(userSearchRequest);
-		if (CollectionUtils.isEmpty(userDetailResponse.getUser()))
-			return true;
+			// search on the mobile number alone, served from the user cache
+			Set<String> userIds = userService.getUuidsByMobileNumber(userTenant, criteria.getMobileNumber(), requestInfo);
+			if (CollectionUtils.isEmpty(userIds))
+				return true;
+			ownerIds.addAll(userIds);
+		} else {
+
+			UserSearchRequest userSearchRequest = userService.getBaseUserSearchRequest(userTenant, requestInfo);
+			userSearchRequest.setMobileNumber(criteria.getMobileNumber());
+			userSearchRequest.setName(criteria.getName());
+			userSearchRequest.setUuid(ownerIds);
+
+			UserDetailResponse userDetailResponse = userService.getUser(userSearchRequest);
+			if (CollectionUtils.isEmpty(userDetailResponse.getUser()))
+				return true;
+			ownerIds.addAll(userDetailResponse.getUser().stream().map(User::getUuid).collect(Collectors.toSet()));
+		}
 
 		// fetching property id from owner table and enriching criteria
-		ownerIds.addAll(userDetailResponse.getUser().stream().map(User::getUuid).collect(Collectors.toSet()));
-		List<String> propertyIds = getPropertyIds(ownerIds);
+		Set<String> propertyIds = new HashSet<>(getPropertyIds(ownerIds));
 
 		// returning empty list if no property id found for user criteria
 		if (CollectionUtils.isEmpty(propertyIds)) {
@@ -177,20 +241,15 @@ public class PropertyRepository {
 		} else if (!CollectionUtils.isEmpty(criteria.getPropertyIds())) {
 
 			// eliminating property Ids not matching with Ids found using user data
-
-			Set<String> givenIds = criteria.getPropertyIds();
-
-			givenIds.forEach(id -> {
-
-				if (!propertyIds.contains(id))
-					givenIds.remove(id);
-			});
+			Set<String> givenIds = new HashSet<>(criteria.getPropertyIds());
+			givenIds.retainAll(propertyIds);
 
 			if (CollectionUtils.isEmpty(givenIds))
 				return true;
+			criteria.setPropertyIds(givenIds);
 		} else {
 
-			criteria.setPropertyIds(Sets.newHashSet(propertyIds));
+			criteria.setPropertyIds(propertyIds);
 		}
 
 		return false;
@@ -24,7 +24,8 @@ public class MigrationCountRowMapper implements ResultSetExtractor<MigrationCoun
 
 		while(rs.next()){
 			migrationCount = MigrationCount.builder().id(rs.getString("id")).offset(rs.getLong("batch")).limit(rs.getLong("batchsize"))
-					.createdTime(rs.getLong("createdtime")).tenantid(rs.getString("tenantid")).recordCount(rs.getLong("recordCount")).build();
+					.createdTime(rs.getLong("createdtime")).tenantid(rs.getString("tenantid")).recordCount(rs.getLong("recordCount"))
+					.lastMigratedId(rs.getString("lastmigratedid")).build();
 		}
 		return migrationCount;
 	}
@@ -12,6 +12,7 @@ import org.egov.common.contract.request.RequestInfo;
 import org.egov.pt.config.PropertyConfiguration;
 import org.egov.pt.models.Assessment;
 import org.egov.pt.models.AssessmentSearchCriteria;
+import org.egov.pt.models.Difference;
 import org.egov.pt.models.Property;
 import org.egov.pt.models.enums.Status;
 import org.egov.pt.models.workflow.BusinessService;
@@ -199,13 +200,14 @@ public class AssessmentService {
 	private Boolean isWorkflowTriggered(Assessment assessment, Assessment assessmentFromSearch){
 
 		Boolean isWorkflowTriggeredByFieldChange = false;
-		List<String> fieldsUpdated = diffService.getUpdatedFields(assessment, assessmentFromSearch, "");
+		// third variable is needed only for mutation
+		Difference difference = diffService.getDifference(assessment, assessmentFromSearch, "");
+		List<String> fieldsUpdated = difference.getFieldsChanged();
 
 		if(!CollectionUtils.isEmpty(fieldsUpdated))
 			isWorkflowTriggeredByFieldChange = intersection(new LinkedList<>(Arrays.asList(config.getAssessmentWorkflowTriggerParams().split(","))), fieldsUpdated);
 
-		// third variable is needed only for mutation
-		List<String> objectsAdded = diffService.getObjectsAdded(assessment, assessmentFromSearch, "");
+		List<String> objectsAdded = difference.getClassesAdded();
 
 		Boolean isWorkflowTriggeredByObjectAddition = false;
 		if(!CollectionUtils.isEmpty(objectsAdded))
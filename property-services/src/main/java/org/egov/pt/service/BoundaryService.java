@@ -2,8 +2,10 @@ package org.egov.pt.service;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.pt.models.Locality;
@@ -22,6 +24,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Service
 public class BoundaryService {
 
@@ -34,14 +41,20 @@ public class BoundaryService {
 	@Value("${egov.location.endpoint}")
 	private String locationEndpoint;
 
+	@Value("${egov.location.cache.expiry.seconds}")
+	private Long cacheExpirySeconds;
+
 	@Autowired
 	private ServiceRequestRepository serviceRequestRepository;
 
 	@Autowired
 	private ObjectMapper mapper;
 
+	private final Map<String, TenantBoundaries> boundaryCache = new ConcurrentHashMap<>();
+
 	/**
-	 * Enriches the locality object by calling the location service
+	 * Enriches the locality object from the cached localities of the tenant,
+	 * the location service is called for a locality missing in the cache
 	 * 
 	 * @param request
 	 *            PropertyRequest for create
@@ -53,11 +66,37 @@ public class BoundaryService {
 		if (ObjectUtils.isEmpty(property))
 			return;
 
-		String tenantId = property.getTenantId();
-
 		if (property.getAddress() == null || property.getAddress().getLocality() == null)
 			throw new CustomException("INVALID ADDRESS", "The address or locality cannot be null");
 
+		TenantBoundaries boundaries = getTenantBoundaries(property.getTenantId(), requestInfo, hierarchyTypeCode);
+		Locality boundary = boundaries.getLocalities().get(property.getAddress().getLocality().getCode());
+
+		if (boundary == null) {
+			fetchAreaType(property, requestInfo, hierarchyTypeCode);
+			boundaries.getLocalities().putIfAbsent(property.getAddress().getLocality().getCode(),
+					copyOf(property.getAddress().getLocality()));
+			return;
+		}
+
+		if (boundary.getName() == null)
+			throw new CustomException("INVALID BOUNDARY DATA", "The boundary data for the code "
+					+ property.getAddress().getLocality().getCode() + " is not available");
+		property.getAddress().setLocality(copyOf(boundary));
+	}
+
+	/**
+	 * Enriches the locality object by calling the location service
+	 * 
+	 * @param request
+	 *            PropertyRequest for create
+	 * @param hierarchyTypeCode
+	 *            HierarchyTypeCode of the boundaries
+	 */
+	private void fetchAreaType(Property property, RequestInfo requestInfo, String hierarchyTypeCode) {
+
+		String tenantId = property.getTenantId();
+
 		StringBuilder uri = new StringBuilder(locationHost);
 		uri.append(locationContextPath).append(locationEndpoint);
 		uri.append("?").append("tenantId=").append(tenantId);
@@ -113,4 +152,82 @@ public class BoundaryService {
 		return propertyIdToJsonPath;
 	}
 
+	/**
+	 * Returns the localities of the tenant keyed on code, the localities are
+	 * loaded with a single location service call per tenant and hierarchy and
+	 * loaded again once the cache expiry is crossed
+	 * 
+	 * On failure of the load the stale localities are used if present, else the
+	 * localities are fetched one by one
+	 */
+	private TenantBoundaries getTenantBoundaries(String tenantId, RequestInfo requestInfo, String hierarchyTypeCode) {
+
+		String key = tenantId + "|" + hierarchyTypeCode;
+		TenantBoundaries boundaries = boundaryCache.get(key);
+		if (boundaries != null && System.currentTimeMillis() - boundaries.getLoadedTime() < cacheExpirySeconds * 1000L)
+			return boundaries;
+
+		try {
+			TenantBoundaries loadedBoundaries = new TenantBoundaries(fetchLocalities(tenantId, requestInfo, hierarchyTypeCode),
+					System.currentTimeMillis());
+			boundaryCache.put(key, loadedBoundaries);
+			return loadedBoundaries;
+		} catch (Exception e) {
+			log.error("Failed to load the boundaries of tenant " + tenantId, e);
+			return boundaries != null ? boundaries : new TenantBoundaries(new ConcurrentHashMap<>(), System.currentTimeMillis());
+		}
+	}
+
+	/**
+	 * Fetches all the localities of the tenant from the location service
+	 * 
+	 * @return Map of locality code to locality
+	 */
+	@SuppressWarnings("unchecked")
+	private Map<String, Locality> fetchLocalities(String tenantId, RequestInfo requestInfo, String hierarchyTypeCode) {
+
+		StringBuilder uri = new StringBuilder(locationHost);
+		uri.append(locationContextPath).append(locationEndpoint);
+		uri.append("?").append("tenantId=").append(tenantId);
+		if (hierarchyTypeCode != null)
+			uri.append("&").append("hierarchyTypeCode=").append(hierarchyTypeCode);
+		uri.append("&").append("boundaryType=").append("Locality");
+
+		Map<String, Locality> localities = new ConcurrentHashMap<>();
+		Optional<Object> response = serviceRequestRepository.fetchResult(uri, RequestInfoWrapper.builder().requestInfo(requestInfo).build());
+		if (!response.isPresent() || CollectionUtils.isEmpty((Map<String, Object>) response.get()))
+			throw new CustomException("BOUNDARY ERROR", "The response from location service is empty or null");
+
+		List<Object> boundaryResponse = JsonPath.read(response.get(), "$..boundary[*]");
+		boundaryResponse.forEach(boundaryObject -> indexLocality(mapper.convertValue(boundaryObject, Locality.class), localities));
+		return localities;
+	}
+
+	private void indexLocality(Locality locality, Map<String, Locality> localities) {
+
+		if (locality.getCode() != null)
+			localities.putIfAbsent(locality.getCode(), locality);
+		if (!CollectionUtils.isEmpty(locality.getChildren()))
+			locality.getChildren().forEach(child -> indexLocality(child, localities));
+	}
+
+	/**
+	 * Cached localities are shared, every property gets its own copy
+	 */
+	private Locality copyOf(Locality locality) {
+
+		return Locality.builder().code(locality.getCode()).name(locality.getName()).label(locality.getLabel())
+				.latitude(locality.getLatitude()).longitude(locality.getLongitude()).area(locality.getArea())
+				.children(locality.getChildren()).materializedPath(locality.getMaterializedPath()).build();
+	}
+
+	@Getter
+	@AllArgsConstructor
+	private static class TenantBoundaries {
+
+		private final Map<String, Locality> localities;
+
+		private final long loadedTime;
+	}
+
 }
@@ -8,6 +8,7 @@ import java.math.BigDecimal;
 import java.util.LinkedList;
 import java.util.List;
 
+import org.egov.pt.models.Difference;
 import org.egov.pt.models.Document;
 import org.egov.pt.models.OwnerInfo;
 import org.egov.pt.models.Property;
@@ -17,6 +18,7 @@ import org.javers.core.Javers;
 import org.javers.core.JaversBuilder;
 import org.javers.core.diff.Diff;
 import org.javers.core.diff.changetype.NewObject;
+import org.javers.core.diff.changetype.ObjectRemoved;
 import org.javers.core.diff.changetype.ValueChange;
 import org.javers.core.diff.custom.BigDecimalComparatorWithFixedEquals;
 import org.springframework.stereotype.Service;
@@ -25,9 +27,36 @@ import org.springframework.util.CollectionUtils;
 @Service
 public class DiffService {
 	
-	private Javers javers;
-	
-	private Javers javersForMutation;
+	/**
+	 * Javers instances are thread safe, both are built once on startup instead
+	 * of lazily from the request threads
+	 */
+	private final Javers javers = JaversBuilder.javers()
+			.registerValue(BigDecimal.class, new BigDecimalComparatorWithFixedEquals()).build();
+
+	private final Javers javersForMutation = JaversBuilder.javers()
+			.registerValue(BigDecimal.class, new BigDecimalComparatorWithFixedEquals())
+			.registerIgnoredClass(OwnerInfo.class)
+			.registerIgnoredClass(Document.class).build();
+
+    /**
+     * Gives the fields changed and the classes added from a single diff of the
+     * two objects, the objects added by the update are the objects removed when
+     * the update is compared against the object from db
+     *
+     * @param propertyFromUpdate Property from update request
+     * @param propertyFromSearch Property from db on which update is called
+     * @return Difference holding the fields changed and the classes added
+     */
+    public Difference getDifference(Object propertyFromUpdate, Object propertyFromSearch, String flowType) {
+
+        Diff diff = getJavers(flowType).compare(propertyFromUpdate, propertyFromSearch);
+
+        Difference difference = new Difference();
+        difference.setFieldsChanged(getUpdatedFields(diff));
+        difference.setClassesAdded(getClassNames(diff.getObjectsByChangeType(ObjectRemoved.class)));
+        return difference;
+    }
 
     /**
      * Gives the field names whose values are different in the two classes
@@ -40,7 +69,11 @@ public class DiffService {
 
         Javers javers = getJavers(flowType);
 
-        Diff diff = javers.compare(propertyFromUpdate, propertyFromSearch);
+        return getUpdatedFields(javers.compare(propertyFromUpdate, propertyFromSearch));
+    }
+
+    private List<String> getUpdatedFields(Diff diff) {
+
         List<ValueChange> changes = diff.getChangesByType(ValueChange.class);
 
         List<String> updatedFields = new LinkedList<>();
@@ -69,7 +102,10 @@ public class DiffService {
 		Javers javers = getJavers(flowType);
 
 		Diff diff = javers.compare(propertyFromSearch, propertyFromUpdate);
-		List objectsAdded = diff.getObjectsByChangeType(NewObject.class);
+		return getClassNames(diff.getObjectsByChangeType(NewObject.class));
+    }
+
+    private List<String> getClassNames(List objectsAdded) {
 
 		List<String> classModified = new LinkedList<>();
 
@@ -137,29 +173,14 @@ public class DiffService {
 	 */
 	private Javers getJavers(String flowType) {
 
-		Javers javersLocal = null;
-
 		switch (flowType) {
 
 		case PTConstants.MUTATION_PROCESS_CONSTANT:
-
-			if (javersForMutation == null)
-				javersForMutation = JaversBuilder.javers()
-						.registerValue(BigDecimal.class, new BigDecimalComparatorWithFixedEquals())
-						.registerIgnoredClass(OwnerInfo.class)
-						.registerIgnoredClass(Document.class).build();
-			
-			javersLocal = javersForMutation;
-			break;
+			return javersForMutation;
 
 		default:
-			if (javers == null)
-				javers = JaversBuilder.javers()
-						.registerValue(BigDecimal.class, new BigDecimalComparatorWithFixedEquals()).build();
-			javersLocal = javers;
+			return javers;
 		}
-
-		return javersLocal;
 	}
 
 }
@@ -5,6 +5,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.jayway.jsonpath.JsonPath;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.egov.common.contract.request.RequestInfo;
@@ -54,6 +56,10 @@ import java.math.BigDecimal;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.egov.pt.util.PTConstants.*;
 
@@ -124,16 +130,20 @@ public class MigrationService {
     @Value("${migration.batch.value}")
     private Integer batchSize;
 
-    @Value("${migration.offset.value}")
-    private Integer batchOffset;
+    @Value("${migration.worker.count}")
+    private Integer migrationWorkerCount;
 
-    private Integer count2=0;
+    @Value("${migration.pending.batch.count}")
+    private Integer migrationPendingBatches;
+
+    private AtomicInteger count2 = new AtomicInteger();
 
     public static final String COUNT_QUERY = "select count(*) from eg_pt_property_v2 where tenantid = '{}';";
     public static final String TENANT_QUERY = "select distinct tenantid from eg_pt_property_v2;";
+    public static final String MIGRATED_PROPERTY_ID_QUERY = "select propertyid from eg_pt_property where tenantid = ? and propertyid in ";
     public static final String MIGARTION_COUNT_QUERY = "select count(*) from eg_pt_property_migration;";
     //public static final String MIGARTION_POINT_QUERY = "select offset from eg_pt_property_migration;";
-    public static final String MIGARTION_POINT_QUERY ="select id,batch,batchsize,createdtime,tenantid,recordCount from eg_pt_property_migration as migration where tenantid = ? and createdtime = (select max(createdtime) from eg_pt_property_migration where tenantid = ?);";
+    public static final String MIGARTION_POINT_QUERY ="select id,batch,batchsize,createdtime,tenantid,recordCount,lastmigratedid from eg_pt_property_migration as migration where tenantid = ? and createdtime = (select max(createdtime) from eg_pt_property_migration where tenantid = ?);";
 
 
 
@@ -162,28 +172,25 @@ public class MigrationService {
         if(StringUtils.isEmpty(propertyCriteria.getLimit()))
             propertyCriteria.setLimit(Long.valueOf(batchSize));
 
-        if(StringUtils.isEmpty(propertyCriteria.getOffset()))
-            propertyCriteria.setLimit(Long.valueOf(batchOffset));
-
         for(int i= 0;i<tenantList.size();i++){
             MigrationCount migrationCount = getMigrationCountForTenant(tenantList.get(i));
-            System.out.println("\n\nMigration count--->"+migrationCount.toString()+"\n\n");
+            log.info("Migration checkpoint of tenant " + tenantList.get(i) + " : " + migrationCount.getLastMigratedId());
+            propertyCriteria.setTenantId(tenantList.get(i));
             if(ObjectUtils.isEmpty(migrationCount) || migrationCount.getId() == null){
-                propertyCriteria.setTenantId(tenantList.get(i));
-                resultMap = initiatemigration(requestInfoWrapper, propertyCriteria,masters,errorMap);
+                propertyCriteria.setLastPropertyId(null);
+                resultMap = initiatemigration(requestInfoWrapper, propertyCriteria,masters,errorMap,0l);
             }
             else{
                 long count = getTenantCount(tenantList.get(i));
 
-                System.out.println("\n\ntenant--->"+tenantList.get(i)+"\n\n");
-                System.out.println("\n\ncount--->"+count+"\n\n");
-
                 if(migrationCount.getRecordCount() >= count)
                     continue;
                 else{
-                    propertyCriteria.setTenantId(tenantList.get(i));
-                    propertyCriteria.setOffset(migrationCount.getOffset()+migrationCount.getLimit());
-                    resultMap = initiatemigration(requestInfoWrapper, propertyCriteria,masters,errorMap);
+                    // a checkpoint without the last migrated id restarts from the first property,
+                    // so its record count, which the restart counts again, is not carried over
+                    long migratedCount = migrationCount.getLastMigratedId() == null ? 0l : migrationCount.getRecordCount();
+                    propertyCriteria.setLastPropertyId(migrationCount.getLastMigratedId());
+                    resultMap = initiatemigration(requestInfoWrapper, propertyCriteria,masters,errorMap,migratedCount);
                 }
 
             }
@@ -191,56 +198,120 @@ public class MigrationService {
         return resultMap;
     }
 
-    public Map<String, String> initiatemigration(RequestInfoWrapper requestInfoWrapper,OldPropertyCriteria propertyCriteria,Map<String, List<String>> masters,Map<String, String> errorMap) {
+    /**
+     * Migrates the properties of the tenant after the lastPropertyId of the criteria.
+     *
+     * Batches are fetched in the order of property id and handed to a pool of
+     * migrationWorkerCount workers which convert and publish them. Fetching
+     * waits for the oldest batch once migrationPendingBatches batches are in
+     * flight, and a checkpoint with the last property id of a batch is pushed
+     * only after all the batches before it are published, so that a failed run
+     * resumes after the last fully published batch.
+     */
+    public Map<String, String> initiatemigration(RequestInfoWrapper requestInfoWrapper,OldPropertyCriteria propertyCriteria,Map<String, List<String>> masters,Map<String, String> errorMap,long recordCount) {
 
         RequestInfo requestInfo = requestInfoWrapper.getRequestInfo();
-        List<Property> properties = new ArrayList<>();
         Map<String, String> responseMap = new HashMap<>();
+        Map<String, String> batchErrorMap = Collections.synchronizedMap(errorMap);
+        String tenantId = propertyCriteria.getTenantId();
+        int batchSizeInput = Math.toIntExact(propertyCriteria.getLimit());
+
+        long count = getTenantCount(tenantId);
+        log.info("Count: "+count);
+        log.info("Last migrated property id: "+propertyCriteria.getLastPropertyId());
 
-        Integer startBatch = Math.toIntExact(propertyCriteria.getOffset());
-        Integer batchSizeInput = Math.toIntExact(propertyCriteria.getLimit());
+        ExecutorService executor = Executors.newFixedThreadPool(migrationWorkerCount);
+        Deque<MigrationBatch> pendingBatches = new ArrayDeque<>();
+        long startTime = System.currentTimeMillis();
+        long migratedCount = 0;
+        MigrationBatch batch = null;
 
+        try {
+            boolean hasNext = true;
+            while (hasNext || !pendingBatches.isEmpty()) {
+
+                if (hasNext && pendingBatches.size() < migrationPendingBatches) {
+                    List<OldProperty> oldProperties = searchOldPropertyFromURL(requestInfoWrapper, propertyCriteria);
+                    hasNext = oldProperties.size() >= batchSizeInput;
+                    if (oldProperties.isEmpty())
+                        continue;
+
+                    String lastPropertyId = oldProperties.get(oldProperties.size() - 1).getPropertyId();
+                    propertyCriteria.setLastPropertyId(lastPropertyId);
+                    pendingBatches.add(new MigrationBatch(lastPropertyId, oldProperties.size(), executor.submit(
+                            () -> migrateProperty(requestInfo, getPropertiesToMigrate(tenantId, oldProperties), masters, batchErrorMap))));
+
+                    if (!pendingBatches.peek().getProperties().isDone())
+                        continue;
+                }
 
-        long count = getTenantCount(propertyCriteria.getTenantId());
-        log.info("Count: "+count);
-        log.info("startbatch: "+startBatch);
-
-        while(startBatch<count) {
-            long startTime = System.nanoTime();
-            List<OldProperty> oldProperties = searchOldPropertyFromURL(requestInfoWrapper,propertyCriteria) ;
-            try {
-                properties= migrateProperty(requestInfo,oldProperties,masters,errorMap);
-            } catch (Exception e) {
-
-                log.error("Migration failed at batch count of : " + startBatch);
-                responseMap.put( "Migration failed at batch count : " + startBatch, e.getMessage());
-                return responseMap;
+                batch = pendingBatches.poll();
+                addResponseToMap(batch.getProperties().get(),responseMap,"SUCCESS");
+
+                recordCount += batch.getSize();
+                migratedCount += batch.getSize();
+                pushMigrationCount(requestInfo, tenantId, batch.getLastPropertyId(), batchSizeInput, recordCount);
+
+                long elapsedSeconds = Math.max(1, (System.currentTimeMillis() - startTime) / 1000);
+                log.info("Migrated " + recordCount + " of " + count + " properties of tenant " + tenantId + ", throughput: "
+                        + migratedCount / elapsedSeconds + " properties/s, lag: " + Math.max(0, count - recordCount)
+                        + " properties, batches in flight: " + pendingBatches.size());
             }
-            addResponseToMap(properties,responseMap,"SUCCESS");
-            log.info(" count completed for batch : " + startBatch);
-            long endtime = System.nanoTime();
-            long elapsetime = endtime - startTime;
-            log.info("\n\nBatch elapsed time: "+elapsetime+"\n\n");
-
-            MigrationCount migrationCount = new MigrationCount();
-            migrationCount.setId(UUID.randomUUID().toString());
-            migrationCount.setOffset(Long.valueOf(startBatch));
-            migrationCount.setLimit(Long.valueOf(batchSizeInput));
-            migrationCount.setCreatedTime(System.currentTimeMillis());
-            migrationCount.setTenantid(propertyCriteria.getTenantId());
-            migrationCount.setRecordCount(Long.valueOf(startBatch+batchSizeInput));
-            PropertyMigrationCountRequest request = PropertyMigrationCountRequest.builder().requestInfo(requestInfo).migrationCount(migrationCount).build();
-            producer.push(config.getMigartionBatchCountTopic(), request);
-
-            startBatch = startBatch+batchSizeInput;
-            propertyCriteria.setOffset(Long.valueOf(startBatch));
-            System.out.println("Property Count which pushed into kafka topic:"+count2);
+        } catch (Exception e) {
+            String failedAfter = batch == null ? propertyCriteria.getLastPropertyId() : batch.getLastPropertyId();
+            log.error("Migration failed for tenant " + tenantId + " after property id : " + failedAfter, e);
+            responseMap.put("Migration failed for tenant " + tenantId + " after property id : " + failedAfter, e.getMessage());
+        } finally {
+            executor.shutdownNow();
         }
-        propertyCriteria.setOffset(Long.valueOf(batchOffset));
+
+        log.info("Property Count which pushed into kafka topic:"+count2.get());
+        propertyCriteria.setLastPropertyId(null);
         return responseMap;
 
     }
 
+    private void pushMigrationCount(RequestInfo requestInfo, String tenantId, String lastMigratedId, long batchSize, long recordCount) {
+
+        MigrationCount migrationCount = new MigrationCount();
+        migrationCount.setId(UUID.randomUUID().toString());
+        migrationCount.setOffset(recordCount);
+        migrationCount.setLimit(batchSize);
+        migrationCount.setCreatedTime(System.currentTimeMillis());
+        migrationCount.setTenantid(tenantId);
+        migrationCount.setRecordCount(recordCount);
+        migrationCount.setLastMigratedId(lastMigratedId);
+        PropertyMigrationCountRequest request = PropertyMigrationCountRequest.builder().requestInfo(requestInfo).migrationCount(migrationCount).build();
+        producer.push(config.getMigartionBatchCountTopic(), request);
+    }
+
+    /**
+     * Drops the properties already present in the new tables, published by a
+     * run which failed before its checkpoint
+     */
+    private List<OldProperty> getPropertiesToMigrate(String tenantId, List<OldProperty> oldProperties) {
+
+        List<Object> preparedStmtList = new ArrayList<>();
+        preparedStmtList.add(tenantId);
+        StringBuilder query = new StringBuilder(MIGRATED_PROPERTY_ID_QUERY).append("(");
+        for (int i = 0; i < oldProperties.size(); i++) {
+            query.append(i == 0 ? "?" : ",?");
+            preparedStmtList.add(oldProperties.get(i).getPropertyId());
+        }
+        query.append(")");
+
+        Set<String> migratedIds = new HashSet<>(jdbcTemplate.queryForList(query.toString(), preparedStmtList.toArray(), String.class));
+        if (migratedIds.isEmpty())
+            return oldProperties;
+        log.info("Skipping already migrated properties: " + migratedIds);
+        List<OldProperty> propertiesToMigrate = new ArrayList<>();
+        oldProperties.forEach(oldProperty -> {
+            if (!migratedIds.contains(oldProperty.getPropertyId()))
+                propertiesToMigrate.add(oldProperty);
+        });
+        return propertiesToMigrate;
+    }
+
     private void addResponseToMap(List<Property> properties, Map<String, String> responseMap, String message) {
 
         properties.forEach(property -> {
@@ -273,8 +344,10 @@ public class MigrationService {
 
         StringBuilder url = new StringBuilder(ptHost).append(oldPropertySearchEndpoint).append(URL_PARAMS_SEPARATER)
                 .append(TENANT_ID_FIELD_FOR_SEARCH_URL).append(propertyCriteria.getTenantId())
-                .append(SEPARATER).append(OFFSET_FIELD_FOR_SEARCH_URL).append(propertyCriteria.getOffset())
-                .append(SEPARATER).append(LIMIT_FIELD_FOR_SEARCH_URL).append(propertyCriteria.getLimit());
+                .append(SEPARATER).append(LIMIT_FIELD_FOR_SEARCH_URL).append(propertyCriteria.getLimit())
+                .append(SEPARATER).append(PAGINATION_MODE_FIELD_FOR_SEARCH_URL).append(PAGINATION_MODE_KEYSET);
+        if(!StringUtils.isEmpty(propertyCriteria.getLastPropertyId()))
+            url.append(SEPARATER).append(LAST_PROPERTY_ID_FIELD_FOR_SEARCH_URL).append(propertyCriteria.getLastPropertyId());
 
 
         OldPropertyResponse res = mapper.convertValue(fetchResult(url, requestInfoWrapper), OldPropertyResponse.class);
@@ -574,7 +647,7 @@ public class MigrationService {
                     migrateAssesment(oldProperty.getPropertyDetails().get(i),property,requestInfo,errorMap,masters,units);
 
             }
-            count2++;
+            count2.incrementAndGet();
         }
 
         return properties;
@@ -1102,4 +1175,15 @@ public class MigrationService {
         return response;
     }
 
+
+    @Getter
+    @AllArgsConstructor
+    private static class MigrationBatch {
+
+        private final String lastPropertyId;
+
+        private final int size;
+
+        private final Future<List<Property>> properties;
+    }
 }
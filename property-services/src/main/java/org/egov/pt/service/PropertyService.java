@@ -2,6 +2,7 @@ package org.egov.pt.service;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -15,7 +16,6 @@ import org.egov.pt.models.PropertyCriteria;
 import org.egov.pt.models.enums.CreationReason;
 import org.egov.pt.models.enums.Status;
 import org.egov.pt.models.user.UserDetailResponse;
-import org.egov.pt.models.user.UserSearchRequest;
 import org.egov.pt.models.workflow.State;
 import org.egov.pt.producer.Producer;
 import org.egov.pt.repository.PropertyRepository;
@@ -35,6 +35,8 @@ import com.google.common.collect.Sets;
 @Service
 public class PropertyService {
 
+    private static final String CONTINUATION_TOKEN_SEPARATOR = ",";
+
     @Autowired
     private Producer producer;
 
@@ -330,13 +332,76 @@ public class PropertyService {
 		List<Property> properties = repository.getPropertiesForBulkSearch(propertyCriteria);
 		if(properties.isEmpty())
 			return Collections.emptyList();
+		enrichOwners(properties, criteria.getTenantId(), requestInfo);
+		return properties;
+	}
+
+	/**
+	 * Returns the page of properties after the continuation token of the
+	 * criteria ordered on last modified time and id, and sets the token of the
+	 * next page on the criteria. The token is set to null once the last page
+	 * is returned.
+	 *
+	 * Every page is a seek on the (lastmodifiedtime, id) index, so walking all
+	 * the properties of a tenant is linear in the number of properties.
+	 * Properties without a last modified time are ordered as modified at 0
+	 *
+	 * @param criteria PropertyCriteria with the tenantId, limit and continuationToken
+	 * @param requestInfo RequestInfo object of the request
+	 * @return properties of the page with owner and boundary information
+	 */
+	public List<Property> searchPropertyBulkExtract(PropertyCriteria criteria, RequestInfo requestInfo) {
+		if (criteria.getLimit() == null)
+			criteria.setLimit(config.getDefaultLimit());
+		if (criteria.getLimit() > config.getMaxSearchLimit())
+			criteria.setLimit(config.getMaxSearchLimit());
+
+		Long lastModifiedTime = null;
+		String lastId = null;
+		if (!StringUtils.isEmpty(criteria.getContinuationToken())) {
+			String token = criteria.getContinuationToken();
+			int separator = token.indexOf(CONTINUATION_TOKEN_SEPARATOR);
+			try {
+				lastModifiedTime = Long.valueOf(token.substring(0, separator));
+				lastId = token.substring(separator + 1);
+			} catch (RuntimeException e) {
+				throw new CustomException("EG_PT_INVALID_CONTINUATION_TOKEN",
+						"The continuation token " + token + " is not valid");
+			}
+		}
+
+		LinkedHashMap<String, Long> keys = repository.fetchIdsAfter(criteria, lastModifiedTime, lastId);
+		if (keys.isEmpty()) {
+			criteria.setContinuationToken(null);
+			return Collections.emptyList();
+		}
+
+		String lastKey = null;
+		for (String id : keys.keySet())
+			lastKey = id;
+		criteria.setContinuationToken(keys.size() < criteria.getLimit() ? null
+				: keys.get(lastKey) + CONTINUATION_TOKEN_SEPARATOR + lastKey);
+
+		PropertyCriteria propertyCriteria = PropertyCriteria.builder().uuids(keys.keySet()).limit((long) keys.size())
+				.offset(0l).build();
+		Map<String, Property> propertiesById = repository.getPropertiesForBulkExtract(propertyCriteria).stream()
+				.collect(Collectors.toMap(Property::getId, property -> property, (p1, p2) -> p1));
+		List<Property> properties = keys.keySet().stream().map(propertiesById::get).filter(property -> property != null)
+				.collect(Collectors.toList());
+		if (properties.isEmpty())
+			return properties;
+
+		enrichOwners(properties, criteria.getTenantId(), requestInfo);
+		for (Property property : properties)
+			enrichmentService.enrichBoundary(property, requestInfo);
+		return properties;
+	}
+
+	private void enrichOwners(List<Property> properties, String tenantId, RequestInfo requestInfo) {
 		Set<String> ownerIds = properties.stream().map(Property::getOwners).flatMap(List::stream)
 				.map(OwnerInfo::getUuid).collect(Collectors.toSet());
 
-		UserSearchRequest userSearchRequest = userService.getBaseUserSearchRequest(criteria.getTenantId(), requestInfo);
-		userSearchRequest.setUuid(ownerIds);
-		UserDetailResponse userDetailResponse = userService.getUser(userSearchRequest);
+		UserDetailResponse userDetailResponse = userService.getUsersByUuid(ownerIds, tenantId, requestInfo);
 		util.enrichOwner(userDetailResponse, properties, false);
-		return properties;
 	}
 }
\ No newline at end of file
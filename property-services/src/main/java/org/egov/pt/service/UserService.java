@@ -2,13 +2,16 @@ package org.egov.pt.service;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -20,6 +23,7 @@ import org.egov.pt.models.user.CreateUserRequest;
 import org.egov.pt.models.user.UserDetailResponse;
 import org.egov.pt.models.user.UserSearchRequest;
 import org.egov.pt.repository.ServiceRequestRepository;
+import org.egov.pt.util.UserCache;
 import org.egov.pt.web.contracts.PropertyRequest;
 import org.egov.tracer.model.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,6 +43,9 @@ public class UserService {
     @Autowired
     private ServiceRequestRepository serviceRequestRepository;
 
+    @Autowired
+    private UserCache userCache;
+
     @Value("${egov.user.host}")
     private String userHost;
 
@@ -112,6 +119,8 @@ public class UserService {
 			setOwnerFields(owner, userDetailResponse, requestInfo);
 		});
 		
+		userCache.evict(owners);
+
 		if (owners.size() != owners.stream().map(OwnerInfo::getUuid).collect(Collectors.toSet()).size())
 			throw new CustomException("EG_PT_DUPLICATE_OWNER",
 					"Duplicate owner found in request, please make sure owner information is not duplicate");
@@ -223,6 +232,65 @@ public class UserService {
 		return userDetailResponse;
 	}
 
+	/**
+	 * Searches the active citizens of the given uuids, users found in the user
+	 * cache are not searched again and the rest are searched in one call
+	 *
+	 * @param uuids Uuids of the users
+	 * @param tenantId Tenant Id
+	 * @param requestInfo RequestInfo of the request
+	 * @return UserDetailResponse containing the users found
+	 */
+	public UserDetailResponse getUsersByUuid(Set<String> uuids, String tenantId, RequestInfo requestInfo) {
+
+		Map<String, OwnerInfo> users = userCache.getUsers(uuids);
+		Set<String> missingUuids = uuids.stream().filter(uuid -> !users.containsKey(uuid))
+				.collect(Collectors.toCollection(TreeSet::new));
+
+		UserDetailResponse userDetailResponse = new UserDetailResponse();
+		if (!missingUuids.isEmpty()) {
+			userDetailResponse = userCache.coalesce(tenantId + missingUuids, () -> {
+				UserSearchRequest userSearchRequest = getBaseUserSearchRequest(tenantId, requestInfo);
+				userSearchRequest.setUuid(missingUuids);
+				UserDetailResponse response = getUser(userSearchRequest);
+				if (!CollectionUtils.isEmpty(response.getUser()))
+					userCache.putUsers(response.getUser());
+				return response;
+			});
+			if (!CollectionUtils.isEmpty(userDetailResponse.getUser()))
+				userDetailResponse.getUser().forEach(user -> users.put(user.getUuid(), user));
+		}
+		return new UserDetailResponse(userDetailResponse.getResponseInfo(), new ArrayList<>(users.values()));
+	}
+
+	/**
+	 * Returns the uuids of the active citizens of the mobile number from the
+	 * user cache, searching user service on a miss
+	 *
+	 * @param tenantId Tenant Id
+	 * @param mobileNumber Mobile number of the citizen
+	 * @param requestInfo RequestInfo of the request
+	 * @return Uuids of the users of the mobile number
+	 */
+	public Set<String> getUuidsByMobileNumber(String tenantId, String mobileNumber, RequestInfo requestInfo) {
+
+		Set<String> uuids = userCache.getUuids(tenantId, mobileNumber);
+		if (uuids != null)
+			return uuids;
+
+		return userCache.coalesce(userCache.getKey(tenantId, mobileNumber), () -> {
+			UserSearchRequest userSearchRequest = getBaseUserSearchRequest(tenantId, requestInfo);
+			userSearchRequest.setMobileNumber(mobileNumber);
+			UserDetailResponse userDetailResponse = getUser(userSearchRequest);
+			if (CollectionUtils.isEmpty(userDetailResponse.getUser()))
+				return Collections.<String>emptySet();
+			userCache.putUsers(userDetailResponse.getUser());
+			Set<String> userIds = userDetailResponse.getUser().stream().map(OwnerInfo::getUuid).collect(Collectors.toSet());
+			userCache.putUuids(tenantId, mobileNumber, userIds);
+			return userIds;
+		});
+	}
+
     /**
      * Returns UserDetailResponse by calling user service with given uri and object
      * @param userRequest Request object for user service
@@ -342,6 +410,8 @@ public class UserService {
 			userDetailResponse = userCall(new CreateUserRequest(requestInfo, owner), uri);
 			setOwnerFields(owner, userDetailResponse, requestInfo);
 		});
+
+		userCache.evict(property.getOwners());
 	}
 
     /**
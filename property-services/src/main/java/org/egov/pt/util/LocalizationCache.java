@@ -0,0 +1,278 @@
+package org.egov.pt.util;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.pt.config.PropertyConfiguration;
+import org.egov.pt.repository.ServiceRequestRepository;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process cache of the localization messages, keyed on the localization
+ * search uri, i.e. on tenant, locale, module and codes. Messages are fetched
+ * once and refreshed after the configured expiry, at most the configured
+ * number of uris is kept and the least recently used one is evicted.
+ *
+ * The messages are handed out as the json string the notification builders
+ * expect. The message templates are indexed on the locale and code of the
+ * message and a lookup parses the json only up to its first locale field.
+ * The index of a locale is rebuilt from the cached uris of that locale
+ * whenever one of them is fetched or evicted, so a code whose message differs
+ * between the cached uris, as with city level localization, is read from the
+ * json of the lookup only until the differing messages are evicted or
+ * refreshed and their last json handed out has expired.
+ */
+@Slf4j
+@Component
+public class LocalizationCache {
+
+	private static final String LOCALE_FIELD = "locale";
+
+	@Autowired
+	private PropertyConfiguration config;
+
+	@Autowired
+	private ServiceRequestRepository serviceRequestRepository;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	private final LinkedHashMap<String, LocalizationMessages> messagesByUri = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final Deque<RetiredMessages> retiredMessages = new ArrayDeque<>();
+
+	private final Map<String, Map<String, TemplateEntry>> templatesByLocale = new ConcurrentHashMap<>();
+
+	/**
+	 * Fetches the localization messages of the uri, localization service is
+	 * called only if the messages are not cached or are expired
+	 *
+	 * @param uri The uri for localization search call
+	 * @param requestInfo The requestInfo of the request
+	 * @return Localization messages as json
+	 */
+	@SuppressWarnings("unchecked")
+	public String getLocalizationMessages(StringBuilder uri, RequestInfo requestInfo) {
+		String key = uri.toString();
+		LocalizationMessages cachedMessages;
+		synchronized (messagesByUri) {
+			cachedMessages = messagesByUri.get(key);
+		}
+		if (cachedMessages != null && !isExpired(cachedMessages))
+			return cachedMessages.getJson();
+
+		Map<String, Object> responseMap = (Map<String, Object>) serviceRequestRepository.fetchResult(uri, requestInfo)
+				.orElse(null);
+		if (responseMap == null) {
+			if (cachedMessages != null) {
+				log.warn("Localization search failed, using the expired messages of: " + key);
+				return cachedMessages.getJson();
+			}
+			return new JSONObject().toString();
+		}
+
+		LocalizationMessages messages = getMessages(responseMap);
+		putMessages(key, messages);
+		return messages.getJson();
+	}
+
+	/**
+	 *
+	 * @param notificationCode The code for which message is required
+	 * @param localizationMessages The localization messages
+	 * @return message for the specific code, null if not found
+	 */
+	public String getMessageTemplate(String notificationCode, String localizationMessages) {
+		String locale = getLocale(localizationMessages);
+		Map<String, TemplateEntry> templates = locale != null ? templatesByLocale.get(locale) : null;
+		TemplateEntry entry = templates != null ? templates.get(notificationCode) : null;
+		String template;
+		if (entry != null && !entry.isAmbiguous())
+			template = entry.getTemplate();
+		else
+			template = readTemplate(notificationCode, localizationMessages);
+		if (template == null)
+			log.warn("Localization message not found for code: " + notificationCode);
+		return template;
+	}
+
+	/**
+	 * Reads the message of the code from messages which were not fetched
+	 * through the cache, or whose code is not unique to the locale
+	 */
+	@SuppressWarnings("unchecked")
+	private String readTemplate(String notificationCode, String localizationMessages) {
+		String path = "$..messages[?(@.code==\"{}\")].message";
+		path = path.replace("{}", notificationCode);
+		try {
+			List<String> messages = JsonPath.parse(localizationMessages).read(path, ArrayList.class);
+			if (!messages.isEmpty())
+				return messages.get(0);
+		} catch (Exception e) {
+			log.warn("Fetching from localization failed", e);
+		}
+		return null;
+	}
+
+	/**
+	 * Reads the templates of a localization search, every message of a
+	 * search is of the locale searched for
+	 */
+	private LocalizationMessages getMessages(Map<String, Object> responseMap) {
+		String locale = null;
+		Map<String, String> templates = new HashMap<>();
+		Object messages = responseMap.get("messages");
+		if (messages instanceof List) {
+			for (Object message : (List<?>) messages) {
+				if (!(message instanceof Map))
+					continue;
+				Object code = ((Map<?, ?>) message).get("code");
+				Object text = ((Map<?, ?>) message).get("message");
+				Object messageLocale = ((Map<?, ?>) message).get(LOCALE_FIELD);
+				if (locale == null && messageLocale != null)
+					locale = messageLocale.toString();
+				if (code != null && text != null && messageLocale != null && messageLocale.equals(locale))
+					templates.putIfAbsent(code.toString(), text.toString());
+			}
+		}
+		return new LocalizationMessages(new JSONObject(responseMap).toString(), System.currentTimeMillis(), locale,
+				templates);
+	}
+
+	/**
+	 * Caches the messages of the uri. Messages which are replaced or evicted
+	 * stay in the index for one more expiry period, as a notification builder
+	 * may still hold their json.
+	 */
+	private void putMessages(String uri, LocalizationMessages messages) {
+		long now = System.currentTimeMillis();
+		Set<String> locales = new HashSet<>();
+		synchronized (messagesByUri) {
+			locales.add(messages.getLocale());
+			LocalizationMessages replaced = messagesByUri.put(uri, messages);
+			if (replaced != null)
+				retiredMessages.add(new RetiredMessages(replaced, now));
+			if (messagesByUri.size() > config.getLocalizationCacheMaxSize()) {
+				Iterator<LocalizationMessages> eldest = messagesByUri.values().iterator();
+				retiredMessages.add(new RetiredMessages(eldest.next(), now));
+				eldest.remove();
+			}
+			for (RetiredMessages retired : retiredMessages)
+				locales.add(retired.getMessages().getLocale());
+			while (!retiredMessages.isEmpty() && (retiredMessages.size() > config.getLocalizationCacheMaxSize()
+					|| isExpired(retiredMessages.peek().getRetiredTime())))
+				retiredMessages.poll();
+			locales.remove(null);
+			locales.forEach(this::indexTemplates);
+		}
+	}
+
+	/**
+	 * Rebuilds the templates of the locale from its cached and retired
+	 * messages, a code with different messages among them is marked ambiguous
+	 */
+	private void indexTemplates(String locale) {
+		List<LocalizationMessages> localeMessages = new ArrayList<>();
+		for (LocalizationMessages messages : messagesByUri.values()) {
+			if (locale.equals(messages.getLocale()))
+				localeMessages.add(messages);
+		}
+		for (RetiredMessages retired : retiredMessages) {
+			if (locale.equals(retired.getMessages().getLocale()))
+				localeMessages.add(retired.getMessages());
+		}
+		Map<String, TemplateEntry> templates = new HashMap<>();
+		for (LocalizationMessages messages : localeMessages)
+			messages.getTemplates().forEach((code, template) -> templates.merge(code,
+					new TemplateEntry(template, false), LocalizationCache::merge));
+		if (templates.isEmpty())
+			templatesByLocale.remove(locale);
+		else
+			templatesByLocale.put(locale, Collections.unmodifiableMap(templates));
+	}
+
+	private static TemplateEntry merge(TemplateEntry indexed, TemplateEntry template) {
+		if (indexed.isAmbiguous() || indexed.getTemplate().equals(template.getTemplate()))
+			return indexed;
+		return new TemplateEntry(indexed.getTemplate(), true);
+	}
+
+	/**
+	 * Parses the json up to the first locale field, only the messages of a
+	 * localization search carry one
+	 */
+	private String getLocale(String localizationMessages) {
+		try (JsonParser parser = mapper.getFactory().createParser(localizationMessages)) {
+			JsonToken token;
+			while ((token = parser.nextToken()) != null) {
+				if (token == JsonToken.FIELD_NAME && LOCALE_FIELD.equals(parser.getCurrentName()))
+					return parser.nextTextValue();
+			}
+		} catch (IOException e) {
+			log.warn("Reading the locale of the localization messages failed", e);
+		}
+		return null;
+	}
+
+	private boolean isExpired(LocalizationMessages messages) {
+		return isExpired(messages.getLoadedTime());
+	}
+
+	private boolean isExpired(long time) {
+		return System.currentTimeMillis() - time >= config.getLocalizationCacheExpirySeconds() * 1000L;
+	}
+
+	@Getter
+	@AllArgsConstructor
+	private static class LocalizationMessages {
+
+		private final String json;
+
+		private final long loadedTime;
+
+		private final String locale;
+
+		private final Map<String, String> templates;
+	}
+
+	@Getter
+	@AllArgsConstructor
+	private static class RetiredMessages {
+
+		private final LocalizationMessages messages;
+
+		private final long retiredTime;
+	}
+
+	@Getter
+	@AllArgsConstructor
+	private static class TemplateEntry {
+
+		private final String template;
+
+		private final boolean ambiguous;
+	}
+}
@@ -14,7 +14,6 @@ import static org.egov.pt.util.PTConstants.VIEW_APPLICATION_CODE;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -36,7 +35,6 @@ import org.egov.pt.producer.Producer;
 import org.egov.pt.repository.ServiceRequestRepository;
 import org.egov.pt.web.contracts.SMSRequest;
 import org.egov.tracer.model.CustomException;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
@@ -60,13 +58,16 @@ public class NotificationUtil {
 
     private RestTemplate restTemplate;
 
+    private LocalizationCache localizationCache;
+
     @Autowired
     public NotificationUtil(ServiceRequestRepository serviceRequestRepository, PropertyConfiguration config,
-                            Producer producer, RestTemplate restTemplate) {
+                            Producer producer, RestTemplate restTemplate, LocalizationCache localizationCache) {
         this.serviceRequestRepository = serviceRequestRepository;
         this.config = config;
         this.producer = producer;
         this.restTemplate = restTemplate;
+        this.localizationCache = localizationCache;
     }
 
 
@@ -84,16 +85,8 @@ public class NotificationUtil {
      */
     public String getMessageTemplate(String notificationCode, String localizationMessage) {
 
-        String path = "$..messages[?(@.code==\"{}\")].message";
-        path = path.replace("{}", notificationCode);
-        String message = "";
-        try {
-            Object messageObj = JsonPath.parse(localizationMessage).read(path);
-            message = ((ArrayList<String>) messageObj).get(0);
-        } catch (Exception e) {
-            log.warn("Fetching from localization failed", e);
-        }
-        return message;
+        String message = localizationCache.getMessageTemplate(notificationCode, localizationMessage);
+        return message != null ? message : "";
     }
 
 
@@ -112,20 +105,17 @@ public class NotificationUtil {
         String locale = NOTIFICATION_LOCALE;
         Boolean isRetryNeeded = false;
         String jsonString = null;
-        LinkedHashMap responseMap = null;
 
         if (!StringUtils.isEmpty(requestInfo.getMsgId()) && requestInfo.getMsgId().split("\\|").length >= 2) {
             locale = requestInfo.getMsgId().split("\\|")[1];
 			isRetryNeeded = true;
 		}
 
-		responseMap = (LinkedHashMap) serviceRequestRepository.fetchResult(getUri(tenantId, requestInfo, locale), requestInfo).get();
-		jsonString = new JSONObject(responseMap).toString();
+		jsonString = localizationCache.getLocalizationMessages(getUri(tenantId, requestInfo, locale), requestInfo);
 
 		if (StringUtils.isEmpty(jsonString) && isRetryNeeded) {
 
-			responseMap = (LinkedHashMap) serviceRequestRepository.fetchResult(getUri(tenantId, requestInfo, NOTIFICATION_LOCALE), requestInfo).get();
-			jsonString = new JSONObject(responseMap).toString();
+			jsonString = localizationCache.getLocalizationMessages(getUri(tenantId, requestInfo, NOTIFICATION_LOCALE), requestInfo);
 			if(StringUtils.isEmpty(jsonString))
 				throw new CustomException("EG_PT_LOCALE_ERROR","Localisation values not found for Property notifications");
 		}
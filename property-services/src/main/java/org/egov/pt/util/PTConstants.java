@@ -274,6 +274,12 @@ public class PTConstants {
 
     public static final String OFFSET_FIELD_FOR_SEARCH_URL = "offset=";
 
+    public static final String LAST_PROPERTY_ID_FIELD_FOR_SEARCH_URL = "lastPropertyId=";
+
+    public static final String PAGINATION_MODE_FIELD_FOR_SEARCH_URL = "paginationMode=";
+
+    public static final String PAGINATION_MODE_KEYSET = "KEYSET";
+
     public static final String SEPARATER = "&";
 
 
@@ -85,11 +85,14 @@ public class PropertyUtil extends CommonUtils {
 	
 	/**
 	 * nullifying the PII's for open search
-	 * @param info
+	 * @param user
 	 * @return
 	 */
-	private org.egov.pt.models.user.User getMaskedOwnerInfo(OwnerInfo info) {
+	private org.egov.pt.models.user.User getMaskedOwnerInfo(OwnerInfo user) {
 
+		// users are shared through the user cache, the copy is masked
+		OwnerInfo info = new OwnerInfo();
+		info.addUserDetail(user);
 		info.setMobileNumber(null);
 		info.setUuid(null);
 		info.setUserName(null);
@@ -13,6 +13,7 @@ import org.egov.common.contract.request.RequestInfo;
 import org.egov.common.contract.request.User;
 import org.egov.pt.config.PropertyConfiguration;
 import org.egov.pt.models.ConstructionDetail;
+import org.egov.pt.models.Difference;
 import org.egov.pt.models.GeoLocation;
 import org.egov.pt.models.Institution;
 import org.egov.pt.models.OwnerInfo;
@@ -130,7 +131,8 @@ public class PropertyValidator {
 			throw new CustomException("EG_PT_UPDATE_WF_ERROR", "Workflow information is mandatory for update process");
 
 		// third variable is needed only for mutation
-		List<String> fieldsUpdated = diffService.getUpdatedFields(property, propertyFromSearch, "");
+		Difference difference = diffService.getDifference(property, propertyFromSearch, "");
+		List<String> fieldsUpdated = difference.getFieldsChanged();
 		
 		
 		Boolean isstateUpdatable =  false;
@@ -153,8 +155,7 @@ public class PropertyValidator {
 			isstateUpdatable = workflowService.isStateUpdatable(currentState.getState(), businessService);
 		}
 
-		// third variable is needed only for mutation
-		List<String> objectsAdded = diffService.getObjectsAdded(property, propertyFromSearch, "");
+		List<String> objectsAdded = difference.getClassesAdded();
 		objectsAdded.removeAll(Arrays.asList("TextNode", "Role", "NullNode", "LongNode", "JsonNodeFactory", "IntNode",
 				"ProcessInstance"));
 
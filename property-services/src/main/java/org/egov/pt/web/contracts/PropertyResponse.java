@@ -5,6 +5,7 @@ import java.util.List;
 import org.egov.common.contract.response.ResponseInfo;
 import org.egov.pt.models.Property;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import lombok.AllArgsConstructor;
@@ -31,4 +32,8 @@ public class PropertyResponse   {
 
   @JsonProperty("Properties")
   private List<Property> properties;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @JsonProperty("ContinuationToken")
+  private String continuationToken;
 }
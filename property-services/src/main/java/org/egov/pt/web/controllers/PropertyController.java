@@ -1,5 +1,7 @@
 package org.egov.pt.web.controllers;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -7,6 +9,7 @@ import java.util.Map;
 
 import javax.validation.Valid;
 
+import org.egov.common.contract.request.RequestInfo;
 import org.egov.common.contract.response.ResponseInfo;
 import org.egov.pt.models.Property;
 import org.egov.pt.models.PropertyCriteria;
@@ -27,7 +30,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Controller
 @RequestMapping("/property")
 public class PropertyController {
@@ -44,6 +53,11 @@ public class PropertyController {
 	@Autowired
     private PropertyValidator propertyValidator;
 
+	@Autowired
+	private ObjectMapper mapper;
+
+	private static final String NDJSON = "application/x-ndjson";
+
 	@PostMapping("/_create")
 	public ResponseEntity<PropertyResponse> create(@Valid @RequestBody PropertyRequest propertyRequest) {
 
@@ -106,6 +120,53 @@ public class PropertyController {
 				.build();
 		return new ResponseEntity<>(response, HttpStatus.OK);
 	}
+
+	@PostMapping("/_bulkextract")
+	public ResponseEntity<PropertyResponse> bulkExtract(@Valid @RequestBody RequestInfoWrapper requestInfoWrapper,
+														@Valid @ModelAttribute PropertyCriteria propertyCriteria) {
+		List<Property> properties = propertyService.searchPropertyBulkExtract(propertyCriteria, requestInfoWrapper.getRequestInfo());
+		PropertyResponse response = PropertyResponse.builder().properties(properties)
+				.continuationToken(propertyCriteria.getContinuationToken()).responseInfo(
+				responseInfoFactory.createResponseInfoFromRequestInfo(requestInfoWrapper.getRequestInfo(), true))
+				.build();
+		return new ResponseEntity<>(response, HttpStatus.OK);
+	}
+
+	/**
+	 * Streams all the properties after the continuation token as newline
+	 * delimited json, one property per line, fetching a page at a time. The
+	 * first page is read before the response is returned, so that invalid
+	 * criteria fail with an error response. Once the body is being written
+	 * the status is already sent, a failure of a later page is logged and
+	 * ends the body.
+	 */
+	@PostMapping(value = "/_bulkextract", produces = NDJSON)
+	public ResponseEntity<StreamingResponseBody> bulkExtractStream(@Valid @RequestBody RequestInfoWrapper requestInfoWrapper,
+														@Valid @ModelAttribute PropertyCriteria propertyCriteria) {
+		RequestInfo requestInfo = requestInfoWrapper.getRequestInfo();
+		List<Property> firstPage = propertyService.searchPropertyBulkExtract(propertyCriteria, requestInfo);
+		StreamingResponseBody body = (OutputStream outputStream) -> {
+			try {
+				writeProperties(outputStream, firstPage);
+				while (propertyCriteria.getContinuationToken() != null)
+					writeProperties(outputStream, propertyService.searchPropertyBulkExtract(propertyCriteria, requestInfo));
+			} catch (Exception ex) {
+				log.error("Bulk extract of properties failed after the response was started", ex);
+			} finally {
+				outputStream.close();
+			}
+		};
+		return ResponseEntity.ok().header("Content-Type", NDJSON).body(body);
+	}
+
+	private void writeProperties(OutputStream outputStream, List<Property> properties) throws IOException {
+		for (Property property : properties) {
+			outputStream.write(mapper.writeValueAsBytes(property));
+			outputStream.write('\n');
+		}
+		outputStream.flush();
+	}
+
 //	@RequestMapping(value = "/_cancel", method = RequestMethod.POST)
 //	public ResponseEntity<PropertyResponse> cancel(@Valid @RequestBody RequestInfoWrapper requestInfoWrapper,
 //												   @Valid @ModelAttribute PropertyCancelCriteria propertyCancelCriteria) {
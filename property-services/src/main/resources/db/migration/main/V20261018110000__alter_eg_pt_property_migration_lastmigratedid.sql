@@ -0,0 +1 @@
+ALTER TABLE eg_pt_property_migration ADD COLUMN IF NOT EXISTS lastmigratedid CHARACTER VARYING (128);
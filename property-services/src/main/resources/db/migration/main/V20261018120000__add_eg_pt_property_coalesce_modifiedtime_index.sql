@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS index_eg_pt_property_coalesce_modifiedtime_id ON eg_pt_property ((COALESCE(lastmodifiedtime, 0)),id);
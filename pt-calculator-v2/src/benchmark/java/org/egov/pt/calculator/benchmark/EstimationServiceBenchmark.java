@@ -0,0 +1,293 @@
+package org.egov.pt.calculator.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.pt.calculator.repository.PTCalculatorDBRepository;
+import org.egov.pt.calculator.repository.Repository;
+import org.egov.pt.calculator.service.BillingSlabService;
+import org.egov.pt.calculator.service.DemandService;
+import org.egov.pt.calculator.service.EstimationService;
+import org.egov.pt.calculator.service.MasterDataService;
+import org.egov.pt.calculator.service.PayService;
+import org.egov.pt.calculator.service.PaymentService;
+import org.egov.pt.calculator.util.CalculatorUtils;
+import org.egov.pt.calculator.util.Configurations;
+import org.egov.pt.calculator.validator.CalculationValidator;
+import org.egov.pt.calculator.web.models.BillingSlab;
+import org.egov.pt.calculator.web.models.BillingSlabSearchCriteria;
+import org.egov.pt.calculator.web.models.Calculation;
+import org.egov.pt.calculator.web.models.CalculationCriteria;
+import org.egov.pt.calculator.web.models.CalculationReq;
+import org.egov.pt.calculator.web.models.property.Address;
+import org.egov.pt.calculator.web.models.property.Boundary;
+import org.egov.pt.calculator.web.models.property.OwnerInfo;
+import org.egov.pt.calculator.web.models.property.Property;
+import org.egov.pt.calculator.web.models.property.PropertyDetail;
+import org.egov.pt.calculator.web.models.property.Unit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.support.ResourcePropertySource;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.egov.pt.calculator.util.CalculatorConstants.FINANCIALYEAR_MASTER_KEY;
+import static org.egov.pt.calculator.util.CalculatorConstants.FINANCIAL_YEAR_ENDING_DATE;
+import static org.egov.pt.calculator.util.CalculatorConstants.FINANCIAL_YEAR_STARTING_DATE;
+
+/**
+ * Benchmarks the tax estimation of a property with the given number of units
+ *
+ * The billing slabs and the property are generated, the MDMS and billing
+ * service responses are read from the fixtures under benchmark/ so that only
+ * the estimation is measured. Run with mvn -Pbenchmark -DskipTests verify
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EstimationServiceBenchmark {
+
+	private static final String TENANT_ID = "pb.amritsar";
+
+	private static final String FINANCIAL_YEAR = "2019-20";
+
+	private static final int AREA_COUNT = 10;
+
+	/*
+	 * usage category major, minor, sub minor and occupancy type of the units,
+	 * the slabs of the last usage apply to every occupancy type
+	 */
+	private static final String[][] UNIT_USAGES = {
+			{ "RESIDENTIAL", null, null, "SELFOCCUPIED" },
+			{ "RESIDENTIAL", null, null, "RENTED" },
+			{ "NONRESIDENTIAL", "COMMERCIAL", "RETAIL", "SELFOCCUPIED" },
+			{ "NONRESIDENTIAL", "COMMERCIAL", "RETAIL", "RENTED" },
+			{ "NONRESIDENTIAL", "INSTITUTIONAL", "EDUCATIONAL", "ALL" } };
+
+	private static final String[] OWNER_TYPES = { "NONE", "WIDOW", "FREEDOMFIGHTER" };
+
+	@Param({ "1", "10", "50" })
+	private int unitCount;
+
+	private EstimationService estimationService;
+
+	private CalculationReq request;
+
+	private Map<String, Object> masterMap;
+
+	@Setup
+	public void setup() throws IOException {
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+		Configurations configs = getConfigurations();
+		Repository repository = new FixtureRepository(configs, mapper);
+		List<BillingSlab> billingSlabs = getBillingSlabs();
+		PTCalculatorDBRepository dbRepository = new PTCalculatorDBRepository() {
+			@Override
+			public List<BillingSlab> searchBillingSlab(BillingSlabSearchCriteria billingSlabSearcCriteria) {
+				return billingSlabs;
+			}
+		};
+
+		PaymentService paymentService = new PaymentService();
+		paymentService.setRepository(repository);
+		paymentService.setMapper(mapper);
+		paymentService.setConfigurations(configs);
+
+		CalculatorUtils utils = new CalculatorUtils();
+		utils.setConfigurations(configs);
+		utils.setPaymentService(paymentService);
+		utils.setRepository(repository);
+		utils.setMapper(mapper);
+
+		MasterDataService masterDataService = new MasterDataService();
+		masterDataService.setRepository(repository);
+		masterDataService.setMapper(mapper);
+		masterDataService.setCalculatorUtils(utils);
+		masterDataService.setConfig(configs);
+
+		BillingSlabService billingSlabService = new BillingSlabService();
+		billingSlabService.setConfigurations(configs);
+		billingSlabService.setDbRepository(dbRepository);
+
+		PayService payService = new PayService();
+		payService.setUtils(utils);
+		payService.setMDService(masterDataService);
+
+		DemandService demandService = new DemandService();
+		demandService.setUtils(utils);
+
+		estimationService = new EstimationService();
+		estimationService.setBillingSlabService(billingSlabService);
+		estimationService.setPayService(payService);
+		estimationService.setConfigs(configs);
+		estimationService.setMDataService(masterDataService);
+		estimationService.setDemandService(demandService);
+		estimationService.setCalcValidator(new CalculationValidator());
+		estimationService.setUtils(utils);
+		estimationService.setPaymentService(paymentService);
+		estimationService.setMapper(mapper);
+		estimationService.setUsePBFirecessLogic(false);
+
+		request = getCalculationReq();
+		masterMap = masterDataService.getMasterMap(request);
+		request.getCalculationCriteria().forEach(criteria -> enrichDemandPeriod(criteria));
+	}
+
+	@Benchmark
+	public Map<String, Calculation> getEstimationPropertyMap() {
+		return estimationService.getEstimationPropertyMap(request, masterMap);
+	}
+
+	/**
+	 * Demand period of the assessment year, so that the estimation does not
+	 * look up the tax periods on every call
+	 */
+	@SuppressWarnings("unchecked")
+	private void enrichDemandPeriod(CalculationCriteria criteria) {
+		Map<String, Map<String, Object>> financialYears = (Map<String, Map<String, Object>>) masterMap
+				.get(FINANCIALYEAR_MASTER_KEY);
+		Map<String, Object> financialYear = financialYears.get(FINANCIAL_YEAR);
+		criteria.setFromDate((Long) financialYear.get(FINANCIAL_YEAR_STARTING_DATE));
+		criteria.setToDate((Long) financialYear.get(FINANCIAL_YEAR_ENDING_DATE));
+	}
+
+	private Configurations getConfigurations() throws IOException {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.getEnvironment().getPropertySources()
+				.addFirst(new ResourcePropertySource("classpath:application.properties"));
+		context.register(Configurations.class);
+		context.refresh();
+		return context.getBean(Configurations.class);
+	}
+
+	/**
+	 * Slabs of every area and multi floored flag for each unit usage on the
+	 * ground and the upper floors, along with a vacant land slab per area
+	 */
+	private List<BillingSlab> getBillingSlabs() {
+		List<BillingSlab> billingSlabs = new ArrayList<>();
+		double[][] plotSizes = { { 0.0, 1000.0 }, { 1000.0, 100000.0 } };
+		double[][] floors = { { -5.0, 0.0 }, { 1.0, 50.0 } };
+		for (int area = 1; area <= AREA_COUNT; area++) {
+			for (boolean isMultiFloored : new boolean[] { true, false }) {
+				for (double[] plotSize : plotSizes) {
+					for (int usage = 0; usage < UNIT_USAGES.length; usage++) {
+						for (double[] floor : floors) {
+							String[] unitUsage = UNIT_USAGES[usage];
+							billingSlabs.add(BillingSlab.builder().id("SLAB-" + billingSlabs.size()).tenantId(TENANT_ID)
+									.propertyType("BUILTUP").propertySubType("ALL").ownerShipCategory("ALL")
+									.subOwnerShipCategory("ALL").areaType("A" + area)
+									.isPropertyMultiFloored(isMultiFloored).fromPlotSize(plotSize[0])
+									.toPlotSize(plotSize[1]).usageCategoryMajor(unitUsage[0])
+									.usageCategoryMinor(null != unitUsage[1] ? unitUsage[1] : "ALL")
+									.usageCategorySubMinor(null != unitUsage[2] ? unitUsage[2] : "ALL")
+									.usageCategoryDetail("ALL").occupancyType(unitUsage[3]).fromFloor(floor[0])
+									.toFloor(floor[1]).unitRate(1.0 + usage + area / 10.0)
+									.unBuiltUnitRate(floor[0] < 0 ? 0.5 : null).build());
+						}
+					}
+				}
+			}
+			billingSlabs.add(BillingSlab.builder().id("SLAB-" + billingSlabs.size()).tenantId(TENANT_ID)
+					.propertyType("VACANT").propertySubType("ALL").ownerShipCategory("ALL")
+					.subOwnerShipCategory("ALL").areaType("A" + area).isPropertyMultiFloored(false)
+					.fromPlotSize(0.0).toPlotSize(100000.0).usageCategoryMajor("ALL").usageCategoryMinor("ALL")
+					.usageCategorySubMinor("ALL").usageCategoryDetail("ALL").occupancyType("ALL").fromFloor(0.0)
+					.toFloor(0.0).unitRate(0.5).build());
+		}
+		return billingSlabs;
+	}
+
+	private CalculationReq getCalculationReq() {
+		List<Unit> units = new ArrayList<>();
+		for (int i = 0; i < unitCount; i++) {
+			String[] unitUsage = UNIT_USAGES[i % UNIT_USAGES.length];
+			units.add(Unit.builder().id("UNIT-" + i).tenantId(TENANT_ID).floorNo(String.valueOf(i % 3))
+					.unitArea(100f + i).usageCategoryMajor(unitUsage[0]).usageCategoryMinor(unitUsage[1])
+					.usageCategorySubMinor(unitUsage[2])
+					.occupancyType("ALL".equals(unitUsage[3]) ? "SELFOCCUPIED" : unitUsage[3])
+					.arv(BigDecimal.valueOf(120000)).build());
+		}
+
+		Set<OwnerInfo> owners = new HashSet<>();
+		for (String ownerType : OWNER_TYPES) {
+			OwnerInfo owner = new OwnerInfo();
+			owner.setName("Owner " + ownerType);
+			owner.setOwnerType(ownerType);
+			owners.add(owner);
+		}
+
+		PropertyDetail detail = PropertyDetail.builder().tenantId(TENANT_ID).financialYear(FINANCIAL_YEAR)
+				.propertyType("BUILTUP").propertySubType("SHAREDPROPERTY").ownershipCategory("INDIVIDUAL")
+				.subOwnershipCategory("SINGLEOWNER").noOfFloors(3L).landArea(5000.0).units(units).owners(owners)
+				.assessmentNumber("AS-2019-20-000001").build();
+
+		Property property = new Property();
+		property.setPropertyId("PT-107-000001");
+		property.setTenantId(TENANT_ID);
+		property.setAddress(Address.builder().tenantId(TENANT_ID)
+				.locality(Boundary.builder().code("SUN04").area("A2").build()).build());
+		property.setPropertyDetails(Collections.singletonList(detail));
+
+		CalculationCriteria criteria = CalculationCriteria.builder().property(property).tenantId(TENANT_ID)
+				.assessmentNumber(detail.getAssessmentNumber()).build();
+		return CalculationReq.builder().requestInfo(new RequestInfo())
+				.calculationCriteria(Collections.singletonList(criteria)).build();
+	}
+
+	/**
+	 * Returns the fixture of the MDMS, billing or collection service search
+	 * the uri is made for in place of the remote call
+	 */
+	private static class FixtureRepository extends Repository {
+
+		private final Map<String, Object> responses = new LinkedHashMap<>();
+
+		FixtureRepository(Configurations configs, ObjectMapper mapper) throws IOException {
+			responses.put(configs.getMdmsEndpoint(), readFixture(mapper, "mdms-response.json"));
+			responses.put(configs.getTaxheadsSearchEndpoint(), readFixture(mapper, "taxheads-response.json"));
+			responses.put(configs.getTaxPeriodSearchEndpoint(), readFixture(mapper, "taxperiods-response.json"));
+			responses.put(configs.getDemandSearchEndPoint(), readFixture(mapper, "demands-response.json"));
+			responses.put(configs.getPaymentSearchEndpoint(), readFixture(mapper, "payments-response.json"));
+		}
+
+		@Override
+		public Object fetchResult(StringBuilder uri, Object request) {
+			String url = uri.toString();
+			return responses.entrySet().stream().filter(response -> url.contains(response.getKey()))
+					.map(Map.Entry::getValue).findFirst()
+					.orElseThrow(() -> new IllegalArgumentException("No fixture for " + url));
+		}
+
+		private static Object readFixture(ObjectMapper mapper, String name) throws IOException {
+			try (InputStream stream = EstimationServiceBenchmark.class.getResourceAsStream("/benchmark/" + name)) {
+				return mapper.readValue(stream, Map.class);
+			}
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package org.egov.pt.calculator.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.egov.pt.calculator.service.BillingSlabService;
+import org.egov.pt.calculator.web.models.BillingSlabReq;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+
+import java.util.HashMap;
+
+/**
+ * Listens to the billing slab persister topics and applies the created or
+ * updated slabs to the cached billing slabs. Every instance listens with a
+ * consumer group of its own host name so that the change reaches all of them.
+ */
+@Service
+@Slf4j
+public class BillingSlabChangeConsumer {
+
+    @Autowired
+    private BillingSlabService billingSlabService;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @KafkaListener(topics = {"${kafka.topics.billing-slab.save.service}", "${kafka.topics.billing-slab.update.service}"},
+            groupId = "#{'${spring.kafka.consumer.group-id}-billingslab-' + T(java.net.InetAddress).getLocalHost().getHostName()}",
+            properties = {"auto.offset.reset=latest"})
+    public void listen(final HashMap<String, Object> record, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        try {
+            BillingSlabReq billingSlabReq = mapper.convertValue(record, BillingSlabReq.class);
+            if (!CollectionUtils.isEmpty(billingSlabReq.getBillingSlab()))
+                billingSlabService.refreshBillingSlabs(billingSlabReq.getBillingSlab());
+        } catch (final Exception e) {
+            log.error("Error while listening to value: " + record + " on topic: " + topic + ": " + e);
+        }
+    }
+
+}
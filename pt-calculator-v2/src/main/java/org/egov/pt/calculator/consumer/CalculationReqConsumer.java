@@ -2,6 +2,8 @@ package org.egov.pt.calculator.consumer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.pt.calculator.producer.Producer;
 import org.egov.pt.calculator.service.DemandService;
 import org.egov.pt.calculator.util.CalculatorUtils;
 import org.egov.pt.calculator.util.Configurations;
@@ -9,18 +11,24 @@ import org.egov.pt.calculator.web.models.CalculationReq;
 import org.egov.pt.calculator.web.models.property.Property;
 import org.egov.pt.calculator.web.models.property.PropertyRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 
-//@Service
+@Service
+@ConditionalOnProperty(value = "pt.demand.batch.listener.enabled", havingValue = "true")
 @Slf4j
 public class CalculationReqConsumer {
 
@@ -36,27 +44,85 @@ public class CalculationReqConsumer {
     @Autowired
     private ObjectMapper mapper;
 
-    @KafkaListener(topics = {"${kafka.save.property.topic}","${kafka.update.property.topic}"})
-    public void listen(final HashMap<String, Object> record, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+    @Autowired
+    private Producer producer;
+
+    /**
+     * Listens to the property topics in batches, the properties of a batch are
+     * grouped on tenant and requestInfo and the demands of a group are generated
+     * with a single request so that master data is loaded and billing service is
+     * called once per group. Records carrying equal requestInfo share a group, a
+     * property is never processed under the requestInfo of another record. The
+     * properties of a group failing as a batch are pushed to the dead letter
+     * topic to be processed one by one.
+     *
+     * @param records Property requests from the save and update property topics
+     */
+    @KafkaListener(topics = {"${kafka.save.property.topic}","${kafka.update.property.topic}"},
+            containerFactory = "kafkaListenerContainerFactoryBatch")
+    public void listen(final List<Message<?>> records) {
+        Map<String, Map<RequestInfo, List<Property>>> tenantWiseProperties = new LinkedHashMap<>();
+
+        records.forEach(record -> {
+            try {
+                PropertyRequest propertyRequest = mapper.convertValue(record.getPayload(), PropertyRequest.class);
+                propertyRequest.getProperties().forEach(property -> {
+                    if(!config.getSourcesToBeIgnored().contains(property.getPropertyDetails().get(0).getSource())) {
+                        tenantWiseProperties.computeIfAbsent(property.getTenantId(), tenantId -> new LinkedHashMap<>())
+                                .computeIfAbsent(propertyRequest.getRequestInfo(), requestInfo -> new ArrayList<>())
+                                .add(property);
+                    }
+                });
+            } catch (final Exception e) {
+                log.error("Error while listening to value: " + record.getPayload() + " on topic: "
+                        + record.getHeaders().get(KafkaHeaders.RECEIVED_TOPIC) + ": " + e);
+            }
+        });
+
+        tenantWiseProperties.forEach((tenantId, requestInfoWiseProperties) ->
+                requestInfoWiseProperties.forEach((requestInfo, properties) -> {
+                    PropertyRequest propertyRequest = PropertyRequest.builder().requestInfo(requestInfo)
+                            .properties(properties).build();
+                    try {
+                        generateDemands(propertyRequest);
+                    } catch (final Exception e) {
+                        log.error("Demand generation error for " + properties.size() + " properties of tenant " + tenantId, e);
+                        producer.push(config.getDemandDeadLetterTopic(), propertyRequest);
+                    }
+                }));
+        log.info("Number of batch records: " + records.size());
+    }
+
+    /**
+     * Listens to the dead letter topic and generates the demand of every property
+     * individually so that a failing property does not hold back the others
+     *
+     * @param record Property request of a tenant batch which has failed
+     * @param topic The dead letter topic
+     */
+    @KafkaListener(topics = {"${kafka.topics.demand.dead.letter}"})
+    public void listenDeadLetterTopic(final HashMap<String, Object> record, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
         try {
             PropertyRequest propertyRequest = mapper.convertValue(record, PropertyRequest.class);
-            List<Property> propertiesForDemandGen = new LinkedList<>();
-            List<Property> propertiesNotForDemandGen = new LinkedList<>();
-
             propertyRequest.getProperties().forEach(property -> {
-                if(!config.getSourcesToBeIgnored().contains(property.getPropertyDetails().get(0).getSource()))
-                    propertiesForDemandGen.add(property);
-                else propertiesNotForDemandGen.add(property);
+                try {
+                    generateDemands(PropertyRequest.builder().requestInfo(propertyRequest.getRequestInfo())
+                            .properties(Collections.singletonList(property)).build());
+                } catch (final Exception e) {
+                    log.error("Error while generating demand for property: " + property.getPropertyId()
+                            + " of tenant: " + property.getTenantId(), e);
+                }
             });
-
-            if(!CollectionUtils.isEmpty(propertiesForDemandGen))
-            {
-                CalculationReq calculationReq = utils.createCalculationReq(propertyRequest);
-                demandService.generateDemands(calculationReq);
-            }
         } catch (final Exception e) {
             log.error("Error while listening to value: " + record + " on topic: " + topic + ": " + e);
         }
     }
 
-}
\ No newline at end of file
+    private void generateDemands(PropertyRequest propertyRequest) {
+        if(CollectionUtils.isEmpty(propertyRequest.getProperties()))
+            return;
+        CalculationReq calculationReq = utils.createCalculationReq(propertyRequest);
+        demandService.generateDemands(calculationReq);
+    }
+
+}
@@ -1,8 +1,11 @@
 package org.egov.pt.calculator.service;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.pt.calculator.producer.Producer;
@@ -11,6 +14,7 @@ import org.egov.pt.calculator.util.BillingSlabUtils;
 import org.egov.pt.calculator.util.Configurations;
 import org.egov.pt.calculator.util.ResponseInfoFactory;
 import org.egov.pt.calculator.web.models.BillingSlab;
+import org.egov.pt.calculator.web.models.BillingSlabIndex;
 import org.egov.pt.calculator.web.models.BillingSlabReq;
 import org.egov.pt.calculator.web.models.BillingSlabRes;
 import org.egov.pt.calculator.web.models.BillingSlabSearchCriteria;
@@ -18,10 +22,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
+@Setter
 public class BillingSlabService {
 	
 	@Autowired
@@ -48,6 +54,8 @@ public class BillingSlabService {
 	@Value("${billingslab.max.toPLotSize}")
 	private Double maxToPlotSize;
 
+	private final Map<String, BillingSlabIndex> billingSlabIndexes = new ConcurrentHashMap<>();
+
 	public BillingSlabRes createBillingSlab(BillingSlabReq billingSlabReq) {
 		enrichBillingSlabForCreate(billingSlabReq);
 		producer.push(configurations.getBillingSlabSavePersisterTopic(), billingSlabReq);
@@ -102,5 +110,52 @@ public class BillingSlabService {
 		return BillingSlabRes.builder().responseInfo(factory.createResponseInfoFromRequestInfo(requestInfo, true))
 				.billingSlab(billingSlabs).build();
 	}
+
+	/**
+	 * Returns the compiled billing slabs of the tenant, the slabs are loaded
+	 * from the database on first use and reloaded once the cache expiry is
+	 * crossed
+	 *
+	 * @param tenantId Tenant Id
+	 * @return The billing slab index of the tenant
+	 */
+	public BillingSlabIndex getBillingSlabIndex(String tenantId) {
+		BillingSlabIndex billingSlabIndex = billingSlabIndexes.get(tenantId);
+		if (billingSlabIndex != null && System.currentTimeMillis() - billingSlabIndex
+				.getLoadedTime() < configurations.getBillingSlabCacheExpirySeconds() * 1000L)
+			return billingSlabIndex;
+
+		List<BillingSlab> billingSlabs;
+		try {
+			billingSlabs = dbRepository
+					.searchBillingSlab(BillingSlabSearchCriteria.builder().tenantId(tenantId).build());
+		} catch (Exception e) {
+			log.error("Exception while fetching billing slabs from db: " + e);
+			return new BillingSlabIndex(new ArrayList<>(), configurations.getSlabValueAll(),
+					System.currentTimeMillis());
+		}
+		billingSlabIndex = new BillingSlabIndex(billingSlabs, configurations.getSlabValueAll(),
+				System.currentTimeMillis());
+		billingSlabIndexes.put(tenantId, billingSlabIndex);
+		log.debug(" the slabs count of tenant " + tenantId + " : " + billingSlabs.size());
+		return billingSlabIndex;
+	}
+
+	/**
+	 * Applies created or updated billing slabs to the cached indexes of their
+	 * tenants, tenants which are not cached yet are loaded on first use
+	 *
+	 * @param billingSlabs Created or updated billing slabs
+	 */
+	public void refreshBillingSlabs(List<BillingSlab> billingSlabs) {
+		billingSlabs.stream().map(BillingSlab::getTenantId).distinct().forEach(tenantId ->
+			billingSlabIndexes.computeIfPresent(tenantId, (key, billingSlabIndex) -> {
+				Map<String, BillingSlab> slabsById = new LinkedHashMap<>();
+				billingSlabIndex.getBillingSlabs().forEach(slab -> slabsById.put(slab.getId(), slab));
+				billingSlabs.stream().filter(slab -> tenantId.equals(slab.getTenantId()))
+						.forEach(slab -> slabsById.put(slab.getId(), slab));
+				return new BillingSlabIndex(new ArrayList<>(slabsById.values()), billingSlabIndex.getAll(),
+						billingSlabIndex.getLoadedTime());
+			}));
+	}
 }
- 
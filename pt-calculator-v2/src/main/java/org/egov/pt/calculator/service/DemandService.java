@@ -28,13 +28,14 @@ import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import net.minidev.json.JSONArray;
 
 import static org.egov.pt.calculator.util.CalculatorConstants.*;
 
 @Service
 @Slf4j
+@Setter
 public class DemandService {
 
 	@Autowired
@@ -80,6 +81,10 @@ public class DemandService {
 	 * 
 	 * it carry forwards the old collection amount to the new demand as advance
 	 * 
+	 * the existing demands of all the properties are fetched with multi consumerCode
+	 * searches and the old demands are cancelled with a single update call, they
+	 * are set back to their earlier status if the demand create call then fails
+	 * 
 	 * @param request
 	 * @return
 	 */
@@ -87,12 +92,15 @@ public class DemandService {
 
 		List<CalculationCriteria> criterias = request.getCalculationCriteria();
 		List<Demand> demands = new ArrayList<>();
+		List<Demand> demandsToBeCancelled = new ArrayList<>();
+		List<Demand.DemandStatusEnum> statusesBeforeCancel = new ArrayList<>();
 		List<String> lesserAssessments = new ArrayList<>();
 		Map<String, String> consumerCodeFinYearMap = new HashMap<>();
 		Map<String,Object> masterMap = mDataService.getMasterMap(request);
 
 
 		Map<String, Calculation> propertyCalculationMap = estimationService.getEstimationPropertyMap(request,masterMap);
+		Map<String, Demand> oldDemandMap = utils.getLatestDemandsForCurrentFinancialYear(request.getRequestInfo(), criterias);
 		for (CalculationCriteria criteria : criterias) {
 
 			Property property = criteria.getProperty();
@@ -111,14 +119,20 @@ public class DemandService {
 			if(advanceCarryforwardEstimate.isPresent())
 				newTax = advanceCarryforwardEstimate.get().getEstimateAmount();
 
-			Demand oldDemand = utils.getLatestDemandForCurrentFinancialYear(request.getRequestInfo(),criteria);
+			Demand oldDemand = null != property.getPropertyId() ? oldDemandMap.get(property.getPropertyId()) : null;
 
-			// true represents that the demand should be updated from this call
+			// false represents that the old demand is cancelled along with the others after the loop
 			BigDecimal carryForwardCollectedAmount = getCarryForwardAndCancelOldDemand(newTax, criteria,
-					request.getRequestInfo(),oldDemand, true);
+					request.getRequestInfo(),oldDemand, false);
 
 			if (carryForwardCollectedAmount.doubleValue() >= 0.0) {
 
+				if (null != oldDemand) {
+					statusesBeforeCancel.add(oldDemand.getStatus());
+					oldDemand.setStatus(Demand.DemandStatusEnum.CANCELLED);
+					demandsToBeCancelled.add(oldDemand);
+				}
+
 				Demand demand = prepareDemand(property, calculation ,oldDemand);
 
 				// Add billingSLabs in demand additionalDetails as map with key calculationDescription
@@ -137,6 +151,12 @@ public class DemandService {
 					CalculatorConstants.EG_PT_DEPRECIATING_ASSESSMENT_ERROR_MSG + lesserAssessments);
 		}
 		
+		if (!CollectionUtils.isEmpty(demandsToBeCancelled)) {
+			DemandRequest cancelRequest = DemandRequest.builder().demands(demandsToBeCancelled)
+					.requestInfo(request.getRequestInfo()).build();
+			repository.fetchResult(utils.getUpdateDemandUrl(), cancelRequest);
+		}
+
 		DemandRequest dmReq = DemandRequest.builder().demands(demands).requestInfo(request.getRequestInfo()).build();
 		String url = new StringBuilder().append(configs.getBillingServiceHost())
 				.append(configs.getDemandCreateEndPoint()).toString();
@@ -146,13 +166,42 @@ public class DemandService {
 			res = restTemplate.postForObject(url, dmReq, DemandResponse.class);
 
 		} catch (HttpClientErrorException e) {
+			restoreCancelledDemands(demandsToBeCancelled, statusesBeforeCancel, request.getRequestInfo());
 			throw new ServiceCallException(e.getResponseBodyAsString());
+		} catch (RuntimeException e) {
+			restoreCancelledDemands(demandsToBeCancelled, statusesBeforeCancel, request.getRequestInfo());
+			throw e;
 		}
 		log.info(" The demand Response is : " + res);
 	//	assessmentService.saveAssessments(res.getDemands(), consumerCodeFinYearMap, request.getRequestInfo());
 		return propertyCalculationMap;
 	}
 
+	/**
+	 * Sets the old demands cancelled for a failed demand create back to their
+	 * earlier status, so that the properties are not left without a demand
+	 * 
+	 * @param cancelledDemands the old demands cancelled before the create call
+	 * @param statuses the status of every cancelled demand before it was cancelled
+	 * @param requestInfo
+	 */
+	private void restoreCancelledDemands(List<Demand> cancelledDemands, List<Demand.DemandStatusEnum> statuses,
+			RequestInfo requestInfo) {
+
+		if (CollectionUtils.isEmpty(cancelledDemands))
+			return;
+
+		for (int i = 0; i < cancelledDemands.size(); i++)
+			cancelledDemands.get(i).setStatus(statuses.get(i));
+		try {
+			repository.fetchResult(utils.getUpdateDemandUrl(),
+					DemandRequest.builder().demands(cancelledDemands).requestInfo(requestInfo).build());
+		} catch (Exception e) {
+			log.error("Could not restore the cancelled demands of consumer codes: " + cancelledDemands.stream()
+					.map(Demand::getConsumerCode).collect(Collectors.toList()), e);
+		}
+	}
+
 	/**
 	 * Generates and returns bill from billing service
 	 * 
@@ -213,10 +262,7 @@ public class DemandService {
 		if(getBillCriteria.getAmountExpected() == null) getBillCriteria.setAmountExpected(BigDecimal.ZERO);
 		validator.validateGetBillCriteria(getBillCriteria);
 		RequestInfo requestInfo = requestInfoWrapper.getRequestInfo();
-		Map<String, Map<String, List<Object>>> propertyBasedExemptionMasterMap = new HashMap<>();
-		Map<String, JSONArray> timeBasedExmeptionMasterMap = new HashMap<>();
-		mstrDataService.setPropertyMasterValues(requestInfo, getBillCriteria.getTenantId(),
-				propertyBasedExemptionMasterMap, timeBasedExmeptionMasterMap);
+		PropertyMasterData masterData = mstrDataService.getPropertyMasterData(requestInfo, getBillCriteria.getTenantId());
 
 /*
 		if(CollectionUtils.isEmpty(getBillCriteria.getConsumerCodes()))
@@ -267,7 +313,7 @@ public class DemandService {
 					throw new CustomException(CalculatorConstants.EG_PT_INVALID_DEMAND_ERROR,
 							CalculatorConstants.EG_PT_INVALID_DEMAND_ERROR_MSG);
 
-				applytimeBasedApplicables(demand, requestInfoWrapper, timeBasedExmeptionMasterMap,taxPeriods);
+				applytimeBasedApplicables(demand, requestInfoWrapper, masterData,taxPeriods);
 
 				roundOffDecimalForDemand(demand, requestInfoWrapper);
 
@@ -416,7 +462,7 @@ public class DemandService {
 	 * @return
 	 */
 	private boolean applytimeBasedApplicables(Demand demand,RequestInfoWrapper requestInfoWrapper,
-			Map<String, JSONArray> timeBasedExmeptionMasterMap,List<TaxPeriod> taxPeriods) {
+			PropertyMasterData masterData,List<TaxPeriod> taxPeriods) {
 
 		boolean isCurrentDemand = false;
 		String tenantId = demand.getTenantId();
@@ -456,7 +502,7 @@ public class DemandService {
 
 
 		Map<String, BigDecimal> rebatePenaltyEstimates = payService.applyPenaltyRebateAndInterest(taxAmt,collectedPtTax,
-                taxPeriod.getFinancialYear(), timeBasedExmeptionMasterMap,payments,taxPeriod);
+                taxPeriod.getFinancialYear(), masterData,payments,taxPeriod);
 		
 		if(null == rebatePenaltyEstimates) return isCurrentDemand;
 		
@@ -18,7 +18,6 @@ import org.egov.pt.calculator.util.Configurations;
 import org.egov.pt.calculator.util.PBFirecessUtils;
 import org.egov.pt.calculator.validator.CalculationValidator;
 import org.egov.pt.calculator.web.models.*;
-import org.egov.pt.calculator.web.models.BillingSlabSearchCriteria;
 import org.egov.pt.calculator.web.models.collections.Payment;
 import org.egov.pt.calculator.web.models.demand.*;
 import org.egov.pt.calculator.web.models.Calculation;
@@ -38,6 +37,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.client.RestTemplate;
 
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.minidev.json.JSONArray;
 
@@ -45,6 +45,7 @@ import static org.egov.pt.calculator.util.CalculatorConstants.*;
 
 @Service
 @Slf4j
+@Setter
 public class EstimationService {
 
 	@Autowired
@@ -175,12 +176,11 @@ public class EstimationService {
 		if(criteria.getFromDate()==null || criteria.getToDate()==null)
             enrichmentService.enrichDemandPeriod(criteria,assessmentYear,masterMap);
 
-        List<BillingSlab> filteredBillingSlabs = getSlabsFiltered(property, requestInfo);
+        BillingSlabIndex billingSlabIndex = billingSlabService.getBillingSlabIndex(tenantId);
+        List<BillingSlab> filteredBillingSlabs = getSlabsFiltered(property, billingSlabIndex);
 
-		Map<String, Map<String, List<Object>>> propertyBasedExemptionMasterMap = new HashMap<>();
-		Map<String, JSONArray> timeBasedExemptionMasterMap = new HashMap<>();
-		mDataService.setPropertyMasterValues(requestInfo, tenantId, propertyBasedExemptionMasterMap,
-				timeBasedExemptionMasterMap);
+		PropertyMasterData masterData = mDataService.getPropertyMasterData(requestInfo, tenantId);
+		int assessmentStartYear = mDataService.getStartingYear(assessmentYear);
 
 		List<String> billingSlabIds = new LinkedList<>();
 
@@ -200,9 +200,11 @@ public class EstimationService {
 			Double groundUnitsArea = 0.0;
 			int i = 0;
 
+			UnitBillingSlabIndex unitBillingSlabIndex = new UnitBillingSlabIndex(billingSlabIndex, filteredBillingSlabs);
+
 			for (Unit unit : detail.getUnits()) {
 
-				BillingSlab slab = getSlabForCalc(filteredBillingSlabs, unit);
+				BillingSlab slab = getSlabForCalc(unitBillingSlabIndex, unit);
 				BigDecimal currentUnitTax = getTaxForUnit(slab, unit);
 				billingSlabIds.add(slab.getId()+"|"+i);
 
@@ -218,7 +220,7 @@ public class EstimationService {
 				}
 				taxAmt = taxAmt.add(currentUnitTax);
 				usageExemption = usageExemption
-						.add(getExemption(unit, currentUnitTax, assessmentYear, propertyBasedExemptionMasterMap));
+						.add(getExemption(unit, currentUnitTax, assessmentStartYear, masterData));
 				i++;
 			}
 			/*
@@ -230,12 +232,12 @@ public class EstimationService {
 			 * special case to handle property with one unit
 			 */
 			if (detail.getUnits().size() == 1)
-				usageExemption = getExemption(detail.getUnits().get(0), taxAmt, assessmentYear,
-						propertyBasedExemptionMasterMap);
+				usageExemption = getExemption(detail.getUnits().get(0), taxAmt, assessmentStartYear,
+						masterData);
 		}
 
-		List<TaxHeadEstimate> taxHeadEstimates =  getEstimatesForTax(requestInfo,taxAmt, usageExemption, property, propertyBasedExemptionMasterMap,
-				timeBasedExemptionMasterMap,masterMap);
+		List<TaxHeadEstimate> taxHeadEstimates =  getEstimatesForTax(requestInfo,taxAmt, usageExemption, property, masterData,
+				masterMap);
 
 
 		Map<String,List> estimatesAndBillingSlabs = new HashMap<>();
@@ -337,13 +339,11 @@ public class EstimationService {
 	 * @param usageExemption  total exemption value given for all unit usages
 	 * @param property proeprty  object
 
-	 * @param propertyBasedExemptionMasterMap property masters which contains exemption values associated with them
-	 * @param timeBasedExemeptionMasterMap masters with period based exemption values
+	 * @param masterData property tax masters with the exemption and period based masters compiled
 	 * @param masterMap
 	 */
 	private List<TaxHeadEstimate> getEstimatesForTax(RequestInfo requestInfo,BigDecimal taxAmt, BigDecimal usageExemption, Property property,
-			Map<String, Map<String, List<Object>>> propertyBasedExemptionMasterMap,
-			Map<String, JSONArray> timeBasedExemeptionMasterMap,Map<String, Object> masterMap) {
+			PropertyMasterData masterData,Map<String, Object> masterMap) {
 
 
 
@@ -353,6 +353,7 @@ public class EstimationService {
 
 		//PropertyDetail detail = property.getPropertyDetails().get(0);
 		String assessmentYear = detail.getFinancialYear();
+		int assessmentStartYear = mDataService.getStartingYear(assessmentYear);
 		// taxes
 		estimates.add(TaxHeadEstimate.builder().taxHeadCode(PT_TAX).estimateAmount(taxAmt.setScale(2, 2)).build());
 
@@ -363,29 +364,29 @@ public class EstimationService {
 		payableTax = payableTax.add(usageExemption);
 
 		// owner exemption
-		BigDecimal userExemption = getExemption(detail.getOwners(), payableTax, assessmentYear,
-				propertyBasedExemptionMasterMap).setScale(2, 2).negate();
+		BigDecimal userExemption = getExemption(detail.getOwners(), payableTax, assessmentStartYear,
+				masterData).setScale(2, 2).negate();
 		estimates.add(TaxHeadEstimate.builder().taxHeadCode(PT_OWNER_EXEMPTION).estimateAmount(userExemption).build());
 		payableTax = payableTax.add(userExemption);
 
 		// Fire cess
-		List<Object> fireCessMasterList = timeBasedExemeptionMasterMap.get(CalculatorConstants.FIRE_CESS_MASTER);
+		ApplicableMasterTable fireCessMaster = masterData.getTimeBasedTable(CalculatorConstants.FIRE_CESS_MASTER);
 		BigDecimal fireCess;
 
 		if (usePBFirecessLogic) {
-			fireCess = firecessUtils.getPBFireCess(payableTax, assessmentYear, fireCessMasterList, detail);
+			fireCess = firecessUtils.getPBFireCess(payableTax, assessmentYear, fireCessMaster, detail);
 			estimates.add(
 					TaxHeadEstimate.builder().taxHeadCode(PT_FIRE_CESS).estimateAmount(fireCess.setScale(2, 2)).build());
 		} else {
-			fireCess = mDataService.getCess(payableTax, assessmentYear, fireCessMasterList);
+			fireCess = mDataService.getCess(payableTax, assessmentStartYear, fireCessMaster);
 			estimates.add(
 					TaxHeadEstimate.builder().taxHeadCode(PT_FIRE_CESS).estimateAmount(fireCess.setScale(2, 2)).build());
 
 		}
 
 		// Cancer cess
-		List<Object> cancerCessMasterList = timeBasedExemeptionMasterMap.get(CalculatorConstants.CANCER_CESS_MASTER);
-		BigDecimal cancerCess = mDataService.getCess(payableTax, assessmentYear, cancerCessMasterList);
+		ApplicableMasterTable cancerCessMaster = masterData.getTimeBasedTable(CalculatorConstants.CANCER_CESS_MASTER);
+		BigDecimal cancerCess = mDataService.getCess(payableTax, assessmentStartYear, cancerCessMaster);
 		estimates.add(
 				TaxHeadEstimate.builder().taxHeadCode(PT_CANCER_CESS).estimateAmount(cancerCess.setScale(2, 2)).build());
 
@@ -407,7 +408,7 @@ public class EstimationService {
 
 		// get applicable rebate and penalty
 		Map<String, BigDecimal> rebatePenaltyMap = payService.applyPenaltyRebateAndInterest(payableTax, BigDecimal.ZERO,
-				 assessmentYear, timeBasedExemeptionMasterMap,payments,taxPeriod);
+				 assessmentYear, masterData,payments,taxPeriod);
 
 		if (null != rebatePenaltyMap) {
 
@@ -537,106 +538,31 @@ public class EstimationService {
 	/**
 	 * method to do a first level filtering on the slabs based on the values present in Property detail
 	 */
-	private List<BillingSlab> getSlabsFiltered(Property property, RequestInfo requestInfo) {
+	private List<BillingSlab> getSlabsFiltered(Property property, BillingSlabIndex billingSlabIndex) {
 
 		PropertyDetail detail = property.getPropertyDetails().get(0);
-		String tenantId = property.getTenantId();
-		BillingSlabSearchCriteria slabSearchCriteria = BillingSlabSearchCriteria.builder().tenantId(tenantId).build();
-		List<BillingSlab> billingSlabs = billingSlabService.searchBillingSlabs(requestInfo, slabSearchCriteria)
-				.getBillingSlab();
-
-		log.debug(" the slabs count : " + billingSlabs.size());
-		final String all = configs.getSlabValueAll();
-
 		Double plotSize = null != detail.getLandArea() ? detail.getLandArea() : detail.getBuildUpArea();
 
-		final String dtlPtType = detail.getPropertyType();
-		final String dtlPtSubType = detail.getPropertySubType();
-		final String dtlOwnerShipCat = detail.getOwnershipCategory();
-		final String dtlSubOwnerShipCat = detail.getSubOwnershipCategory();
-		final String dtlAreaType = property.getAddress().getLocality().getArea();
-		final Boolean dtlIsMultiFloored = detail.getNoOfFloors() > 1;
-
-		return billingSlabs.stream().filter(slab -> {
-
-			Boolean slabMultiFloored = slab.getIsPropertyMultiFloored();
-			String  slabAreaType = slab.getAreaType();
-			String  slabPropertyType = slab.getPropertyType();
-			String  slabPropertySubType = slab.getPropertySubType();
-			String  slabOwnerShipCat = slab.getOwnerShipCategory();
-			String  slabSubOwnerShipCat = slab.getSubOwnerShipCategory();
-			Double  slabAreaFrom = slab.getFromPlotSize();
-			Double  slabAreaTo = slab.getToPlotSize();
-
-			boolean isPropertyMultiFloored = slabMultiFloored.equals(dtlIsMultiFloored);
-
-			boolean isAreaMatching = slabAreaType.equalsIgnoreCase(dtlAreaType) || all.equalsIgnoreCase(slab.getAreaType());
-
-			boolean isPtTypeMatching = slabPropertyType.equalsIgnoreCase(dtlPtType);
-
-			boolean isPtSubTypeMatching = slabPropertySubType.equalsIgnoreCase(dtlPtSubType)
-					|| all.equalsIgnoreCase(slabPropertySubType);
-
-			boolean isOwnerShipMatching = slabOwnerShipCat.equalsIgnoreCase(dtlOwnerShipCat)
-					|| all.equalsIgnoreCase(slabOwnerShipCat);
-
-			boolean isSubOwnerShipMatching = slabSubOwnerShipCat.equalsIgnoreCase(dtlSubOwnerShipCat)
-					|| all.equalsIgnoreCase(slabSubOwnerShipCat);
-
-			boolean isPlotMatching = false;
+		List<BillingSlab> billingSlabs = billingSlabIndex.getPropertySlabs(detail.getPropertyType(),
+				detail.getPropertySubType(), detail.getOwnershipCategory(), detail.getSubOwnershipCategory(),
+				property.getAddress().getLocality().getArea(), detail.getNoOfFloors() > 1, plotSize);
 
-			if (plotSize == 0.0)
-				isPlotMatching = slabAreaFrom <= plotSize && slabAreaTo >= plotSize;
-			else
-				isPlotMatching = slabAreaFrom < plotSize && slabAreaTo >= plotSize;
-
-			return isPtTypeMatching && isPtSubTypeMatching && isOwnerShipMatching && isSubOwnerShipMatching
-					&& isPlotMatching && isAreaMatching && isPropertyMultiFloored;
-
-		}).collect(Collectors.toList());
+		log.debug(" the slabs count : " + billingSlabs.size());
+		return billingSlabs;
 	}
 
 	/**
 	 * Second level filtering to get the matching billing slab for the respective unit
 	 * will return only one slab per unit.
 	 *
-	 * @param billingSlabs slabs filtered with property detail related values
+	 * @param unitBillingSlabIndex slabs filtered with property detail related values
 	 * @param unit unit of the property for which the tax has be calculated
 	 */
-	private BillingSlab getSlabForCalc(List<BillingSlab> billingSlabs, Unit unit) {
-
-		final String all = configs.getSlabValueAll();
-
-		List<BillingSlab> matchingList = new ArrayList<>();
-
-		for (BillingSlab billSlb : billingSlabs) {
-
-			Double floorNo = Double.parseDouble(unit.getFloorNo());
+	private BillingSlab getSlabForCalc(UnitBillingSlabIndex unitBillingSlabIndex, Unit unit) {
 
-			boolean isMajorMatching = billSlb.getUsageCategoryMajor().equalsIgnoreCase(unit.getUsageCategoryMajor())
-					|| (billSlb.getUsageCategoryMajor().equalsIgnoreCase(all));
+		List<BillingSlab> matchingList = unitBillingSlabIndex.getUnitSlabs(unit, Double.parseDouble(unit.getFloorNo()));
+		matchingList.forEach(billSlb -> log.debug(" The Id of the matching slab : " + billSlb.getId()));
 
-			boolean isMinorMatching = billSlb.getUsageCategoryMinor().equalsIgnoreCase(unit.getUsageCategoryMinor())
-					|| (billSlb.getUsageCategoryMinor().equalsIgnoreCase(all));
-
-			boolean isSubMinorMatching = billSlb.getUsageCategorySubMinor().equalsIgnoreCase(
-					unit.getUsageCategorySubMinor()) || (billSlb.getUsageCategorySubMinor().equalsIgnoreCase(all));
-
-			boolean isDetailsMatching = billSlb.getUsageCategoryDetail().equalsIgnoreCase(unit.getUsageCategoryDetail())
-					|| (billSlb.getUsageCategoryDetail().equalsIgnoreCase(all));
-
-			boolean isFloorMatching = billSlb.getFromFloor() <= floorNo && billSlb.getToFloor() >= floorNo;
-
-			boolean isOccupancyTypeMatching = billSlb.getOccupancyType().equalsIgnoreCase(unit.getOccupancyType())
-					|| (billSlb.getOccupancyType().equalsIgnoreCase(all));
-
-			if (isMajorMatching && isMinorMatching && isSubMinorMatching && isDetailsMatching && isFloorMatching
-					&& isOccupancyTypeMatching) {
-
-				matchingList.add(billSlb);
-				log.debug(" The Id of the matching slab : " + billSlb.getId());
-			}
-		}
 		if (matchingList.size() == 1)
 			return matchingList.get(0);
 		else if (matchingList.size() == 0)
@@ -651,31 +577,31 @@ public class EstimationService {
 	 * The exemption discount will be applied based on the exemption rate of the
 	 * usage master types.
 	 */
-	private BigDecimal getExemption(Unit unit, BigDecimal currentUnitTax, String financialYear,
-			Map<String, Map<String, List<Object>>> propertyMasterMap) {
+	private BigDecimal getExemption(Unit unit, BigDecimal currentUnitTax, int financialStartYear,
+			PropertyMasterData masterData) {
 
-		Map<String, Object> exemption = getExemptionFromUsage(unit, financialYear, propertyMasterMap);
+		Map<String, Object> exemption = getExemptionFromUsage(unit, financialStartYear, masterData);
 		return mDataService.calculateApplicables(currentUnitTax, exemption);
 	}
 
 	/**
 	 * Applies discount on Total tax amount OwnerType based on exemptions.
 	 */
-	private BigDecimal getExemption(Set<OwnerInfo> owners, BigDecimal taxAmt, String financialYear,
-			Map<String, Map<String, List<Object>>> propertyMasterMap) {
+	private BigDecimal getExemption(Set<OwnerInfo> owners, BigDecimal taxAmt, int financialStartYear,
+			PropertyMasterData masterData) {
 
-		Map<String, List<Object>> ownerTypeMap = propertyMasterMap.get(OWNER_TYPE_MASTER);
 		BigDecimal userExemption = BigDecimal.ZERO;
 		final int userCount = owners.size();
 		BigDecimal share = taxAmt.divide(BigDecimal.valueOf(userCount),2, 2);
 
 		for (OwnerInfo owner : owners) {
 
-			if (null == ownerTypeMap.get(owner.getOwnerType()))
+			ApplicableMasterTable ownerTypeMaster = masterData.getExemptionTable(OWNER_TYPE_MASTER, owner.getOwnerType());
+			if (null == ownerTypeMaster)
 				continue;
 
-			Map<String, Object> applicableOwnerType = mDataService.getApplicableMaster(financialYear,
-					ownerTypeMap.get(owner.getOwnerType()));
+			Map<String, Object> applicableOwnerType = mDataService.getApplicableMaster(financialStartYear,
+					ownerTypeMaster);
 
 			if (null != applicableOwnerType) {
 
@@ -700,35 +626,30 @@ public class EstimationService {
 	 * if no match found(for all the four usages) then null will be returned
 	 *
 	 * @param unit unit for which usage exemption will be applied
-	 * @param financialYear year for which calculation is being done
+	 * @param financialStartYear starting year of the year for which calculation is being done
 	 */
 	@SuppressWarnings("unchecked")
-	private Map<String, Object> getExemptionFromUsage(Unit unit, String financialYear,
-			Map<String, Map<String, List<Object>>> propertyBasedExemptionMasterMap) {
+	private Map<String, Object> getExemptionFromUsage(Unit unit, int financialStartYear,
+			PropertyMasterData masterData) {
 
-		Map<String, List<Object>> usageDetails = propertyBasedExemptionMasterMap.get(USAGE_DETAIL_MASTER);
-		Map<String, List<Object>> usageSubMinors = propertyBasedExemptionMasterMap.get(USAGE_SUB_MINOR_MASTER);
-		Map<String, List<Object>> usageMinors = propertyBasedExemptionMasterMap.get(USAGE_MINOR_MASTER);
-		Map<String, List<Object>> usageMajors = propertyBasedExemptionMasterMap.get(USAGE_MAJOR_MASTER);
+		ApplicableMasterTable usageDetail = masterData.getExemptionTable(USAGE_DETAIL_MASTER, unit.getUsageCategoryDetail());
+		ApplicableMasterTable usageSubMinor = masterData.getExemptionTable(USAGE_SUB_MINOR_MASTER, unit.getUsageCategorySubMinor());
+		ApplicableMasterTable usageMinor = masterData.getExemptionTable(USAGE_MINOR_MASTER, unit.getUsageCategoryMinor());
+		ApplicableMasterTable usageMajor = masterData.getExemptionTable(USAGE_MAJOR_MASTER, unit.getUsageCategoryMajor());
 
 		Map<String, Object> applicableUsageMasterExemption = null;
 
-		if (null != usageDetails.get(unit.getUsageCategoryDetail()))
-			applicableUsageMasterExemption = mDataService.getApplicableMaster(financialYear,
-					usageDetails.get(unit.getUsageCategoryDetail()));
+		if (null != usageDetail)
+			applicableUsageMasterExemption = mDataService.getApplicableMaster(financialStartYear, usageDetail);
 
-		if (isExemptionNull(applicableUsageMasterExemption)
-				&& null != usageSubMinors.get(unit.getUsageCategorySubMinor()))
-			applicableUsageMasterExemption = mDataService.getApplicableMaster(financialYear,
-					usageSubMinors.get(unit.getUsageCategorySubMinor()));
+		if (isExemptionNull(applicableUsageMasterExemption) && null != usageSubMinor)
+			applicableUsageMasterExemption = mDataService.getApplicableMaster(financialStartYear, usageSubMinor);
 
-		if (isExemptionNull(applicableUsageMasterExemption) && null != usageMinors.get(unit.getUsageCategoryMinor()))
-			applicableUsageMasterExemption = mDataService.getApplicableMaster(financialYear,
-					usageMinors.get(unit.getUsageCategoryMinor()));
+		if (isExemptionNull(applicableUsageMasterExemption) && null != usageMinor)
+			applicableUsageMasterExemption = mDataService.getApplicableMaster(financialStartYear, usageMinor);
 
-		if (isExemptionNull(applicableUsageMasterExemption) && null != usageMajors.get(unit.getUsageCategoryMajor()))
-			applicableUsageMasterExemption = mDataService.getApplicableMaster(financialYear,
-					usageMajors.get(unit.getUsageCategoryMajor()));
+		if (isExemptionNull(applicableUsageMasterExemption) && null != usageMajor)
+			applicableUsageMasterExemption = mDataService.getApplicableMaster(financialStartYear, usageMajor);
 
 		if (null != applicableUsageMasterExemption)
 			applicableUsageMasterExemption = (Map<String, Object>) applicableUsageMasterExemption.get(EXEMPTION_FIELD_NAME);
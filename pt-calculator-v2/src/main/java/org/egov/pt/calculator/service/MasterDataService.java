@@ -5,6 +5,7 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import com.jayway.jsonpath.JsonPath;
@@ -16,7 +17,9 @@ import org.egov.pt.calculator.util.CalculatorConstants;
 import org.egov.pt.calculator.util.CalculatorUtils;
 import org.egov.pt.calculator.util.Configurations;
 import org.egov.pt.calculator.web.models.CalculationCriteria;
+import org.egov.pt.calculator.web.models.ApplicableMasterTable;
 import org.egov.pt.calculator.web.models.CalculationReq;
+import org.egov.pt.calculator.web.models.PropertyMasterData;
 import org.egov.pt.calculator.web.models.demand.TaxHeadMaster;
 import org.egov.pt.calculator.web.models.demand.TaxHeadMasterResponse;
 import org.egov.pt.calculator.web.models.demand.TaxPeriod;
@@ -30,9 +33,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import net.minidev.json.JSONArray;
 
+import lombok.Setter;
+
 import static org.egov.pt.calculator.util.CalculatorConstants.*;
 
 @Service
+@Setter
 public class MasterDataService {
 
 	@Autowired
@@ -46,6 +52,8 @@ public class MasterDataService {
 
 	@Autowired
 	private Configurations config;
+
+	private final Map<String, PropertyMasterData> propertyMasterDataCache = new ConcurrentHashMap<>();
 	
 	/**
 	 * Fetches Financial Year from Mdms Api
@@ -134,22 +142,110 @@ public class MasterDataService {
 	public void setPropertyMasterValues(RequestInfo requestInfo, String tenantId,
 			Map<String, Map<String, List<Object>>> propertyBasedExemptionMasterMap, Map<String, JSONArray> timeBasedExemptionMasterMap) {
 
+		PropertyMasterData masterData = getPropertyMasterData(requestInfo, tenantId);
+		propertyBasedExemptionMasterMap.putAll(masterData.getPropertyBasedExemptionMasterMap());
+		timeBasedExemptionMasterMap.putAll(masterData.getTimeBasedExemptionMasterMap());
+	}
+
+	/**
+	 * Returns the property tax masters of the tenant along with the exemption and
+	 * time based masters compiled into rule tables
+	 * 
+	 * The masters are fetched from MDMS on first use and fetched again once the
+	 * cache expiry is crossed
+	 * 
+	 * @param requestInfo
+	 * @param tenantId
+	 * @return
+	 */
+	public PropertyMasterData getPropertyMasterData(RequestInfo requestInfo, String tenantId) {
+
+		PropertyMasterData masterData = propertyMasterDataCache.get(tenantId);
+		if (null != masterData && System.currentTimeMillis() - masterData.getLoadedTime() < config
+				.getMasterCacheExpirySeconds() * 1000L)
+			return masterData;
+
 		MdmsResponse response = mapper.convertValue(repository.fetchResult(calculatorUtils.getMdmsSearchUrl(),
 				calculatorUtils.getPropertyModuleRequest(requestInfo, tenantId)), MdmsResponse.class);
 		Map<String, JSONArray> res = response.getMdmsRes().get(CalculatorConstants.PROPERTY_TAX_MODULE);
+
+		Map<String, Map<String, List<Object>>> propertyBasedExemptionMasterMap = new HashMap<>();
+		Map<String, JSONArray> timeBasedExemptionMasterMap = new HashMap<>();
+		Map<String, Map<String, ApplicableMasterTable>> exemptionTables = new HashMap<>();
+		Map<String, ApplicableMasterTable> timeBasedTables = new HashMap<>();
+
 		for (Entry<String, JSONArray> entry : res.entrySet()) {
 
 			String masterName = entry.getKey();
 			
 			/* Masters which need to be parsed will be contained in the list */
-			if (CalculatorConstants.PROPERTY_BASED_EXEMPTION_MASTERS.contains(entry.getKey()))
-				propertyBasedExemptionMasterMap.put(masterName, getParsedMaster(entry));
+			if (CalculatorConstants.PROPERTY_BASED_EXEMPTION_MASTERS.contains(masterName)) {
+				Map<String, List<Object>> parsedMaster = getParsedMaster(entry);
+				Map<String, ApplicableMasterTable> tables = new HashMap<>();
+				parsedMaster.forEach((code, masterList) -> tables.put(code, compileMaster(masterList)));
+				propertyBasedExemptionMasterMap.put(masterName, parsedMaster);
+				exemptionTables.put(masterName, tables);
+			}
+
+			if (CalculatorConstants.TIME_BASED_EXEMPTION_MASTERS.contains(masterName))
+				timeBasedTables.put(masterName, compileMaster(entry.getValue()));
 			
 			/* Master not contained in list will be stored as it is  */
-			timeBasedExemptionMasterMap.put(entry.getKey(), entry.getValue());
+			timeBasedExemptionMasterMap.put(masterName, entry.getValue());
 		}
+
+		masterData = new PropertyMasterData(propertyBasedExemptionMasterMap, timeBasedExemptionMasterMap,
+				exemptionTables, timeBasedTables, System.currentTimeMillis());
+		propertyMasterDataCache.put(tenantId, masterData);
+		return masterData;
 	}
-	
+
+	/**
+	 * Compiles the entries of a year based master into a rule table, the from
+	 * financial year and the starting day of the entries are parsed once here
+	 * 
+	 * Entries without from financial year are left out as they can never be applicable
+	 * 
+	 * @param masterList
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	private ApplicableMasterTable compileMaster(List<Object> masterList) {
+
+		List<ApplicableMasterTable.Entry> entries = new ArrayList<>();
+		for (Object object : masterList) {
+
+			Map<String, Object> objMap = (Map<String, Object>) object;
+			String fromFY = (String) objMap.get(CalculatorConstants.FROMFY_FIELD_NAME);
+			if (null == fromFY)
+				continue;
+
+			String startingDay = (String) objMap.get(CalculatorConstants.STARTING_DATE_APPLICABLES);
+			Long startTime = null;
+			if (null != startingDay) {
+				try {
+					startTime = getStartDayInMillis(startingDay);
+				} catch (CustomException e) {
+					// an invalid starting day fails the lookups which reach the entry
+				}
+			}
+			entries.add(new ApplicableMasterTable.Entry(getStartingYear(fromFY), startingDay, startTime, objMap));
+		}
+		return new ApplicableMasterTable(entries);
+	}
+
+	/**
+	 * Returns the starting year of the given financial year
+	 * 
+	 * eg: 2017 for 2017-18
+	 * 
+	 * @param financialYear
+	 * @return
+	 */
+	public int getStartingYear(String financialYear) {
+		return Integer.parseInt(financialYear.split("-")[0]);
+	}
+
 	/**
 	 * Parses the master which has an exemption in them
 	 * @param entry
@@ -226,6 +322,59 @@ public class MasterDataService {
 		return objToBeReturned;
 	}
 
+	/**
+	 * Returns the 'APPLICABLE' master object from the compiled master
+	 *
+	 * picks the same object as {@link #getApplicableMaster(String, List)} without parsing the
+	 * financial years and starting days of the master entries
+	 *
+	 * @param assessmentStartYear starting year of the assessment year
+	 * @param masterTable compiled master, null if the master is not defined
+	 */
+	public Map<String, Object> getApplicableMaster(int assessmentStartYear, ApplicableMasterTable masterTable) {
+
+		if (null == masterTable)
+			return null;
+
+		if (!masterTable.isStartingDayBased()) {
+			Map<String, Object> objMap = masterTable.getFirstEntryByYear().get(assessmentStartYear);
+			if (null != objMap)
+				return objMap;
+			Entry<Integer, Map<String, Object>> latestEntry = masterTable.getLastEntryByYear()
+					.lowerEntry(assessmentStartYear);
+			return null != latestEntry ? latestEntry.getValue() : null;
+		}
+
+		Map<String, Object> objToBeReturned = null;
+		int maxYearFromTheList = 0;
+		long maxStartTime = 0l;
+		long currentTime = System.currentTimeMillis();
+
+		for (ApplicableMasterTable.Entry entry : masterTable.getEntries()) {
+
+			int objFinYear = entry.getYear();
+			if (null == entry.getStartingDay()) {
+				if (objFinYear == assessmentStartYear)
+					return entry.getValues();
+
+				else if (assessmentStartYear > objFinYear && maxYearFromTheList <= objFinYear) {
+					maxYearFromTheList = objFinYear;
+					objToBeReturned = entry.getValues();
+				}
+			}
+			else if (assessmentStartYear >= objFinYear && maxYearFromTheList <= objFinYear) {
+				maxYearFromTheList = objFinYear;
+				long startTime = null != entry.getStartTime() ? entry.getStartTime()
+						: getStartDayInMillis(entry.getStartingDay());
+				if (startTime < currentTime && maxStartTime < startTime) {
+					objToBeReturned = entry.getValues();
+					maxStartTime = startTime;
+				}
+			}
+		}
+		return objToBeReturned;
+	}
+
 	/**
 	 * Converts startDay to epoch
 	 * @param startDay StartDay of applicable
@@ -251,16 +400,16 @@ public class MasterDataService {
 	 * Returns Zero if no data is found for the given criteria
 	 * 
 	 * @param payableTax
-	 * @param assessmentYear
+	 * @param assessmentStartYear
 	 * @return
 	 */
-	public BigDecimal getCess(BigDecimal payableTax, String assessmentYear,List<Object> masterList) {
+	public BigDecimal getCess(BigDecimal payableTax, int assessmentStartYear, ApplicableMasterTable masterTable) {
 		BigDecimal fireCess = BigDecimal.ZERO;
 
 		if (payableTax.doubleValue() == 0.0)
 			return fireCess;
 
-		Map<String, Object> CessMap = getApplicableMaster(assessmentYear,masterList);
+		Map<String, Object> CessMap = getApplicableMaster(assessmentStartYear, masterTable);
 
 		return calculateApplicables(payableTax, CessMap);
 	}
@@ -6,6 +6,8 @@ import java.util.concurrent.TimeUnit;
 
 import org.egov.pt.calculator.util.CalculatorConstants;
 import org.egov.pt.calculator.util.CalculatorUtils;
+import org.egov.pt.calculator.web.models.ApplicableMasterTable;
+import org.egov.pt.calculator.web.models.PropertyMasterData;
 import org.egov.pt.calculator.web.models.TaxHeadEstimate;
 import org.egov.pt.calculator.web.models.collections.Payment;
 import org.egov.pt.calculator.web.models.demand.*;
@@ -13,7 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
-import net.minidev.json.JSONArray;
+import lombok.Setter;
 
 import static org.egov.pt.calculator.util.CalculatorConstants.TIMEZONE_OFFSET;
 import static org.egov.pt.calculator.util.CalculatorUtils.getEODEpoch;
@@ -29,6 +31,7 @@ import static org.egov.pt.calculator.util.CalculatorUtils.getEODEpoch;
  *
  */
 @Service
+@Setter
 public class PayService {
 
 	@Autowired
@@ -43,26 +46,29 @@ public class PayService {
 	 * If the demand details are not already present then new demand details will be added
 	 * 
 	 * @param assessmentYear
+	 * @param masterData property tax masters of the tenant
 	 * @return
 	 */
 	public Map<String, BigDecimal> applyPenaltyRebateAndInterest(BigDecimal taxAmt,BigDecimal collectedPtTax,
-			 String assessmentYear, Map<String, JSONArray> timeBasedExmeptionMasterMap,List<Payment> payments,TaxPeriod taxPeriod) {
+			 String assessmentYear, PropertyMasterData masterData,List<Payment> payments,TaxPeriod taxPeriod) {
 
 		if (BigDecimal.ZERO.compareTo(taxAmt) >= 0)
 			return null;
 
 		Map<String, BigDecimal> estimates = new HashMap<>();
+		int assessmentStartYear = mDService.getStartingYear(assessmentYear);
 
-		BigDecimal rebate = getRebate(taxAmt, assessmentYear,
-				timeBasedExmeptionMasterMap.get(CalculatorConstants.REBATE_MASTER));
+		BigDecimal rebate = getRebate(taxAmt, assessmentYear, assessmentStartYear,
+				masterData.getTimeBasedTable(CalculatorConstants.REBATE_MASTER));
 
 		BigDecimal penalty = BigDecimal.ZERO;
 		BigDecimal interest = BigDecimal.ZERO;
 
 		if (rebate.equals(BigDecimal.ZERO)) {
-			penalty = getPenalty(taxAmt, assessmentYear, timeBasedExmeptionMasterMap.get(CalculatorConstants.PENANLTY_MASTER));
-			interest = getInterest(taxAmt, assessmentYear, timeBasedExmeptionMasterMap.get(CalculatorConstants.INTEREST_MASTER),
-					payments,taxPeriod);
+			penalty = getPenalty(taxAmt, assessmentYear, assessmentStartYear,
+					masterData.getTimeBasedTable(CalculatorConstants.PENANLTY_MASTER));
+			interest = getInterest(taxAmt, assessmentYear, assessmentStartYear,
+					masterData.getTimeBasedTable(CalculatorConstants.INTEREST_MASTER), payments,taxPeriod);
 		}
 
 		estimates.put(CalculatorConstants.PT_TIME_REBATE, rebate.setScale(2, 2).negate());
@@ -81,10 +87,11 @@ public class PayService {
 	 * @param assessmentYear
 	 * @return
 	 */
-	public BigDecimal getRebate(BigDecimal taxAmt, String assessmentYear, JSONArray rebateMasterList) {
+	public BigDecimal getRebate(BigDecimal taxAmt, String assessmentYear, int assessmentStartYear,
+			ApplicableMasterTable rebateMaster) {
 
 		BigDecimal rebateAmt = BigDecimal.ZERO;
-		Map<String, Object> rebate = mDService.getApplicableMaster(assessmentYear, rebateMasterList);
+		Map<String, Object> rebate = mDService.getApplicableMaster(assessmentStartYear, rebateMaster);
 
 		if (null == rebate) return rebateAmt;
 
@@ -105,10 +112,11 @@ public class PayService {
 	 * @param assessmentYear
 	 * @return
 	 */
-	public BigDecimal getPenalty(BigDecimal taxAmt, String assessmentYear, JSONArray penaltyMasterList) {
+	public BigDecimal getPenalty(BigDecimal taxAmt, String assessmentYear, int assessmentStartYear,
+			ApplicableMasterTable penaltyMaster) {
 
 		BigDecimal penaltyAmt = BigDecimal.ZERO;
-		Map<String, Object> penalty = mDService.getApplicableMaster(assessmentYear, penaltyMasterList);
+		Map<String, Object> penalty = mDService.getApplicableMaster(assessmentStartYear, penaltyMaster);
 		if (null == penalty) return penaltyAmt;
 
 		String[] time = getStartTime(assessmentYear,penalty);
@@ -129,11 +137,11 @@ public class PayService {
 	 * @param assessmentYear
 	 * @return
 	 */
-	public BigDecimal getInterest(BigDecimal taxAmt, String assessmentYear,
-								  JSONArray interestMasterList, List<Payment> payments,TaxPeriod taxPeriod) {
+	public BigDecimal getInterest(BigDecimal taxAmt, String assessmentYear, int assessmentStartYear,
+								  ApplicableMasterTable interestMaster, List<Payment> payments,TaxPeriod taxPeriod) {
 
 		BigDecimal interestAmt = BigDecimal.ZERO;
-		Map<String, Object> interestMap = mDService.getApplicableMaster(assessmentYear, interestMasterList);
+		Map<String, Object> interestMap = mDService.getApplicableMaster(assessmentStartYear, interestMaster);
 		if (null == interestMap)
 			return interestAmt;
 
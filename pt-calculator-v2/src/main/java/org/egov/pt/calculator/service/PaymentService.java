@@ -27,7 +27,10 @@ import org.springframework.util.CollectionUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import lombok.Setter;
+
 @Service
+@Setter
 public class PaymentService {
 
 
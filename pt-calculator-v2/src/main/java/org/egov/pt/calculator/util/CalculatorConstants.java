@@ -112,6 +112,9 @@ public class CalculatorConstants {
 
 	public static final List<String> PROPERTY_BASED_EXEMPTION_MASTERS = Collections.unmodifiableList(Arrays.asList(
 			USAGE_MAJOR_MASTER, USAGE_MINOR_MASTER, USAGE_SUB_MINOR_MASTER, USAGE_DETAIL_MASTER, OWNER_TYPE_MASTER));
+
+	public static final List<String> TIME_BASED_EXEMPTION_MASTERS = Collections.unmodifiableList(Arrays.asList(
+			REBATE_MASTER, PENANLTY_MASTER, INTEREST_MASTER, FIRE_CESS_MASTER, CANCER_CESS_MASTER));
 	
 	public static final List<Category> DEBIT_CATEGORIES = Collections.unmodifiableList(Arrays.asList(Category.REBATE, Category.EXEMPTION));
 
@@ -31,6 +31,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -75,9 +77,11 @@ import org.springframework.util.CollectionUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.Getter;
+import lombok.Setter;
 
 @Component
 @Getter
+@Setter
 public class CalculatorUtils {
 
     @Autowired
@@ -660,6 +664,47 @@ public class CalculatorUtils {
         return res.getDemands().get(0);
     }
 
+    /**
+     * Fetches the latest demands of the properties of the given criterias, the
+     * demands of the criterias with same tenant and tax period are searched
+     * with a single multi consumerCode search per batch of property ids
+     *
+     * @param requestInfo
+     * @param calculationCriterias
+     * @return Latest demand of each property keyed on the property id
+     */
+    public Map<String, Demand> getLatestDemandsForCurrentFinancialYear(RequestInfo requestInfo,
+            List<CalculationCriteria> calculationCriterias) {
+
+        Map<String, Demand> propertyIdToDemandMap = new HashMap<>();
+        Map<List<Object>, Set<String>> periodToPropertyIdsMap = new LinkedHashMap<>();
+        calculationCriterias.stream().filter(criteria -> null != criteria.getProperty().getPropertyId())
+                .forEach(criteria -> periodToPropertyIdsMap.computeIfAbsent(
+                        Arrays.asList(criteria.getTenantId(), criteria.getFromDate(), criteria.getToDate()),
+                        key -> new LinkedHashSet<>()).add(criteria.getProperty().getPropertyId()));
+
+        periodToPropertyIdsMap.forEach((period, propertyIds) -> {
+            List<String> ids = new ArrayList<>(propertyIds);
+            for (int i = 0; i < ids.size(); i += configurations.getDemandSearchBatchSize()) {
+                DemandSearchCriteria criteria = new DemandSearchCriteria();
+                criteria.setTenantId((String) period.get(0));
+                criteria.setFromDate((Long) period.get(1));
+                criteria.setToDate((Long) period.get(2));
+                criteria.setPropertyId(StringUtils.join(
+                        ids.subList(i, Math.min(i + configurations.getDemandSearchBatchSize(), ids.size())), ","));
+
+                DemandResponse res = mapper.convertValue(
+                        repository.fetchResult(getDemandSearchUrl(criteria), new RequestInfoWrapper(requestInfo)),
+                        DemandResponse.class);
+
+                // the first demand of a consumer code is its latest one as in the single property search
+                if (!CollectionUtils.isEmpty(res.getDemands()))
+                    res.getDemands().forEach(demand -> propertyIdToDemandMap.putIfAbsent(demand.getConsumerCode(), demand));
+            }
+        });
+        return propertyIdToDemandMap;
+    }
+
 
     /**
      * Creates search query for PT based on tenantId and list of assessment numbers
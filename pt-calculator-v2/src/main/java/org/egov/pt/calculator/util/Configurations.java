@@ -65,6 +65,9 @@ public class Configurations {
 	
 	@Value("${egov.demand.search.endpoint}")
 	private String demandSearchEndPoint;
+
+	@Value("${egov.demand.search.batch.size}")
+	private Integer demandSearchBatchSize;
 	
 	@Value("${egov.bill.gen.endpoint}")
 	private String billGenEndPoint;
@@ -93,6 +96,9 @@ public class Configurations {
 	
 	@Value("${billingslab.value.arv.percent}")
 	private Double arvPercent;
+
+	@Value("${billingslab.cache.expiry.seconds}")
+	private Long billingSlabCacheExpirySeconds;
 	
 	// property demand configs
 	
@@ -102,6 +108,9 @@ public class Configurations {
 	@Value("${pt.module.minpayable.amount}")
 	private Integer ptMinAmountPayable;
 
+	@Value("${pt.master.cache.expiry.seconds}")
+	private Long masterCacheExpirySeconds;
+
 
 	@Value("${pt.financialyear.start.month}")
 	private String financialYearStartMonth;
@@ -116,6 +125,12 @@ public class Configurations {
 
 	@Value("#{'${egov.pt.source.demand.gen.ignore}'.split(',')}")
 	private List<String> sourcesToBeIgnored;
+
+	@Value("${pt.demand.batch.size}")
+	private Integer demandBatchSize;
+
+	@Value("${kafka.topics.demand.dead.letter}")
+	private String demandDeadLetterTopic;
 	
 	
 	//Mutation
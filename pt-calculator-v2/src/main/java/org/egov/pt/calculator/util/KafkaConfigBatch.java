@@ -0,0 +1,44 @@
+package org.egov.pt.calculator.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties.AckMode;
+
+@Configuration
+public class KafkaConfigBatch {
+
+    @Autowired
+    private KafkaProperties kafkaProperties;
+
+    @Autowired
+    private Configurations configurations;
+
+    /**
+     * Listener container factory for the consumers processing the records of a
+     * poll together. The consumer factory is not exposed as a bean so that the
+     * default listener container factory keeps the boot configured consumers.
+     * @return Returns the Kafka ListenerContainerFactory object
+     */
+    @Bean("kafkaListenerContainerFactoryBatch")
+    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactoryBatch() {
+        Map<String, Object> props = new HashMap<>(kafkaProperties.buildConsumerProperties());
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, configurations.getDemandBatchSize());
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(AckMode.BATCH);
+
+        return factory;
+    }
+
+}
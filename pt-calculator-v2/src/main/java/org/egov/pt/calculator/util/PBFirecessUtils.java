@@ -1,6 +1,7 @@
 package org.egov.pt.calculator.util;
 
 import org.egov.pt.calculator.service.MasterDataService;
+import org.egov.pt.calculator.web.models.ApplicableMasterTable;
 import org.egov.pt.calculator.web.models.property.PropertyDetail;
 import org.egov.pt.calculator.web.models.property.Unit;
 import org.egov.tracer.model.CustomException;
@@ -61,15 +62,16 @@ public class PBFirecessUtils {
      *
      * @param payableTax
      * @param assessmentYear
+     * @param masterTable
      * @return
      */
-    public BigDecimal getPBFireCess(BigDecimal payableTax, String assessmentYear,List<Object> masterList, PropertyDetail propertyDetail) {
+    public BigDecimal getPBFireCess(BigDecimal payableTax, String assessmentYear, ApplicableMasterTable masterTable, PropertyDetail propertyDetail) {
         BigDecimal fireCess = BigDecimal.ZERO;
 
         if (payableTax.doubleValue() == 0.0)
             return fireCess;
 
-        Map<String, Object> CessMap = mDataService.getApplicableMaster(assessmentYear,masterList);
+        Map<String, Object> CessMap = mDataService.getApplicableMaster(mDataService.getStartingYear(assessmentYear), masterTable);
 
         BigDecimal firecessRate;
 
@@ -0,0 +1,67 @@
+package org.egov.pt.calculator.web.models;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Entries of a year based master (exemption, rebate, penalty, interest, cess)
+ * compiled once per master data load. The starting year of the from financial
+ * year and the starting day of every entry are parsed on compilation and the
+ * entries are indexed on the starting year.
+ */
+@Getter
+public class ApplicableMasterTable {
+
+	/**
+	 * Entries in the order of the master
+	 */
+	private final List<Entry> entries;
+
+	/**
+	 * True if any of the entries has a starting day, the applicable entry then
+	 * depends on the current time and the order of the entries
+	 */
+	private final boolean startingDayBased;
+
+	/**
+	 * First entry of every starting year in the order of the master
+	 */
+	private final NavigableMap<Integer, Map<String, Object>> firstEntryByYear = new TreeMap<>();
+
+	/**
+	 * Last entry of every starting year in the order of the master
+	 */
+	private final NavigableMap<Integer, Map<String, Object>> lastEntryByYear = new TreeMap<>();
+
+	public ApplicableMasterTable(List<Entry> entries) {
+		this.entries = Collections.unmodifiableList(entries);
+		this.startingDayBased = entries.stream().anyMatch(entry -> null != entry.getStartingDay());
+		entries.forEach(entry -> {
+			firstEntryByYear.putIfAbsent(entry.getYear(), entry.getValues());
+			lastEntryByYear.put(entry.getYear(), entry.getValues());
+		});
+	}
+
+	@Getter
+	@AllArgsConstructor
+	public static class Entry {
+
+		private final int year;
+
+		private final String startingDay;
+
+		/**
+		 * Starting day in epoch, null if the entry has no starting day or it
+		 * cannot be parsed
+		 */
+		private final Long startTime;
+
+		private final Map<String, Object> values;
+	}
+}
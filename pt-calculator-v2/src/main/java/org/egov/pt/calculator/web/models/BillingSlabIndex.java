@@ -0,0 +1,101 @@
+package org.egov.pt.calculator.web.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import lombok.Getter;
+
+/**
+ * Billing slabs of a tenant compiled once per load from the database. Slabs
+ * are grouped on property type, property sub type, ownership category, sub
+ * ownership category, area type and multi floored flag, and every group is
+ * sorted on the from plot size so that the plot size is matched with a range
+ * search.
+ *
+ * A slab with the configured all value on an attribute is grouped under the
+ * all value and matches every value of that attribute.
+ */
+@Getter
+public class BillingSlabIndex {
+
+	private static final String KEY_SEPARATOR = "|";
+
+	private final List<BillingSlab> billingSlabs;
+
+	private final String all;
+
+	private final long loadedTime;
+
+	private final Map<String, List<BillingSlab>> propertySlabs;
+
+	public BillingSlabIndex(List<BillingSlab> billingSlabs, String all, long loadedTime) {
+		this.billingSlabs = Collections.unmodifiableList(billingSlabs);
+		this.all = all;
+		this.loadedTime = loadedTime;
+		this.propertySlabs = group(billingSlabs,
+				slab -> getKey(slab.getPropertyType(), slab.getPropertySubType(), slab.getOwnerShipCategory(),
+						slab.getSubOwnerShipCategory(), slab.getAreaType(), slab.getIsPropertyMultiFloored()),
+				Comparator.comparing(BillingSlab::getFromPlotSize));
+	}
+
+	/**
+	 * Slabs matching the property detail values, the plot size is matched on
+	 * from (exclusive, inclusive for a zero plot size) and to (inclusive)
+	 */
+	public List<BillingSlab> getPropertySlabs(String propertyType, String propertySubType, String ownerShipCategory,
+			String subOwnerShipCategory, String areaType, Boolean isPropertyMultiFloored, double plotSize) {
+		List<BillingSlab> matchingSlabs = new ArrayList<>();
+		Set<String> keys = new LinkedHashSet<>();
+		for (String subType : getCandidates(propertySubType))
+			for (String ownerShip : getCandidates(ownerShipCategory))
+				for (String subOwnerShip : getCandidates(subOwnerShipCategory))
+					for (String area : getCandidates(areaType))
+						keys.add(getKey(propertyType, subType, ownerShip, subOwnerShip, area, isPropertyMultiFloored));
+		for (String key : keys) {
+			List<BillingSlab> slabs = propertySlabs.get(key);
+			if (slabs == null)
+				continue;
+			for (BillingSlab slab : slabs) {
+				boolean isFromMatching = plotSize == 0.0 ? slab.getFromPlotSize() <= plotSize
+						: slab.getFromPlotSize() < plotSize;
+				// slabs are sorted on from plot size, none of the rest can match
+				if (!isFromMatching)
+					break;
+				if (slab.getToPlotSize() >= plotSize)
+					matchingSlabs.add(slab);
+			}
+		}
+		return matchingSlabs;
+	}
+
+	List<String> getCandidates(String value) {
+		if (value == null || all.equalsIgnoreCase(value))
+			return Collections.singletonList(all);
+		return Arrays.asList(value, all);
+	}
+
+	static String getKey(Object... values) {
+		StringBuilder key = new StringBuilder();
+		for (Object value : values)
+			key.append(String.valueOf(value).toLowerCase(Locale.ROOT)).append(KEY_SEPARATOR);
+		return key.toString();
+	}
+
+	static Map<String, List<BillingSlab>> group(List<BillingSlab> billingSlabs,
+			Function<BillingSlab, String> keyMapper, Comparator<BillingSlab> comparator) {
+		Map<String, List<BillingSlab>> groupedSlabs = new HashMap<>();
+		billingSlabs.forEach(slab -> groupedSlabs.computeIfAbsent(keyMapper.apply(slab), key -> new ArrayList<>())
+				.add(slab));
+		groupedSlabs.values().forEach(slabs -> slabs.sort(comparator));
+		return groupedSlabs;
+	}
+}
@@ -0,0 +1,49 @@
+package org.egov.pt.calculator.web.models;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import net.minidev.json.JSONArray;
+
+/**
+ * Property tax masters of a tenant as fetched from MDMS along with the year
+ * based masters compiled into rule tables. Instances are cached and shared
+ * between the callers and must not be modified.
+ */
+@Getter
+@AllArgsConstructor
+public class PropertyMasterData {
+
+	/**
+	 * Property based exemption masters keyed on master name and code
+	 */
+	private Map<String, Map<String, List<Object>>> propertyBasedExemptionMasterMap;
+
+	/**
+	 * All the property tax masters keyed on master name
+	 */
+	private Map<String, JSONArray> timeBasedExemptionMasterMap;
+
+	/**
+	 * Rule tables of the property based exemption masters keyed on master name and code
+	 */
+	private Map<String, Map<String, ApplicableMasterTable>> exemptionTables;
+
+	/**
+	 * Rule tables of the time based masters keyed on master name
+	 */
+	private Map<String, ApplicableMasterTable> timeBasedTables;
+
+	private long loadedTime;
+
+	public ApplicableMasterTable getExemptionTable(String masterName, String code) {
+		Map<String, ApplicableMasterTable> tables = exemptionTables.get(masterName);
+		return null == tables || null == code ? null : tables.get(code);
+	}
+
+	public ApplicableMasterTable getTimeBasedTable(String masterName) {
+		return timeBasedTables.get(masterName);
+	}
+}
@@ -0,0 +1,58 @@
+package org.egov.pt.calculator.web.models;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.egov.pt.calculator.web.models.property.Unit;
+
+/**
+ * Billing slabs of a property grouped on the usage categories and occupancy
+ * type of the unit, every group is sorted on the from floor so that the floor
+ * of the unit is matched with a range search.
+ */
+public class UnitBillingSlabIndex {
+
+	private final Map<String, List<BillingSlab>> unitSlabs;
+
+	private final BillingSlabIndex billingSlabIndex;
+
+	public UnitBillingSlabIndex(BillingSlabIndex billingSlabIndex, List<BillingSlab> propertySlabs) {
+		this.billingSlabIndex = billingSlabIndex;
+		this.unitSlabs = BillingSlabIndex.group(propertySlabs,
+				slab -> BillingSlabIndex.getKey(slab.getUsageCategoryMajor(), slab.getUsageCategoryMinor(),
+						slab.getUsageCategorySubMinor(), slab.getUsageCategoryDetail(), slab.getOccupancyType()),
+				Comparator.comparing(BillingSlab::getFromFloor));
+	}
+
+	/**
+	 * Slabs matching the usage categories and occupancy type of the unit whose
+	 * from and to floor (both inclusive) contain the floor of the unit
+	 */
+	public List<BillingSlab> getUnitSlabs(Unit unit, double floorNo) {
+		List<BillingSlab> matchingSlabs = new ArrayList<>();
+		Set<String> keys = new LinkedHashSet<>();
+		for (String major : billingSlabIndex.getCandidates(unit.getUsageCategoryMajor()))
+			for (String minor : billingSlabIndex.getCandidates(unit.getUsageCategoryMinor()))
+				for (String subMinor : billingSlabIndex.getCandidates(unit.getUsageCategorySubMinor()))
+					for (String detail : billingSlabIndex.getCandidates(unit.getUsageCategoryDetail()))
+						for (String occupancy : billingSlabIndex.getCandidates(unit.getOccupancyType()))
+							keys.add(BillingSlabIndex.getKey(major, minor, subMinor, detail, occupancy));
+		for (String key : keys) {
+			List<BillingSlab> slabs = unitSlabs.get(key);
+			if (slabs == null)
+				continue;
+			for (BillingSlab slab : slabs) {
+				// slabs are sorted on from floor, none of the rest can match
+				if (slab.getFromFloor() > floorNo)
+					break;
+				if (slab.getToFloor() >= floorNo)
+					matchingSlabs.add(slab);
+			}
+		}
+		return matchingSlabs;
+	}
+}
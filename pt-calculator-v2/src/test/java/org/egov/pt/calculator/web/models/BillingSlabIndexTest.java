@@ -0,0 +1,190 @@
+package org.egov.pt.calculator.web.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.egov.pt.calculator.web.models.property.Unit;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that the indexes return the same slabs as the filters of the
+ * estimation they replace, for every combination of a grid of property and
+ * unit values including the all value, values in another case, values
+ * without a slab, null values and the boundaries of the plot size and floor
+ * ranges
+ */
+public class BillingSlabIndexTest {
+
+	private static final String ALL = "ALL";
+
+	private static final List<String> PROPERTY_TYPES = Arrays.asList("BUILTUP", "VACANT");
+
+	private static final List<String> PROPERTY_SUB_TYPES = Arrays.asList("SHAREDPROPERTY", "IndependentProperty", ALL);
+
+	private static final List<String> OWNERSHIP_CATEGORIES = Arrays.asList("INDIVIDUAL", ALL);
+
+	private static final List<String> SUB_OWNERSHIP_CATEGORIES = Arrays.asList("SINGLEOWNER", ALL);
+
+	private static final List<String> AREA_TYPES = Arrays.asList("A1", "A2", "all");
+
+	private static final double[][] PLOT_SIZE_RANGES = { { 0, 500 }, { 500, 1000 }, { 1000, 1000000000 } };
+
+	private static final List<String> USAGE_MAJORS = Arrays.asList("RESIDENTIAL", "NONRESIDENTIAL", ALL);
+
+	private static final List<String> USAGE_MINORS = Arrays.asList("COMMERCIAL", ALL);
+
+	private static final List<String> USAGE_SUB_MINORS = Arrays.asList("RETAIL", ALL);
+
+	private static final List<String> USAGE_DETAILS = Arrays.asList("SHOP", ALL);
+
+	private static final List<String> OCCUPANCY_TYPES = Arrays.asList("SELFOCCUPIED", "RENTED", "all");
+
+	private static final double[][] FLOOR_RANGES = { { -2, -1 }, { 0, 0 }, { 1, 3 }, { 4, 100 } };
+
+	private List<BillingSlab> propertySlabs;
+
+	private List<BillingSlab> unitSlabs;
+
+	@Before
+	public void setUp() {
+		propertySlabs = new ArrayList<>();
+		for (String propertyType : PROPERTY_TYPES)
+			for (String subType : PROPERTY_SUB_TYPES)
+				for (String ownerShip : OWNERSHIP_CATEGORIES)
+					for (String subOwnerShip : SUB_OWNERSHIP_CATEGORIES)
+						for (String area : AREA_TYPES)
+							for (Boolean isMultiFloored : Arrays.asList(true, false))
+								for (double[] range : PLOT_SIZE_RANGES)
+									propertySlabs.add(BillingSlab.builder().id("P-" + propertySlabs.size())
+											.propertyType(propertyType).propertySubType(subType)
+											.ownerShipCategory(ownerShip).subOwnerShipCategory(subOwnerShip)
+											.areaType(area).isPropertyMultiFloored(isMultiFloored)
+											.fromPlotSize(range[0]).toPlotSize(range[1]).build());
+
+		unitSlabs = new ArrayList<>();
+		for (String major : USAGE_MAJORS)
+			for (String minor : USAGE_MINORS)
+				for (String subMinor : USAGE_SUB_MINORS)
+					for (String detail : USAGE_DETAILS)
+						for (String occupancy : OCCUPANCY_TYPES)
+							for (double[] range : FLOOR_RANGES)
+								unitSlabs.add(BillingSlab.builder().id("U-" + unitSlabs.size())
+										.usageCategoryMajor(major).usageCategoryMinor(minor)
+										.usageCategorySubMinor(subMinor).usageCategoryDetail(detail)
+										.occupancyType(occupancy).fromFloor(range[0]).toFloor(range[1]).build());
+	}
+
+	@Test
+	public void propertySlabsMatchFilter() {
+		BillingSlabIndex index = new BillingSlabIndex(propertySlabs, ALL, System.currentTimeMillis());
+		int matchedCount = 0;
+		for (String propertyType : Arrays.asList("BUILTUP", "builtup", "MIXED"))
+			for (String subType : Arrays.asList("SHAREDPROPERTY", "INDEPENDENTPROPERTY", "OTHER", ALL, null))
+				for (String ownerShip : Arrays.asList("INDIVIDUAL", "INSTITUTIONAL", null))
+					for (String subOwnerShip : Arrays.asList("SINGLEOWNER", "MULTIPLEOWNERS", null))
+						for (String area : Arrays.asList("A1", "a2", "A3", null))
+							for (Boolean isMultiFloored : Arrays.asList(true, false))
+								for (double plotSize : new double[] { 0, 0.5, 499.99, 500, 500.01, 1000, 1000000000,
+										1000000001 }) {
+									List<BillingSlab> expected = filterPropertySlabs(propertyType, subType, ownerShip,
+											subOwnerShip, area, isMultiFloored, plotSize);
+									List<BillingSlab> actual = index.getPropertySlabs(propertyType, subType, ownerShip,
+											subOwnerShip, area, isMultiFloored, plotSize);
+									assertSameSlabs(expected, actual);
+									matchedCount += actual.size();
+								}
+		assertTrue("the grid does not match any slab", matchedCount > 0);
+	}
+
+	@Test
+	public void unitSlabsMatchFilter() {
+		BillingSlabIndex index = new BillingSlabIndex(propertySlabs, ALL, System.currentTimeMillis());
+		UnitBillingSlabIndex unitIndex = new UnitBillingSlabIndex(index, unitSlabs);
+		int matchedCount = 0;
+		for (String major : Arrays.asList("RESIDENTIAL", "nonResidential", "MIXED", null))
+			for (String minor : Arrays.asList("COMMERCIAL", "INDUSTRIAL", null))
+				for (String subMinor : Arrays.asList("RETAIL", "OTHER", null))
+					for (String detail : Arrays.asList("SHOP", "OTHER", null))
+						for (String occupancy : Arrays.asList("SELFOCCUPIED", "RENTED", "UNOCCUPIED", null))
+							for (double floorNo : new double[] { -3, -2, -1, -0.5, 0, 1, 3, 3.5, 4, 100, 101 }) {
+								Unit unit = Unit.builder().usageCategoryMajor(major).usageCategoryMinor(minor)
+										.usageCategorySubMinor(subMinor).usageCategoryDetail(detail)
+										.occupancyType(occupancy).floorNo(String.valueOf(floorNo)).build();
+								List<BillingSlab> actual = unitIndex.getUnitSlabs(unit, floorNo);
+								assertSameSlabs(filterUnitSlabs(unit), actual);
+								matchedCount += actual.size();
+							}
+		assertTrue("the grid does not match any slab", matchedCount > 0);
+	}
+
+	@Test
+	public void emptyIndexMatchesNothing() {
+		BillingSlabIndex index = new BillingSlabIndex(new ArrayList<>(), ALL, System.currentTimeMillis());
+		assertTrue(index.getPropertySlabs("BUILTUP", ALL, ALL, ALL, ALL, false, 100).isEmpty());
+		assertTrue(new UnitBillingSlabIndex(index, new ArrayList<>())
+				.getUnitSlabs(Unit.builder().usageCategoryMajor(ALL).floorNo("0").build(), 0).isEmpty());
+	}
+
+	/**
+	 * The property level filter of the estimation before the index
+	 */
+	private List<BillingSlab> filterPropertySlabs(String dtlPtType, String dtlPtSubType, String dtlOwnerShipCat,
+			String dtlSubOwnerShipCat, String dtlAreaType, Boolean dtlIsMultiFloored, double plotSize) {
+		return propertySlabs.stream().filter(slab -> {
+			boolean isPropertyMultiFloored = slab.getIsPropertyMultiFloored().equals(dtlIsMultiFloored);
+			boolean isAreaMatching = slab.getAreaType().equalsIgnoreCase(dtlAreaType)
+					|| ALL.equalsIgnoreCase(slab.getAreaType());
+			boolean isPtTypeMatching = slab.getPropertyType().equalsIgnoreCase(dtlPtType);
+			boolean isPtSubTypeMatching = slab.getPropertySubType().equalsIgnoreCase(dtlPtSubType)
+					|| ALL.equalsIgnoreCase(slab.getPropertySubType());
+			boolean isOwnerShipMatching = slab.getOwnerShipCategory().equalsIgnoreCase(dtlOwnerShipCat)
+					|| ALL.equalsIgnoreCase(slab.getOwnerShipCategory());
+			boolean isSubOwnerShipMatching = slab.getSubOwnerShipCategory().equalsIgnoreCase(dtlSubOwnerShipCat)
+					|| ALL.equalsIgnoreCase(slab.getSubOwnerShipCategory());
+			boolean isPlotMatching;
+			if (plotSize == 0.0)
+				isPlotMatching = slab.getFromPlotSize() <= plotSize && slab.getToPlotSize() >= plotSize;
+			else
+				isPlotMatching = slab.getFromPlotSize() < plotSize && slab.getToPlotSize() >= plotSize;
+			return isPtTypeMatching && isPtSubTypeMatching && isOwnerShipMatching && isSubOwnerShipMatching
+					&& isPlotMatching && isAreaMatching && isPropertyMultiFloored;
+		}).collect(Collectors.toList());
+	}
+
+	/**
+	 * The unit level filter of the estimation before the index
+	 */
+	private List<BillingSlab> filterUnitSlabs(Unit unit) {
+		Double floorNo = Double.parseDouble(unit.getFloorNo());
+		return unitSlabs.stream().filter(slab -> (slab.getUsageCategoryMajor().equalsIgnoreCase(unit.getUsageCategoryMajor())
+				|| slab.getUsageCategoryMajor().equalsIgnoreCase(ALL))
+				&& (slab.getUsageCategoryMinor().equalsIgnoreCase(unit.getUsageCategoryMinor())
+						|| slab.getUsageCategoryMinor().equalsIgnoreCase(ALL))
+				&& (slab.getUsageCategorySubMinor().equalsIgnoreCase(unit.getUsageCategorySubMinor())
+						|| slab.getUsageCategorySubMinor().equalsIgnoreCase(ALL))
+				&& (slab.getUsageCategoryDetail().equalsIgnoreCase(unit.getUsageCategoryDetail())
+						|| slab.getUsageCategoryDetail().equalsIgnoreCase(ALL))
+				&& slab.getFromFloor() <= floorNo && slab.getToFloor() >= floorNo
+				&& (slab.getOccupancyType().equalsIgnoreCase(unit.getOccupancyType())
+						|| slab.getOccupancyType().equalsIgnoreCase(ALL)))
+				.collect(Collectors.toList());
+	}
+
+	private static void assertSameSlabs(List<BillingSlab> expected, List<BillingSlab> actual) {
+		assertEquals(getIds(expected), getIds(actual));
+		assertEquals("duplicate slabs " + getIds(actual), expected.size(), actual.size());
+	}
+
+	private static Set<String> getIds(List<BillingSlab> slabs) {
+		return slabs.stream().map(BillingSlab::getId).collect(Collectors.toCollection(TreeSet::new));
+	}
+
+}
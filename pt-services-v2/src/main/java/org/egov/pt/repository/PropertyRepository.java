@@ -3,6 +3,7 @@ package org.egov.pt.repository;
 import lombok.extern.slf4j.Slf4j;
 import org.egov.pt.repository.builder.PropertyQueryBuilder;
 import org.egov.pt.repository.rowmapper.PropertyRowMapper;
+import org.egov.pt.util.PTConstants;
 import org.egov.pt.web.models.Property;
 import org.egov.pt.web.models.PropertyCriteria;
 import org.egov.tracer.model.CustomException;
@@ -10,11 +11,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 @Repository
 @Slf4j
@@ -35,20 +35,50 @@ public class PropertyRepository {
 		return jdbcTemplate.query(query, preparedStmtList.toArray(), rowMapper);
 	}
 
-	public Set<String> fetchPropertyIds(PropertyCriteria criteria){
+	/**
+	 * Fetches one page of property ids, in the order of the page
+	 */
+	public List<String> fetchPropertyIds(PropertyCriteria criteria){
+
+		if (PTConstants.PAGINATION_MODE_KEYSET.equalsIgnoreCase(criteria.getPaginationMode()))
+			return fetchPropertyIdsAfter(criteria);
 
 		List<Object> preparedStmtList = new ArrayList<>();
 		preparedStmtList.add(criteria.getOffset());
 		preparedStmtList.add(criteria.getLimit());
 
-		List<String> ids = jdbcTemplate.query("SELECT propertyid from eg_pt_property_v2 ORDER BY createdtime offset " +
+		return jdbcTemplate.query("SELECT propertyid from eg_pt_property_v2 ORDER BY createdtime offset " +
 						" ? " +
 						"limit ? ",
 				preparedStmtList.toArray(),
 				new SingleColumnRowMapper<>(String.class));
-		return new HashSet<>(ids);
 	}
 	
+	/**
+	 * Fetches the property ids of the tenant in the byte order of property id,
+	 * seeking past the lastPropertyId of the criteria instead of skipping an
+	 * offset. The comparison and the ORDER BY use the same "C" collation, so
+	 * the last id of a page is always the key of the next one.
+	 */
+	private List<String> fetchPropertyIdsAfter(PropertyCriteria criteria){
+
+		if (StringUtils.isEmpty(criteria.getTenantId()))
+			throw new CustomException("INVALID_SEARCH", "TenantId is mandatory for keyset pagination");
+
+		List<Object> preparedStmtList = new ArrayList<>();
+		StringBuilder query = new StringBuilder("SELECT propertyid from eg_pt_property_v2 WHERE tenantid = ? ");
+		preparedStmtList.add(criteria.getTenantId());
+		if (!StringUtils.isEmpty(criteria.getLastPropertyId())) {
+			query.append("AND propertyid COLLATE \"C\" > ? ");
+			preparedStmtList.add(criteria.getLastPropertyId());
+		}
+		query.append("ORDER BY propertyid COLLATE \"C\" limit ? ");
+		preparedStmtList.add(criteria.getLimit());
+
+		return jdbcTemplate.query(query.toString(), preparedStmtList.toArray(),
+				new SingleColumnRowMapper<>(String.class));
+	}
+
 	public List<Property> getPropertiesPlainSearch(PropertyCriteria criteria){
 		if(criteria.getIds() == null || criteria.getIds().isEmpty())
 			throw new CustomException("PLAIN_SEARCH_ERROR", "Search only allowed by ids!");
@@ -120,19 +120,22 @@ public class PropertyService {
         if (criteria.getLimit() != null && criteria.getLimit() > config.getMaxSearchLimit())
             criteria.setLimit(config.getMaxSearchLimit());
 
-        Set<String> ids = null;
-
         if(criteria.getIds() != null && !criteria.getIds().isEmpty())
-            ids = criteria.getIds();
-        else
-            ids = repository.fetchPropertyIds(criteria);
+            return repository.getPropertiesPlainSearch(PropertyCriteria.builder().ids(new HashSet<>(criteria.getIds())).build());
+
+        List<String> ids = repository.fetchPropertyIds(criteria);
 
         if(ids.isEmpty())
             return Collections.emptyList();
 
         PropertyCriteria propertyCriteria = PropertyCriteria.builder().ids(new HashSet<>(ids)).build();
 
-        List<Property> properties = repository.getPropertiesPlainSearch(propertyCriteria);
+        // The properties are returned in the order of the page of ids, so the last one carries the next lastPropertyId
+        Map<String, Integer> idOrder = new HashMap<>();
+        for (String id : ids)
+            idOrder.put(id, idOrder.size());
+        List<Property> properties = new ArrayList<>(repository.getPropertiesPlainSearch(propertyCriteria));
+        properties.sort(Comparator.comparing(property -> idOrder.getOrDefault(property.getPropertyId(), Integer.MAX_VALUE)));
         // enrichmentService.enrichPropertyCriteriaWithOwnerids(criteria, properties);
         // UserDetailResponse userDetailResponse = userService.getUser(criteria, requestInfo);
         // enrichmentService.enrichOwner(userDetailResponse, properties);
@@ -65,5 +65,7 @@ public class PTConstants {
 
 	public static final String BUSINESSSERVICE_CODE = "PT";
 
+	public static final String PAGINATION_MODE_KEYSET = "KEYSET";
+
 
 }
@@ -66,6 +66,10 @@ public class PropertyCriteria {
 
 	private String propertyId;
 
+	private String lastPropertyId;
+
+	private String paginationMode;
+
 
 
 	public Boolean isNull(){
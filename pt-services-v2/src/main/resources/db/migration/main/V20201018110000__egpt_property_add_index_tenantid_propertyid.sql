@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_eg_pt_property_v2_tenantid_propertyid ON eg_pt_property_v2(tenantid, propertyid);
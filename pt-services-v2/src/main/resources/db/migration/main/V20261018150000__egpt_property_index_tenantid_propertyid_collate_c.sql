@@ -0,0 +1,3 @@
+DROP INDEX IF EXISTS idx_eg_pt_property_v2_tenantid_propertyid;
+
+CREATE INDEX IF NOT EXISTS idx_eg_pt_property_v2_tenantid_propertyid_c ON eg_pt_property_v2(tenantid, propertyid COLLATE "C");
@@ -0,0 +1,228 @@
+package org.egov.swcalculation.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.swcalculation.config.SWCalculationConfiguration;
+import org.egov.swcalculation.constants.SWCalculationConstant;
+import org.egov.swcalculation.repository.Repository;
+import org.egov.swcalculation.repository.ServiceRequestRepository;
+import org.egov.swcalculation.service.EstimationService;
+import org.egov.swcalculation.service.MasterDataService;
+import org.egov.swcalculation.util.CalculatorUtils;
+import org.egov.swcalculation.util.MasterDataCache;
+import org.egov.swcalculation.util.SWCalculationUtil;
+import org.egov.swcalculation.util.SewerageCessUtil;
+import org.egov.swcalculation.web.models.CalculationCriteria;
+import org.egov.swcalculation.web.models.SewerageConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.support.ResourcePropertySource;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Benchmarks the sewerage charge estimation of a batch of connections with
+ * the given size
+ *
+ * The connections and the property search responses are generated, the MDMS
+ * response is read from the fixture under benchmark/ so that only the
+ * estimation is measured. Run with mvn -Pbenchmark -DskipTests verify
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EstimationServiceBenchmark {
+
+	private static final String TENANT_ID = "pb.amritsar";
+
+	private static final String[] BUILDING_TYPES = { "RESIDENTIAL", "NONRESIDENTIAL", "MIXED", "INSTITUTIONAL",
+			"INDUSTRIAL", "COMMERCIAL" };
+
+	@Param({ "1", "50", "500" })
+	private int connectionCount;
+
+	private MasterDataCache masterDataCache;
+
+	private EstimationService estimationService;
+
+	private RequestInfo requestInfo;
+
+	private Map<String, Object> calculationMasters;
+
+	private List<CalculationCriteria> criterias;
+
+	private Map<String, Object> propertyResponses;
+
+	@Setup
+	public void setup() throws IOException {
+		ObjectMapper mapper = new ObjectMapper().configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true)
+				.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+		AnnotationConfigApplicationContext context = getContext();
+		SWCalculationConfiguration config = context.getBean(SWCalculationConfiguration.class);
+		Environment environment = context.getEnvironment();
+		generateConnections();
+
+		Repository repository = new MdmsFixtureRepository(config, mapper);
+		ServiceRequestRepository serviceRequestRepository = new PropertyFixtureRepository(propertyResponses);
+
+		masterDataCache = new MasterDataCache();
+		masterDataCache.setConfig(config);
+
+		CalculatorUtils calculatorUtils = new CalculatorUtils();
+		calculatorUtils.setConfigurations(config);
+		calculatorUtils.setServiceRequestRepository(serviceRequestRepository);
+		calculatorUtils.setMapper(mapper);
+
+		SWCalculationUtil sWCalculationUtil = new SWCalculationUtil();
+		sWCalculationUtil.setConfigurations(config);
+		sWCalculationUtil.setConfig(config);
+		sWCalculationUtil.setServiceRequestRepository(serviceRequestRepository);
+		sWCalculationUtil.setObjectMapper(mapper);
+		sWCalculationUtil.setPropertyHost(environment.getProperty("egov.property.service.host"));
+		sWCalculationUtil.setSearchPropertyEndPoint(environment.getProperty("egov.property.searchendpoint"));
+
+		MasterDataService masterDataService = new MasterDataService();
+		masterDataService.setSwCalculationUtil(sWCalculationUtil);
+		masterDataService.setRepository(repository);
+		masterDataService.setMapper(mapper);
+		masterDataService.setCalculatorUtils(calculatorUtils);
+		masterDataService.setMasterDataCache(masterDataCache);
+
+		SewerageCessUtil sewerageCessUtil = new SewerageCessUtil();
+		sewerageCessUtil.setMDataService(masterDataService);
+
+		estimationService = new EstimationService();
+		estimationService.setCalculatorUtil(calculatorUtils);
+		estimationService.setSewerageCessUtil(sewerageCessUtil);
+		estimationService.setMapper(mapper);
+		estimationService.setSWCalculationUtil(sWCalculationUtil);
+		masterDataService.setEstimationService(estimationService);
+
+		requestInfo = new RequestInfo();
+		calculationMasters = new HashMap<>();
+		masterDataService.loadBillingSlabsAndTimeBasedExemptions(requestInfo, TENANT_ID, calculationMasters);
+	}
+
+	@Benchmark
+	public void getEstimationMap(Blackhole blackhole) {
+		for (CalculationCriteria criteria : criterias)
+			blackhole.consume(estimationService.getEstimationMap(criteria, requestInfo, calculationMasters));
+	}
+
+	/**
+	 * Non metered connections with toilets spread over the slabs and every
+	 * fourth connection metered, every connection on a property of its own
+	 */
+	private void generateConnections() {
+		criterias = new ArrayList<>();
+		propertyResponses = new HashMap<>();
+		for (int i = 0; i < connectionCount; i++) {
+			String propertyId = "PB-PT-" + i;
+			Map<String, Object> property = new LinkedHashMap<>();
+			property.put("id", propertyId);
+			property.put("propertyId", propertyId);
+			property.put("tenantId", TENANT_ID);
+			property.put("usageCategory", BUILDING_TYPES[i % BUILDING_TYPES.length] + ".OTHERS");
+			propertyResponses.put(propertyId, Collections.singletonMap("Properties", Collections.singletonList(property)));
+
+			SewerageConnection connection = new SewerageConnection();
+			connection.setId("SW-" + i);
+			connection.setTenantId(TENANT_ID);
+			connection.setPropertyId(propertyId);
+			connection.setConnectionNo("SW/107/2019-20/" + i);
+			if (i % 4 == 3) {
+				connection.setConnectionType(SWCalculationConstant.meteredConnectionType);
+			} else {
+				connection.setConnectionType(SWCalculationConstant.nonMeterdConnection);
+				connection.setNoOfToilets(1 + i % 15);
+			}
+			criterias.add(CalculationCriteria.builder().sewerageConnection(connection)
+					.connectionNo(connection.getConnectionNo()).tenantId(TENANT_ID).build());
+		}
+	}
+
+	private AnnotationConfigApplicationContext getContext() throws IOException {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.getEnvironment().getPropertySources()
+				.addFirst(new ResourcePropertySource("classpath:application.properties"));
+		context.register(SWCalculationConfiguration.class);
+		context.refresh();
+		return context;
+	}
+
+	/**
+	 * Returns the MDMS fixture in place of the MDMS search
+	 */
+	private static class MdmsFixtureRepository extends Repository {
+
+		private final String mdmsEndPoint;
+
+		private final Object mdmsResponse;
+
+		MdmsFixtureRepository(SWCalculationConfiguration config, ObjectMapper mapper) throws IOException {
+			mdmsEndPoint = config.getMdmsEndPoint();
+			try (InputStream stream = EstimationServiceBenchmark.class
+					.getResourceAsStream("/benchmark/mdms-response.json")) {
+				mdmsResponse = mapper.readValue(stream, Map.class);
+			}
+		}
+
+		@Override
+		public Object fetchResult(StringBuilder uri, Object request) {
+			if (!uri.toString().contains(mdmsEndPoint))
+				throw new IllegalArgumentException("No fixture for " + uri);
+			return mdmsResponse;
+		}
+	}
+
+	/**
+	 * Returns the generated property of the uuid searched in place of the
+	 * property search
+	 */
+	private static class PropertyFixtureRepository extends ServiceRequestRepository {
+
+		private static final String UUIDS_PARAM = "uuids=";
+
+		private final Map<String, Object> propertyResponses;
+
+		PropertyFixtureRepository(Map<String, Object> propertyResponses) {
+			this.propertyResponses = propertyResponses;
+		}
+
+		@Override
+		public Object fetchResult(StringBuilder uri, Object request) {
+			int uuidsIndex = uri.indexOf(UUIDS_PARAM);
+			Object response = uuidsIndex < 0 ? null
+					: propertyResponses.get(uri.substring(uuidsIndex + UUIDS_PARAM.length()));
+			if (response == null)
+				throw new IllegalArgumentException("No fixture for " + uri);
+			return response;
+		}
+	}
+}
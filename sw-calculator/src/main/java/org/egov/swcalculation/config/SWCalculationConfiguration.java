@@ -1,6 +1,7 @@
 package org.egov.swcalculation.config;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -145,6 +146,12 @@ public class SWCalculationConfiguration {
 	
 	@Value("${egov.bill.fetch.endpoint}")
 	private String fetchBillEndPoint;
+
+	@Value("${egov.bill.fetch.batch.size}")
+	private Integer fetchBillBatchSize;
+
+	@Value("${egov.bill.fetch.pool.size}")
+	private Integer fetchBillPoolSize;
 	
 
 	@Value("${kafka.topics.billgen.topic}")
@@ -162,6 +169,12 @@ public class SWCalculationConfiguration {
 
     @Value("${persister.demand.based.dead.letter.topic.single}")
     private String deadLetterTopicSingle;
+
+    @Value("${egov.demand.scheduler.batch.size}")
+    private Integer demandSchedulerBatchSize;
+
+    @Value("${egov.demand.scheduler.pool.size}")
+    private Integer demandSchedulerPoolSize;
     
     @Value("${notification.url}")
     private String notificationUrl;
@@ -174,6 +187,18 @@ public class SWCalculationConfiguration {
 
 	@Value("${egov.property.searchendpoint}")
 	private String searchPropertyEndPoint;
+
+	@Value("${egov.mdms.cache.expiry.seconds}")
+	private Long mdmsCacheExpirySeconds;
+
+	@Value("${egov.mdms.cache.refresh.seconds}")
+	private Long mdmsCacheRefreshSeconds;
+
+	@Value("${egov.mdms.cache.max.size}")
+	private Integer mdmsCacheMaxSize;
+
+	@Value("#{'${egov.mdms.cache.admin.roles}'.split(',')}")
+	private List<String> mdmsCacheAdminRoles;
 	
 	@Value("${workflow.workDir.path}")
 	private String workflowHost;
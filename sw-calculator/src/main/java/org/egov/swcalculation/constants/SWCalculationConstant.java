@@ -55,6 +55,8 @@ public class SWCalculationConstant {
 
 	public static final String SW_BILLING_SLAB_MASTER = "SCBillingSlab";
 
+	public static final String SW_BILLING_SLAB_INDEX = "SCBillingSlabIndex";
+
 	public static final String EMPTY_DEMAND_ERROR_CODE = "EMPTY_DEMANDS";
 
 	public static final String EMPTY_DEMAND_ERROR_MESSAGE = "No demands found for the given bill generate criteria";
@@ -135,6 +137,16 @@ public class SWCalculationConstant {
 
 	public static final String SW_MODULE = "sw-services-calculation";
 
+	public static final String BILLING_SERVICE_MODULE = "billing-service";
+
+	public static final String BILL_KEY = "Bill";
+
+	public static final String BILL_CONSUMER_CODE_KEY = "consumerCode";
+
+	public static final String CALCULATION_MASTERS_CACHE_KEY = "CalculationMasters";
+
+	public static final String ESTIMATION_MASTERS_CACHE_KEY = "EstimationMasters";
+
 	public static final String Demand_Generate_Date_String = "demandGenerationDateMillis";
 
 	public static final String Quaterly_Billing_Period = "quaterly";
@@ -143,6 +155,10 @@ public class SWCalculationConstant {
 
 	public static final String BILLING_CYCLE_CONST = "billingCycle";
 
+	public static final String DEMAND_SCHEDULER_IN_PROGRESS = "INPROGRESS";
+
+	public static final String DEMAND_SCHEDULER_COMPLETED = "COMPLETED";
+
 	public static final String MODULE = "rainmaker-ws";
 
 	public static final String NOTIFICATION_LOCALE = "en_IN";
@@ -267,6 +283,8 @@ public class SWCalculationConstant {
 	public static final String CALCULATION_ATTRIBUTE_CONST = "CalculationAttribute";
 	
 	public static final String ATTRIBUTE = "attribute";
+
+	public static final String NAME = "name";
 	
 	public static final String SW_ADHOC_PENALTY = "SW_ADHOC_PENALTY";
 
@@ -2,9 +2,12 @@ package org.egov.swcalculation.consumer;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.egov.common.contract.request.RequestInfo;
 import org.egov.swcalculation.config.SWCalculationConfiguration;
 import org.egov.swcalculation.validator.SWCalculationWorkflowValidator;
 import org.egov.swcalculation.web.models.CalculationCriteria;
@@ -52,14 +55,17 @@ public class DemandGenerationConsumer {
 			"${egov.seweragecalculatorservice.createdemand.topic}" }, containerFactory = "kafkaListenerContainerFactoryBatch")
 	@SuppressWarnings("unchecked")
 	public void listen(final List<Message<?>> records) {
-		CalculationReq calculationReq = mapper.convertValue(records.get(0).getPayload(), CalculationReq.class);
-		Map<String, Object> masterMap = mDataService.loadMasterData(calculationReq.getRequestInfo(),
-				calculationReq.getCalculationCriteria().get(0).getTenantId());
-		List<CalculationCriteria> calculationCriteria = new ArrayList<>();
+		// Scheduled requests are keyed by tenant, a batch can still carry more than one tenant
+		Map<String, List<CalculationCriteria>> tenantWiseCriteria = new LinkedHashMap<>();
+		Map<String, RequestInfo> tenantWiseRequestInfo = new HashMap<>();
 		records.forEach(record -> {
 			try {
 				CalculationReq calcReq = mapper.convertValue(record.getPayload(), CalculationReq.class);
-				calculationCriteria.addAll(calcReq.getCalculationCriteria());
+				calcReq.getCalculationCriteria().forEach(criteria -> {
+					tenantWiseCriteria.computeIfAbsent(criteria.getTenantId(), tenantId -> new ArrayList<>())
+							.add(criteria);
+					tenantWiseRequestInfo.putIfAbsent(criteria.getTenantId(), calcReq.getRequestInfo());
+				});
 				log.info("Consuming record: " + record);
 			} catch (final Exception e) {
 				StringBuilder builder = new StringBuilder();
@@ -67,9 +73,18 @@ public class DemandGenerationConsumer {
 				log.error(builder.toString());
 			}
 		});
-		CalculationReq request = CalculationReq.builder().calculationCriteria(calculationCriteria)
-				.requestInfo(calculationReq.getRequestInfo()).isconnectionCalculation(true).build();
-		generateDemandInBatch(request, masterMap, config.getDeadLetterTopicBatch());
+		tenantWiseCriteria.forEach((tenantId, calculationCriteria) -> {
+			RequestInfo requestInfo = tenantWiseRequestInfo.get(tenantId);
+			CalculationReq request = CalculationReq.builder().calculationCriteria(calculationCriteria)
+					.requestInfo(requestInfo).isconnectionCalculation(true).build();
+			try {
+				Map<String, Object> masterMap = mDataService.loadMasterData(requestInfo, tenantId);
+				generateDemandInBatch(request, masterMap, config.getDeadLetterTopicBatch());
+			} catch (Exception ex) {
+				log.error("Demand generation error for tenant " + tenantId, ex);
+				producer.push(config.getDeadLetterTopicBatch(), request);
+			}
+		});
 		log.info("Number of batch records:  " + records.size());
 	}
 
@@ -84,9 +99,7 @@ public class DemandGenerationConsumer {
 	@KafkaListener(topics = {
 			"${persister.demand.based.dead.letter.topic.batch}" }, containerFactory = "kafkaListenerContainerFactory")
 	public void listenDeadLetterTopic(final List<Message<?>> records) {
-		CalculationReq calculationReq = mapper.convertValue(records.get(0).getPayload(), CalculationReq.class);
-		Map<String, Object> masterMap = mDataService.loadMasterData(calculationReq.getRequestInfo(),
-				calculationReq.getCalculationCriteria().get(0).getTenantId());
+		Map<String, Map<String, Object>> tenantWiseMasterMap = new HashMap<>();
 		records.forEach(record -> {
 			log.info("Consuming record on dead letter topic : " + record);
 			try {
@@ -94,8 +107,10 @@ public class DemandGenerationConsumer {
 				
 				calcReq.getCalculationCriteria().forEach(calcCriteria -> {
 					CalculationReq request = CalculationReq.builder().calculationCriteria(Arrays.asList(calcCriteria))
-							.requestInfo(calculationReq.getRequestInfo()).isconnectionCalculation(true).build();
+							.requestInfo(calcReq.getRequestInfo()).isconnectionCalculation(true).build();
 					try {
+						Map<String, Object> masterMap = tenantWiseMasterMap.computeIfAbsent(calcCriteria.getTenantId(),
+								tenantId -> mDataService.loadMasterData(calcReq.getRequestInfo(), tenantId));
 						log.info("Generating Demand for Criteria : " + calcCriteria);
 						// processing single
 						generateDemandInBatch(request, masterMap, config.getDeadLetterTopicSingle());
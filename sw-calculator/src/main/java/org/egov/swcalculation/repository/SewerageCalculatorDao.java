@@ -2,10 +2,19 @@ package org.egov.swcalculation.repository;
 
 import java.util.List;
 
+import org.egov.swcalculation.web.models.DemandSchedulerCheckpoint;
+
 public interface SewerageCalculatorDao {
 
 	List<String> getTenantId();
 	
 	List<String> getConnectionsNoList(String tenantId, String connectionType);
+
+	List<String> getConnectionsNoList(String tenantId, String connectionType, String fromConnectionNo, int limit);
+
+	DemandSchedulerCheckpoint getDemandSchedulerCheckpoint(String tenantId, String connectionType,
+			String schedulerDate);
+
+	void saveDemandSchedulerCheckpoint(DemandSchedulerCheckpoint checkpoint);
 	
 }
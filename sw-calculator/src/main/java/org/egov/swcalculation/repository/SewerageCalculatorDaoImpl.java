@@ -4,7 +4,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.egov.swcalculation.repository.builder.SWCalculatorQueryBuilder;
+import org.egov.swcalculation.repository.rowMapper.DemandSchedulerCheckpointRowMapper;
 import org.egov.swcalculation.repository.rowMapper.DemandSchedulerRowMapper;
+import org.egov.swcalculation.web.models.DemandSchedulerCheckpoint;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
@@ -24,6 +26,9 @@ public class SewerageCalculatorDaoImpl implements SewerageCalculatorDao {
 	@Autowired
 	DemandSchedulerRowMapper demandSchedulerRowMapper;
 
+	@Autowired
+	DemandSchedulerCheckpointRowMapper demandSchedulerCheckpointRowMapper;
+
 	@Override
 	public List<String> getTenantId() {
 		String query = queryBuilder.getDistinctTenantIds();
@@ -41,4 +46,31 @@ public class SewerageCalculatorDaoImpl implements SewerageCalculatorDao {
 		return jdbcTemplate.query(query, preparedStatement.toArray(), demandSchedulerRowMapper);
 	}
 
+	@Override
+	public List<String> getConnectionsNoList(String tenantId, String connectionType, String fromConnectionNo,
+			int limit) {
+		List<Object> preparedStatement = new ArrayList<>();
+		String query = queryBuilder.getConnectionNumberList(tenantId, connectionType, fromConnectionNo, limit,
+				preparedStatement);
+		StringBuilder builder = new StringBuilder();
+		builder.append("sewerage ").append(connectionType).append(" connection page : ").append(query);
+		log.info(builder.toString());
+		return jdbcTemplate.query(query, preparedStatement.toArray(), demandSchedulerRowMapper);
+	}
+
+	@Override
+	public DemandSchedulerCheckpoint getDemandSchedulerCheckpoint(String tenantId, String connectionType,
+			String schedulerDate) {
+		return jdbcTemplate.query(queryBuilder.getDemandSchedulerCheckpointQuery(),
+				new Object[] { tenantId, connectionType, schedulerDate }, demandSchedulerCheckpointRowMapper);
+	}
+
+	@Override
+	public void saveDemandSchedulerCheckpoint(DemandSchedulerCheckpoint checkpoint) {
+		long currentTime = System.currentTimeMillis();
+		jdbcTemplate.update(queryBuilder.getDemandSchedulerCheckpointUpsertQuery(), checkpoint.getTenantId(),
+				checkpoint.getConnectionType(), checkpoint.getSchedulerDate(), checkpoint.getLastConnectionNo(),
+				checkpoint.getStatus(), currentTime, currentTime);
+	}
+
 }
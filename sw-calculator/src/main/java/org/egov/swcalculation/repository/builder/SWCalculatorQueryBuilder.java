@@ -3,6 +3,7 @@ package org.egov.swcalculation.repository.builder;
 import java.util.List;
 
 import org.springframework.stereotype.Controller;
+import org.springframework.util.StringUtils;
 
 @Controller
 public class SWCalculatorQueryBuilder {
@@ -11,6 +12,11 @@ public class SWCalculatorQueryBuilder {
 	
 	private static final String distinctTenantIdsCriteria = "SELECT distinct(tenantid) FROM eg_sw_connection sw";
 
+	private static final String demandSchedulerCheckpointQuery = "SELECT tenantid, connectiontype, schedulerdate, lastconnectionno, status, lastmodifiedtime FROM eg_sw_demand_scheduler_checkpoint WHERE tenantid = ? AND connectiontype = ? AND schedulerdate = ?";
+
+	private static final String demandSchedulerCheckpointUpsertQuery = "INSERT INTO eg_sw_demand_scheduler_checkpoint (tenantid, connectiontype, schedulerdate, lastconnectionno, status, createdtime, lastmodifiedtime) VALUES (?, ?, ?, ?, ?, ?, ?)"
+			+ " ON CONFLICT (tenantid, connectiontype, schedulerdate) DO UPDATE SET lastconnectionno = EXCLUDED.lastconnectionno, status = EXCLUDED.status, lastmodifiedtime = EXCLUDED.lastmodifiedtime";
+
 	public String getDistinctTenantIds() {
 		return distinctTenantIdsCriteria;
 	}
@@ -33,6 +39,38 @@ public class SWCalculatorQueryBuilder {
 		return query.toString();
 	}
 
+	/**
+	 * Page of the connection numbers of the tenant in ascending order,
+	 * starting after the last connection number of the previous page
+	 * 
+	 * @param tenantId Tenant Id
+	 * @param connectionType Connection Type
+	 * @param fromConnectionNo Last connection number processed, null to start from the beginning
+	 * @param limit Maximum number of connection numbers of the page
+	 * @param preparedStatement Prepared SQL Statement
+	 * @return Query for the page of connection numbers
+	 */
+	public String getConnectionNumberList(String tenantId, String connectionType, String fromConnectionNo,
+			int limit, List<Object> preparedStatement) {
+		StringBuilder query = new StringBuilder(getConnectionNumberList(tenantId, connectionType, preparedStatement));
+		if (!StringUtils.isEmpty(fromConnectionNo)) {
+			addClauseIfRequired(preparedStatement, query);
+			query.append(" conn.connectionno > ? ");
+			preparedStatement.add(fromConnectionNo);
+		}
+		query.append(" ORDER BY conn.connectionno LIMIT ?");
+		preparedStatement.add(limit);
+		return query.toString();
+	}
+
+	public String getDemandSchedulerCheckpointQuery() {
+		return demandSchedulerCheckpointQuery;
+	}
+
+	public String getDemandSchedulerCheckpointUpsertQuery() {
+		return demandSchedulerCheckpointUpsertQuery;
+	}
+
 	private void addClauseIfRequired(List<Object> values, StringBuilder queryString) {
 		if (values.isEmpty())
 			queryString.append(" WHERE ");
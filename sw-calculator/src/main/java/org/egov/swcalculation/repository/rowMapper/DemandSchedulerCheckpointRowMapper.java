@@ -0,0 +1,23 @@
+package org.egov.swcalculation.repository.rowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.egov.swcalculation.web.models.DemandSchedulerCheckpoint;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DemandSchedulerCheckpointRowMapper implements ResultSetExtractor<DemandSchedulerCheckpoint> {
+
+	@Override
+	public DemandSchedulerCheckpoint extractData(ResultSet rs) throws SQLException, DataAccessException {
+		if (!rs.next())
+			return null;
+		return DemandSchedulerCheckpoint.builder().tenantId(rs.getString("tenantid"))
+				.connectionType(rs.getString("connectiontype")).schedulerDate(rs.getString("schedulerdate"))
+				.lastConnectionNo(rs.getString("lastconnectionno")).status(rs.getString("status"))
+				.lastModifiedTime(rs.getLong("lastmodifiedtime")).build();
+	}
+}
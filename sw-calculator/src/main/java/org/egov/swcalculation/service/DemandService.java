@@ -1,18 +1,28 @@
 package org.egov.swcalculation.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
 import org.apache.commons.lang3.StringUtils;
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.common.contract.request.User;
@@ -34,6 +44,7 @@ import org.egov.swcalculation.web.models.DemandDetail;
 import org.egov.swcalculation.web.models.DemandDetailAndCollection;
 import org.egov.swcalculation.web.models.DemandRequest;
 import org.egov.swcalculation.web.models.DemandResponse;
+import org.egov.swcalculation.web.models.DemandSchedulerCheckpoint;
 import org.egov.swcalculation.web.models.GetBillCriteria;
 import org.egov.swcalculation.web.models.Property;
 import org.egov.swcalculation.web.models.RequestInfoWrapper;
@@ -43,7 +54,6 @@ import org.egov.swcalculation.web.models.TaxHeadEstimate;
 import org.egov.swcalculation.web.models.TaxPeriod;
 import org.egov.tracer.model.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
@@ -94,15 +104,24 @@ public class DemandService {
     @Autowired
     private SWCalculationProducer producer;
     
-    @Autowired
-    private KafkaTemplate kafkaTemplate;
-    
     @Autowired
     private SWCalculationUtil sWCalculationUtil;
     
     @Autowired
 	private SWCalculationWorkflowValidator swCalulationWorkflowValidator;
 
+	private ExecutorService fetchBillExecutor;
+
+	@PostConstruct
+	public void initFetchBillExecutor() {
+		fetchBillExecutor = Executors.newFixedThreadPool(configs.getFetchBillPoolSize());
+	}
+
+	@PreDestroy
+	public void shutdownFetchBillExecutor() {
+		fetchBillExecutor.shutdown();
+	}
+
 	/**
 	 * Creates or updates Demand
 	 * 
@@ -225,24 +244,95 @@ public class DemandService {
 	}
 	
 	
+	/**
+	 * Fetches the bills of the demands with one fetch bill call per chunk of
+	 * consumer codes. Every bill is pushed for the notification as a message
+	 * of its own, in the shape of a single consumer code fetch bill response.
+	 * 
+	 * @param demandResponse Demands created
+	 * @param requestInfo Request Info
+	 * @return true if bill of any demand is pushed for notification
+	 */
 	public boolean fetchBill(List<Demand> demandResponse, RequestInfo requestInfo) {
-		boolean notificationSent = false;
-		for (Demand demand : demandResponse) {
-			try {
-				Object result = serviceRequestRepository.fetchResult(calculatorUtils.getFetchBillURL(demand.getTenantId(), demand.getConsumerCode()),
-						RequestInfoWrapper.builder().requestInfo(requestInfo).build());
-				HashMap<String, Object> billResponse = new HashMap<>();
-				billResponse.put("requestInfo", requestInfo);
-				billResponse.put("billResponse", result);
-				producer.push(configs.getPayTriggers(), billResponse);
-				notificationSent = true;
-			} catch (Exception ex) {
-				log.error("Fetch Bill Error", ex);
+		if (CollectionUtils.isEmpty(demandResponse))
+			return false;
+		Map<String, List<String>> tenantWiseConsumerCodes = demandResponse.stream()
+				.collect(Collectors.groupingBy(Demand::getTenantId, LinkedHashMap::new,
+						Collectors.mapping(Demand::getConsumerCode, Collectors.toList())));
+		List<Callable<Boolean>> fetchBillChunks = new ArrayList<>();
+		tenantWiseConsumerCodes.forEach((tenantId, consumerCodes) -> {
+			for (int i = 0; i < consumerCodes.size(); i += configs.getFetchBillBatchSize()) {
+				List<String> chunk = consumerCodes.subList(i,
+						Math.min(i + configs.getFetchBillBatchSize(), consumerCodes.size()));
+				fetchBillChunks.add(() -> fetchBill(tenantId, chunk, requestInfo));
 			}
+		});
+		boolean notificationSent = false;
+		try {
+			for (Future<Boolean> fetchBillChunk : fetchBillExecutor.invokeAll(fetchBillChunks))
+				notificationSent = fetchBillChunk.get() || notificationSent;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			log.error("Fetch Bill Interrupted", ex);
+		} catch (ExecutionException ex) {
+			log.error("Fetch Bill Error", ex);
 		}
 		return notificationSent;
 	}
 
+	/**
+	 * Fetches the bills of a chunk of consumer codes. Consumer codes left
+	 * without a bill by the chunk call are fetched again one by one.
+	 * 
+	 * @param tenantId Tenant Id
+	 * @param consumerCodes Consumer codes of the chunk
+	 * @param requestInfo Request Info
+	 * @return true if bills are pushed for notification
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean fetchBill(String tenantId, List<String> consumerCodes, RequestInfo requestInfo) {
+		List<Map<String, Object>> billResponses = new ArrayList<>(fetchBills(tenantId, consumerCodes, requestInfo));
+		Set<String> billedConsumerCodes = billResponses.stream()
+				.map(billResponse -> ((List<Map<String, Object>>) billResponse.get(SWCalculationConstant.BILL_KEY)).get(0))
+				.map(bill -> (String) bill.get(SWCalculationConstant.BILL_CONSUMER_CODE_KEY)).collect(Collectors.toSet());
+		consumerCodes.stream().filter(consumerCode -> !billedConsumerCodes.contains(consumerCode))
+				.forEach(consumerCode -> billResponses
+						.addAll(fetchBills(tenantId, Collections.singletonList(consumerCode), requestInfo)));
+		for (Map<String, Object> result : billResponses) {
+			HashMap<String, Object> billResponse = new HashMap<>();
+			billResponse.put("requestInfo", requestInfo);
+			billResponse.put("billResponse", result);
+			producer.push(configs.getPayTriggers(), billResponse);
+		}
+		return !billResponses.isEmpty();
+	}
+
+	/**
+	 * Fetches the bills of the consumer codes and splits the response into
+	 * one fetch bill response per bill
+	 */
+	@SuppressWarnings("unchecked")
+	private List<Map<String, Object>> fetchBills(String tenantId, List<String> consumerCodes, RequestInfo requestInfo) {
+		try {
+			Map<String, Object> result = (Map<String, Object>) serviceRequestRepository.fetchResult(
+					calculatorUtils.getFetchBillURL(tenantId, consumerCodes),
+					RequestInfoWrapper.builder().requestInfo(requestInfo).build());
+			if (result != null && result.get(SWCalculationConstant.BILL_KEY) != null) {
+				List<Map<String, Object>> billResponses = new ArrayList<>();
+				for (Object bill : (List<Object>) result.get(SWCalculationConstant.BILL_KEY)) {
+					HashMap<String, Object> billResponse = new HashMap<>(result);
+					billResponse.put(SWCalculationConstant.BILL_KEY, Collections.singletonList(bill));
+					billResponses.add(billResponse);
+				}
+				return billResponses;
+			}
+			log.error("Fetch Bill Error for consumer codes " + consumerCodes);
+		} catch (Exception ex) {
+			log.error("Fetch Bill Error for consumer codes " + consumerCodes, ex);
+		}
+		return Collections.emptyList();
+	}
+
 	/**
 	 * Adds roundOff taxHead if decimal values exists
 	 * 
@@ -609,39 +699,84 @@ public class DemandService {
 	
 	/**
 	 * 
-	 * @param tenantId TenantId for getting master data.
+	 * @param tenantId
+	 *            TenantId for getting master data.
 	 */
 	public void generateDemandForTenantId(String tenantId, RequestInfo requestInfo) {
-		requestInfo.getUserInfo().setTenantId(tenantId);
-		Map<String, Object> billingMasterData = calculatorUtils.loadBillingFrequencyMasterData(requestInfo, tenantId);
-		generateDemandForULB(billingMasterData, requestInfo,
+		// Tenants are scheduled concurrently, every tenant works on its own copy
+		RequestInfo tenantRequestInfo = mapper.convertValue(requestInfo, RequestInfo.class);
+		tenantRequestInfo.getUserInfo().setTenantId(tenantId);
+		Map<String, Object> billingMasterData = calculatorUtils.loadBillingFrequencyMasterData(tenantRequestInfo, tenantId);
+		generateDemandForULB(billingMasterData, tenantRequestInfo,
 				tenantId);
 	}
 	
 	/**
+	 * Reads the non metered connections of the tenant page by page and
+	 * publishes every page as one batch of calculation criteria keyed by the
+	 * tenant id. The last published connection number is checkpointed after
+	 * every batch, the next page starts after it and a failed run resumes from
+	 * it.
 	 * 
 	 * @param master - List of MDMS master data
 	 * @param requestInfo - Request Info Object
 	 * @param tenantId - Tenant Id
 	 */
-	@SuppressWarnings("unchecked")
 	public void generateDemandForULB(Map<String, Object> master, RequestInfo requestInfo, String tenantId) {
 		log.info("Billing master data values for non metered connection:: {}", master);
 		long startDay = (((int) master.get(SWCalculationConstant.Demand_Generate_Date_String)) / 86400000);
 		if (isCurrentDateIsMatching((String) master.get(SWCalculationConstant.BILLING_CYCLE_CONST), startDay)) {
-			List<String> connectionNos = sewerageCalculatorDao.getConnectionsNoList(tenantId,
-					SWCalculationConstant.nonMeterdConnection);
-			for (String connectionNo : connectionNos) {
-				CalculationCriteria calculationCriteria = CalculationCriteria.builder().tenantId(tenantId)
-						.assessmentYear(estimationService.getAssessmentYear()).connectionNo(connectionNo).build();
-				List<CalculationCriteria> calculationCriteriaList = new ArrayList<>();
-				calculationCriteriaList.add(calculationCriteria);
-				CalculationReq calculationReq = CalculationReq.builder().calculationCriteria(calculationCriteriaList)
-						.requestInfo(requestInfo).isconnectionCalculation(true).build();
-				kafkaTemplate.send(configs.getCreateDemand(), calculationReq);
-			}
+			String schedulerDate = LocalDate.now().toString();
+			DemandSchedulerCheckpoint checkpoint = sewerageCalculatorDao.getDemandSchedulerCheckpoint(tenantId,
+					SWCalculationConstant.nonMeterdConnection, schedulerDate);
+			if (checkpoint == null)
+				checkpoint = DemandSchedulerCheckpoint.builder().tenantId(tenantId)
+						.connectionType(SWCalculationConstant.nonMeterdConnection).schedulerDate(schedulerDate).build();
+			else if (SWCalculationConstant.DEMAND_SCHEDULER_COMPLETED.equals(checkpoint.getStatus())) {
+				log.info("Demand generation already scheduled for tenant " + tenantId + " on " + schedulerDate);
+				return;
+			} else
+				log.info("Resuming demand generation for tenant " + tenantId + " after connection "
+						+ checkpoint.getLastConnectionNo());
+			String assessmentYear = estimationService.getAssessmentYear();
+			List<String> connectionNos;
+			do {
+				// every page is read by a query of its own, no cursor stays open while the page is published
+				connectionNos = sewerageCalculatorDao.getConnectionsNoList(tenantId,
+						SWCalculationConstant.nonMeterdConnection, checkpoint.getLastConnectionNo(),
+						configs.getDemandSchedulerBatchSize());
+				if (!connectionNos.isEmpty())
+					pushDemandGenerationBatch(connectionNos.stream()
+							.map(connectionNo -> CalculationCriteria.builder().tenantId(tenantId)
+									.assessmentYear(assessmentYear).connectionNo(connectionNo).build())
+							.collect(Collectors.toList()), requestInfo, checkpoint);
+			} while (connectionNos.size() == configs.getDemandSchedulerBatchSize());
+			checkpoint.setStatus(SWCalculationConstant.DEMAND_SCHEDULER_COMPLETED);
+			sewerageCalculatorDao.saveDemandSchedulerCheckpoint(checkpoint);
 		}
 	}
+
+	/**
+	 * Publishes the batch of criteria as one calculation request and, once
+	 * the send is acknowledged, checkpoints the last connection number of the
+	 * batch
+	 * 
+	 * @param calculationCriteriaList - Criteria of the batch
+	 * @param requestInfo - Request Info Object
+	 * @param checkpoint - Checkpoint of the tenant
+	 */
+	private void pushDemandGenerationBatch(List<CalculationCriteria> calculationCriteriaList,
+			RequestInfo requestInfo, DemandSchedulerCheckpoint checkpoint) {
+		CalculationReq calculationReq = CalculationReq.builder().calculationCriteria(calculationCriteriaList)
+				.requestInfo(requestInfo).isconnectionCalculation(true).build();
+		// the checkpoint moves past the batch only once the batch is acknowledged
+		if (producer.push(configs.getCreateDemand(), checkpoint.getTenantId(), calculationReq) == null)
+			throw new CustomException("DEMAND_GENERATION_PUSH_FAILED",
+					"Failed to publish the demand generation batch of tenant: " + checkpoint.getTenantId());
+		checkpoint.setLastConnectionNo(calculationCriteriaList.get(calculationCriteriaList.size() - 1).getConnectionNo());
+		checkpoint.setStatus(SWCalculationConstant.DEMAND_SCHEDULER_IN_PROGRESS);
+		sewerageCalculatorDao.saveDemandSchedulerCheckpoint(checkpoint);
+	}
 	
 	/**
 	 * 
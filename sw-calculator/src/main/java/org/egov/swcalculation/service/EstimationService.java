@@ -1,6 +1,5 @@
 package org.egov.swcalculation.service;
 
-import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
@@ -10,11 +9,11 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.swcalculation.constants.SWCalculationConstant;
 import org.egov.swcalculation.web.models.BillingSlab;
+import org.egov.swcalculation.web.models.BillingSlabIndex;
 import org.egov.swcalculation.web.models.CalculationCriteria;
 import org.egov.swcalculation.web.models.Property;
 import org.egov.swcalculation.web.models.RequestInfoWrapper;
@@ -35,12 +34,14 @@ import org.springframework.util.StringUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
 
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
 
 @Service
 @Slf4j
+@Setter
 public class EstimationService {
 
 	@Autowired
@@ -81,18 +82,13 @@ public class EstimationService {
 					.append(" connection no");
 			throw new CustomException("INVALID_CONNECTION_ID", builder.toString());
 		}
-		Map<String, JSONArray> billingSlabMaster = new HashMap<>();
 		Map<String, JSONArray> timeBasedExemptionMasterMap = new HashMap<>();
 		ArrayList<String> billingSlabIds = new ArrayList<>();
-
-		billingSlabMaster.put(SWCalculationConstant.SW_BILLING_SLAB_MASTER,
-				(JSONArray) masterData.get(SWCalculationConstant.SW_BILLING_SLAB_MASTER));
-		billingSlabMaster.put(SWCalculationConstant.CALCULATION_ATTRIBUTE_CONST,
-				(JSONArray) masterData.get(SWCalculationConstant.CALCULATION_ATTRIBUTE_CONST));
+		BillingSlabIndex billingSlabIndex = getBillingSlabIndex(masterData);
 		timeBasedExemptionMasterMap.put(SWCalculationConstant.SW_SEWERAGE_CESS_MASTER,
 				(JSONArray) (masterData.getOrDefault(SWCalculationConstant.SW_SEWERAGE_CESS_MASTER, null)));
 		BigDecimal sewerageCharge = getSewerageEstimationCharge(criteria.getSewerageConnection(), criteria,
-				billingSlabMaster, billingSlabIds, requestInfo);
+				billingSlabIndex, billingSlabIds, requestInfo);
 		List<TaxHeadEstimate> taxHeadEstimates = getEstimatesForTax(sewerageCharge, criteria.getSewerageConnection(),
 				timeBasedExemptionMasterMap, RequestInfoWrapper.builder().requestInfo(requestInfo).build());
 
@@ -122,29 +118,65 @@ public class EstimationService {
 	}
 
 	/**
-	 * method to do a first level filtering on the slabs based on the values
-	 * present in the Sewerage Details
+	 * Returns the billing slab index of the loaded master data. The index is
+	 * compiled on first use and kept in the master data map, so that the
+	 * slab master is parsed only once per master data load.
+	 * 
+	 * @param masterData Master MDMS Data
+	 * @return BillingSlabIndex
 	 */
+	public BillingSlabIndex getBillingSlabIndex(Map<String, Object> masterData) {
+		return (BillingSlabIndex) masterData.computeIfAbsent(SWCalculationConstant.SW_BILLING_SLAB_INDEX,
+				key -> compileBillingSlabIndex(
+						(JSONArray) masterData.get(SWCalculationConstant.SW_BILLING_SLAB_MASTER),
+						(JSONArray) masterData.get(SWCalculationConstant.CALCULATION_ATTRIBUTE_CONST)));
+	}
 
-	public BigDecimal getSewerageEstimationCharge(SewerageConnection sewerageConnection, CalculationCriteria criteria,
-			Map<String, JSONArray> billingSlabMaster, ArrayList<String> billingSlabIds, RequestInfo requestInfo) {
-		BigDecimal sewerageCharge = BigDecimal.ZERO;
-		if (billingSlabMaster.get(SWCalculationConstant.SW_BILLING_SLAB_MASTER) == null)
+	/**
+	 * Parses the billing slab and calculation attribute masters and groups the
+	 * slabs on building type, connection type and calculation attribute
+	 * 
+	 * @param billingSlabMaster SCBillingSlab master
+	 * @param calculationAttributeMaster CalculationAttribute master
+	 * @return BillingSlabIndex
+	 */
+	public BillingSlabIndex compileBillingSlabIndex(JSONArray billingSlabMaster,
+			JSONArray calculationAttributeMaster) {
+		if (billingSlabMaster == null)
 			throw new CustomException("INVALID_BILLING_SLAB", "Billing Slab are Empty");
 		List<BillingSlab> mappingBillingSlab;
 		try {
-			mappingBillingSlab = mapper.readValue(
-					billingSlabMaster.get(SWCalculationConstant.SW_BILLING_SLAB_MASTER).toJSONString(),
+			mappingBillingSlab = mapper.convertValue(billingSlabMaster,
 					mapper.getTypeFactory().constructCollectionType(List.class, BillingSlab.class));
-		} catch (IOException e) {
+		} catch (IllegalArgumentException e) {
 			throw new CustomException("PARSING_ERROR", " Billing Slab can not be parsed!");
 		}
-		JSONObject calculationAttributeMaster = new JSONObject();
-		calculationAttributeMaster.put(SWCalculationConstant.CALCULATION_ATTRIBUTE_CONST,
-				billingSlabMaster.get(SWCalculationConstant.CALCULATION_ATTRIBUTE_CONST));
-		String calculationAttribute = getCalculationAttribute(calculationAttributeMaster,
-				sewerageConnection.getConnectionType());
-		List<BillingSlab> billingSlabs = getSlabsFiltered(sewerageConnection, mappingBillingSlab, calculationAttribute,
+		Map<String, List<BillingSlab>> billingSlabs = new HashMap<>();
+		for (BillingSlab billingSlab : mappingBillingSlab)
+			billingSlabs.computeIfAbsent(BillingSlabIndex.getKey(billingSlab.getBuildingType(),
+					billingSlab.getConnectionType(), billingSlab.getCalculationAttribute()), key -> new ArrayList<>())
+					.add(billingSlab);
+		Map<String, String> calculationAttributes = new HashMap<>();
+		if (calculationAttributeMaster != null) {
+			for (Object master : calculationAttributeMaster) {
+				JSONObject attribute = mapper.convertValue(master, JSONObject.class);
+				calculationAttributes.putIfAbsent(attribute.getAsString(SWCalculationConstant.NAME),
+						attribute.getAsString(SWCalculationConstant.ATTRIBUTE));
+			}
+		}
+		return new BillingSlabIndex(calculationAttributes, billingSlabs);
+	}
+
+	/**
+	 * method to do a first level filtering on the slabs based on the values
+	 * present in the Sewerage Details
+	 */
+
+	public BigDecimal getSewerageEstimationCharge(SewerageConnection sewerageConnection, CalculationCriteria criteria,
+			BillingSlabIndex billingSlabIndex, ArrayList<String> billingSlabIds, RequestInfo requestInfo) {
+		BigDecimal sewerageCharge = BigDecimal.ZERO;
+		String calculationAttribute = getCalculationAttribute(billingSlabIndex, sewerageConnection.getConnectionType());
+		List<BillingSlab> billingSlabs = getSlabsFiltered(sewerageConnection, billingSlabIndex, calculationAttribute,
 				requestInfo);
 
 		if (billingSlabs == null || billingSlabs.isEmpty())
@@ -177,14 +209,12 @@ public class EstimationService {
 		return sewerageCharge;
 	}
 
-	private String getCalculationAttribute(Map<String, Object> calculationAttributeMap, String connectionType) {
-		if (calculationAttributeMap == null)
+	private String getCalculationAttribute(BillingSlabIndex billingSlabIndex, String connectionType) {
+		String calculationAttribute = billingSlabIndex.getCalculationAttribute(connectionType);
+		if (calculationAttribute == null)
 			throw new CustomException("CALCULATION_ATTRIBUTE_MASTER_NOT_FOUND",
 					"Calculation attribute master not found!!");
-		JSONArray filteredMasters = JsonPath.read(calculationAttributeMap,
-				"$.CalculationAttribute[?(@.name=='" + connectionType + "')]");
-		JSONObject master = mapper.convertValue(filteredMasters.get(0), JSONObject.class);
-		return master.getAsString(SWCalculationConstant.ATTRIBUTE);
+		return calculationAttribute;
 	}
 
 	public String getAssessmentYear() {
@@ -230,7 +260,7 @@ public class EstimationService {
 	 * @param requestInfo - Request Info Object
 	 * @return List of billing slab based on matching criteria
 	 */
-	private List<BillingSlab> getSlabsFiltered(SewerageConnection sewerageConnection, List<BillingSlab> billingSlabs,
+	private List<BillingSlab> getSlabsFiltered(SewerageConnection sewerageConnection, BillingSlabIndex billingSlabIndex,
 			String calculationAttribute, RequestInfo requestInfo) {
 		
 		SewerageConnectionRequest sewerageConnectionRequest = SewerageConnectionRequest.builder()
@@ -238,16 +268,10 @@ public class EstimationService {
 		Property property = sWCalculationUtil.getProperty(sewerageConnectionRequest);
 		
 		// get billing Slab
-		log.debug(" the slabs count : " + billingSlabs.size());
 		final String buildingType = (property.getUsageCategory() != null) ? property.getUsageCategory().split("\\.")[0] : "";
 		final String connectionType = sewerageConnection.getConnectionType();
 
-		return billingSlabs.stream().filter(slab -> {
-			boolean isBuildingTypeMatching = slab.getBuildingType().equalsIgnoreCase(buildingType);
-			boolean isConnectionTypeMatching = slab.getConnectionType().equalsIgnoreCase(connectionType);
-			boolean isCalculationAttributeMatching = slab.getCalculationAttribute().equalsIgnoreCase(calculationAttribute);
-			return isBuildingTypeMatching && isConnectionTypeMatching && isCalculationAttributeMatching;
-		}).collect(Collectors.toList());
+		return billingSlabIndex.getBillingSlabs(buildingType, connectionType, calculationAttribute);
 	}
 
 	private Double getCalculationUnit(SewerageConnection sewerageConnection, String calculationAttribute,
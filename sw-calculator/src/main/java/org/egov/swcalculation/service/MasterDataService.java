@@ -27,6 +27,7 @@ import org.egov.swcalculation.web.models.TaxPeriod;
 import org.egov.swcalculation.web.models.TaxPeriodResponse;
 import org.egov.swcalculation.repository.Repository;
 import org.egov.swcalculation.util.CalculatorUtils;
+import org.egov.swcalculation.util.MasterDataCache;
 import org.egov.swcalculation.util.SWCalculationUtil;
 import org.egov.tracer.model.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,11 +36,13 @@ import org.springframework.stereotype.Service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
 
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.minidev.json.JSONArray;
 
 @Slf4j
 @Service
+@Setter
 public class MasterDataService {
 
 	@Autowired
@@ -56,6 +59,9 @@ public class MasterDataService {
 	
 	@Autowired
 	private EstimationService estimationService;
+
+	@Autowired
+	private MasterDataCache masterDataCache;
 	
 	/**
 	 * Fetches and creates map of all required masters
@@ -85,10 +91,13 @@ public class MasterDataService {
 	 * @return Returns list of tax periods
 	 */
 	public List<TaxPeriod> getTaxPeriodList(RequestInfo requestInfo, String tenantId,String serviceFieldValue) {
-		TaxPeriodResponse res = mapper.convertValue(
-				repository.fetchResult(swCalculationUtil.getTaxPeriodSearchUrl(tenantId,serviceFieldValue), RequestInfoWrapper.builder().requestInfo(requestInfo).build()),
-				TaxPeriodResponse.class);
-		return res.getTaxPeriods();
+		return masterDataCache.get(tenantId, SWCalculationConstant.BILLING_SERVICE_MODULE,
+				SWCalculationConstant.TAXPERIOD_MASTER_KEY + serviceFieldValue, () -> {
+					TaxPeriodResponse res = mapper.convertValue(
+							repository.fetchResult(swCalculationUtil.getTaxPeriodSearchUrl(tenantId,serviceFieldValue), RequestInfoWrapper.builder().requestInfo(requestInfo).build()),
+							TaxPeriodResponse.class);
+					return res.getTaxPeriods();
+				});
 	}
 	
 	/**
@@ -99,12 +108,14 @@ public class MasterDataService {
 	 * @return - Returns Tax Head Master details
 	 */
 	public List<TaxHeadMaster> getTaxHeadMasterMap(RequestInfo requestInfo, String tenantId,String serviceFieldValue) {
-
-		StringBuilder uri = swCalculationUtil.getTaxHeadSearchUrl(tenantId,serviceFieldValue);
-		TaxHeadMasterResponse res = mapper.convertValue(
-				repository.fetchResult(uri, RequestInfoWrapper.builder().requestInfo(requestInfo).build()),
-				TaxHeadMasterResponse.class);
-		return res.getTaxHeadMasters();
+		return masterDataCache.get(tenantId, SWCalculationConstant.BILLING_SERVICE_MODULE,
+				SWCalculationConstant.TAXHEADMASTER_MASTER_KEY + serviceFieldValue, () -> {
+					StringBuilder uri = swCalculationUtil.getTaxHeadSearchUrl(tenantId,serviceFieldValue);
+					TaxHeadMasterResponse res = mapper.convertValue(
+							repository.fetchResult(uri, RequestInfoWrapper.builder().requestInfo(requestInfo).build()),
+							TaxHeadMasterResponse.class);
+					return res.getTaxHeadMasters();
+				});
 	}
 
 	
@@ -116,8 +127,16 @@ public class MasterDataService {
 	 * @return Returns list of financial year
 	 */
 	public Map<String, Map<String, Object>> getFinancialYear(RequestInfo requestInfo, String tenantId) {
+		String currentAssessmentYear = estimationService.getAssessmentYear();
+		return masterDataCache.get(tenantId, SWCalculationConstant.FINANCIAL_MODULE,
+				SWCalculationConstant.FINANCIAL_YEAR_MASTER + currentAssessmentYear,
+				() -> fetchFinancialYear(requestInfo, tenantId, currentAssessmentYear));
+	}
+
+	private Map<String, Map<String, Object>> fetchFinancialYear(RequestInfo requestInfo, String tenantId,
+			String currentAssessmentYear) {
 		Set<String> assessmentYears = new HashSet<>(1);
-		assessmentYears.add(estimationService.getAssessmentYear());
+		assessmentYears.add(currentAssessmentYear);
 		MdmsCriteriaReq mdmsCriteriaReq = calculatorUtils.getFinancialYearRequest(requestInfo, assessmentYears,
 				tenantId);
 		Object res = repository.fetchResult(calculatorUtils.getMdmsSearchUrl(), mdmsCriteriaReq);
@@ -353,9 +372,12 @@ public class MasterDataService {
 	public void loadBillingSlabsAndTimeBasedExemptions(RequestInfo requestInfo, String tenantId,
 			Map<String, Object> masterMap) {
 
-		MdmsResponse response = mapper.convertValue(repository.fetchResult(calculatorUtils.getMdmsSearchUrl(),
-				calculatorUtils.getWaterConnectionModuleRequest(requestInfo, tenantId)), MdmsResponse.class);
-		Map<String, JSONArray> res = response.getMdmsRes().get(SWCalculationConstant.SW_TAX_MODULE);
+		Map<String, JSONArray> res = masterDataCache.get(tenantId, SWCalculationConstant.SW_TAX_MODULE,
+				SWCalculationConstant.CALCULATION_MASTERS_CACHE_KEY, () -> {
+					MdmsResponse response = mapper.convertValue(repository.fetchResult(calculatorUtils.getMdmsSearchUrl(),
+							calculatorUtils.getWaterConnectionModuleRequest(requestInfo, tenantId)), MdmsResponse.class);
+					return response.getMdmsRes().get(SWCalculationConstant.SW_TAX_MODULE);
+				});
 		for (Entry<String, JSONArray> entry : res.entrySet()) {
 
 			String masterName = entry.getKey();
@@ -390,12 +412,15 @@ public class MasterDataService {
 	 * @return Master For Billing Period
 	 */
 	public Map<String, Object> loadBillingFrequencyMasterData(RequestInfo requestInfo, String tenantId, Map<String, Object> masterMap) {
-		MdmsCriteriaReq mdmsCriteriaReq = calculatorUtils.getBillingFrequency(requestInfo, tenantId);
-		Object res = repository.fetchResult(calculatorUtils.getMdmsSearchUrl(), mdmsCriteriaReq);
-		if (res == null) {
-			throw new CustomException("MDMS_ERROR_FOR_BILLING_FREQUENCY", "Failed to get the Billing Frequency details");
-		}
-		ArrayList<?> mdmsResponse = JsonPath.read(res, SWCalculationConstant.JSONPATH_ROOT_FOR_BilingPeriod);
+		ArrayList<?> mdmsResponse = masterDataCache.get(tenantId, SWCalculationConstant.SW_MODULE,
+				SWCalculationConstant.BILLING_PERIOD, () -> {
+					MdmsCriteriaReq mdmsCriteriaReq = calculatorUtils.getBillingFrequency(requestInfo, tenantId);
+					Object res = repository.fetchResult(calculatorUtils.getMdmsSearchUrl(), mdmsCriteriaReq);
+					if (res == null) {
+						throw new CustomException("MDMS_ERROR_FOR_BILLING_FREQUENCY", "Failed to get the Billing Frequency details");
+					}
+					return JsonPath.read(res, SWCalculationConstant.JSONPATH_ROOT_FOR_BilingPeriod);
+				});
 		masterMap.put(SWCalculationConstant.Billing_Period_Master, mdmsResponse);
 		return masterMap;
 	}
@@ -408,9 +433,12 @@ public class MasterDataService {
 	 */
 	public Map<String, Object> loadExemptionMaster(RequestInfo requestInfo, String tenantId) {
 		Map<String, Object> master = getMasterMap(requestInfo, tenantId, SWCalculationConstant.ONE_TIME_FEE_SERVICE_FIELD);
-		MdmsResponse response = mapper.convertValue(repository.fetchResult(calculatorUtils.getMdmsSearchUrl(),
-				calculatorUtils.getEstimationMasterCriteria(requestInfo, tenantId)), MdmsResponse.class);
-		Map<String, JSONArray> res = response.getMdmsRes().get(SWCalculationConstant.SW_TAX_MODULE);
+		Map<String, JSONArray> res = masterDataCache.get(tenantId, SWCalculationConstant.SW_TAX_MODULE,
+				SWCalculationConstant.ESTIMATION_MASTERS_CACHE_KEY, () -> {
+					MdmsResponse response = mapper.convertValue(repository.fetchResult(calculatorUtils.getMdmsSearchUrl(),
+							calculatorUtils.getEstimationMasterCriteria(requestInfo, tenantId)), MdmsResponse.class);
+					return response.getMdmsRes().get(SWCalculationConstant.SW_TAX_MODULE);
+				});
 		for (Map.Entry<String, JSONArray> resp : res.entrySet()) {
 			master.put(resp.getKey(), resp.getValue());
 		}
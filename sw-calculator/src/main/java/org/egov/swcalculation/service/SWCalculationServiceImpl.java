@@ -7,9 +7,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.egov.common.contract.request.RequestInfo;
+import org.egov.swcalculation.config.SWCalculationConfiguration;
 import org.egov.swcalculation.constants.SWCalculationConstant;
 import org.egov.swcalculation.web.models.AdhocTaxReq;
 import org.egov.swcalculation.web.models.Calculation;
@@ -23,6 +28,7 @@ import org.egov.swcalculation.web.models.TaxHeadEstimate;
 import org.egov.swcalculation.web.models.TaxHeadMaster;
 import org.egov.swcalculation.repository.SewerageCalculatorDao;
 import org.egov.swcalculation.util.SWCalculationUtil;
+import org.egov.tracer.model.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -50,6 +56,9 @@ public class SWCalculationServiceImpl implements SWCalculationService {
 	@Autowired
 	private SWCalculationUtil sWCalculationUtil;
 
+	@Autowired
+	private SWCalculationConfiguration configs;
+
 	/**
 	 * Get CalculationReq and Calculate the Tax Head on Sewerage Charge
 	 * @param request  calculation request
@@ -177,7 +186,27 @@ public class SWCalculationServiceImpl implements SWCalculationService {
 		if (tenantIds.isEmpty())
 			return;
 		log.info("Tenant Ids : " + tenantIds.toString());
-		tenantIds.forEach(tenantId -> demandService.generateDemandForTenantId(tenantId, requestInfo));
+		ExecutorService executorService = Executors
+				.newFixedThreadPool(Math.min(configs.getDemandSchedulerPoolSize(), tenantIds.size()));
+		try {
+			List<Future<?>> tenantDemands = new ArrayList<>();
+			tenantIds.forEach(tenantId -> tenantDemands.add(executorService.submit(() -> {
+				try {
+					demandService.generateDemandForTenantId(tenantId, requestInfo);
+				} catch (Exception ex) {
+					log.error("Demand generation failed for tenant " + tenantId, ex);
+				}
+			})));
+			for (Future<?> tenantDemand : tenantDemands)
+				tenantDemand.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new CustomException("DEMAND_SCHEDULER_INTERRUPTED", "Demand generation scheduler was interrupted");
+		} catch (ExecutionException ex) {
+			log.error("Demand generation scheduler error", ex);
+		} finally {
+			executorService.shutdown();
+		}
 	}
 
 	/**
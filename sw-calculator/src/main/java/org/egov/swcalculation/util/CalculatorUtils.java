@@ -34,9 +34,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
 
 import lombok.Getter;
+import lombok.Setter;
 
 @Component
 @Getter
+@Setter
 public class CalculatorUtils {
 
 	@Autowired
@@ -207,6 +209,16 @@ public class CalculatorUtils {
 				.append(SWCalculationConstant.BUSINESSSERVICE_FIELD_FOR_SEARCH_URL)
 				.append(SWCalculationConstant.SEWERAGE_TAX_SERVICE_CODE);
 	}
+
+	/**
+	 * 
+	 * @param tenantId - Tenant ID
+	 * @param consumerCodes - Consumer Codes of the same tenant
+	 * @return uri of fetch bill for all the consumer codes
+	 */
+	public StringBuilder getFetchBillURL(String tenantId, List<String> consumerCodes) {
+		return getFetchBillURL(tenantId, String.join(",", consumerCodes));
+	}
 	
 	/**
 	 * 
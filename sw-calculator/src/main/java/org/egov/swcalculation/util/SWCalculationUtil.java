@@ -36,11 +36,13 @@ import org.springframework.util.CollectionUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
 
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 
 @Component
 @Slf4j
+@Setter
 public class SWCalculationUtil {
 
 	@Autowired
@@ -8,7 +8,10 @@ import org.egov.swcalculation.constants.SWCalculationConstant;
 import org.egov.swcalculation.service.MasterDataService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+
+import lombok.Setter;
 @Component
+@Setter
 public class SewerageCessUtil {
 
 
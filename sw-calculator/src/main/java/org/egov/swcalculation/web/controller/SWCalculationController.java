@@ -12,10 +12,12 @@ import org.egov.swcalculation.web.models.CalculationReq;
 import org.egov.swcalculation.web.models.CalculationRes;
 import org.egov.swcalculation.web.models.DemandResponse;
 import org.egov.swcalculation.web.models.GetBillCriteria;
+import org.egov.swcalculation.web.models.MasterDataCacheResponse;
 import org.egov.swcalculation.web.models.RequestInfoWrapper;
 import org.egov.swcalculation.service.DemandService;
 import org.egov.swcalculation.service.SWCalculationService;
 import org.egov.swcalculation.service.SWCalculationServiceImpl;
+import org.egov.swcalculation.util.MasterDataCache;
 import org.egov.swcalculation.util.ResponseInfoFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -24,6 +26,7 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import lombok.Builder;
@@ -49,6 +52,9 @@ public class SWCalculationController {
 	@Autowired
 	private SWCalculationServiceImpl sWCalculationServiceImpl;
 	
+	@Autowired
+	private MasterDataCache masterDataCache;
+	
 	@PostMapping("/_calculate")
 	public ResponseEntity<CalculationRes> calculate(@RequestBody @Valid CalculationReq calculationReq) {
 		List<Calculation> calculations = sWCalculationService.getCalculation(calculationReq);
@@ -89,4 +95,27 @@ public class SWCalculationController {
 		return new ResponseEntity<>(response, HttpStatus.OK);
 
 	}
+
+	@PostMapping("/masterData/_evict")
+	public ResponseEntity<MasterDataCacheResponse> evictMasterData(
+			@Valid @RequestBody RequestInfoWrapper requestInfoWrapper, @RequestParam("tenantId") String tenantId) {
+		masterDataCache.validateAdminAccess(requestInfoWrapper.getRequestInfo());
+		masterDataCache.evict(tenantId);
+		MasterDataCacheResponse response = MasterDataCacheResponse.builder().cacheStats(masterDataCache.getStats())
+				.responseInfo(
+						responseInfoFactory.createResponseInfoFromRequestInfo(requestInfoWrapper.getRequestInfo(), true))
+				.build();
+		return new ResponseEntity<>(response, HttpStatus.OK);
+	}
+
+	@PostMapping("/masterData/_stats")
+	public ResponseEntity<MasterDataCacheResponse> masterDataStats(
+			@Valid @RequestBody RequestInfoWrapper requestInfoWrapper) {
+		masterDataCache.validateAdminAccess(requestInfoWrapper.getRequestInfo());
+		MasterDataCacheResponse response = MasterDataCacheResponse.builder().cacheStats(masterDataCache.getStats())
+				.responseInfo(
+						responseInfoFactory.createResponseInfoFromRequestInfo(requestInfoWrapper.getRequestInfo(), true))
+				.build();
+		return new ResponseEntity<>(response, HttpStatus.OK);
+	}
 }
@@ -0,0 +1,30 @@
+package org.egov.swcalculation.web.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of the demand generation scheduler for a tenant on a scheduler
+ * date. Connection numbers are published in ascending order, so a crashed run
+ * resumes after the last published connection number.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DemandSchedulerCheckpoint {
+
+	private String tenantId;
+
+	private String connectionType;
+
+	private String schedulerDate;
+
+	private String lastConnectionNo;
+
+	private String status;
+
+	private Long lastModifiedTime;
+}
@@ -77,6 +77,12 @@ public class SWConfiguration {
 	@Value("${egov.localization.statelevel}")
 	private Boolean isLocalizationStateLevel;
 
+	@Value("${egov.localization.cache.expiry.seconds}")
+	private Long localizationCacheExpirySeconds;
+
+	@Value("${egov.localization.cache.max.size}")
+	private Integer localizationCacheMaxSize;
+
 	// SMS
 	@Value("${kafka.topics.notification.sms}")
 	private String smsNotifTopic;
@@ -2,7 +2,10 @@ package org.egov.swservice.repository;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.swservice.config.SWConfiguration;
@@ -16,6 +19,7 @@ import org.egov.swservice.util.SWConstants;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 
 import lombok.extern.slf4j.Slf4j;
@@ -52,6 +56,8 @@ public class SewerageDaoImpl implements SewerageDao {
 
 	@Override
 	public List<SewerageConnection> getSewerageConnectionList(SearchCriteria criteria, RequestInfo requestInfo) {
+		if (SWConstants.PAGINATION_MODE_KEYSET.equalsIgnoreCase(criteria.getPaginationMode()))
+			return getSewerageConnectionPage(criteria, requestInfo);
 		List<Object> preparedStatement = new ArrayList<>();
 		String query = swQueryBuilder.getSearchQueryString(criteria, preparedStatement, requestInfo);
 		if (query == null)
@@ -61,9 +67,76 @@ public class SewerageDaoImpl implements SewerageDao {
 		if (sewerageConnectionList == null) {
 			return Collections.emptyList();
 		}
+		enrichConnectionChildren(sewerageConnectionList);
 		return sewerageConnectionList;
 	}
 
+	/**
+	 * Searches one keyset page of connections. The ids of the page are
+	 * selected first and the connections are fetched only for those ids. The
+	 * token to continue after the page is set on the criteria when the page
+	 * is full.
+	 * 
+	 * @param criteria Search criteria with the page token of the previous page
+	 * @param requestInfo Request Info
+	 * @return List of sewerage connections of the page
+	 */
+	private List<SewerageConnection> getSewerageConnectionPage(SearchCriteria criteria, RequestInfo requestInfo) {
+		criteria.setNextPageToken(null);
+		List<Object> preparedStatement = new ArrayList<>();
+		String query = swQueryBuilder.getConnectionIdPageQuery(criteria, preparedStatement, requestInfo);
+		if (query == null)
+			return Collections.emptyList();
+		Map<String, Long> connectionIds = new LinkedHashMap<>();
+		jdbcTemplate.query(query, preparedStatement.toArray(),
+				(RowCallbackHandler) rs -> connectionIds.put(rs.getString("conn_id"), rs.getLong("appCreatedDate")));
+		if (connectionIds.isEmpty())
+			return Collections.emptyList();
+		if (connectionIds.size() >= swQueryBuilder.getLimit(criteria)) {
+			Map.Entry<String, Long> lastConnection = null;
+			for (Map.Entry<String, Long> connectionId : connectionIds.entrySet())
+				lastConnection = connectionId;
+			criteria.setNextPageToken(swQueryBuilder.getPageToken(lastConnection.getValue(), lastConnection.getKey()));
+		}
+		preparedStatement = new ArrayList<>();
+		query = swQueryBuilder.getSearchQueryForIds(new LinkedHashSet<>(connectionIds.keySet()), preparedStatement);
+		List<SewerageConnection> sewerageConnectionList = jdbcTemplate.query(query, preparedStatement.toArray(),
+				sewarageRowMapper);
+		if (sewerageConnectionList == null) {
+			return Collections.emptyList();
+		}
+		enrichConnectionChildren(sewerageConnectionList);
+		return sewerageConnectionList;
+	}
+
+	/**
+	 * Adds documents, plumber info and connection holders to the connections
+	 * with one query for each of them over all the connection ids
+	 * 
+	 * @param sewerageConnectionList Connections of the search page
+	 */
+	private void enrichConnectionChildren(List<SewerageConnection> sewerageConnectionList) {
+		if (sewerageConnectionList.isEmpty())
+			return;
+		Map<String, SewerageConnection> connections = new LinkedHashMap<>();
+		sewerageConnectionList.forEach(sewerageConnection -> connections.put(sewerageConnection.getId(), sewerageConnection));
+
+		List<Object> preparedStatement = new ArrayList<>();
+		String query = swQueryBuilder.getDocumentSearchQuery(connections.keySet(), preparedStatement);
+		jdbcTemplate.query(query, preparedStatement.toArray(), (RowCallbackHandler) rs -> sewarageRowMapper
+				.addDocumentToSewerageConnection(rs, connections.get(rs.getString("swid"))));
+
+		preparedStatement = new ArrayList<>();
+		query = swQueryBuilder.getPlumberInfoSearchQuery(connections.keySet(), preparedStatement);
+		jdbcTemplate.query(query, preparedStatement.toArray(), (RowCallbackHandler) rs -> sewarageRowMapper
+				.addPlumberInfoToSewerageConnection(rs, connections.get(rs.getString("swid"))));
+
+		preparedStatement = new ArrayList<>();
+		query = swQueryBuilder.getConnectionHolderSearchQuery(connections.keySet(), preparedStatement);
+		jdbcTemplate.query(query, preparedStatement.toArray(), (RowCallbackHandler) rs -> sewarageRowMapper
+				.addHoldersDeatilsToSewerageConnection(rs, connections.get(rs.getString("holderapplicationId"))));
+	}
+
 	public void updateSewerageConnection(SewerageConnectionRequest sewerageConnectionRequest,
 			boolean isStateUpdatable) {
 		if (isStateUpdatable) {
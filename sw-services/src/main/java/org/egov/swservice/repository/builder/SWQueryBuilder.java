@@ -1,11 +1,14 @@
 package org.egov.swservice.repository.builder;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
 import org.egov.common.contract.request.RequestInfo;
+import org.egov.tracer.model.CustomException;
 import org.egov.swservice.config.SWConfiguration;
 import org.egov.swservice.service.UserService;
 import org.egov.swservice.util.SewerageServicesUtil;
@@ -29,28 +32,37 @@ public class SWQueryBuilder {
     private UserService userService;
 
 	private static final String INNER_JOIN_STRING = "INNER JOIN";
-	private static final String LEFT_OUTER_JOIN_STRING = " LEFT OUTER JOIN ";
 	
 	private static String holderSelectValues = "connectionholder.tenantid as holdertenantid, connectionholder.connectionid as holderapplicationId, userid, connectionholder.status as holderstatus, isprimaryholder, connectionholdertype, holdershippercentage, connectionholder.relationship as holderrelationship, connectionholder.createdby as holdercreatedby, connectionholder.createdtime as holdercreatedtime, connectionholder.lastmodifiedby as holderlastmodifiedby, connectionholder.lastmodifiedtime as holderlastmodifiedtime";
 	
-	private final static String SEWERAGE_SEARCH_QUERY = "SELECT conn.*, sc.*, document.*, plumber.*, sc.connectionExecutionDate,"
+	private final static String SEWERAGE_SEARCH_QUERY = "SELECT conn.*, sc.*, sc.connectionExecutionDate,"
 			+ "sc.noOfWaterClosets, sc.noOfToilets,sc.proposedWaterClosets, sc.proposedToilets, sc.connectionType, sc.connection_id as connection_Id, sc.appCreatedDate,"
 			+ "  sc.detailsprovidedby, sc.estimationfileStoreId , sc.sanctionfileStoreId , sc.estimationLetterDate,"
 			+ " conn.id as conn_id, conn.tenantid, conn.applicationNo, conn.applicationStatus, conn.status, conn.connectionNo, conn.oldConnectionNo, conn.property_id,"
 			+ " conn.roadcuttingarea, conn.action, conn.adhocpenalty, conn.adhocrebate, conn.createdBy as sw_createdBy,"
 			+ " conn.lastModifiedBy as sw_lastModifiedBy, conn.createdTime as sw_createdTime, conn.lastModifiedTime as sw_lastModifiedTime, "
 			+ " conn.adhocpenaltyreason, conn.adhocpenaltycomment, conn.adhocrebatereason, conn.adhocrebatecomment, conn.applicationType, conn.dateEffectiveFrom,"
-			+ " conn.locality, conn.roadtype, document.id as doc_Id, document.documenttype, document.filestoreid, document.active as doc_active, plumber.id as plumber_id, plumber.name as plumber_name, plumber.licenseno,"
-			+ " plumber.mobilenumber as plumber_mobileNumber, plumber.gender as plumber_gender, plumber.fatherorhusbandname, plumber.correspondenceaddress, plumber.relationship, " + holderSelectValues +
+			+ " conn.locality, conn.roadtype" +
 			" FROM eg_sw_connection conn "
 	+  INNER_JOIN_STRING 
-	+" eg_sw_service sc ON sc.connection_id = conn.id"
-	+  LEFT_OUTER_JOIN_STRING
-	+ "eg_sw_applicationdocument document ON document.swid = conn.id" 
-	+  LEFT_OUTER_JOIN_STRING
-	+ "eg_sw_plumberinfo plumber ON plumber.swid = conn.id"
-	+ LEFT_OUTER_JOIN_STRING
-    + "eg_sw_connectionholder connectionholder ON connectionholder.connectionid = conn.id";
+	+" eg_sw_service sc ON sc.connection_id = conn.id";
+
+	private static final String DOCUMENT_SEARCH_QUERY = "SELECT document.swid, document.id as doc_Id, document.documenttype, document.filestoreid, document.active as doc_active"
+			+ " FROM eg_sw_applicationdocument document WHERE document.swid in (";
+
+	private static final String PLUMBER_SEARCH_QUERY = "SELECT plumber.swid, plumber.id as plumber_id, plumber.name as plumber_name, plumber.licenseno,"
+			+ " plumber.mobilenumber as plumber_mobileNumber, plumber.gender as plumber_gender, plumber.fatherorhusbandname, plumber.correspondenceaddress,"
+			+ " plumber.relationship FROM eg_sw_plumberinfo plumber WHERE plumber.swid in (";
+
+	private static final String HOLDER_SEARCH_QUERY = "SELECT " + holderSelectValues
+			+ " FROM eg_sw_connectionholder connectionholder WHERE connectionholder.connectionid in (";
+
+	private static final String CONNECTION_ID_PAGE_QUERY = "SELECT conn.id as conn_id, COALESCE(sc.appCreatedDate, 0) as appCreatedDate"
+			+ " FROM eg_sw_connection conn "
+			+ INNER_JOIN_STRING
+			+ " eg_sw_service sc ON sc.connection_id = conn.id";
+
+	private static final String PAGE_TOKEN_SEPARATOR = ":";
 
 	private final String paginationWrapper = "SELECT * FROM " +
             "(SELECT *, DENSE_RANK() OVER (ORDER BY conn_id) offset_ FROM " +
@@ -70,6 +82,118 @@ public class SWQueryBuilder {
 		if(criteria.isEmpty())
 			return null;
 		StringBuilder query = new StringBuilder(SEWERAGE_SEARCH_QUERY);
+		addSearchCriteria(criteria, preparedStatement, requestInfo, query);
+		
+		//Add OrderBy clause
+		query.append(" ORDER BY sc.appCreatedDate DESC");
+		
+		if (query.toString().contains("WHERE"))
+			 return addPaginationWrapper(query.toString(), preparedStatement, criteria);
+		return query.toString();
+	}
+
+	/**
+	 * Builds the query for one keyset page of connection ids, the page
+	 * starts after the connection of the page token of the criteria
+	 *
+	 * @param criteria on search criteria
+	 * @param preparedStatement preparedStatement
+	 * @param requestInfo Request Info Object
+	 * @return Returns the created Query
+	 */
+	public String getConnectionIdPageQuery(SearchCriteria criteria, List<Object> preparedStatement,
+			RequestInfo requestInfo) {
+		if (criteria.isEmpty())
+			return null;
+		StringBuilder query = new StringBuilder(CONNECTION_ID_PAGE_QUERY);
+		addSearchCriteria(criteria, preparedStatement, requestInfo, query);
+		if (!StringUtils.isEmpty(criteria.getPageToken())) {
+			String[] pageToken = parsePageToken(criteria.getPageToken());
+			addClauseIfRequired(preparedStatement, query);
+			query.append(" (COALESCE(sc.appCreatedDate, 0), sc.connection_id) < (?, ?) ");
+			preparedStatement.add(Long.valueOf(pageToken[0]));
+			preparedStatement.add(pageToken[1]);
+		}
+		query.append(" ORDER BY appCreatedDate DESC, conn_id DESC LIMIT ? ");
+		preparedStatement.add(getLimit(criteria));
+		return query.toString();
+	}
+
+	/**
+	 *
+	 * @param ids Connection ids of the page
+	 * @param preparedStatement preparedStatement
+	 * @return Returns the query to fetch the connections of the given ids
+	 */
+	public String getSearchQueryForIds(Set<String> ids, List<Object> preparedStatement) {
+		StringBuilder query = new StringBuilder(SEWERAGE_SEARCH_QUERY);
+		query.append(" WHERE conn.id in (").append(createQuery(ids)).append(" )");
+		addToPreparedStatement(preparedStatement, ids);
+		query.append(" ORDER BY COALESCE(sc.appCreatedDate, 0) DESC, conn.id DESC");
+		return query.toString();
+	}
+
+	/**
+	 *
+	 * @param ids Connection ids
+	 * @param preparedStatement preparedStatement
+	 * @return Returns the query to fetch the documents of the given connections
+	 */
+	public String getDocumentSearchQuery(Set<String> ids, List<Object> preparedStatement) {
+		return getChildSearchQuery(DOCUMENT_SEARCH_QUERY, ids, preparedStatement);
+	}
+
+	/**
+	 *
+	 * @param ids Connection ids
+	 * @param preparedStatement preparedStatement
+	 * @return Returns the query to fetch the plumber info of the given connections
+	 */
+	public String getPlumberInfoSearchQuery(Set<String> ids, List<Object> preparedStatement) {
+		return getChildSearchQuery(PLUMBER_SEARCH_QUERY, ids, preparedStatement);
+	}
+
+	/**
+	 *
+	 * @param ids Connection ids
+	 * @param preparedStatement preparedStatement
+	 * @return Returns the query to fetch the connection holders of the given connections
+	 */
+	public String getConnectionHolderSearchQuery(Set<String> ids, List<Object> preparedStatement) {
+		return getChildSearchQuery(HOLDER_SEARCH_QUERY, ids, preparedStatement);
+	}
+
+	private String getChildSearchQuery(String childSearchQuery, Set<String> ids, List<Object> preparedStatement) {
+		addToPreparedStatement(preparedStatement, ids);
+		return childSearchQuery + createQuery(ids) + " )";
+	}
+
+	/**
+	 *
+	 * @param appCreatedDate App created date of the last connection of the page
+	 * @param id Id of the last connection of the page
+	 * @return Returns opaque token to continue the search after the given connection
+	 */
+	public String getPageToken(Long appCreatedDate, String id) {
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString((appCreatedDate + PAGE_TOKEN_SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private String[] parsePageToken(String pageToken) {
+		try {
+			String[] keys = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8)
+					.split(PAGE_TOKEN_SEPARATOR, 2);
+			Long.parseLong(keys[0]);
+			if (keys.length == 2 && !StringUtils.isEmpty(keys[1]))
+				return keys;
+		} catch (IllegalArgumentException ex) {
+			// reported below as an invalid page token
+		}
+		throw new CustomException("INVALID_PAGE_TOKEN", "The page token " + pageToken + " is not valid");
+	}
+
+	private void addSearchCriteria(SearchCriteria criteria, List<Object> preparedStatement, RequestInfo requestInfo,
+			StringBuilder query) {
 		boolean propertyIdsPresent = false;
 		if (!StringUtils.isEmpty(criteria.getMobileNumber()) || !StringUtils.isEmpty(criteria.getPropertyId())) {
 			Set<String> propertyIds = new HashSet<>();
@@ -89,7 +213,8 @@ public class SWQueryBuilder {
 				addORClauseIfRequired(preparedStatement, query);
 				if(!propertyIdsPresent)
 					query.append("(");
-				query.append(" connectionholder.userid in (").append(createQuery(uuids)).append(" ))");
+				query.append(" conn.id in (SELECT connectionid FROM eg_sw_connectionholder WHERE userid in (")
+						.append(createQuery(uuids)).append(" )))");
 				addToPreparedStatement(preparedStatement, uuids);
 				userIdsPresent = true;
 			}
@@ -154,13 +279,6 @@ public class SWQueryBuilder {
 			query.append(" conn.applicationType = ? ");
 			preparedStatement.add(criteria.getApplicationType());
 		}
-		
-		//Add OrderBy clause
-		query.append(" ORDER BY sc.appCreatedDate DESC");
-		
-		if (query.toString().contains("WHERE"))
-			 return addPaginationWrapper(query.toString(), preparedStatement, criteria);
-		return query.toString();
 	}
 
 	private void addClauseIfRequired(List<Object> values, StringBuilder queryString) {
@@ -197,15 +315,9 @@ public class SWQueryBuilder {
 	 * @return It's returns query
 	 */
 	private String addPaginationWrapper(String query, List<Object> preparedStmtList, SearchCriteria criteria) {
-		Integer limit = config.getDefaultLimit();
+		Integer limit = getLimit(criteria);
 		Integer offset = config.getDefaultOffset();
 
-		if (criteria.getLimit() != null && criteria.getLimit() <= config.getDefaultLimit())
-			limit = criteria.getLimit();
-
-		if (criteria.getLimit() != null && criteria.getLimit() > config.getDefaultOffset())
-			limit = config.getDefaultLimit();
-
 		if (criteria.getOffset() != null)
 			offset = criteria.getOffset();
 
@@ -214,6 +326,22 @@ public class SWQueryBuilder {
 		return paginationWrapper.replace("{}",query);
 	}
 	
+	/**
+	 * 
+	 * @param criteria Search Criteria
+	 * @return It's returns page size of the search
+	 */
+	public Integer getLimit(SearchCriteria criteria) {
+		Integer limit = config.getDefaultLimit();
+
+		if (criteria.getLimit() != null && criteria.getLimit() <= config.getDefaultLimit())
+			limit = criteria.getLimit();
+
+		if (criteria.getLimit() != null && criteria.getLimit() > config.getDefaultOffset())
+			limit = config.getDefaultLimit();
+		return limit;
+	}
+	
 	private void addORClauseIfRequired(List<Object> values, StringBuilder queryString){
 		if (values.isEmpty())
 			queryString.append(" WHERE ");
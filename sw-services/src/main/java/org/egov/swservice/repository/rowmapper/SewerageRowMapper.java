@@ -14,6 +14,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -22,7 +23,7 @@ public class SewerageRowMapper implements ResultSetExtractor<List<SewerageConnec
 	
 	@Override
     public List<SewerageConnection> extractData(ResultSet rs) throws SQLException, DataAccessException {
-        Map<String, SewerageConnection> connectionListMap = new HashMap<>();
+        Map<String, SewerageConnection> connectionListMap = new LinkedHashMap<>();
         SewerageConnection sewarageConnection = new SewerageConnection();
         while (rs.next()) {
             String Id = rs.getString("connection_Id");
@@ -75,14 +76,20 @@ public class SewerageRowMapper implements ResultSetExtractor<List<SewerageConnec
                 // Add documents id's
                 connectionListMap.put(Id, sewarageConnection);
             }
-			addDocumentToSewerageConnection(rs, sewarageConnection);
-			addPlumberInfoToSewerageConnection(rs, sewarageConnection);
-			addHoldersDeatilsToSewerageConnection(rs, sewarageConnection);
         }
         return new ArrayList<>(connectionListMap.values());
     }
 
-    private void addDocumentToSewerageConnection(ResultSet rs, SewerageConnection sewerageConnection) throws SQLException {
+    /**
+     * Documents, plumber info and connection holders are fetched by separate
+     * queries for a page of connections and added to the connection of each
+     * row by the below methods
+     *
+     * @param rs Row of the document search
+     * @param sewerageConnection Sewerage connection of the row
+     * @throws SQLException
+     */
+    public void addDocumentToSewerageConnection(ResultSet rs, SewerageConnection sewerageConnection) throws SQLException {
         String document_Id = rs.getString("doc_Id");
         String isActive = rs.getString("doc_active");
         boolean documentActive = false;
@@ -100,7 +107,7 @@ public class SewerageRowMapper implements ResultSetExtractor<List<SewerageConnec
         }
     }
 
-    private void addPlumberInfoToSewerageConnection(ResultSet rs, SewerageConnection sewerageConnection) throws SQLException {
+    public void addPlumberInfoToSewerageConnection(ResultSet rs, SewerageConnection sewerageConnection) throws SQLException {
         String plumber_id = rs.getString("plumber_id");
         if (plumber_id != null) {
             PlumberInfo plumber = new PlumberInfo();
@@ -116,7 +123,7 @@ public class SewerageRowMapper implements ResultSetExtractor<List<SewerageConnec
         }
     }
 
-    private void addHoldersDeatilsToSewerageConnection(ResultSet rs, SewerageConnection sewerageConnection) throws SQLException {
+    public void addHoldersDeatilsToSewerageConnection(ResultSet rs, SewerageConnection sewerageConnection) throws SQLException {
         String uuid = rs.getString("userid");
         List<OwnerInfo> connectionHolders = sewerageConnection.getConnectionHolders();
         if (!CollectionUtils.isEmpty(connectionHolders)) {
@@ -3,10 +3,12 @@ package org.egov.swservice.service;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
 
 import org.egov.swservice.web.models.SewerageConnection;
 import org.egov.swservice.web.models.SewerageConnectionRequest;
 import org.egov.swservice.util.SWConstants;
+import org.javers.core.Javers;
 import org.javers.core.JaversBuilder;
 import org.javers.core.diff.Diff;
 import org.javers.core.diff.changetype.NewObject;
@@ -24,6 +26,11 @@ public class DiffService {
 	@Autowired
 	private EditNotificationService editNotificationService;
 
+	/**
+	 * Javers instances are thread safe, the type mappings are built once
+	 */
+	private final Javers javers = JaversBuilder.javers().build();
+
 	/**
 	 * Creates a list of Difference object between the update and search
 	 * 
@@ -36,9 +43,14 @@ public class DiffService {
 			SewerageConnection searchResult) {
 		try {
 			SewerageConnection updateConnection = request.getSewerageConnection();
-			if (!CollectionUtils.isEmpty(getUpdateFields(updateConnection, searchResult))
-					|| !CollectionUtils.isEmpty(getObjectsAdded(updateConnection, searchResult))
-					|| !CollectionUtils.isEmpty(getObjectsRemoved(updateConnection, searchResult))) {
+			if (isConnectionFieldUpdated(updateConnection, searchResult)) {
+				editNotificationService.sendEditNotification(request);
+				return;
+			}
+			Diff diff = javers.compare(updateConnection, searchResult);
+			if (!CollectionUtils.isEmpty(getUpdateFields(diff))
+					|| !CollectionUtils.isEmpty(getObjectsAdded(diff))
+					|| !CollectionUtils.isEmpty(getObjectsRemoved(diff))) {
 				editNotificationService.sendEditNotification(request);
 			}
 		} catch (Exception ex) {
@@ -47,15 +59,36 @@ public class DiffService {
 	}
 
 	/**
-	 * Check updated fields
+	 * Compares the fields to check which are held directly on the connection,
+	 * a change in any of them is reported by the diff as well, so the diff of
+	 * the whole object graph is skipped
 	 * 
 	 * @param updateConnection - Sewerage Connection Object
 	 * @param searchResult - Sewerage Connection Object
+	 * @return true if any of the fields is updated
+	 */
+	private boolean isConnectionFieldUpdated(SewerageConnection updateConnection, SewerageConnection searchResult) {
+		if (updateConnection == null || searchResult == null)
+			return false;
+		return !Objects.equals(updateConnection.getProposedWaterClosets(), searchResult.getProposedWaterClosets())
+				|| !Objects.equals(updateConnection.getProposedToilets(), searchResult.getProposedToilets())
+				|| !Objects.equals(updateConnection.getNoOfWaterClosets(), searchResult.getNoOfWaterClosets())
+				|| !Objects.equals(updateConnection.getNoOfToilets(), searchResult.getNoOfToilets())
+				|| !Objects.equals(updateConnection.getOldConnectionNo(), searchResult.getOldConnectionNo())
+				|| !Objects.equals(updateConnection.getRoadType(), searchResult.getRoadType())
+				|| !Objects.equals(updateConnection.getRoadCuttingArea(), searchResult.getRoadCuttingArea())
+				|| !Objects.equals(updateConnection.getConnectionExecutionDate(), searchResult.getConnectionExecutionDate())
+				|| !Objects.equals(updateConnection.getConnectionCategory(), searchResult.getConnectionCategory())
+				|| !Objects.equals(updateConnection.getConnectionType(), searchResult.getConnectionType());
+	}
+
+	/**
+	 * Check updated fields
+	 * 
+	 * @param diff - Diff of the update and search Sewerage Connection Objects
 	 * @return List of updated fields
 	 */
-	private List<String> getUpdateFields(SewerageConnection updateConnection, SewerageConnection searchResult) {
-		Diff diff = JaversBuilder.javers().build().compare(updateConnection, searchResult);
-		
+	private List<String> getUpdateFields(Diff diff) {
 		List<ValueChange> changes = diff.getChangesByType(ValueChange.class);
 		if (CollectionUtils.isEmpty(changes))
 			return Collections.emptyList();
@@ -73,13 +106,11 @@ public class DiffService {
 	/**
 	 * Check for added new object
 	 * 
-	 * @param updateConnection - Sewerage Connection Object
-	 * @param searchResult - Sewerage Connection Object
+	 * @param diff - Diff of the update and search Sewerage Connection Objects
 	 * @return list of added object
 	 */
 	@SuppressWarnings("unchecked")
-	private List<String> getObjectsAdded(SewerageConnection updateConnection, SewerageConnection searchResult) {
-		Diff diff = JaversBuilder.javers().build().compare(updateConnection, searchResult);
+	private List<String> getObjectsAdded(Diff diff) {
 		List<NewObject> objectsAdded = diff.getObjectsByChangeType(NewObject.class);
 		
 		if (CollectionUtils.isEmpty(objectsAdded))
@@ -98,13 +129,11 @@ public class DiffService {
 
 	/**
 	 * 
-	 * @param updateConnection - Sewerage Connection Object
-	 * @param searchResult - Sewerage Connection Object
+	 * @param diff - Diff of the update and search Sewerage Connection Objects
 	 * @return List of added or removed object
 	 */
-	private List<String> getObjectsRemoved(SewerageConnection updateConnection, SewerageConnection searchResult) {
+	private List<String> getObjectsRemoved(Diff diff) {
 
-		Diff diff = JaversBuilder.javers().build().compare(updateConnection, searchResult);
 		List<ValueChange> changes = diff.getChangesByType(ValueChange.class);
 		
 		if (CollectionUtils.isEmpty(changes))
@@ -1,7 +1,5 @@
 package org.egov.swservice.util;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
@@ -11,13 +9,10 @@ import org.egov.swservice.web.models.EventRequest;
 import org.egov.swservice.web.models.SMSRequest;
 import org.egov.swservice.producer.SewarageConnectionProducer;
 import org.egov.swservice.repository.ServiceRequestRepository;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
-import com.jayway.jsonpath.JsonPath;
-
 import lombok.extern.slf4j.Slf4j;
 
 @Component
@@ -33,6 +28,9 @@ public class NotificationUtil {
 	@Autowired
 	private SewarageConnectionProducer producer;
 
+	@Autowired
+	private LocalizationCache localizationCache;
+
 	/**
 	 * Returns the uri for the localization call
 	 * 
@@ -66,10 +64,7 @@ public class NotificationUtil {
 	 * @return Localization messages for the module
 	 */
 	public String getLocalizationMessages(String tenantId, RequestInfo requestInfo) {
-		@SuppressWarnings("rawtypes")
-		LinkedHashMap responseMap = (LinkedHashMap) serviceRequestRepository.fetchResult(getUri(tenantId, requestInfo),
-				requestInfo);
-		return new JSONObject(responseMap).toString();
+		return localizationCache.getLocalizationMessages(getUri(tenantId, requestInfo), requestInfo);
 	}
 
 	/**
@@ -82,15 +77,7 @@ public class NotificationUtil {
 	 * @return message for the specific code
 	 */
 	public String getMessageTemplate(String notificationCode, String localizationMessage) {
-		String path = "$..messages[?(@.code==\"{}\")].message";
-		path = path.replace("{}", notificationCode);
-		try {
-			Object messageObj = JsonPath.parse(localizationMessage).read(path);
-			return ((ArrayList<String>) messageObj).get(0);
-		} catch (Exception e) {
-			log.warn("Fetching from localization failed", e);
-		}
-		return null;
+		return localizationCache.getMessageTemplate(notificationCode, localizationMessage);
 	}
 
 	/**
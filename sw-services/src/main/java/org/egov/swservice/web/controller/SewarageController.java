@@ -56,7 +56,7 @@ public class SewarageController {
 		SewerageConnectionResponse response = SewerageConnectionResponse.builder()
 				.sewerageConnections(sewerageConnectionList).responseInfo(responseInfoFactory
 						.createResponseInfoFromRequestInfo(requestInfoWrapper.getRequestInfo(), true))
-				.build();
+				.nextPageToken(criteria.getNextPageToken()).build();
 		return new ResponseEntity<>(response, HttpStatus.OK);
 
 	}
@@ -72,6 +72,15 @@ public class SearchCriteria {
 	@JsonProperty("searchType")
 	private String searchType = "APPLICATION";
 
+	@JsonProperty("paginationMode")
+	private String paginationMode;
+
+	@JsonProperty("pageToken")
+	private String pageToken;
+
+	@JsonIgnore
+	private String nextPageToken;
+
 
 	@JsonIgnore
 	private List<String> ownerIds;
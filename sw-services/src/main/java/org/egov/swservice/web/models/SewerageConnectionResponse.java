@@ -39,6 +39,9 @@ public class SewerageConnectionResponse {
 	@Valid
 	private List<SewerageConnection> sewerageConnections = null;
 
+	@JsonProperty("nextPageToken")
+	private String nextPageToken = null;
+
 	public SewerageConnectionResponse responseInfo(ResponseInfo responseInfo) {
 		this.responseInfo = responseInfo;
 		return this;
@@ -98,12 +101,13 @@ public class SewerageConnectionResponse {
 		}
 		SewerageConnectionResponse sewerageConnectionResponse = (SewerageConnectionResponse) o;
 		return Objects.equals(this.responseInfo, sewerageConnectionResponse.responseInfo)
-				&& Objects.equals(this.sewerageConnections, sewerageConnectionResponse.sewerageConnections);
+				&& Objects.equals(this.sewerageConnections, sewerageConnectionResponse.sewerageConnections)
+				&& Objects.equals(this.nextPageToken, sewerageConnectionResponse.nextPageToken);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(responseInfo, sewerageConnections);
+		return Objects.hash(responseInfo, sewerageConnections, nextPageToken);
 	}
 
 	@Override
@@ -113,6 +117,7 @@ public class SewerageConnectionResponse {
 
 		sb.append("    responseInfo: ").append(toIndentedString(responseInfo)).append("\n");
 		sb.append("    sewerageConnections: ").append(toIndentedString(sewerageConnections)).append("\n");
+		sb.append("    nextPageToken: ").append(toIndentedString(nextPageToken)).append("\n");
 		sb.append("}");
 		return sb.toString();
 	}
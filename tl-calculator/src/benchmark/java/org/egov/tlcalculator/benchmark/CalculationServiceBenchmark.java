@@ -0,0 +1,214 @@
+package org.egov.tlcalculator.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.tlcalculator.config.BillingSlabConfigs;
+import org.egov.tlcalculator.config.TLCalculatorConfigs;
+import org.egov.tlcalculator.repository.BillingslabRepository;
+import org.egov.tlcalculator.repository.builder.BillingslabQueryBuilder;
+import org.egov.tlcalculator.service.BillingslabService;
+import org.egov.tlcalculator.service.CalculationService;
+import org.egov.tlcalculator.service.MDMSService;
+import org.egov.tlcalculator.utils.TLCalculatorConstants;
+import org.egov.tlcalculator.web.models.Accessory;
+import org.egov.tlcalculator.web.models.BillingSlab;
+import org.egov.tlcalculator.web.models.BillingSlabIndex.IndexedBillingSlab;
+import org.egov.tlcalculator.web.models.Calculation;
+import org.egov.tlcalculator.web.models.CalulationCriteria;
+import org.egov.tlcalculator.web.models.tradelicense.TradeLicense;
+import org.egov.tlcalculator.web.models.tradelicense.TradeLicenseDetail;
+import org.egov.tlcalculator.web.models.tradelicense.TradeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.support.ResourcePropertySource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Benchmarks the fee calculation of a batch of trade licenses with the given
+ * size
+ *
+ * The licenses and the billing slabs are generated, the MDMS response is read
+ * from the fixture under benchmark/ so that only the calculation is measured.
+ * Run with mvn -Pbenchmark -DskipTests verify
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CalculationServiceBenchmark {
+
+	private static final String TENANT_ID = "pb.amritsar";
+
+	private static final String STRUCTURE_TYPE = "IMMOVABLE.PUCCA";
+
+	private static final String UOM = "GROSSUNITS";
+
+	private static final int TRADE_TYPE_COUNT = 20;
+
+	private static final int ACCESSORY_CATEGORY_COUNT = 10;
+
+	private static final double[] UOM_RANGES = { 0, 100, 500, 1000, 2000 };
+
+	private static final int TRADE_UNITS_PER_LICENSE = 3;
+
+	private static final int ACCESSORIES_PER_LICENSE = 2;
+
+	@Param({ "1", "50", "500" })
+	private int licenseCount;
+
+	private CalculationService calculationService;
+
+	private RequestInfo requestInfo;
+
+	private Object mdmsData;
+
+	private List<CalulationCriteria> criterias;
+
+	@Setup
+	public void setup() throws IOException {
+		AnnotationConfigApplicationContext context = getContext();
+		TLCalculatorConfigs config = context.getBean(TLCalculatorConfigs.class);
+
+		BillingslabService billingslabService = new BillingslabService();
+		billingslabService.setRepository(new FixtureRepository(generateBillingSlabs()));
+		billingslabService.setQueryBuilder(new BillingslabQueryBuilder());
+		billingslabService.setBillingSlabConfigs(context.getBean(BillingSlabConfigs.class));
+
+		calculationService = new CalculationService();
+		calculationService.setBillingslabService(billingslabService);
+		calculationService.setConfig(config);
+		calculationService.setMdmsService(new MDMSService(config, null));
+
+		try (InputStream stream = CalculationServiceBenchmark.class
+				.getResourceAsStream("/benchmark/mdms-response.json")) {
+			mdmsData = new ObjectMapper().readValue(stream, Map.class);
+		}
+		requestInfo = new RequestInfo();
+		generateLicenses();
+	}
+
+	@Benchmark
+	public List<Calculation> getCalculation() {
+		return calculationService.getCalculation(requestInfo, criterias, mdmsData);
+	}
+
+	/**
+	 * Slabs of every trade type, license type and uom range, the last range
+	 * charged at a rate, and a flat slab of every accessory category
+	 */
+	private List<IndexedBillingSlab> generateBillingSlabs() {
+		List<IndexedBillingSlab> billingSlabs = new ArrayList<>();
+		for (int tradeType = 0; tradeType < TRADE_TYPE_COUNT; tradeType++) {
+			for (BillingSlab.LicenseTypeEnum licenseType : BillingSlab.LicenseTypeEnum.values()) {
+				for (int range = 0; range < UOM_RANGES.length; range++) {
+					boolean isLastRange = range == UOM_RANGES.length - 1;
+					billingSlabs.add(getIndexedBillingSlab(BillingSlab.builder().tenantId(TENANT_ID)
+							.id("TL-SLAB-" + billingSlabs.size()).licenseType(licenseType)
+							.applicationType(TLCalculatorConstants.APPLICATION_TYPE_NEW).structureType(STRUCTURE_TYPE)
+							.tradeType(getTradeType(tradeType)).uom(UOM)
+							.fromUom(UOM_RANGES[range]).toUom(isLastRange ? Double.MAX_VALUE : UOM_RANGES[range + 1])
+							.type(isLastRange ? BillingSlab.TypeEnum.RATE : BillingSlab.TypeEnum.FLAT)
+							.rate(isLastRange ? BigDecimal.ONE : new BigDecimal(100 * (range + 1) + tradeType))
+							.build()));
+				}
+			}
+		}
+		for (int category = 0; category < ACCESSORY_CATEGORY_COUNT; category++) {
+			billingSlabs.add(getIndexedBillingSlab(BillingSlab.builder().tenantId(TENANT_ID)
+					.id("TL-SLAB-" + billingSlabs.size()).licenseType(BillingSlab.LicenseTypeEnum.PERMANENT)
+					.applicationType(TLCalculatorConstants.APPLICATION_TYPE_NEW)
+					.accessoryCategory(getAccessoryCategory(category)).type(BillingSlab.TypeEnum.FLAT)
+					.rate(new BigDecimal(50 + category)).build()));
+		}
+		return billingSlabs;
+	}
+
+	private IndexedBillingSlab getIndexedBillingSlab(BillingSlab billingSlab) {
+		return new IndexedBillingSlab(billingSlab, billingSlab.getLicenseType().toString(), billingSlab.getFromUom(),
+				billingSlab.getToUom());
+	}
+
+	/**
+	 * New temporary and permanent licenses with trade units spread over the
+	 * trade types and uom ranges, and accessories spread over the categories
+	 */
+	private void generateLicenses() {
+		criterias = new ArrayList<>();
+		for (int i = 0; i < licenseCount; i++) {
+			List<TradeUnit> tradeUnits = new ArrayList<>();
+			for (int unit = 0; unit < TRADE_UNITS_PER_LICENSE; unit++)
+				tradeUnits.add(TradeUnit.builder().id("TU-" + i + "-" + unit).tenantId(TENANT_ID).active(true)
+						.tradeType(getTradeType((i + unit) % TRADE_TYPE_COUNT)).uom(UOM)
+						.uomValue(String.valueOf((i * 37 + unit * 211) % 2500)).build());
+			List<Accessory> accessories = new ArrayList<>();
+			for (int accessory = 0; accessory < ACCESSORIES_PER_LICENSE; accessory++)
+				accessories.add(Accessory.builder().id("ACC-" + i + "-" + accessory).tenantId(TENANT_ID).active(true)
+						.accessoryCategory(getAccessoryCategory((i + accessory) % ACCESSORY_CATEGORY_COUNT))
+						.count(1 + accessory).build());
+
+			TradeLicenseDetail tradeLicenseDetail = TradeLicenseDetail.builder().structureType(STRUCTURE_TYPE)
+					.tradeUnits(tradeUnits).accessories(accessories).build();
+			TradeLicense license = TradeLicense.builder().id("TL-" + i).tenantId(TENANT_ID)
+					.applicationNumber("PB-TL-2019-10-18-" + i)
+					.licenseType(i % 2 == 0 ? TradeLicense.LicenseTypeEnum.PERMANENT
+							: TradeLicense.LicenseTypeEnum.TEMPORARY)
+					.applicationType(TradeLicense.ApplicationTypeEnum.fromValue(TLCalculatorConstants.APPLICATION_TYPE_NEW))
+					.financialYear("2019-20").tradeLicenseDetail(tradeLicenseDetail).build();
+			criterias.add(CalulationCriteria.builder().tradelicense(license).tenantId(TENANT_ID).build());
+		}
+	}
+
+	private static String getTradeType(int tradeType) {
+		return "GOODS.MANUFACTURE.TST-" + tradeType;
+	}
+
+	private static String getAccessoryCategory(int category) {
+		return "ACC-" + category;
+	}
+
+	private AnnotationConfigApplicationContext getContext() throws IOException {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.getEnvironment().getPropertySources()
+				.addFirst(new ResourcePropertySource("classpath:application.properties"));
+		context.register(TLCalculatorConfigs.class, BillingSlabConfigs.class);
+		context.refresh();
+		return context;
+	}
+
+	/**
+	 * Returns the generated billing slabs in place of the billing slab search
+	 */
+	private static class FixtureRepository extends BillingslabRepository {
+
+		private final List<IndexedBillingSlab> billingSlabs;
+
+		FixtureRepository(List<IndexedBillingSlab> billingSlabs) {
+			this.billingSlabs = billingSlabs;
+		}
+
+		@Override
+		public List<IndexedBillingSlab> getIndexedDataFromDB(String query, List<Object> preparedStmtList) {
+			return new ArrayList<>(billingSlabs);
+		}
+	}
+}
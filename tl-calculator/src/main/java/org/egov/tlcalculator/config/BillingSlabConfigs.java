@@ -15,5 +15,11 @@ public class BillingSlabConfigs {
 	
 	@Value("${kafka.topics.update.service}")
 	public String persisterUpdateTopic;
+
+	@Value("${egov.tl.billingslab.cache.expiry.seconds}")
+	public Long billingSlabCacheExpirySeconds;
+
+	@Value("${egov.tl.billingslab.persist.delay.seconds}")
+	public Long billingSlabPersistDelaySeconds;
 	
 }
@@ -98,6 +98,20 @@ public class TLCalculatorConfigs {
     @Value("${persister.save.tl.calculation.topic}")
     private String saveTopic;
 
+    @Value("${egov.tl.bulk.calculation.topic}")
+    private String bulkCalculationTopic;
+
+    @Value("${egov.tl.bulk.calculation.failed.topic}")
+    private String bulkCalculationFailedTopic;
+
+
+    //Bulk Calculation
+    @Value("${egov.tl.bulk.calculation.chunk.size}")
+    private Integer bulkCalculationChunkSize;
+
+    @Value("${egov.tl.bulk.calculation.worker.count}")
+    private Integer bulkCalculationWorkerCount;
+
 
     //CalculaterType Default Values
     @Value("${egov.tl.calculationtype.tradetype.default}")
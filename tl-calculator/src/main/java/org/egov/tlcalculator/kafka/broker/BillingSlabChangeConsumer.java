@@ -0,0 +1,45 @@
+package org.egov.tlcalculator.kafka.broker;
+
+import java.util.HashMap;
+
+import org.egov.tlcalculator.service.BillingslabService;
+import org.egov.tlcalculator.web.models.BillingSlabReq;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Listens to the billing slab persister topics and evicts the cached billing
+ * slabs of the changed tenants. Every instance listens with a consumer group
+ * of its own host name so that the change reaches all of them.
+ */
+@Slf4j
+@Component
+public class BillingSlabChangeConsumer {
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Autowired
+	private BillingslabService billingslabService;
+
+	@KafkaListener(topics = { "${kafka.topics.save.service}", "${kafka.topics.update.service}" },
+			groupId = "#{'${spring.kafka.consumer.group-id}-billingslab-' + T(java.net.InetAddress).getLocalHost().getHostName()}")
+	public void listen(final HashMap<String, Object> record, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+		try {
+			BillingSlabReq billingSlabReq = mapper.convertValue(record, BillingSlabReq.class);
+			if (!CollectionUtils.isEmpty(billingSlabReq.getBillingSlab()))
+				billingslabService.evictBillingSlabs(billingSlabReq.getBillingSlab());
+		} catch (final Exception e) {
+			log.error("Error while listening to value: " + record + " on topic: " + topic, e);
+		}
+	}
+
+}
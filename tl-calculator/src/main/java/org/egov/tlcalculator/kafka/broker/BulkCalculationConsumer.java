@@ -0,0 +1,76 @@
+package org.egov.tlcalculator.kafka.broker;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.egov.tlcalculator.config.TLCalculatorConfigs;
+import org.egov.tlcalculator.service.CalculationService;
+import org.egov.tlcalculator.web.models.BulkCalculationRes;
+import org.egov.tlcalculator.web.models.CalculationFailure;
+import org.egov.tlcalculator.web.models.CalculationReq;
+import org.egov.tlcalculator.web.models.CalulationCriteria;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class BulkCalculationConsumer {
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Autowired
+	private TLCalculatorConfigs config;
+
+	@Autowired
+	private CalculationService calculationService;
+
+	@Autowired
+	private TLCalculatorProducer producer;
+
+	/**
+	 * Listens to the bulk calculation topic, every request of the batch is
+	 * calculated in bulk with its own requestInfo. Criteria which fail are pushed
+	 * to the failed topic along with the requestInfo so that they can be
+	 * reprocessed, a record which cannot be read is pushed there as it is
+	 * @param records Calculation requests
+	 */
+	@KafkaListener(topics = { "${egov.tl.bulk.calculation.topic}" }, containerFactory = "kafkaListenerContainerFactoryBatch")
+	public void listen(final List<Message<?>> records) {
+		records.forEach(record -> {
+			CalculationReq calculationReq;
+			try {
+				calculationReq = mapper.convertValue(record.getPayload(), CalculationReq.class);
+			} catch (final Exception e) {
+				log.error("Error while listening to value: " + record.getPayload() + " on topic: "
+						+ config.getBulkCalculationTopic(), e);
+				producer.push(config.getBulkCalculationFailedTopic(), record.getPayload());
+				return;
+			}
+			if (CollectionUtils.isEmpty(calculationReq.getCalulationCriteria()))
+				return;
+
+			try {
+				BulkCalculationRes response = calculationService.bulkCalculate(calculationReq);
+				if (!CollectionUtils.isEmpty(response.getFailedCalculations())) {
+					List<CalulationCriteria> failedCriterias = response.getFailedCalculations().stream()
+							.map(CalculationFailure::getCalulationCriteria).collect(Collectors.toList());
+					producer.push(config.getBulkCalculationFailedTopic(), CalculationReq.builder()
+							.requestInfo(calculationReq.getRequestInfo()).calulationCriteria(failedCriterias).build());
+				}
+			} catch (final Exception e) {
+				log.error("Bulk calculation failed for the record: " + record.getPayload(), e);
+				producer.push(config.getBulkCalculationFailedTopic(), calculationReq);
+			}
+		});
+		log.info("Number of bulk calculation records: " + records.size());
+	}
+
+}
@@ -3,8 +3,10 @@ package org.egov.tlcalculator.repository;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.egov.tlcalculator.repository.rowmapper.BillingSlabIndexRowMapper;
 import org.egov.tlcalculator.repository.rowmapper.BillingSlabRowMapper;
 import org.egov.tlcalculator.web.models.BillingSlab;
+import org.egov.tlcalculator.web.models.BillingSlabIndex.IndexedBillingSlab;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
@@ -21,6 +23,9 @@ public class BillingslabRepository {
 
 	@Autowired
 	private BillingSlabRowMapper billingSlabRowMapper;
+
+	@Autowired
+	private BillingSlabIndexRowMapper billingSlabIndexRowMapper;
 	
 	/**
 	 * Queries the db with search query using a connection abstracted within the jdbctemplate.
@@ -42,4 +47,25 @@ public class BillingslabRepository {
 		return slabs;
 	}
 
+	/**
+	 * Queries the db with search query for billing slabs to be indexed, along
+	 * with the values of the columns the index matches on.
+	 * @param query
+	 * @param preparedStmtList
+	 * @return List<IndexedBillingSlab>
+	 */
+	public List<IndexedBillingSlab> getIndexedDataFromDB(String query, List<Object> preparedStmtList){
+		List<IndexedBillingSlab> slabs = new ArrayList<>();
+		try {
+			slabs = jdbcTemplate.query(query, preparedStmtList.toArray(), billingSlabIndexRowMapper);
+			if(CollectionUtils.isEmpty(slabs))
+				return new ArrayList<>();
+		}catch(Exception e) {
+			log.error("Exception while fetching from DB: " + e);
+			return slabs;
+		}
+
+		return slabs;
+	}
+
 }
\ No newline at end of file
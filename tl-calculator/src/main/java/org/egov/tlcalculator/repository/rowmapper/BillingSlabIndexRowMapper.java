@@ -0,0 +1,46 @@
+package org.egov.tlcalculator.repository.rowmapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.egov.tlcalculator.web.models.BillingSlabIndex.IndexedBillingSlab;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BillingSlabIndexRowMapper implements ResultSetExtractor<List<IndexedBillingSlab>> {
+
+	@Autowired
+	private BillingSlabRowMapper billingSlabRowMapper;
+
+	/**
+	 * Rowmapper that maps every row of the search result set to a billing slab
+	 * along with the values of its licensetype, fromUom and toUom columns, so
+	 * that a NULL column is not read as a default value.
+	 */
+	@Override
+	public List<IndexedBillingSlab> extractData(ResultSet rs) throws SQLException, DataAccessException {
+		Map<String, IndexedBillingSlab> billingSlabMap = new LinkedHashMap<>();
+		while (rs.next()) {
+			String currentId = rs.getString("id");
+			if (!billingSlabMap.containsKey(currentId)) {
+				IndexedBillingSlab indexedBillingSlab = new IndexedBillingSlab(billingSlabRowMapper.getBillingSlab(rs),
+						rs.getString("licensetype"), getDouble(rs, "fromUom"), getDouble(rs, "toUom"));
+				billingSlabMap.put(currentId, indexedBillingSlab);
+			}
+		}
+		return new ArrayList<>(billingSlabMap.values());
+	}
+
+	private Double getDouble(ResultSet rs, String column) throws SQLException {
+		double value = rs.getDouble(column);
+		return rs.wasNull() ? null : value;
+	}
+
+}
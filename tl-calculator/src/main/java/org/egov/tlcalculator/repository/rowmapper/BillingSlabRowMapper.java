@@ -26,24 +26,7 @@ public class BillingSlabRowMapper implements ResultSetExtractor<List<BillingSlab
 			String currentId = rs.getString("id");
 			BillingSlab currentBillingSlab = billingSlabMap.get(currentId);
 			if (null == currentBillingSlab) {
-				AuditDetails auditDetails = AuditDetails.builder().createdBy(rs.getString("createdby"))
-						.createdTime(rs.getLong("createdtime")).lastModifiedBy(rs.getString("lastmodifiedby"))
-						.lastModifiedTime(rs.getLong("lastmodifiedtime")).build();
-
-				currentBillingSlab = BillingSlab.builder().id(rs.getString("id"))
-						.accessoryCategory(rs.getString("accessorycategory"))
-						.fromUom(rs.getDouble("fromUom"))
-						.licenseType(LicenseTypeEnum.fromValue(rs.getString("licensetype")))
-						.applicationType(rs.getString("applicationtype"))
-						.rate(getBigDecimalValue(rs.getBigDecimal("rate")))
-						.structureType(rs.getString("structuretype"))
-						.tenantId(rs.getString("tenantid"))
-						.uom(rs.getString("uom"))
-						.tradeType(rs.getString("tradetype"))
-						.toUom(rs.getDouble("toUom"))
-						.type(TypeEnum.valueOf(rs.getString("type")))
-						.auditDetails(auditDetails).build();
-
+				currentBillingSlab = getBillingSlab(rs);
 				billingSlabMap.put(currentId, currentBillingSlab);
 			}
 
@@ -53,6 +36,32 @@ public class BillingSlabRowMapper implements ResultSetExtractor<List<BillingSlab
 
 	}
 
+	/**
+	 * Maps the current row of the result set to a billing slab
+	 * @param rs
+	 * @return BillingSlab
+	 * @throws SQLException
+	 */
+	public BillingSlab getBillingSlab(ResultSet rs) throws SQLException {
+		AuditDetails auditDetails = AuditDetails.builder().createdBy(rs.getString("createdby"))
+				.createdTime(rs.getLong("createdtime")).lastModifiedBy(rs.getString("lastmodifiedby"))
+				.lastModifiedTime(rs.getLong("lastmodifiedtime")).build();
+
+		return BillingSlab.builder().id(rs.getString("id"))
+				.accessoryCategory(rs.getString("accessorycategory"))
+				.fromUom(rs.getDouble("fromUom"))
+				.licenseType(LicenseTypeEnum.fromValue(rs.getString("licensetype")))
+				.applicationType(rs.getString("applicationtype"))
+				.rate(getBigDecimalValue(rs.getBigDecimal("rate")))
+				.structureType(rs.getString("structuretype"))
+				.tenantId(rs.getString("tenantid"))
+				.uom(rs.getString("uom"))
+				.tradeType(rs.getString("tradetype"))
+				.toUom(rs.getDouble("toUom"))
+				.type(TypeEnum.valueOf(rs.getString("type")))
+				.auditDetails(auditDetails).build();
+	}
+
 	private BigDecimal getBigDecimalValue(BigDecimal amount){
 		return Objects.isNull(amount) ? BigDecimal.ZERO : amount;
 	}
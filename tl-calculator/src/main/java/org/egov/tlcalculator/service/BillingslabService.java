@@ -7,6 +7,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.mdms.model.MdmsCriteriaReq;
@@ -18,16 +19,19 @@ import org.egov.tlcalculator.utils.BillingslabConstants;
 import org.egov.tlcalculator.utils.BillingslabUtils;
 import org.egov.tlcalculator.utils.ResponseInfoFactory;
 import org.egov.tlcalculator.web.models.*;
+import org.egov.tlcalculator.web.models.BillingSlabIndex.IndexedBillingSlab;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import com.jayway.jsonpath.JsonPath;
 
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
+@Setter
 public class BillingslabService {
 	
 	@Autowired
@@ -50,6 +54,10 @@ public class BillingslabService {
 	
 	@Autowired
 	private BillingSlabConfigs billingSlabConfigs;
+
+	private final Map<String, BillingSlabIndex> billingSlabIndexes = new ConcurrentHashMap<>();
+
+	private final Map<String, Long> billingSlabChangedTimes = new ConcurrentHashMap<>();
 	
 	/**
 	 * Service layer for creating billing slabs
@@ -98,6 +106,57 @@ public class BillingslabService {
 				.billingSlab(repository.getDataFromDB(query, preparedStmtList)).build();
 	}
 	
+	/**
+	 * Fetches the billing slabs of the tenant from the cache, the slabs are
+	 * loaded from the db if they are not cached or are expired
+	 * @param tenantId
+	 * @return BillingSlabIndex
+	 */
+	public BillingSlabIndex getBillingSlabIndex(String tenantId) {
+		BillingSlabIndex billingSlabIndex = billingSlabIndexes.get(tenantId);
+		if (billingSlabIndex != null && !isExpired(tenantId, billingSlabIndex))
+			return billingSlabIndex;
+
+		List<Object> preparedStmtList = new ArrayList<>();
+		String query = queryBuilder.getSearchQuery(BillingSlabSearchCriteria.builder().tenantId(tenantId).build(),
+				preparedStmtList);
+		List<IndexedBillingSlab> billingSlabs = repository.getIndexedDataFromDB(query, preparedStmtList);
+		// a failed db call returns no slabs as well, an empty result is not cached
+		if (billingSlabs.isEmpty())
+			return billingSlabIndex != null ? billingSlabIndex : new BillingSlabIndex(billingSlabs, System.currentTimeMillis());
+
+		billingSlabIndex = new BillingSlabIndex(billingSlabs, System.currentTimeMillis());
+		billingSlabIndexes.put(tenantId, billingSlabIndex);
+		log.debug("Billing slabs count of tenant " + tenantId + " : " + billingSlabs.size());
+		return billingSlabIndex;
+	}
+
+	/**
+	 * Evicts the cached billing slabs of the tenants of created or updated
+	 * slabs. The change reaches this instance alongside the persister, so the
+	 * slabs of a tenant loaded before the persist delay has passed are loaded
+	 * once more after it.
+	 * @param billingSlabs
+	 */
+	public void evictBillingSlabs(List<BillingSlab> billingSlabs) {
+		long changedTime = System.currentTimeMillis();
+		billingSlabs.stream().map(BillingSlab::getTenantId).distinct().forEach(tenantId -> {
+			billingSlabChangedTimes.put(tenantId, changedTime);
+			billingSlabIndexes.remove(tenantId);
+		});
+	}
+
+	private boolean isExpired(String tenantId, BillingSlabIndex billingSlabIndex) {
+		long now = System.currentTimeMillis();
+		if (now - billingSlabIndex.getLoadedTime() >= billingSlabConfigs.getBillingSlabCacheExpirySeconds() * 1000L)
+			return true;
+		Long changedTime = billingSlabChangedTimes.get(tenantId);
+		if (changedTime == null)
+			return false;
+		long persistedTime = changedTime + billingSlabConfigs.getBillingSlabPersistDelaySeconds() * 1000L;
+		return billingSlabIndex.getLoadedTime() < persistedTime && now >= persistedTime;
+	}
+	
 	/**
 	 * Enriches the request for creating billing slabs. Enrichment includes:
 	 * 1. Preparing audit information for the slab
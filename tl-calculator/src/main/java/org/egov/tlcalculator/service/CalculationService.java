@@ -1,13 +1,12 @@
 package org.egov.tlcalculator.service;
 
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.tlcalculator.config.TLCalculatorConfigs;
 import org.egov.tlcalculator.kafka.broker.TLCalculatorProducer;
-import org.egov.tlcalculator.repository.builder.BillingslabQueryBuilder;
-import org.egov.tlcalculator.repository.BillingslabRepository;
 import org.egov.tlcalculator.repository.ServiceRequestRepository;
 import org.egov.tlcalculator.utils.CalculationUtils;
 import org.egov.tlcalculator.utils.TLCalculatorConstants;
@@ -24,22 +23,26 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.egov.tlcalculator.utils.TLCalculatorConstants.businessService_TL;
 
 
 @Service
 @Slf4j
+@Setter
 public class CalculationService {
 
 
     @Autowired
-    private BillingslabRepository repository;
-
-    @Autowired
-    private BillingslabQueryBuilder queryBuilder;
+    private BillingslabService billingslabService;
 
     @Autowired
     private TLCalculatorConfigs config;
@@ -62,6 +65,18 @@ public class CalculationService {
     @Autowired
     private TLRenewalCalculation tlRenewal;
 
+    private ExecutorService bulkCalculationExecutor;
+
+    @PostConstruct
+    public void initBulkCalculationExecutor() {
+        bulkCalculationExecutor = Executors.newFixedThreadPool(config.getBulkCalculationWorkerCount());
+    }
+
+    @PreDestroy
+    public void shutdownBulkCalculationExecutor() {
+        bulkCalculationExecutor.shutdown();
+    }
+
     /**
      * Calculates tax estimates and creates demand
      * @param calculationReq The calculationCriteria request
@@ -79,6 +94,136 @@ public class CalculationService {
    }
 
 
+    /**
+     * Calculates tax estimates and creates demands for a large number of criteria.
+     * MDMS data and billing slabs are fetched once per tenant, the criteria of a
+     * tenant are split into chunks which are calculated in parallel, and the demands
+     * of a chunk are created with one call to billing service. A criteria which
+     * fails is returned in the failed calculations and does not fail the others
+     * @param calculationReq The calculationCriteria request
+     * @return Calculations whose demands are created and the failed criteria
+     */
+   public BulkCalculationRes bulkCalculate(CalculationReq calculationReq){
+       RequestInfo requestInfo = calculationReq.getRequestInfo();
+       long startTime = System.currentTimeMillis();
+
+       Map<String, List<CalulationCriteria>> tenantWiseCriteria = new LinkedHashMap<>();
+       calculationReq.getCalulationCriteria().forEach(criteria -> tenantWiseCriteria
+               .computeIfAbsent(criteria.getTenantId(), tenantId -> new ArrayList<>()).add(criteria));
+
+       List<Calculation> calculations = new LinkedList<>();
+       List<CalculationFailure> failures = new LinkedList<>();
+       Map<Future<BulkCalculationRes>, List<CalulationCriteria>> chunkResults = new LinkedHashMap<>();
+       int chunkSize = config.getBulkCalculationChunkSize();
+       tenantWiseCriteria.forEach((tenantId, criterias) -> {
+           Object mdmsData;
+           try {
+               mdmsData = mdmsService.mDMSCall(requestInfo, tenantId);
+               billingslabService.getBillingSlabIndex(tenantId);
+           } catch (Exception e) {
+               log.error("Failed to fetch the master data of tenant: " + tenantId, e);
+               criterias.forEach(criteria -> failures.add(getCalculationFailure(criteria, e)));
+               return;
+           }
+           for (int from = 0; from < criterias.size(); from += chunkSize) {
+               List<CalulationCriteria> chunk = criterias.subList(from, Math.min(from + chunkSize, criterias.size()));
+               chunkResults.put(bulkCalculationExecutor.submit(() -> calculateChunk(requestInfo, chunk, mdmsData)), chunk);
+           }
+       });
+
+       for (Map.Entry<Future<BulkCalculationRes>, List<CalulationCriteria>> chunkResult : chunkResults.entrySet()) {
+           try {
+               BulkCalculationRes chunkResponse = chunkResult.getKey().get();
+               calculations.addAll(chunkResponse.getCalculations());
+               failures.addAll(chunkResponse.getFailedCalculations());
+           } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+               throw new CustomException("BULK_CALCULATION_INTERRUPTED", "Interrupted while waiting for the bulk calculation");
+           } catch (ExecutionException e) {
+               log.error("Bulk calculation failed for a chunk of " + chunkResult.getValue().size() + " criteria", e.getCause());
+               Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+               chunkResult.getValue().forEach(criteria -> failures.add(getCalculationFailure(criteria, cause)));
+           }
+       }
+
+       log.info("Bulk calculation of " + calculationReq.getCalulationCriteria().size() + " criteria in "
+               + chunkResults.size() + " chunks took " + (System.currentTimeMillis() - startTime) + " ms, failed: "
+               + failures.size());
+       return BulkCalculationRes.builder().calculations(calculations).failedCalculations(failures).build();
+   }
+
+
+    /**
+     * Calculates the criteria of a chunk and creates their demands. If the demand
+     * call of the chunk fails the demands are created one by one, so that only the
+     * failing calculations are dropped
+     * @param requestInfo The RequestInfo of the calculation request
+     * @param criterias Criteria of a single tenant
+     * @param mdmsData MDMS data of the tenant
+     * @return Calculations whose demands are created and the failed criteria
+     */
+   private BulkCalculationRes calculateChunk(RequestInfo requestInfo, List<CalulationCriteria> criterias, Object mdmsData){
+       List<Calculation> calculations = new ArrayList<>();
+       List<CalulationCriteria> calculatedCriterias = new ArrayList<>();
+       List<CalculationFailure> failures = new LinkedList<>();
+       for (CalulationCriteria criteria : criterias) {
+           try {
+               calculations.addAll(getCalculation(requestInfo, Collections.singletonList(criteria), mdmsData));
+               calculatedCriterias.add(criteria);
+           } catch (Exception e) {
+               log.error("Calculation failed for criteria of application: " + getApplicationNumber(criteria), e);
+               failures.add(getCalculationFailure(criteria, e));
+           }
+       }
+
+       List<Calculation> demandCalculations = calculations;
+       if (!calculations.isEmpty()) {
+           try {
+               demandService.generateDemand(requestInfo, calculations, mdmsData, businessService_TL);
+           } catch (Exception e) {
+               log.error("Demand generation failed for the chunk, generating the demands one by one", e);
+               demandCalculations = new LinkedList<>();
+               for (int i = 0; i < calculations.size(); i++) {
+                   try {
+                       demandService.generateDemand(requestInfo, Collections.singletonList(calculations.get(i)),
+                               mdmsData, businessService_TL);
+                       demandCalculations.add(calculations.get(i));
+                   } catch (Exception ex) {
+                       log.error("Demand generation failed for application: "
+                               + getApplicationNumber(calculatedCriterias.get(i)), ex);
+                       failures.add(getCalculationFailure(calculatedCriterias.get(i), ex));
+                   }
+               }
+           }
+       }
+
+       if (!demandCalculations.isEmpty())
+           producer.push(config.getSaveTopic(), CalculationRes.builder().calculations(demandCalculations).build());
+       return BulkCalculationRes.builder().calculations(demandCalculations).failedCalculations(failures).build();
+   }
+
+
+    private CalculationFailure getCalculationFailure(CalulationCriteria criteria, Exception e){
+        String code = "BULK_CALCULATION_ERROR";
+        String message = e.getMessage();
+        if (e instanceof CustomException) {
+            CustomException customException = (CustomException) e;
+            if (customException.getCode() != null)
+                code = customException.getCode();
+            else if (!CollectionUtils.isEmpty(customException.getErrors()))
+                message = customException.getErrors().toString();
+        }
+        return CalculationFailure.builder().calulationCriteria(criteria).code(code).message(message).build();
+    }
+
+
+    private String getApplicationNumber(CalulationCriteria criteria){
+        if (criteria.getTradelicense() != null)
+            return criteria.getTradelicense().getApplicationNumber();
+        return criteria.getApplicationNumber();
+    }
+
+
     /***
      * Calculates tax estimates
      * @param requestInfo The requestInfo of the calculation request
@@ -235,11 +380,11 @@ public class CalculationService {
       List<BigDecimal> tradeUnitFees = new LinkedList<>();
       List<TradeUnit> tradeUnits = license.getTradeLicenseDetail().getTradeUnits();
       List<String> billingSlabIds = new LinkedList<>();
+      BillingSlabIndex billingSlabIndex = billingslabService.getBillingSlabIndex(license.getTenantId());
       int i = 0;
        for(TradeUnit tradeUnit : tradeUnits)
        { if(tradeUnit.getActive())
          {
-              List<Object> preparedStmtList = new ArrayList<>();
               BillingSlabSearchCriteria searchCriteria = new BillingSlabSearchCriteria();
               searchCriteria.setTenantId(license.getTenantId());
               searchCriteria.setStructureType(license.getTradeLicenseDetail().getStructureType());
@@ -252,16 +397,13 @@ public class CalculationService {
                   searchCriteria.setUom(tradeUnit.getUom());
               }
               // Call the Search
-              String query = queryBuilder.getSearchQuery(searchCriteria, preparedStmtList);
-              log.info("query "+query);
-              log.info("preparedStmtList "+preparedStmtList.toString());
-              List<BillingSlab> billingSlabs = repository.getDataFromDB(query, preparedStmtList);
+              List<BillingSlab> billingSlabs = billingSlabIndex.getBillingSlabs(searchCriteria);
 
               if(billingSlabs.size()>1)
                   throw new CustomException("BILLINGSLAB ERROR","Found multiple BillingSlabs for the given TradeType");
               if(CollectionUtils.isEmpty(billingSlabs))
                   throw new CustomException("BILLINGSLAB ERROR","No BillingSlab Found for the given tradeType");
-             System.out.println("TradeUnit: "+tradeUnit.getTradeType()+ " rate: "+billingSlabs.get(0).getRate());
+             log.debug("TradeUnit: "+tradeUnit.getTradeType()+ " rate: "+billingSlabs.get(0).getRate());
 
              billingSlabIds.add(billingSlabs.get(0).getId()+"|"+i+"|"+tradeUnit.getId());
 
@@ -300,11 +442,11 @@ public class CalculationService {
       List<String> billingSlabIds = new LinkedList<>();
 
       List<Accessory> accessories = license.getTradeLicenseDetail().getAccessories();
+      BillingSlabIndex billingSlabIndex = billingslabService.getBillingSlabIndex(license.getTenantId());
       int i = 0;
        for(Accessory accessory : accessories)
        { if(accessory.getActive())
          {
-               List<Object> preparedStmtList = new ArrayList<>();
                BillingSlabSearchCriteria searchCriteria = new BillingSlabSearchCriteria();
                searchCriteria.setTenantId(license.getTenantId());
                searchCriteria.setAccessoryCategory(accessory.getAccessoryCategory());
@@ -315,14 +457,13 @@ public class CalculationService {
                   searchCriteria.setUom(accessory.getUom());
               }
               // Call the Search
-              String query = queryBuilder.getSearchQuery(searchCriteria, preparedStmtList);
-              List<BillingSlab> billingSlabs = repository.getDataFromDB(query, preparedStmtList);
+              List<BillingSlab> billingSlabs = billingSlabIndex.getBillingSlabs(searchCriteria);
 
               if(billingSlabs.size()>1)
                   throw new CustomException("BILLINGSLAB ERROR","Found multiple BillingSlabs for the given accessories ");
               if(CollectionUtils.isEmpty(billingSlabs))
                   throw new CustomException("BILLINGSLAB ERROR","No BillingSlab Found for the given accessory");
-             System.out.println("Accessory: "+accessory.getAccessoryCategory()+ " rate: "+billingSlabs.get(0).getRate());
+             log.debug("Accessory: "+accessory.getAccessoryCategory()+ " rate: "+billingSlabs.get(0).getRate());
              billingSlabIds.add(billingSlabs.get(0).getId()+"|"+i+"|"+accessory.getId());
              if(billingSlabs.get(0).getType().equals(BillingSlab.TypeEnum.FLAT)){
                  BigDecimal count = accessory.getCount()==null ? BigDecimal.ONE : new BigDecimal(accessory.getCount());
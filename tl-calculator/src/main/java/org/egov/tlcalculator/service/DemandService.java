@@ -74,15 +74,18 @@ public class DemandService {
         //List that will contain Calculation for old demands
         List<Calculation> updateCalculations = new LinkedList<>();
 
+        //Existing demands of the calculations, reused for the update
+        Map<String, Demand> demandsByConsumerCode = new HashMap<>();
+
         if(!CollectionUtils.isEmpty(calculations)){
 
             //Collect required parameters for demand search
             String tenantId = calculations.get(0).getTenantId();
             Set<String> applicationNumbers = calculations.stream().map(calculation -> calculation.getTradeLicense().getApplicationNumber()).collect(Collectors.toSet());
             List<Demand> demands = searchDemand(tenantId,applicationNumbers,requestInfo,businessService);
-            Set<String> applicationNumbersFromDemands = new HashSet<>();
             if(!CollectionUtils.isEmpty(demands))
-                applicationNumbersFromDemands = demands.stream().map(Demand::getConsumerCode).collect(Collectors.toSet());
+                demands.forEach(demand -> demandsByConsumerCode.putIfAbsent(demand.getConsumerCode(), demand));
+            Set<String> applicationNumbersFromDemands = demandsByConsumerCode.keySet();
 
             //If demand already exists add it updateCalculations else createCalculations
             for(Calculation calculation : calculations)
@@ -97,7 +100,7 @@ public class DemandService {
             createDemand(requestInfo,createCalculations,mdmsData);
 
         if(!CollectionUtils.isEmpty(updateCalculations))
-            updateDemand(requestInfo,updateCalculations,businessService);
+            updateDemand(requestInfo,updateCalculations,demandsByConsumerCode);
     }
 
 
@@ -225,19 +228,18 @@ public class DemandService {
      * Updates demand for the given list of calculations
      * @param requestInfo The RequestInfo of the calculation request
      * @param calculations List of calculation object
+     * @param demandsByConsumerCode The existing demands searched for the calculations
      * @return Demands that are updated
      */
-    private List<Demand> updateDemand(RequestInfo requestInfo,List<Calculation> calculations,String businessService){
+    private List<Demand> updateDemand(RequestInfo requestInfo,List<Calculation> calculations,Map<String, Demand> demandsByConsumerCode){
         List<Demand> demands = new LinkedList<>();
         for(Calculation calculation : calculations) {
 
-            List<Demand> searchResult = searchDemand(calculation.getTenantId(),Collections.singleton(calculation.getTradeLicense().getApplicationNumber())
-                    , requestInfo,businessService);
+            Demand demand = demandsByConsumerCode.get(calculation.getTradeLicense().getApplicationNumber());
 
-            if(CollectionUtils.isEmpty(searchResult))
+            if(demand == null)
                 throw new CustomException("INVALID UPDATE","No demand exists for applicationNumber: "+calculation.getTradeLicense().getApplicationNumber());
 
-            Demand demand = searchResult.get(0);
             List<DemandDetail> demandDetails = demand.getDemandDetails();
             List<DemandDetail> updatedDemandDetails = getUpdatedDemandDetails(calculation,demandDetails);
             demand.setDemandDetails(updatedDemandDetails);
@@ -59,6 +59,9 @@ public class MDMSService {
         List<MasterDetail> tlMasterDetails = new ArrayList<>();
         tlMasterDetails.add(MasterDetail.builder().name(TLCalculatorConstants.MDMS_CALCULATIONTYPE)
                 .filter(filterCodeForUom).build());
+        // rebate and penalty masters of renewal, fetched here once instead of per license
+        tlMasterDetails.add(MasterDetail.builder().name(TLCalculatorConstants.REBATE_MASTER).build());
+        tlMasterDetails.add(MasterDetail.builder().name(TLCalculatorConstants.PENANLTY_MASTER).build());
         ModuleDetail tlModuleDtls = ModuleDetail.builder().masterDetails(tlMasterDetails)
                 .moduleName(TLCalculatorConstants.MDMS_TRADELICENSE).build();
                 
@@ -115,7 +118,7 @@ public class MDMSService {
         HashMap<String,Object> calculationType = new HashMap<>();
         try {
             LinkedHashMap tradeLicenseData = JsonPath.read(mdmsData,TLCalculatorConstants.MDMS_TRADELICENSE_PATH);
-            if(tradeLicenseData.size()==0)
+            if(!tradeLicenseData.containsKey(TLCalculatorConstants.MDMS_CALCULATIONTYPE))
                 return defaultMap();
 
             List jsonOutput = JsonPath.read(mdmsData, TLCalculatorConstants.MDMS_CALCULATIONTYPE_PATH);
@@ -1,6 +1,7 @@
 package org.egov.tlcalculator.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import lombok.extern.slf4j.Slf4j;
 import net.minidev.json.JSONArray;
 import org.egov.common.contract.request.RequestInfo;
@@ -48,7 +49,8 @@ public class TLRenewalCalculation {
         TaxHeadEstimate estimatePenalty = new TaxHeadEstimate();
         List<TaxHeadEstimate> estimateList = new ArrayList<>();
         String tenantId = calulationCriteria.getTenantId();
-        setTradeLicenseMasterValues(requestInfo, tenantId,timeBasedExemptionMasterMap);
+        if (!setTradeLicenseMasterValues(mdmsData, timeBasedExemptionMasterMap))
+            setTradeLicenseMasterValues(requestInfo, tenantId,timeBasedExemptionMasterMap);
         String financialyear = calulationCriteria.getTradelicense().getFinancialYear();
 
         BigDecimal rebate = getRebate(taxAmt, financialyear,timeBasedExemptionMasterMap.get(TLCalculatorConstants.REBATE_MASTER));
@@ -137,6 +139,34 @@ public class TLRenewalCalculation {
             timeBasedExemptionMasterMap.put(entry.getKey(), entry.getValue());
     }
 
+    /**
+     * Reads the Rebate and Penalty masters from the MDMS data of the calculation,
+     * saving the MDMS call per license when the masters were fetched with it
+     *
+     * @param mdmsData
+     * @param timeBasedExemptionMasterMap
+     * @return true if both the masters are found in the MDMS data
+     */
+    private boolean setTradeLicenseMasterValues(Object mdmsData, Map<String, JSONArray> timeBasedExemptionMasterMap) {
+        Map<String, Object> tradeLicenseData;
+        try {
+            tradeLicenseData = JsonPath.read(mdmsData, TLCalculatorConstants.MDMS_TRADELICENSE_PATH);
+        } catch (Exception e) {
+            return false;
+        }
+        Object rebateMaster = tradeLicenseData.get(TLCalculatorConstants.REBATE_MASTER);
+        Object penaltyMaster = tradeLicenseData.get(TLCalculatorConstants.PENANLTY_MASTER);
+        if (!(rebateMaster instanceof List) || !(penaltyMaster instanceof List))
+            return false;
+        JSONArray rebates = new JSONArray();
+        rebates.addAll((List<?>) rebateMaster);
+        JSONArray penalties = new JSONArray();
+        penalties.addAll((List<?>) penaltyMaster);
+        timeBasedExemptionMasterMap.put(TLCalculatorConstants.REBATE_MASTER, rebates);
+        timeBasedExemptionMasterMap.put(TLCalculatorConstants.PENANLTY_MASTER, penalties);
+        return true;
+    }
+
     /**
      * Methods to set MDMS criteria requirement for search
      */
@@ -77,6 +77,22 @@ public class CalculatorController {
 	}
 
 
+	/**
+	 * Calulates the tradeLicense fee and creates Demand for a large number of criteria
+	 * @param calculationReq The calculation Request
+	 * @return Bulk Calculation Response with the calculated and the failed criteria
+	 */
+	@RequestMapping(value = {"/{servicename}/_bulkcalculate","/_bulkcalculate"}, method = RequestMethod.POST)
+	public ResponseEntity<BulkCalculationRes> bulkCalculate(@Valid @RequestBody CalculationReq calculationReq,@PathVariable(required = false) String servicename) {
+
+		if(servicename!=null && !servicename.equals(businessService_TL))
+			throw new CustomException("UNKNOWN_BUSINESSSERVICE", " Business Service not supported for bulk calculation");
+
+		BulkCalculationRes bulkCalculationRes = calculationService.bulkCalculate(calculationReq);
+		return new ResponseEntity<BulkCalculationRes>(bulkCalculationRes, HttpStatus.OK);
+	}
+
+
 	/**
 	 * Generates Bill for the given criteria
 	 *
@@ -0,0 +1,144 @@
+package org.egov.tlcalculator.web.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.CollectionUtils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Billing slabs of a tenant compiled once per load from the database. Slabs
+ * are grouped on trade type and on accessory category, and every group is
+ * sorted on the from uom so that the uom value is matched with a range search.
+ *
+ * Slabs are matched on the same conditions as the search query built by
+ * BillingslabQueryBuilder. The conditions on licensetype, fromUom and toUom
+ * are checked on the values of the columns, as the row mapper reads a NULL
+ * uom as 0.0 and both a NULL and an 'ALL' licensetype as a null licenseType.
+ * As in the query a NULL column fails every condition on it, and only the
+ * literal 'ALL' licensetype matches every license type.
+ */
+@Getter
+public class BillingSlabIndex {
+
+	private static final String ALL = "ALL";
+
+	private static final Comparator<IndexedBillingSlab> FROM_UOM_ORDER = Comparator.comparing(
+			IndexedBillingSlab::getFromUom, Comparator.nullsLast(Comparator.naturalOrder()));
+
+	private final List<IndexedBillingSlab> indexedBillingSlabs;
+
+	private final long loadedTime;
+
+	private final Map<String, List<IndexedBillingSlab>> tradeTypeSlabs;
+
+	private final Map<String, List<IndexedBillingSlab>> accessorySlabs;
+
+	public BillingSlabIndex(List<IndexedBillingSlab> indexedBillingSlabs, long loadedTime) {
+		List<IndexedBillingSlab> sortedSlabs = new ArrayList<>(indexedBillingSlabs);
+		sortedSlabs.sort(FROM_UOM_ORDER);
+		this.indexedBillingSlabs = Collections.unmodifiableList(sortedSlabs);
+		this.loadedTime = loadedTime;
+		this.tradeTypeSlabs = group(sortedSlabs, slab -> slab.getBillingSlab().getTradeType());
+		this.accessorySlabs = group(sortedSlabs, slab -> slab.getBillingSlab().getAccessoryCategory());
+	}
+
+	/**
+	 * Slabs matching the search criteria, the tenantId of the criteria is not
+	 * checked as the index holds the slabs of a single tenant
+	 *
+	 * @param criteria The billing slab search criteria
+	 * @return Matching billing slabs
+	 */
+	public List<BillingSlab> getBillingSlabs(BillingSlabSearchCriteria criteria) {
+		List<IndexedBillingSlab> candidates = indexedBillingSlabs;
+		if (!StringUtils.isEmpty(criteria.getTradeType()))
+			candidates = tradeTypeSlabs.getOrDefault(criteria.getTradeType(), Collections.emptyList());
+		else if (!StringUtils.isEmpty(criteria.getAccessoryCategory()))
+			candidates = accessorySlabs.getOrDefault(criteria.getAccessoryCategory(), Collections.emptyList());
+
+		List<BillingSlab> matchingSlabs = new ArrayList<>();
+		for (IndexedBillingSlab slab : candidates) {
+			// slabs are sorted on from uom with NULLs last, none of the rest can match
+			if (criteria.getUomValue() != null
+					&& (slab.getFromUom() == null || slab.getFromUom() > criteria.getUomValue()))
+				break;
+			if (isMatching(slab, criteria))
+				matchingSlabs.add(slab.getBillingSlab());
+		}
+		return matchingSlabs;
+	}
+
+	private boolean isMatching(IndexedBillingSlab indexedSlab, BillingSlabSearchCriteria criteria) {
+		BillingSlab slab = indexedSlab.getBillingSlab();
+		boolean isAllLicenseType = ALL.equals(indexedSlab.getLicenseType());
+		Double fromUom = indexedSlab.getFromUom();
+		Double toUom = indexedSlab.getToUom();
+
+		if (!CollectionUtils.isEmpty(criteria.getIds()) && !criteria.getIds().contains(slab.getId()))
+			return false;
+		if (!StringUtils.isEmpty(criteria.getAccessoryCategory())
+				&& !criteria.getAccessoryCategory().equals(slab.getAccessoryCategory()))
+			return false;
+		if (!StringUtils.isEmpty(criteria.getLicenseType()) && !isAllLicenseType
+				&& !criteria.getLicenseType().equals(indexedSlab.getLicenseType()))
+			return false;
+		if (!StringUtils.isEmpty(criteria.getApplicationType())
+				&& !criteria.getApplicationType().equals(slab.getApplicationType()))
+			return false;
+		if (!StringUtils.isEmpty(criteria.getStructureType()) && !ALL.equals(slab.getStructureType())
+				&& !criteria.getStructureType().equals(slab.getStructureType()))
+			return false;
+		if (!StringUtils.isEmpty(criteria.getTradeType()) && !criteria.getTradeType().equals(slab.getTradeType()))
+			return false;
+		if (!StringUtils.isEmpty(criteria.getType())
+				&& (slab.getType() == null || !criteria.getType().equals(slab.getType().toString())))
+			return false;
+		if (!StringUtils.isEmpty(criteria.getUom()) && !criteria.getUom().equals(slab.getUom()))
+			return false;
+		if (criteria.getFrom() != null && (fromUom == null || fromUom > criteria.getFrom()))
+			return false;
+		if (criteria.getTo() != null && (toUom == null || toUom < criteria.getTo()))
+			return false;
+		if (criteria.getUomValue() != null && (fromUom == null || toUom == null
+				|| fromUom > criteria.getUomValue() || toUom <= criteria.getUomValue()))
+			return false;
+		if (criteria.getApplicationType() != null && !isAllLicenseType
+				&& !criteria.getApplicationType().equals(slab.getApplicationType()))
+			return false;
+		return true;
+	}
+
+	private static Map<String, List<IndexedBillingSlab>> group(List<IndexedBillingSlab> billingSlabs,
+			Function<IndexedBillingSlab, String> keyMapper) {
+		Map<String, List<IndexedBillingSlab>> groupedSlabs = new HashMap<>();
+		billingSlabs.stream().filter(slab -> keyMapper.apply(slab) != null)
+				.forEach(slab -> groupedSlabs.computeIfAbsent(keyMapper.apply(slab), key -> new ArrayList<>()).add(slab));
+		return groupedSlabs;
+	}
+
+	/**
+	 * A billing slab along with the values of its licensetype, fromUom and
+	 * toUom columns, a NULL column is a null value
+	 */
+	@Getter
+	@AllArgsConstructor
+	public static class IndexedBillingSlab {
+
+		private final BillingSlab billingSlab;
+
+		private final String licenseType;
+
+		private final Double fromUom;
+
+		private final Double toUom;
+	}
+}
@@ -0,0 +1,39 @@
+package org.egov.tlcalculator.web.models;
+
+import java.util.List;
+
+import javax.validation.Valid;
+
+import org.egov.common.contract.response.ResponseInfo;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Response of the bulk calculation, calculations whose demands are created and
+ * the criteria which failed
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkCalculationRes {
+
+	@JsonProperty("ResponseInfo")
+	@Valid
+	private ResponseInfo responseInfo = null;
+
+	@JsonProperty("Calculations")
+	@Valid
+	private List<Calculation> calculations = null;
+
+	@JsonProperty("FailedCalculations")
+	private List<CalculationFailure> failedCalculations = null;
+
+}
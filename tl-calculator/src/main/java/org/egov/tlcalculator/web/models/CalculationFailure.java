@@ -0,0 +1,31 @@
+package org.egov.tlcalculator.web.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A criteria of a bulk calculation which could not be calculated or whose
+ * demand could not be created, along with the error
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CalculationFailure {
+
+	@JsonProperty("CalulationCriteria")
+	private CalulationCriteria calulationCriteria = null;
+
+	@JsonProperty("code")
+	private String code = null;
+
+	@JsonProperty("message")
+	private String message = null;
+
+}
@@ -0,0 +1,211 @@
+package org.egov.tlcalculator.web.models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.egov.tlcalculator.repository.rowmapper.BillingSlabIndexRowMapper;
+import org.egov.tlcalculator.repository.rowmapper.BillingSlabRowMapper;
+import org.egov.tlcalculator.web.models.BillingSlabIndex.IndexedBillingSlab;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Checks that the index returns the same slabs as the search query built by
+ * BillingslabQueryBuilder on the same rows. The rows are read with the row
+ * mapper of the index and cover NULL and 'ALL' licensetype, structuretype
+ * and uom columns, and the criteria cover the boundaries of the uom ranges.
+ */
+public class BillingSlabIndexTest {
+
+	private static final String ALL = "ALL";
+
+	private static final String TENANT_ID = "pb.amritsar";
+
+	private static final Double[][] UOM_RANGES = { { 0.0, 100.0 }, { 100.0, 200.0 }, { 200.0, null },
+			{ null, 100.0 } };
+
+	private List<Map<String, Object>> rows;
+
+	private BillingSlabIndex index;
+
+	@Before
+	public void setUp() throws SQLException {
+		rows = new ArrayList<>();
+		for (String tradeType : Arrays.asList("T1", "T2", null))
+			for (String licenseType : Arrays.asList("TEMPORARY", "PERMANENT", ALL, null))
+				for (String applicationType : Arrays.asList("NEW", "RENEWAL", null))
+					for (String structureType : Arrays.asList("IMMOVABLE.PUCCA", ALL, null))
+						for (Double[] range : UOM_RANGES) {
+							int id = rows.size();
+							Map<String, Object> row = new HashMap<>();
+							row.put("id", "SLAB-" + id);
+							row.put("tenantid", TENANT_ID);
+							row.put("tradetype", tradeType);
+							row.put("accessorycategory", tradeType == null ? "A" + id % 2 : null);
+							row.put("licensetype", licenseType);
+							row.put("applicationtype", applicationType);
+							row.put("structuretype", structureType);
+							row.put("type", id % 2 == 0 ? "FLAT" : "RATE");
+							row.put("uom", id % 5 == 0 ? null : "GROSSUNITS");
+							row.put("fromuom", range[0]);
+							row.put("touom", range[1]);
+							row.put("rate", new BigDecimal(id));
+							rows.add(row);
+						}
+
+		BillingSlabIndexRowMapper rowMapper = new BillingSlabIndexRowMapper();
+		ReflectionTestUtils.setField(rowMapper, "billingSlabRowMapper", new BillingSlabRowMapper());
+		index = new BillingSlabIndex(rowMapper.extractData(getResultSet(rows)), System.currentTimeMillis());
+	}
+
+	@Test
+	public void calculationSearchesMatchQuery() {
+		List<String[]> categories = Arrays.asList(new String[] { "T1", null }, new String[] { "T2", null },
+				new String[] { "T3", null }, new String[] { null, "A0" }, new String[] { null, "A1" },
+				new String[] { null, "A9" }, new String[] { null, null });
+		int matchedCount = 0;
+		for (String[] category : categories)
+			for (String licenseType : Arrays.asList("TEMPORARY", "PERMANENT", null))
+				for (String applicationType : Arrays.asList("NEW", "RENEWAL", "", null))
+					for (String structureType : Arrays.asList("IMMOVABLE.PUCCA", "IMMOVABLE.KUTCHA", null))
+						for (String uom : Arrays.asList("GROSSUNITS", null))
+							for (Double uomValue : Arrays.asList(null, -1.0, 0.0, 50.0, 100.0, 150.0, 200.0, 1e6)) {
+								BillingSlabSearchCriteria criteria = BillingSlabSearchCriteria.builder()
+										.tenantId(TENANT_ID).tradeType(category[0]).accessoryCategory(category[1])
+										.licenseType(licenseType).applicationType(applicationType)
+										.structureType(structureType).uom(uom).uomValue(uomValue).build();
+								matchedCount += assertMatchesQuery(criteria);
+							}
+		assertTrue("the grid does not match any slab", matchedCount > 0);
+	}
+
+	@Test
+	public void slabSearchesMatchQuery() {
+		int matchedCount = 0;
+		for (List<String> ids : Arrays.asList(null, Arrays.asList("SLAB-0", "SLAB-7", "SLAB-11", "SLAB-404")))
+			for (String type : Arrays.asList("FLAT", "RATE", null))
+				for (Double from : Arrays.asList(null, 0.0, 100.0, 150.0))
+					for (Double to : Arrays.asList(null, 100.0, 150.0, 200.0)) {
+						BillingSlabSearchCriteria criteria = BillingSlabSearchCriteria.builder().tenantId(TENANT_ID)
+								.ids(ids).type(type).from(from).to(to).build();
+						matchedCount += assertMatchesQuery(criteria);
+					}
+		assertTrue("the grid does not match any slab", matchedCount > 0);
+	}
+
+	@Test
+	public void nullColumnsAreNotReadAsDefaults() {
+		Map<String, IndexedBillingSlab> indexedSlabs = index.getIndexedBillingSlabs().stream()
+				.collect(Collectors.toMap(slab -> slab.getBillingSlab().getId(), slab -> slab));
+		for (Map<String, Object> row : rows) {
+			IndexedBillingSlab indexedSlab = indexedSlabs.get(row.get("id"));
+			assertEquals(row.get("licensetype"), indexedSlab.getLicenseType());
+			assertEquals(row.get("fromuom"), indexedSlab.getFromUom());
+			assertEquals(row.get("touom"), indexedSlab.getToUom());
+		}
+	}
+
+	private int assertMatchesQuery(BillingSlabSearchCriteria criteria) {
+		Set<String> expected = rows.stream().filter(row -> matchesQuery(row, criteria))
+				.map(row -> (String) row.get("id")).collect(Collectors.toCollection(TreeSet::new));
+		List<BillingSlab> actual = index.getBillingSlabs(criteria);
+		assertEquals(expected, actual.stream().map(BillingSlab::getId).collect(Collectors.toCollection(TreeSet::new)));
+		assertEquals("duplicate slabs", expected.size(), actual.size());
+		return actual.size();
+	}
+
+	/**
+	 * The where clause of BillingslabQueryBuilder, a comparison with a NULL
+	 * column is not true
+	 */
+	private static boolean matchesQuery(Map<String, Object> row, BillingSlabSearchCriteria criteria) {
+		if (!CollectionUtils.isEmpty(criteria.getIds()) && !criteria.getIds().contains(row.get("id")))
+			return false;
+		if (!StringUtils.isEmpty(criteria.getAccessoryCategory())
+				&& !isEqual(row.get("accessorycategory"), criteria.getAccessoryCategory()))
+			return false;
+		if (!StringUtils.isEmpty(criteria.getLicenseType())
+				&& !(isEqual(row.get("licensetype"), criteria.getLicenseType())
+						|| isEqual(row.get("licensetype"), ALL)))
+			return false;
+		if (!StringUtils.isEmpty(criteria.getApplicationType())
+				&& !isEqual(row.get("applicationtype"), criteria.getApplicationType()))
+			return false;
+		if (!StringUtils.isEmpty(criteria.getStructureType())
+				&& !(isEqual(row.get("structuretype"), criteria.getStructureType())
+						|| isEqual(row.get("structuretype"), ALL)))
+			return false;
+		if (!StringUtils.isEmpty(criteria.getTradeType()) && !isEqual(row.get("tradetype"), criteria.getTradeType()))
+			return false;
+		if (!StringUtils.isEmpty(criteria.getType()) && !isEqual(row.get("type"), criteria.getType()))
+			return false;
+		if (!StringUtils.isEmpty(criteria.getUom()) && !isEqual(row.get("uom"), criteria.getUom()))
+			return false;
+		if (null != criteria.getFrom()
+				&& !(row.get("fromuom") != null && (Double) row.get("fromuom") <= criteria.getFrom()))
+			return false;
+		if (null != criteria.getTo()
+				&& !(row.get("touom") != null && (Double) row.get("touom") >= criteria.getTo()))
+			return false;
+		if (null != criteria.getUomValue()
+				&& !(row.get("fromuom") != null && (Double) row.get("fromuom") <= criteria.getUomValue()))
+			return false;
+		if (null != criteria.getUomValue()
+				&& !(row.get("touom") != null && (Double) row.get("touom") > criteria.getUomValue()))
+			return false;
+		if (null != criteria.getApplicationType() && !(isEqual(row.get("applicationtype"), criteria.getApplicationType())
+				|| isEqual(row.get("licensetype"), ALL)))
+			return false;
+		return true;
+	}
+
+	private static boolean isEqual(Object column, Object value) {
+		return column != null && column.equals(value);
+	}
+
+	/**
+	 * A result set over the rows, reading a NULL number as 0 as the JDBC
+	 * driver does
+	 */
+	private static ResultSet getResultSet(List<Map<String, Object>> rows) {
+		int[] rowIndex = { -1 };
+		boolean[] wasNull = { false };
+		return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+				(proxy, method, args) -> {
+					if (method.getName().equals("next"))
+						return ++rowIndex[0] < rows.size();
+					if (method.getName().equals("wasNull"))
+						return wasNull[0];
+					Object value = rows.get(rowIndex[0]).get(((String) args[0]).toLowerCase());
+					wasNull[0] = value == null;
+					switch (method.getName()) {
+					case "getString":
+						return value;
+					case "getBigDecimal":
+						return value;
+					case "getDouble":
+						return value == null ? 0.0 : value;
+					case "getLong":
+						return value == null ? 0L : value;
+					default:
+						throw new UnsupportedOperationException(method.getName());
+					}
+				});
+	}
+}
@@ -0,0 +1,105 @@
+package org.egov.tl.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.egov.tl.service.DiffService;
+import org.egov.tl.web.models.Accessory;
+import org.egov.tl.web.models.Difference;
+import org.egov.tl.web.models.TradeLicense;
+import org.egov.tl.web.models.TradeLicenseDetail;
+import org.egov.tl.web.models.TradeLicenseRequest;
+import org.egov.tl.web.models.TradeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the difference of an update request of trade licenses with the
+ * given size against the licenses from db
+ *
+ * A changed scalar field of the license is decided without diffing the object
+ * graphs, a change in a trade unit or no change at all needs the Javers diff.
+ * Run with mvn -Pbenchmark -DskipTests verify
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DiffServiceBenchmark {
+
+	private static final String TENANT_ID = "pb.amritsar";
+
+	private static final int TRADE_UNITS_PER_LICENSE = 3;
+
+	private static final int ACCESSORIES_PER_LICENSE = 2;
+
+	@Param({ "1", "50" })
+	private int licenseCount;
+
+	@Param({ "licenseField", "tradeUnit", "none" })
+	private String change;
+
+	private DiffService diffService;
+
+	private TradeLicenseRequest request;
+
+	private List<TradeLicense> searchResult;
+
+	@Setup
+	public void setup() {
+		diffService = new DiffService();
+
+		searchResult = new ArrayList<>();
+		List<TradeLicense> licenses = new ArrayList<>();
+		for (int i = 0; i < licenseCount; i++) {
+			searchResult.add(generateLicense(i));
+			TradeLicense license = generateLicense(i);
+			if ("licenseField".equals(change))
+				license.setTradeName(license.getTradeName() + " Updated");
+			else if ("tradeUnit".equals(change))
+				license.getTradeLicenseDetail().getTradeUnits().get(0).setUomValue("999");
+			licenses.add(license);
+		}
+		request = TradeLicenseRequest.builder().licenses(licenses).build();
+	}
+
+	@Benchmark
+	public Map<String, Difference> getDifference() {
+		return diffService.getDifference(request, searchResult);
+	}
+
+	/**
+	 * A license with trade units and accessories, every call gives an equal but
+	 * separate object graph
+	 */
+	private static TradeLicense generateLicense(int i) {
+		List<TradeUnit> tradeUnits = new ArrayList<>();
+		for (int unit = 0; unit < TRADE_UNITS_PER_LICENSE; unit++)
+			tradeUnits.add(TradeUnit.builder().id("TU-" + i + "-" + unit).tenantId(TENANT_ID).active(true)
+					.tradeType("GOODS.MANUFACTURE.TST-" + unit).uom("GROSSUNITS")
+					.uomValue(String.valueOf(100 * (unit + 1))).build());
+		List<Accessory> accessories = new ArrayList<>();
+		for (int accessory = 0; accessory < ACCESSORIES_PER_LICENSE; accessory++)
+			accessories.add(Accessory.builder().id("ACC-" + i + "-" + accessory).tenantId(TENANT_ID).active(true)
+					.accessoryCategory("ACC-" + accessory).count(1 + accessory).build());
+
+		TradeLicenseDetail tradeLicenseDetail = TradeLicenseDetail.builder().id("TLD-" + i)
+				.structureType("IMMOVABLE.PUCCA").tradeUnits(tradeUnits).accessories(accessories).build();
+		return TradeLicense.builder().id("TL-" + i).tenantId(TENANT_ID).businessService("TL")
+				.applicationNumber("PB-TL-2020-10-18-" + i).tradeName("Trade " + i).financialYear("2020-21")
+				.tradeLicenseDetail(tradeLicenseDetail).build();
+	}
+}
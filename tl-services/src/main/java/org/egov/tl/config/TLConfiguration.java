@@ -197,6 +197,12 @@ public class TLConfiguration {
     @Value("${egov.localization.statelevel}")
     private Boolean isLocalizationStateLevel;
 
+    @Value("${egov.localization.cache.expiry.seconds}")
+    private Long localizationCacheExpirySeconds;
+
+    @Value("${egov.localization.cache.max.size}")
+    private Integer localizationCacheMaxSize;
+
 
 
     //MDMS
@@ -277,6 +283,12 @@ public class TLConfiguration {
     @Value("${egov.tl.pagination.size}")
     private Integer paginationSize;
 
+    @Value("${egov.tl.batch.worker.count}")
+    private Integer batchWorkerCount;
+
+    @Value("${egov.tl.batch.pending.page.count}")
+    private Integer batchPendingPageCount;
+
     @Value("${egov.tl.reminder.enable}")
     private Boolean isReminderEnabled;
 
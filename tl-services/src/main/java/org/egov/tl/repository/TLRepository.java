@@ -62,6 +62,61 @@ public class TLRepository {
         return licenses;
     }
 
+    /**
+     * Searches the ids of the next page of licenses of a batch job
+     *
+     * @param criteria The batch search criteria, the limit is the page size
+     * @param lastValidTo validTo of the last license of the previous page, null for the first page
+     * @param lastId Id of the last license of the previous page
+     * @return Map of license id to validTo in the order of (validTo, id)
+     */
+    public LinkedHashMap<String, Long> getLicenseIdsForBatch(TradeLicenseSearchCriteria criteria, Long lastValidTo, String lastId) {
+        List<Object> preparedStmtList = new ArrayList<>();
+        String query = queryBuilder.getTLBatchIdsQuery(criteria, lastValidTo, lastId, preparedStmtList);
+        LinkedHashMap<String, Long> keys = new LinkedHashMap<>();
+        jdbcTemplate.query(query, preparedStmtList.toArray(),
+                rs -> { keys.put(rs.getString("id"), rs.getLong("validTo")); });
+        return keys;
+    }
+
+    /**
+     * Searches the licenses of the given owners with only their application
+     * number, status and active trade units, sorted on id as in getLicenses
+     *
+     * @param criteria The search criteria with tenantId, businessService and ownerIds
+     * @return Map of owner uuid to the licenses of the owner
+     */
+    public Map<String, List<TradeLicense>> getLicensesOfOwners(TradeLicenseSearchCriteria criteria) {
+        List<Object> preparedStmtList = new ArrayList<>();
+        String query = queryBuilder.getOwnerLicensesQuery(criteria, preparedStmtList);
+        Map<String, TradeLicense> idToLicense = new HashMap<>();
+        Map<String, Set<TradeLicense>> ownerToLicenses = new HashMap<>();
+        jdbcTemplate.query(query, preparedStmtList.toArray(), rs -> {
+            String id = rs.getString("tl_id");
+            TradeLicense license = idToLicense.get(id);
+            if (license == null) {
+                license = TradeLicense.builder()
+                        .id(id)
+                        .applicationNumber(rs.getString("applicationnumber"))
+                        .status(rs.getString("status"))
+                        .tradeLicenseDetail(new TradeLicenseDetail())
+                        .build();
+                idToLicense.put(id, license);
+            }
+            license.getTradeLicenseDetail().addTradeUnitsItem(TradeUnit.builder()
+                    .id(rs.getString("tl_un_id"))
+                    .tradeType(rs.getString("tl_un_tradeType"))
+                    .build());
+            ownerToLicenses.computeIfAbsent(rs.getString("tlowner_uuid"), ownerId -> new LinkedHashSet<>()).add(license);
+        });
+        idToLicense.values().forEach(license ->
+                license.getTradeLicenseDetail().getTradeUnits().sort(Comparator.comparing(TradeUnit::getId)));
+
+        Map<String, List<TradeLicense>> licensesOfOwners = new HashMap<>();
+        ownerToLicenses.forEach((ownerId, licenses) -> licensesOfOwners.put(ownerId, new ArrayList<>(licenses)));
+        return licensesOfOwners;
+    }
+
     /**
      * Pushes the request on save topic
      *
@@ -73,6 +73,16 @@ public class TLQueryBuilder {
             +"eg_tl_institution tlinsti ON tlinsti.tradelicensedetailid = tld.id ";
 
 
+    private static final String OWNER_LICENSES_QUERY = "SELECT tl.id as tl_id,tl.applicationnumber,tl.status," +
+            "tlowner.id as tlowner_uuid,tlunit.id as tl_un_id,tlunit.tradeType as tl_un_tradeType FROM eg_tl_tradelicense tl"
+            +INNER_JOIN_STRING
+            +"eg_tl_tradelicensedetail tld ON tld.tradelicenseid = tl.id"
+            +INNER_JOIN_STRING
+            +"eg_tl_owner tlowner ON tlowner.tradelicensedetailid = tld.id"
+            +INNER_JOIN_STRING
+            +"eg_tl_tradeunit tlunit ON tlunit.tradelicensedetailid = tld.id ";
+
+
       private final String paginationWrapper = "SELECT * FROM " +
               "(SELECT *, DENSE_RANK() OVER (ORDER BY tl_lastModifiedTime DESC , tl_id) offset_ FROM " +
               "({})" +
@@ -192,6 +202,86 @@ public class TLQueryBuilder {
     }
 
 
+    /**
+     * Creates the query for the ids of the licenses of a batch job, ordered on
+     * (validTo, id) and starting after the given key, so that pages are not
+     * skipped when the job changes the status of the licenses already read
+     *
+     * @param criteria The batch search criteria
+     * @param lastValidTo validTo of the last license of the previous page, null for the first page
+     * @param lastId Id of the last license of the previous page
+     * @param preparedStmtList The prepared statement values
+     * @return Query for the ids and validTo of the next page
+     */
+    public String getTLBatchIdsQuery(TradeLicenseSearchCriteria criteria, Long lastValidTo, String lastId,
+                                     List<Object> preparedStmtList) {
+
+        StringBuilder builder = new StringBuilder("SELECT tl.id, tl.validTo FROM eg_tl_tradelicense tl");
+
+        addBusinessServiceClause(criteria,preparedStmtList,builder);
+
+        if (criteria.getStatus() != null) {
+            addClauseIfRequired(preparedStmtList, builder);
+            builder.append("  tl.status = ? ");
+            preparedStmtList.add(criteria.getStatus());
+        }
+
+        if (criteria.getValidTo() != null) {
+            addClauseIfRequired(preparedStmtList, builder);
+            builder.append("  tl.validTo <= ? ");
+            preparedStmtList.add(criteria.getValidTo());
+        }
+
+        if (lastValidTo != null) {
+            addClauseIfRequired(preparedStmtList, builder);
+            builder.append("  (tl.validTo, tl.id) > (?, ?) ");
+            preparedStmtList.add(lastValidTo);
+            preparedStmtList.add(lastId);
+        }
+
+        builder.append(" ORDER BY tl.validTo, tl.id LIMIT ?");
+        preparedStmtList.add(criteria.getLimit());
+
+        return builder.toString();
+    }
+
+
+    /**
+     * Creates the query for the application number, status and active trade
+     * units of all the licenses of the active owners in the criteria, without
+     * pagination
+     *
+     * @param criteria The search criteria with tenantId, businessService and ownerIds
+     * @param preparedStmtList The prepared statement values
+     * @return Query for the licenses of the owners
+     */
+    public String getOwnerLicensesQuery(TradeLicenseSearchCriteria criteria, List<Object> preparedStmtList) {
+
+        StringBuilder builder = new StringBuilder(OWNER_LICENSES_QUERY);
+
+        addBusinessServiceClause(criteria,preparedStmtList,builder);
+
+        if (criteria.getTenantId() != null) {
+            addClauseIfRequired(preparedStmtList, builder);
+            builder.append(" tl.tenantid=? ");
+            preparedStmtList.add(criteria.getTenantId());
+        }
+
+        List<String> ownerIds = criteria.getOwnerIds();
+        addClauseIfRequired(preparedStmtList, builder);
+        builder.append(" tlowner.id IN (").append(createQuery(ownerIds)).append(")");
+        addToPreparedStatement(preparedStmtList, ownerIds);
+        addClauseIfRequired(preparedStmtList, builder);
+        builder.append(" tlowner.active = ? ");
+        preparedStmtList.add(true);
+        addClauseIfRequired(preparedStmtList, builder);
+        builder.append(" tlunit.active = ? ");
+        preparedStmtList.add(true);
+
+        return builder.toString();
+    }
+
+
     private void addBusinessServiceClause(TradeLicenseSearchCriteria criteria,List<Object> preparedStmtList,StringBuilder builder){
         if ((criteria.getBusinessService() == null) || (businessServiceTL.equals(criteria.getBusinessService()))) {
             addClauseIfRequired(preparedStmtList, builder);
@@ -7,22 +7,64 @@ import org.egov.tracer.model.CustomException;
 import org.javers.core.Javers;
 import org.javers.core.JaversBuilder;
 import org.javers.core.diff.Diff;
-import org.javers.core.diff.changetype.NewObject;
+import org.javers.core.diff.changetype.ObjectRemoved;
 import org.javers.core.diff.changetype.ValueChange;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
 import java.util.*;
+import java.util.function.Function;
 
 import static org.egov.tl.util.TLConstants.*;
 
 @Service
 public class DiffService {
 
+    /**
+     * Javers instances are thread safe, the type mappings are built once
+     */
+    private final Javers javers = JaversBuilder.javers().build();
+
+    /**
+     * Scalar fields of the license compared before the object graphs are diffed,
+     * the fields in FIELDS_TO_IGNORE are left out
+     */
+    private static final Map<String, Function<TradeLicense, Object>> LICENSE_FIELDS;
+
+    static {
+        Map<String, Function<TradeLicense, Object>> licenseFields = new LinkedHashMap<>();
+        licenseFields.put("id", TradeLicense::getId);
+        licenseFields.put("tenantId", TradeLicense::getTenantId);
+        licenseFields.put("businessService", TradeLicense::getBusinessService);
+        licenseFields.put("licenseType", TradeLicense::getLicenseType);
+        licenseFields.put("applicationType", TradeLicense::getApplicationType);
+        licenseFields.put("workflowCode", TradeLicense::getWorkflowCode);
+        licenseFields.put("licenseNumber", TradeLicense::getLicenseNumber);
+        licenseFields.put("applicationNumber", TradeLicense::getApplicationNumber);
+        licenseFields.put("oldLicenseNumber", TradeLicense::getOldLicenseNumber);
+        licenseFields.put("propertyId", TradeLicense::getPropertyId);
+        licenseFields.put("oldPropertyId", TradeLicense::getOldPropertyId);
+        licenseFields.put("accountId", TradeLicense::getAccountId);
+        licenseFields.put("tradeName", TradeLicense::getTradeName);
+        licenseFields.put("applicationDate", TradeLicense::getApplicationDate);
+        licenseFields.put("commencementDate", TradeLicense::getCommencementDate);
+        licenseFields.put("financialYear", TradeLicense::getFinancialYear);
+        licenseFields.put("validFrom", TradeLicense::getValidFrom);
+        licenseFields.put("validTo", TradeLicense::getValidTo);
+        licenseFields.put("fileStoreId", TradeLicense::getFileStoreId);
+        LICENSE_FIELDS = Collections.unmodifiableMap(licenseFields);
+    }
 
     /**
      * Creates a list of Difference object between the update and search
      *
+     * The edit notification only checks whether anything changed, so when a
+     * scalar field of the license itself is changed the object graphs are not
+     * diffed and the Difference holds just the changed license fields. Otherwise
+     * a single Javers diff gives the changed fields along with the objects added,
+     * the objects only present in the license from the update are the objects
+     * removed when it is compared against the license from db
+     *
      * @param request      The tradeLicenseRequest for update
      * @param searchResult The searched licenses corresponding to the request
      * @return List of Difference object
@@ -43,9 +85,17 @@ public class DiffService {
             licenseFromSearch = idToTradeLicenseMap.get(license.getId());
             Difference diff = new Difference();
             diff.setId(license.getId());
-            diff.setFieldsChanged(getUpdatedFields(license, licenseFromSearch));
-            diff.setClassesAdded(getObjectsAdded(license, licenseFromSearch));
-            diff.setClassesRemoved(getObjectsRemoved(license, licenseFromSearch));
+            List<String> licenseFieldsChanged = getUpdatedLicenseFields(license, licenseFromSearch);
+            if (!CollectionUtils.isEmpty(licenseFieldsChanged)) {
+                diff.setFieldsChanged(licenseFieldsChanged);
+                diff.setClassesAdded(new LinkedList<>());
+                diff.setClassesRemoved(new LinkedList<>());
+            } else {
+                Diff updateDiff = javers.compare(license, licenseFromSearch);
+                diff.setFieldsChanged(getUpdatedFields(updateDiff));
+                diff.setClassesAdded(getObjectsAdded(updateDiff));
+                diff.setClassesRemoved(getObjectsRemoved(updateDiff));
+            }
             diffMap.put(license.getId(), diff);
         }
 
@@ -54,17 +104,36 @@ public class DiffService {
 
 
     /**
-     * Gives the field names whose values are different in the two classes
+     * Gives the names of the scalar fields of the license whose values are different
      *
-     * @param licenseFromUpdate License from update request
+     * @param license           License from update request
      * @param licenseFromSearch License from db on which update is called
-     * @return List of variable names which are changed
+     * @return List of variable names which are changed, empty if the license is not in db
      */
-    private List<String> getUpdatedFields(TradeLicense licenseFromUpdate, TradeLicense licenseFromSearch) {
+    private List<String> getUpdatedLicenseFields(TradeLicense license, TradeLicense licenseFromSearch) {
+
+        List<String> updatedFields = new LinkedList<>();
+
+        if (licenseFromSearch == null)
+            return updatedFields;
 
-        Javers javers = JaversBuilder.javers().build();
+        LICENSE_FIELDS.forEach((field, getter) -> {
+            if (!FIELDS_TO_IGNORE.contains(field)
+                    && !Objects.equals(getter.apply(license), getter.apply(licenseFromSearch)))
+                updatedFields.add(field);
+        });
+        return updatedFields;
+    }
+
+
+    /**
+     * Gives the field names whose values are different in the two classes
+     *
+     * @param diff Diff of the license from update request against the license from db
+     * @return List of variable names which are changed
+     */
+    private List<String> getUpdatedFields(Diff diff) {
 
-        Diff diff = javers.compare(licenseFromUpdate, licenseFromSearch);
         List<ValueChange> changes = diff.getChangesByType(ValueChange.class);
 
         List<String> updatedFields = new LinkedList<>();
@@ -84,16 +153,12 @@ public class DiffService {
     /**
      * Gives the names of the classes whose object are added or removed between the given licenses
      *
-     * @param licenseFromUpdate License from update request
-     * @param licenseFromSearch License from db on which update is called
+     * @param diff Diff of the license from update request against the license from db
      * @return Names of Classes added or removed during update
      */
-    private List<String> getObjectsAdded(TradeLicense licenseFromUpdate, TradeLicense licenseFromSearch) {
+    private List<String> getObjectsAdded(Diff diff) {
 
-        Javers javers = JaversBuilder.javers().build();
-        Diff diff = javers.compare(licenseFromSearch, licenseFromUpdate);
-        List objectsAdded = diff.getObjectsByChangeType(NewObject.class);
-        ;
+        List objectsAdded = diff.getObjectsByChangeType(ObjectRemoved.class);
 
         List<String> classModified = new LinkedList<>();
 
@@ -112,14 +177,11 @@ public class DiffService {
     /**
      * Gives the names of the classes whose object are added or removed between the given licenses
      *
-     * @param licenseFromUpdate License from update request
-     * @param licenseFromSearch License from db on which update is called
+     * @param diff Diff of the license from update request against the license from db
      * @return Names of Classes added or removed during update
      */
-    private List<String> getObjectsRemoved(TradeLicense licenseFromUpdate, TradeLicense licenseFromSearch) {
+    private List<String> getObjectsRemoved(Diff diff) {
 
-        Javers javers = JaversBuilder.javers().build();
-        Diff diff = javers.compare(licenseFromUpdate, licenseFromSearch);
         List<ValueChange> changes = diff.getChangesByType(ValueChange.class);
 
         List<String> classRemoved = new LinkedList<>();
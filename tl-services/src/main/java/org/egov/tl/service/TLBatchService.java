@@ -11,15 +11,23 @@ import org.egov.tl.web.models.TradeLicense;
 import org.egov.tl.web.models.TradeLicenseRequest;
 import org.egov.tl.web.models.TradeLicenseSearchCriteria;
 import org.egov.tl.workflow.WorkflowIntegrator;
+import org.egov.tracer.model.CustomException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.egov.tl.util.TLConstants.*;
 
@@ -62,7 +70,13 @@ public class TLBatchService {
 
     /**
      * Searches trade licenses which are expiring and sends reminder sms to
-     *  owner's of the licenses
+     *  owner's of the licenses or expires them
+     *
+     * Licenses are read in pages ordered on (validTo, id), each page starting
+     * after the last license of the previous one, so that licenses expired by
+     * the job do not shift the pages still to be read. The pages are enriched
+     * and acted upon by a pool of batchWorkerCount workers while the next
+     * pages are read, with at most batchPendingPageCount pages in flight.
      * @param serviceName
      * @param requestInfo
      */
@@ -82,30 +96,82 @@ public class TLBatchService {
                 .limit(config.getPaginationSize())
                 .build();
 
-        int offSet = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(config.getBatchWorkerCount());
+        Deque<Future<Integer>> pendingPages = new ArrayDeque<>();
+        long startTime = System.currentTimeMillis();
+        long licenseCount = 0;
+        int pageCount = 0;
+        Long lastValidTo = null;
+        String lastId = null;
 
-        while (true){
+        try {
+            boolean hasNext = true;
+            while (hasNext || !pendingPages.isEmpty()) {
+
+                if (hasNext && pendingPages.size() < config.getBatchPendingPageCount()) {
+                    LinkedHashMap<String, Long> idToValidTo = repository.getLicenseIdsForBatch(criteria, lastValidTo, lastId);
+                    hasNext = idToValidTo.size() >= config.getPaginationSize();
+                    if (idToValidTo.isEmpty())
+                        continue;
+
+                    List<String> ids = new LinkedList<>(idToValidTo.keySet());
+                    lastId = ids.get(ids.size() - 1);
+                    lastValidTo = idToValidTo.get(lastId);
+                    pendingPages.add(executor.submit(() -> performAction(serviceName, jobName, ids, requestInfo)));
+
+                    if (!pendingPages.peek().isDone())
+                        continue;
+                }
+
+                licenseCount += pendingPages.poll().get();
+                pageCount++;
+
+                long elapsedSeconds = Math.max(1, (System.currentTimeMillis() - startTime) / 1000);
+                log.info("Job " + jobName + " processed " + licenseCount + " licenses in " + pageCount + " pages, throughput: "
+                        + licenseCount / elapsedSeconds + " licenses/s, pages in flight: " + pendingPages.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException("EG_TL_BATCH_INTERRUPTED", "Job " + jobName + " interrupted after license id: " + lastId);
+        } catch (ExecutionException e) {
+            log.error("Job " + jobName + " failed, pages read up to license id: " + lastId, e.getCause());
+            throw new CustomException("EG_TL_BATCH_ERROR", "Job " + jobName + " failed: " + e.getCause().getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
 
-            log.info("current Offset: "+offSet);
+        log.info("Job " + jobName + " completed for " + licenseCount + " licenses in " + pageCount + " pages, time taken: "
+                + (System.currentTimeMillis() - startTime) + " ms");
+    }
 
-            List<TradeLicense> licenses = repository.getLicenses(criteria);
-            if(CollectionUtils.isEmpty(licenses))
-                break;
 
-            licenses = enrichmentService.enrichTradeLicenseSearch(licenses, criteria, requestInfo);
+    /**
+     * Searches the licenses of the ids, enriches them and sends the reminder
+     * sms or expires them as per the job
+     * @param ids Ids of the licenses of the page
+     * @return Number of licenses processed
+     */
+    private int performAction(String serviceName, String jobName, List<String> ids, RequestInfo requestInfo){
 
-            if(jobName.equalsIgnoreCase(JOB_SMS_REMINDER))
-                sendReminderSMS(requestInfo, licenses);
+        TradeLicenseSearchCriteria criteria = TradeLicenseSearchCriteria.builder()
+                .businessService(serviceName)
+                .ids(ids)
+                .limit(ids.size())
+                .build();
 
-            else if(jobName.equalsIgnoreCase(JOB_EXPIRY))
-                expireLicenses(requestInfo, licenses);
+        List<TradeLicense> licenses = repository.getLicenses(criteria);
+        if(CollectionUtils.isEmpty(licenses))
+            return 0;
 
-            offSet = offSet + config.getPaginationSize();
+        licenses = enrichmentService.enrichTradeLicenseSearch(licenses, criteria, requestInfo);
 
-            criteria.setOffset(offSet);
-        }
+        if(jobName.equalsIgnoreCase(JOB_SMS_REMINDER))
+            sendReminderSMS(requestInfo, licenses);
 
+        else if(jobName.equalsIgnoreCase(JOB_EXPIRY))
+            expireLicenses(requestInfo, licenses);
 
+        return licenses.size();
     }
 
 
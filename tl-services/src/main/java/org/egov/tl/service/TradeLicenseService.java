@@ -133,23 +133,58 @@ public class TradeLicenseService {
         return tradeLicenseRequest.getLicenses();
 	}
 
+    /**
+     * Validates that a mobile number is not used for more than one application
+     * on the same license type
+     *
+     * The users of every distinct tenant and mobile number are searched once,
+     * the licenses of all of them are searched in one query per tenant and
+     * business service, and the trade types are then matched in memory.
+     * @param request The create request
+     */
     public void validateMobileNumberUniqueness(TradeLicenseRequest request) {
+        RequestInfo requestInfo = request.getRequestInfo();
+        Map<String, Set<String>> mobileNumberToUuids = new HashMap<>();
+        Map<String, TradeLicenseSearchCriteria> businessServiceToCriteria = new HashMap<>();
+
         for (TradeLicense license : request.getLicenses()) {
-            for (TradeUnit tradeUnit : license.getTradeLicenseDetail().getTradeUnits()) {
-                String tradetypeOfNewLicense = tradeUnit.getTradeType().split("\\.")[0];
-                List<String> mobileNumbers = license.getTradeLicenseDetail().getOwners().stream().map(OwnerInfo::getMobileNumber).collect(Collectors.toList());
-                for (String mobno : mobileNumbers) {
-                    TradeLicenseSearchCriteria tradeLicenseSearchCriteria = TradeLicenseSearchCriteria.builder().tenantId(license.getTenantId()).businessService(license.getBusinessService()).mobileNumber(mobno).build();
-                    List<TradeLicense> licensesFromSearch = getLicensesFromMobileNumber(tradeLicenseSearchCriteria, request.getRequestInfo());
-                    List<String> tradeTypeResultforSameMobNo = new ArrayList<>();
-                    for (TradeLicense result : licensesFromSearch) {
-                        if (!StringUtils.equals(result.getApplicationNumber(), license.getApplicationNumber()) && !StringUtils.equals(result.getStatus(),STATUS_REJECTED)) {
-                            tradeTypeResultforSameMobNo.add(result.getTradeLicenseDetail().getTradeUnits().get(0).getTradeType().split("\\.")[0]);
+            String businessServiceKey = license.getTenantId() + "|" + license.getBusinessService();
+            TradeLicenseSearchCriteria ownerCriteria = businessServiceToCriteria.computeIfAbsent(businessServiceKey,
+                    key -> TradeLicenseSearchCriteria.builder().tenantId(license.getTenantId())
+                            .businessService(license.getBusinessService()).ownerIds(new ArrayList<>()).build());
+            for (OwnerInfo owner : license.getTradeLicenseDetail().getOwners()) {
+                String mobileNumberKey = license.getTenantId() + "|" + owner.getMobileNumber();
+                Set<String> uuids = mobileNumberToUuids.get(mobileNumberKey);
+                if (uuids == null) {
+                    TradeLicenseSearchCriteria userCriteria = TradeLicenseSearchCriteria.builder().tenantId(license.getTenantId())
+                            .businessService(license.getBusinessService()).mobileNumber(owner.getMobileNumber()).build();
+                    uuids = userService.getUser(userCriteria, requestInfo).getUser().stream()
+                            .map(OwnerInfo::getUuid).collect(Collectors.toSet());
+                    mobileNumberToUuids.put(mobileNumberKey, uuids);
+                }
+                uuids.stream().filter(uuid -> !ownerCriteria.getOwnerIds().contains(uuid))
+                        .forEach(ownerCriteria.getOwnerIds()::add);
+            }
+        }
+
+        Map<String, Map<String, List<TradeLicense>>> businessServiceToOwnerLicenses = new HashMap<>();
+        businessServiceToCriteria.forEach((businessServiceKey, ownerCriteria) -> businessServiceToOwnerLicenses.put(businessServiceKey,
+                CollectionUtils.isEmpty(ownerCriteria.getOwnerIds()) ? Collections.emptyMap() : repository.getLicensesOfOwners(ownerCriteria)));
+
+        for (TradeLicense license : request.getLicenses()) {
+            Map<String, List<TradeLicense>> ownerLicenses = businessServiceToOwnerLicenses.get(license.getTenantId() + "|" + license.getBusinessService());
+            Set<String> tradeTypesOfNewLicense = license.getTradeLicenseDetail().getTradeUnits().stream()
+                    .map(tradeUnit -> tradeUnit.getTradeType().split("\\.")[0]).collect(Collectors.toSet());
+            for (OwnerInfo owner : license.getTradeLicenseDetail().getOwners()) {
+                for (String uuid : mobileNumberToUuids.get(license.getTenantId() + "|" + owner.getMobileNumber())) {
+                    for (TradeLicense result : ownerLicenses.getOrDefault(uuid, Collections.emptyList())) {
+                        if (StringUtils.equals(result.getApplicationNumber(), license.getApplicationNumber()) || StringUtils.equals(result.getStatus(),STATUS_REJECTED))
+                            continue;
+                        String tradeType = result.getTradeLicenseDetail().getTradeUnits().get(0).getTradeType().split("\\.")[0];
+                        if (tradeTypesOfNewLicense.contains(tradeType)) {
+                            throw new CustomException("DUPLICATE_TRADETYPEONMOBNO", " Same mobile number can not be used for more than one applications on same license type: "+tradeType);
                         }
                     }
-                    if (tradeTypeResultforSameMobNo.contains(tradetypeOfNewLicense)) {
-                        throw new CustomException("DUPLICATE_TRADETYPEONMOBNO", " Same mobile number can not be used for more than one applications on same license type: "+tradetypeOfNewLicense);
-                    }
                 }
             }
         }
@@ -1,6 +1,5 @@
 package org.egov.tl.util;
 
-import com.jayway.jsonpath.JsonPath;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.egov.common.contract.request.RequestInfo;
@@ -9,7 +8,6 @@ import org.egov.tl.producer.Producer;
 import org.egov.tl.repository.ServiceRequestRepository;
 import org.egov.tl.web.models.*;
 import org.egov.tracer.model.CustomException;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -40,12 +38,15 @@ public class BPANotificationUtil {
     @Value("${egov.citizen.home.endpoint}")
     private String citizenHomeEndpoint;
 
+    private LocalizationCache localizationCache;
+
     @Autowired
     public BPANotificationUtil(TLConfiguration config, ServiceRequestRepository serviceRequestRepository,
-                               Producer producer) {
+                               Producer producer, LocalizationCache localizationCache) {
         this.config = config;
         this.serviceRequestRepository = serviceRequestRepository;
         this.producer = producer;
+        this.localizationCache = localizationCache;
     }
 
     final String receiptNumberKey = "receiptNumber";
@@ -93,10 +94,7 @@ public class BPANotificationUtil {
      * @return Localization messages for the module
      */
     public String getLocalizationMessages(String tenantId, RequestInfo requestInfo) {
-        LinkedHashMap responseMap = (LinkedHashMap) serviceRequestRepository.fetchResult(getUri(tenantId, requestInfo),
-                requestInfo);
-        String jsonString = new JSONObject(responseMap).toString();
-        return jsonString;
+        return localizationCache.getLocalizationMessages(getUri(tenantId, requestInfo), requestInfo);
     }
 
     public String getCustomizedMsg(RequestInfo requestInfo, TradeLicense license, String localizationMessage) {
@@ -142,16 +140,7 @@ public class BPANotificationUtil {
      * @return message for the specific code
      */
     public String getMessageTemplate(String notificationCode, String localizationMessage) {
-        String path = "$..messages[?(@.code==\"{}\")].message";
-        path = path.replace("{}", notificationCode);
-        String message = null;
-        try {
-            Object messageObj = JsonPath.parse(localizationMessage).read(path);
-            message = ((ArrayList<String>) messageObj).get(0);
-        } catch (Exception e) {
-            log.warn("Fetching from localization failed", e);
-        }
-        return message;
+        return localizationCache.getMessageTemplate(notificationCode, localizationMessage);
     }
 
     /**
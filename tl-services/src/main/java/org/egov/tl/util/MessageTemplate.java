@@ -0,0 +1,65 @@
+package org.egov.tl.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import lombok.Getter;
+
+/**
+ * Localization message compiled once into its literal parts and placeholders,
+ * so that a message is built in a single pass over the parts instead of a
+ * chain of String.replace calls over the whole message.
+ *
+ * Placeholders are the positional tokens like <1> and the named tokens like
+ * {OWNER_NAME}, a placeholder without a value is left in the message as it is.
+ */
+public class MessageTemplate {
+
+	private static final Pattern PLACEHOLDER = Pattern.compile("<[A-Za-z0-9_]+>|\\{[A-Za-z0-9_]+\\}");
+
+	@Getter
+	private final String template;
+
+	private final String[] literals;
+
+	private final String[] placeholders;
+
+	private MessageTemplate(String template) {
+		List<String> literalList = new ArrayList<>();
+		List<String> placeholderList = new ArrayList<>();
+		Matcher matcher = PLACEHOLDER.matcher(template);
+		int start = 0;
+		while (matcher.find()) {
+			literalList.add(template.substring(start, matcher.start()));
+			placeholderList.add(matcher.group());
+			start = matcher.end();
+		}
+		literalList.add(template.substring(start));
+		this.template = template;
+		this.literals = literalList.toArray(new String[0]);
+		this.placeholders = placeholderList.toArray(new String[0]);
+	}
+
+	public static MessageTemplate compile(String template) {
+		return new MessageTemplate(template);
+	}
+
+	/**
+	 * Builds the message from the template
+	 *
+	 * @param values Map of placeholder, e.g. <1> or {OWNER_NAME}, to its value
+	 * @return The message with the placeholders replaced by their values
+	 */
+	public String format(Map<String, String> values) {
+		StringBuilder message = new StringBuilder(template.length() + 16 * placeholders.length);
+		for (int i = 0; i < placeholders.length; i++) {
+			message.append(literals[i]);
+			String value = values.get(placeholders[i]);
+			message.append(value != null ? value : placeholders[i]);
+		}
+		return message.append(literals[placeholders.length]).toString();
+	}
+}
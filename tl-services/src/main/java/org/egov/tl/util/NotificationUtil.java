@@ -34,12 +34,16 @@ public class NotificationUtil {
 
 	private RestTemplate restTemplate;
 
+	private LocalizationCache localizationCache;
+
 	@Autowired
-	public NotificationUtil(TLConfiguration config, ServiceRequestRepository serviceRequestRepository, Producer producer, RestTemplate restTemplate) {
+	public NotificationUtil(TLConfiguration config, ServiceRequestRepository serviceRequestRepository, Producer producer, RestTemplate restTemplate,
+							LocalizationCache localizationCache) {
 		this.config = config;
 		this.serviceRequestRepository = serviceRequestRepository;
 		this.producer = producer;
 		this.restTemplate = restTemplate;
+		this.localizationCache = localizationCache;
 	}
 
 
@@ -122,16 +126,7 @@ public class NotificationUtil {
 	 * @return message for the specific code
 	 */
 	private String getMessageTemplate(String notificationCode, String localizationMessage) {
-		String path = "$..messages[?(@.code==\"{}\")].message";
-		path = path.replace("{}", notificationCode);
-		String message = null;
-		try {
-			Object messageObj = JsonPath.parse(localizationMessage).read(path);
-			message = ((ArrayList<String>) messageObj).get(0);
-		} catch (Exception e) {
-			log.warn("Fetching from localization failed", e);
-		}
-		return message;
+		return localizationCache.getMessageTemplate(notificationCode, localizationMessage);
 	}
 
 	/**
@@ -169,10 +164,7 @@ public class NotificationUtil {
 	 * @return Localization messages for the module
 	 */
 	public String getLocalizationMessages(String tenantId, RequestInfo requestInfo) {
-		LinkedHashMap responseMap = (LinkedHashMap) serviceRequestRepository.fetchResult(getUri(tenantId, requestInfo),
-				requestInfo);
-		String jsonString = new JSONObject(responseMap).toString();
-		return jsonString;
+		return localizationCache.getLocalizationMessages(getUri(tenantId, requestInfo), requestInfo);
 	}
 
 	/**
@@ -373,12 +365,13 @@ public class NotificationUtil {
 	 */
 	public String getReminderMsg(TradeLicense license, String localizationMessages) {
 
-		String messageTemplate = getMessageTemplate(TLConstants.NOTIFICATION_TL_REMINDER, localizationMessages);
+		MessageTemplate messageTemplate = localizationCache.getTemplate(TLConstants.NOTIFICATION_TL_REMINDER, localizationMessages);
 		String expiryDate = new SimpleDateFormat("dd/MM/yyyy").format(license.getValidTo());
-		messageTemplate = messageTemplate.replace(NOTIF_TRADE_NAME_KEY, license.getTradeName());
-		messageTemplate = messageTemplate.replace(NOTIF_EXPIRY_DATE_KEY, expiryDate);
-		messageTemplate = messageTemplate.replace(NOTIF_TRADE_LICENSENUMBER_KEY, license.getLicenseNumber());
-		return messageTemplate;
+		Map<String, String> values = new HashMap<>();
+		values.put(NOTIF_TRADE_NAME_KEY, license.getTradeName());
+		values.put(NOTIF_EXPIRY_DATE_KEY, expiryDate);
+		values.put(NOTIF_TRADE_LICENSENUMBER_KEY, license.getLicenseNumber());
+		return messageTemplate.format(values);
 	}
 
 
@@ -455,10 +448,12 @@ public class NotificationUtil {
 	 */
 	public List<SMSRequest> createSMSRequest(String message, Map<String, String> mobileNumberToOwnerName) {
 		List<SMSRequest> smsRequest = new LinkedList<>();
+		MessageTemplate messageTemplate = MessageTemplate.compile(message);
+		Map<String, String> values = new HashMap<>();
 		for (Map.Entry<String, String> entryset : mobileNumberToOwnerName.entrySet()) {
-			String customizedMsg = message.replace("<1>", entryset.getValue());
-			customizedMsg = customizedMsg.replace(NOTIF_OWNER_NAME_KEY, entryset.getValue());
-			smsRequest.add(new SMSRequest(entryset.getKey(), customizedMsg));
+			values.put("<1>", entryset.getValue());
+			values.put(NOTIF_OWNER_NAME_KEY, entryset.getValue());
+			smsRequest.add(new SMSRequest(entryset.getKey(), messageTemplate.format(values)));
 		}
 		return smsRequest;
 	}
@@ -32,12 +32,16 @@ public class TLRenewalNotificationUtil {
 
     private NotificationUtil notificationUtil;
 
+    private LocalizationCache localizationCache;
+
     @Autowired
-    public TLRenewalNotificationUtil(TLConfiguration config, ServiceRequestRepository serviceRequestRepository, Producer producer, NotificationUtil notificationUtil) {
+    public TLRenewalNotificationUtil(TLConfiguration config, ServiceRequestRepository serviceRequestRepository, Producer producer, NotificationUtil notificationUtil,
+                                     LocalizationCache localizationCache) {
         this.config = config;
         this.serviceRequestRepository = serviceRequestRepository;
         this.producer = producer;
         this.notificationUtil = notificationUtil;
+        this.localizationCache = localizationCache;
     }
 
 
@@ -132,16 +136,7 @@ public class TLRenewalNotificationUtil {
      * @return message for the specific code
      */
     private String getMessageTemplate(String notificationCode, String localizationMessage) {
-        String path = "$..messages[?(@.code==\"{}\")].message";
-        path = path.replace("{}", notificationCode);
-        String message = null;
-        try {
-            Object messageObj = JsonPath.parse(localizationMessage).read(path);
-            message = ((ArrayList<String>) messageObj).get(0);
-        } catch (Exception e) {
-            log.warn("Fetching from localization failed", e);
-        }
-        return message;
+        return localizationCache.getMessageTemplate(notificationCode, localizationMessage);
     }
 
     /**
@@ -178,10 +173,7 @@ public class TLRenewalNotificationUtil {
      * @return Localization messages for the module
      */
     public String getLocalizationMessages(String tenantId, RequestInfo requestInfo) {
-        LinkedHashMap responseMap = (LinkedHashMap) serviceRequestRepository.fetchResult(getUri(tenantId, requestInfo),
-                requestInfo);
-        String jsonString = new JSONObject(responseMap).toString();
-        return jsonString;
+        return localizationCache.getLocalizationMessages(getUri(tenantId, requestInfo), requestInfo);
     }
 
     /**
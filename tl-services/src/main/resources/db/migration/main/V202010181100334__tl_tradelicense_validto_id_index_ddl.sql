@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS index_eg_tl_tradelicense_validto_id ON eg_tl_tradelicense (validto, id);
@@ -0,0 +1,81 @@
+package org.egov.tl.util;
+
+import static org.egov.tl.util.TLConstants.NOTIF_EXPIRY_DATE_KEY;
+import static org.egov.tl.util.TLConstants.NOTIF_OWNER_NAME_KEY;
+import static org.egov.tl.util.TLConstants.NOTIF_TRADE_LICENSENUMBER_KEY;
+import static org.egov.tl.util.TLConstants.NOTIF_TRADE_NAME_KEY;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Checks that the compiled templates build the same messages as the chains
+ * of String.replace calls of NotificationUtil they replace
+ */
+public class MessageTemplateTest {
+
+	private static final List<String> MESSAGES = Arrays.asList(
+			"Dear <1>, your Trade License {TRADE_NAME} with license number {LICENSE_NUMBER} will expire on {EXPIRY_DATE}.",
+			"Dear {OWNER_NAME}, your application for <2> has been approved. Dear <1>, pay <3> to complete it.",
+			"<1>{OWNER_NAME}<1>",
+			"{TRADE_NAME} expires on {EXPIRY_DATE}, {TRADE_NAME} no {LICENSE_NUMBER}",
+			"No placeholders in this message",
+			"",
+			"A message with < 1 >, {not a key}, <> and {} and a lone < or {",
+			"Unicode \u0a2a\u0a4d\u0a30\u0a3f\u0a05 <1>, \u0a32\u0a3e\u0a07\u0a38\u0a48\u0a02\u0a38 {LICENSE_NUMBER}");
+
+	@Test
+	public void reminderMatchesReplace() {
+		Map<String, String> values = new HashMap<>();
+		values.put(NOTIF_TRADE_NAME_KEY, "Amritsar Sweets");
+		values.put(NOTIF_EXPIRY_DATE_KEY, "31/03/2020");
+		values.put(NOTIF_TRADE_LICENSENUMBER_KEY, "PB-TL-2019-04-01-000123");
+		for (String message : MESSAGES) {
+			String expected = message.replace(NOTIF_TRADE_NAME_KEY, values.get(NOTIF_TRADE_NAME_KEY))
+					.replace(NOTIF_EXPIRY_DATE_KEY, values.get(NOTIF_EXPIRY_DATE_KEY))
+					.replace(NOTIF_TRADE_LICENSENUMBER_KEY, values.get(NOTIF_TRADE_LICENSENUMBER_KEY));
+			assertEquals(expected, MessageTemplate.compile(message).format(values));
+		}
+	}
+
+	@Test
+	public void ownerMessagesMatchReplace() {
+		Map<String, String> values = new HashMap<>();
+		for (String ownerName : Arrays.asList("Harpreet Kaur", "", "Owner $1 \\ with regex characters")) {
+			values.put("<1>", ownerName);
+			values.put(NOTIF_OWNER_NAME_KEY, ownerName);
+			for (String message : MESSAGES) {
+				String expected = message.replace("<1>", ownerName).replace(NOTIF_OWNER_NAME_KEY, ownerName);
+				assertEquals(expected, MessageTemplate.compile(message).format(values));
+			}
+		}
+	}
+
+	@Test
+	public void placeholdersWithoutValueAreKept() {
+		for (String message : MESSAGES)
+			assertEquals(message, MessageTemplate.compile(message).format(Collections.emptyMap()));
+	}
+
+	@Test
+	public void templateIsKept() {
+		for (String message : MESSAGES)
+			assertEquals(message, MessageTemplate.compile(message).getTemplate());
+	}
+
+	@Test
+	public void valuesAreNotRescanned() {
+		// a chain of replace calls would also replace the {OWNER_NAME} in the value of <1>
+		Map<String, String> values = new HashMap<>();
+		values.put("<1>", "{OWNER_NAME}");
+		values.put(NOTIF_OWNER_NAME_KEY, "Harpreet Kaur");
+		assertEquals("Dear {OWNER_NAME} / Harpreet Kaur",
+				MessageTemplate.compile("Dear <1> / {OWNER_NAME}").format(values));
+	}
+}
@@ -0,0 +1,198 @@
+package org.egov.wscalculation.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.wscalculation.config.WSCalculationConfiguration;
+import org.egov.wscalculation.constants.WSCalculationConstant;
+import org.egov.wscalculation.repository.ServiceRequestRepository;
+import org.egov.wscalculation.service.EstimationService;
+import org.egov.wscalculation.service.MasterDataService;
+import org.egov.wscalculation.util.CalculatorUtil;
+import org.egov.wscalculation.util.MasterDataCache;
+import org.egov.wscalculation.util.WSCalculationUtil;
+import org.egov.wscalculation.util.WaterCessUtil;
+import org.egov.wscalculation.web.models.CalculationCriteria;
+import org.egov.wscalculation.web.models.Property;
+import org.egov.wscalculation.web.models.WaterConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.support.ResourcePropertySource;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Benchmarks the water charge estimation of a batch of connections with the
+ * given size
+ *
+ * The connections and their properties are generated, the MDMS response is
+ * read from the fixture under benchmark/ so that only the estimation is
+ * measured. Run with mvn -Pbenchmark -DskipTests verify
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EstimationServiceBenchmark {
+
+	private static final String TENANT_ID = "pb.amritsar";
+
+	private static final String[] BUILDING_TYPES = { "RESIDENTIAL", "NONRESIDENTIAL", "MIXED", "INSTITUTIONAL",
+			"INDUSTRIAL", "COMMERCIAL" };
+
+	@Param({ "1", "50", "500" })
+	private int connectionCount;
+
+	private MasterDataCache masterDataCache;
+
+	private EstimationService estimationService;
+
+	private RequestInfo requestInfo;
+
+	private Map<String, Object> calculationMasters;
+
+	private List<CalculationCriteria> criterias;
+
+	private Map<String, Property> propertyMap;
+
+	@Setup
+	public void setup() throws IOException {
+		ObjectMapper mapper = new ObjectMapper().configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true)
+				.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+		WSCalculationConfiguration config = getConfiguration();
+		ServiceRequestRepository repository = new FixtureRepository(config, mapper);
+
+		masterDataCache = new MasterDataCache();
+		masterDataCache.setConfig(config);
+
+		CalculatorUtil calculatorUtil = new CalculatorUtil();
+		calculatorUtil.setCalculationConfig(config);
+		calculatorUtil.setServiceRequestRepository(repository);
+		calculatorUtil.setMapper(mapper);
+
+		WSCalculationUtil wSCalculationUtil = new WSCalculationUtil();
+		wSCalculationUtil.setConfigurations(config);
+		wSCalculationUtil.setServiceRequestRepository(repository);
+		wSCalculationUtil.setObjectMapper(mapper);
+
+		MasterDataService masterDataService = new MasterDataService();
+		masterDataService.setRepository(repository);
+		masterDataService.setMapper(mapper);
+		masterDataService.setWSCalculationUtil(wSCalculationUtil);
+		masterDataService.setConfig(config);
+		masterDataService.setCalculatorUtils(calculatorUtil);
+		masterDataService.setMasterDataCache(masterDataCache);
+
+		WaterCessUtil waterCessUtil = new WaterCessUtil();
+		waterCessUtil.setMDataService(masterDataService);
+
+		estimationService = new EstimationService();
+		estimationService.setWaterCessUtil(waterCessUtil);
+		estimationService.setCalculatorUtil(calculatorUtil);
+		estimationService.setMapper(mapper);
+		estimationService.setWSCalculationUtil(wSCalculationUtil);
+		masterDataService.setEstimationService(estimationService);
+
+		requestInfo = new RequestInfo();
+		calculationMasters = new HashMap<>();
+		masterDataService.loadBillingSlabsAndTimeBasedExemptions(requestInfo, TENANT_ID, calculationMasters);
+		generateConnections();
+	}
+
+	@Benchmark
+	public void getEstimationMap(Blackhole blackhole) {
+		// the slab index is compiled once per batch into the master data of the batch
+		Map<String, Object> masterData = new HashMap<>(calculationMasters);
+		for (CalculationCriteria criteria : criterias)
+			blackhole.consume(estimationService.getEstimationMap(criteria, requestInfo, masterData, propertyMap));
+	}
+
+	/**
+	 * Metered connections with readings spread over the consumption slabs and
+	 * non metered connections with taps spread over the tap slabs, every
+	 * connection on a property of its own
+	 */
+	private void generateConnections() {
+		criterias = new ArrayList<>();
+		propertyMap = new HashMap<>();
+		for (int i = 0; i < connectionCount; i++) {
+			Property property = new Property();
+			property.setPropertyId("PB-PT-" + i);
+			property.setTenantId(TENANT_ID);
+			property.setUsageCategory(BUILDING_TYPES[i % BUILDING_TYPES.length] + ".OTHERS");
+			propertyMap.put(property.getPropertyId(), property);
+
+			WaterConnection connection = new WaterConnection();
+			connection.setId("WS-" + i);
+			connection.setTenantId(TENANT_ID);
+			connection.setPropertyId(property.getPropertyId());
+			connection.setConnectionNo("WS/107/2019-20/" + i);
+			CalculationCriteria.CalculationCriteriaBuilder criteria = CalculationCriteria.builder()
+					.waterConnection(connection).connectionNo(connection.getConnectionNo()).tenantId(TENANT_ID);
+			if (i % 2 == 0) {
+				connection.setConnectionType(WSCalculationConstant.meteredConnectionType);
+				double lastReading = 100.0 * i;
+				criteria.lastReading(lastReading).currentReading(lastReading + (i * 733) % 15000);
+			} else {
+				connection.setConnectionType(WSCalculationConstant.nonMeterdConnection);
+				connection.setNoOfTaps(1 + i % 30);
+			}
+			criterias.add(criteria.build());
+		}
+	}
+
+	private WSCalculationConfiguration getConfiguration() throws IOException {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.getEnvironment().getPropertySources()
+				.addFirst(new ResourcePropertySource("classpath:application.properties"));
+		context.register(WSCalculationConfiguration.class);
+		context.refresh();
+		return context.getBean(WSCalculationConfiguration.class);
+	}
+
+	/**
+	 * Returns the MDMS fixture in place of the MDMS search
+	 */
+	private static class FixtureRepository extends ServiceRequestRepository {
+
+		private final String mdmsEndPoint;
+
+		private final Object mdmsResponse;
+
+		FixtureRepository(WSCalculationConfiguration config, ObjectMapper mapper) throws IOException {
+			mdmsEndPoint = config.getMdmsEndPoint();
+			try (InputStream stream = EstimationServiceBenchmark.class
+					.getResourceAsStream("/benchmark/mdms-response.json")) {
+				mdmsResponse = mapper.readValue(stream, Map.class);
+			}
+		}
+
+		@Override
+		public Object fetchResult(StringBuilder uri, Object request) {
+			if (!uri.toString().contains(mdmsEndPoint))
+				throw new IllegalArgumentException("No fixture for " + uri);
+			return mdmsResponse;
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package org.egov.wscalculation.config;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -52,6 +53,12 @@ public class WSCalculationConfiguration {
 	
 	@Value("${egov.bill.fetch.endpoint}")
 	private String fetchBillEndPoint;
+
+	@Value("${egov.bill.fetch.batch.size}")
+	private Integer fetchBillBatchSize;
+
+	@Value("${egov.bill.fetch.pool.size}")
+	private Integer fetchBillPoolSize;
 	
 	@Value("${egov.demand.billexpirytime}")
 	private Long demandBillExpiryTime;
@@ -93,6 +100,9 @@ public class WSCalculationConfiguration {
 
 	 @Value("${egov.wc.search.endpoint}")
 	 private String waterConnectionSearchEndPoint;
+
+	 @Value("${egov.wc.search.batch.size}")
+	 private Integer waterConnectionSearchBatchSize;
 	 
 	 //Demand Topic
 	 @Value("${ws.calculator.demand.successful.topic}")
@@ -178,6 +188,12 @@ public class WSCalculationConfiguration {
 
     	@Value("${persister.demand.based.dead.letter.topic.single}")
     	private String deadLetterTopicSingle;
+
+	@Value("${egov.demand.scheduler.batch.size}")
+	private Integer demandSchedulerBatchSize;
+
+	@Value("${egov.demand.scheduler.pool.size}")
+	private Integer demandSchedulerPoolSize;
     
     
     	@Value("${notification.url}")
@@ -192,6 +208,21 @@ public class WSCalculationConfiguration {
 	@Value("${egov.property.searchendpoint}")
 	private String searchPropertyEndPoint;
 
+	@Value("${egov.property.search.batch.size}")
+	private Integer propertySearchBatchSize;
+
+	@Value("${egov.mdms.cache.expiry.seconds}")
+	private Long mdmsCacheExpirySeconds;
+
+	@Value("${egov.mdms.cache.refresh.seconds}")
+	private Long mdmsCacheRefreshSeconds;
+
+	@Value("${egov.mdms.cache.max.size}")
+	private Integer mdmsCacheMaxSize;
+
+	@Value("#{'${egov.mdms.cache.admin.roles}'.split(',')}")
+	private List<String> mdmsCacheAdminRoles;
+
 	@Value("${workflow.workDir.path}")
 	private String workflowHost;
 
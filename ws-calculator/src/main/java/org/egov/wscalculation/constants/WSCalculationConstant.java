@@ -121,6 +121,16 @@ public class WSCalculationConstant {
 
 	public static final String WS_MODULE = "ws-services-masters";
 
+	public static final String BILLING_SERVICE_MODULE = "billing-service";
+
+	public static final String BILL_KEY = "Bill";
+
+	public static final String BILL_CONSUMER_CODE_KEY = "consumerCode";
+
+	public static final String CALCULATION_MASTERS_CACHE_KEY = "CalculationMasters";
+
+	public static final String ESTIMATION_MASTERS_CACHE_KEY = "EstimationMasters";
+
 	public static final String WC_PENANLTY_MASTER = "Penalty";
 
 	public static final String WC_WATER_CESS_MASTER = "WaterCess";
@@ -129,6 +139,8 @@ public class WSCalculationConstant {
 
 	public static final String WC_BILLING_SLAB_MASTER = "WCBillingSlab";
 
+	public static final String WC_BILLING_SLAB_INDEX = "WCBillingSlabIndex";
+
 	public static final List<String> WS_BILLING_SLAB_MASTERS = Collections
 			.unmodifiableList(Arrays.asList(WC_BILLING_SLAB_MASTER));
 
@@ -156,6 +168,10 @@ public class WSCalculationConstant {
 
 	public static final String Billing_Cycle_String = "billingCycle";
 
+	public static final String DEMAND_SCHEDULER_IN_PROGRESS = "INPROGRESS";
+
+	public static final String DEMAND_SCHEDULER_COMPLETED = "COMPLETED";
+
 	public static final String Demand_End_Date_String = "demandEndDateMillis";
 
 	public static final String Demand_Expiry_Date_String = "demandExpiryDate";
@@ -234,6 +250,8 @@ public class WSCalculationConstant {
 	public static final String UNIT_COST_CONST = "unitCost";
 
 	public static final String CALCULATION_ATTRIBUTE_CONST = "CalculationAttribute";
+
+	public static final String NAME = "name";
    
 	public static final String ATTRIBUTE = "attribute";
 	
@@ -2,14 +2,18 @@ package org.egov.wscalculation.consumer;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.egov.common.contract.request.RequestInfo;
 import org.egov.wscalculation.config.WSCalculationConfiguration;
 import org.egov.wscalculation.validator.WSCalculationWorkflowValidator;
 import org.egov.wscalculation.web.models.CalculationCriteria;
 import org.egov.wscalculation.web.models.CalculationReq;
+import org.egov.wscalculation.web.models.WaterConnection;
 import org.egov.wscalculation.producer.WSCalculationProducer;
 import org.egov.wscalculation.service.MasterDataService;
 import org.egov.wscalculation.service.WSCalculationServiceImpl;
@@ -53,14 +57,17 @@ public class DemandGenerationConsumer {
 	@KafkaListener(topics = {
 			"${egov.watercalculatorservice.createdemand.topic}" }, containerFactory = "kafkaListenerContainerFactoryBatch")
 	public void listen(final List<Message<?>> records) {
-		CalculationReq calculationReq = mapper.convertValue(records.get(0).getPayload(), CalculationReq.class);
-		Map<String, Object> masterMap = mDataService.loadMasterData(calculationReq.getRequestInfo(),
-				calculationReq.getCalculationCriteria().get(0).getTenantId());
-		List<CalculationCriteria> calculationCriteria = new ArrayList<>();
+		// Scheduled requests are keyed by tenant, a batch can still carry more than one tenant
+		Map<String, List<CalculationCriteria>> tenantWiseCriteria = new LinkedHashMap<>();
+		Map<String, RequestInfo> tenantWiseRequestInfo = new HashMap<>();
 		records.forEach(record -> {
 			try {
 				CalculationReq calcReq = mapper.convertValue(record.getPayload(), CalculationReq.class);
-				calculationCriteria.addAll(calcReq.getCalculationCriteria());
+				calcReq.getCalculationCriteria().forEach(criteria -> {
+					tenantWiseCriteria.computeIfAbsent(criteria.getTenantId(), tenantId -> new ArrayList<>())
+							.add(criteria);
+					tenantWiseRequestInfo.putIfAbsent(criteria.getTenantId(), calcReq.getRequestInfo());
+				});
 				log.info("Consuming record: " + mapper.writeValueAsString(record));
 			} catch (final Exception e) {
 				StringBuilder builder = new StringBuilder();
@@ -73,9 +80,18 @@ public class DemandGenerationConsumer {
 				log.error(builder.toString());
 			}
 		});
-		CalculationReq request = CalculationReq.builder().calculationCriteria(calculationCriteria)
-				.requestInfo(calculationReq.getRequestInfo()).isconnectionCalculation(true).build();
-		generateDemandInBatch(request, masterMap, config.getDeadLetterTopicBatch());
+		tenantWiseCriteria.forEach((tenantId, calculationCriteria) -> {
+			RequestInfo requestInfo = tenantWiseRequestInfo.get(tenantId);
+			CalculationReq request = CalculationReq.builder().calculationCriteria(calculationCriteria)
+					.requestInfo(requestInfo).isconnectionCalculation(true).build();
+			try {
+				Map<String, Object> masterMap = mDataService.loadMasterData(requestInfo, tenantId);
+				generateDemandInBatch(request, masterMap, config.getDeadLetterTopicBatch());
+			} catch (Exception ex) {
+				log.error("Demand generation error for tenant " + tenantId, ex);
+				producer.push(config.getDeadLetterTopicBatch(), request);
+			}
+		});
 		log.info("Number of batch records:  " + records.size());
 	}
 
@@ -89,9 +105,7 @@ public class DemandGenerationConsumer {
 	@KafkaListener(topics = {
 			"${persister.demand.based.dead.letter.topic.batch}" }, containerFactory = "kafkaListenerContainerFactory")
 	public void listenDeadLetterTopic(final List<Message<?>> records) {
-		CalculationReq calculationReq = mapper.convertValue(records.get(0).getPayload(), CalculationReq.class);
-		Map<String, Object> masterMap = mDataService.loadMasterData(calculationReq.getRequestInfo(),
-				calculationReq.getCalculationCriteria().get(0).getTenantId());
+		Map<String, Map<String, Object>> tenantWiseMasterMap = new HashMap<>();
 		records.forEach(record -> {
 			try {
 				log.info("Consuming record on dead letter topic : " + mapper.writeValueAsString(record));
@@ -99,8 +113,10 @@ public class DemandGenerationConsumer {
 
 				calcReq.getCalculationCriteria().forEach(calcCriteria -> {
 					CalculationReq request = CalculationReq.builder().calculationCriteria(Arrays.asList(calcCriteria))
-							.requestInfo(calculationReq.getRequestInfo()).isconnectionCalculation(true).build();
+							.requestInfo(calcReq.getRequestInfo()).isconnectionCalculation(true).build();
 					try {
+						Map<String, Object> masterMap = tenantWiseMasterMap.computeIfAbsent(calcCriteria.getTenantId(),
+								tenantId -> mDataService.loadMasterData(calcReq.getRequestInfo(), tenantId));
 						log.info("Generating Demand for Criteria : " + mapper.writeValueAsString(calcCriteria));
 						// processing single
 						generateDemandInBatch(request, masterMap, config.getDeadLetterTopicSingle());
@@ -135,11 +151,13 @@ public class DemandGenerationConsumer {
 	 */
 	private void generateDemandInBatch(CalculationReq request, Map<String, Object> masterMap, String errorTopic) {
 		try {
+			Map<String, List<WaterConnection>> connectionMap = wSCalculationServiceImpl.getWaterConnectionMap(request);
 			for(CalculationCriteria criteria : request.getCalculationCriteria()){
 				Boolean genratedemand = true;
-				wsCalulationWorkflowValidator.applicationValidation(request.getRequestInfo(),criteria.getTenantId(),criteria.getConnectionNo(),genratedemand);
+				wsCalulationWorkflowValidator.applicationValidation(request.getRequestInfo(), criteria.getTenantId(),
+						connectionMap.get(criteria.getConnectionNo()), genratedemand);
 			}
-			wSCalculationServiceImpl.bulkDemandGeneration(request, masterMap);
+			wSCalculationServiceImpl.bulkDemandGeneration(request, masterMap, connectionMap);
 			String connectionNoStrings = request.getCalculationCriteria().stream()
 					.map(criteria -> criteria.getConnectionNo()).collect(Collectors.toSet()).toString();
 			StringBuilder str = new StringBuilder("Demand generated Successfully. For records : ")
@@ -2,6 +2,7 @@ package org.egov.wscalculation.producer;
 
 import org.egov.tracer.kafka.CustomKafkaTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -14,4 +15,17 @@ public class WSCalculationProducer {
 		kafkaTemplate.send(topic, value);
 	}
 
+	/**
+	 * Pushes the value with the key and waits for the send to be acknowledged,
+	 * a failed send is thrown
+	 * 
+	 * @param topic Topic to push to
+	 * @param key Key of the record
+	 * @param value Value of the record
+	 * @return Result of the acknowledged send
+	 */
+	public SendResult<String, Object> push(String topic, String key, Object value) {
+		return kafkaTemplate.send(topic, key, value);
+	}
+
 }
@@ -3,6 +3,7 @@ package org.egov.wscalculation.repository;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.egov.wscalculation.web.models.DemandSchedulerCheckpoint;
 import org.egov.wscalculation.web.models.MeterConnectionRequest;
 import org.egov.wscalculation.web.models.MeterReading;
 import org.egov.wscalculation.web.models.MeterReadingSearchCriteria;
@@ -22,6 +23,13 @@ public interface WSCalculationDao {
 	int isMeterReadingConnectionExist(List<String> ids);
 	
 	List<String> getConnectionsNoList(String tenantId, String connectionType);
+
+	List<String> getConnectionsNoList(String tenantId, String connectionType, String fromConnectionNo, int limit);
+
+	DemandSchedulerCheckpoint getDemandSchedulerCheckpoint(String tenantId, String connectionType,
+			String schedulerDate);
+
+	void saveDemandSchedulerCheckpoint(DemandSchedulerCheckpoint checkpoint);
 	
 	List<String> getTenantId();
 	
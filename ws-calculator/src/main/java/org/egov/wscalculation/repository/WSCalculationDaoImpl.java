@@ -7,10 +7,12 @@ import java.util.List;
 import java.util.Set;
 
 import org.egov.wscalculation.repository.builder.WSCalculatorQueryBuilder;
+import org.egov.wscalculation.web.models.DemandSchedulerCheckpoint;
 import org.egov.wscalculation.web.models.MeterConnectionRequest;
 import org.egov.wscalculation.web.models.MeterReading;
 import org.egov.wscalculation.web.models.MeterReadingSearchCriteria;
 import org.egov.wscalculation.producer.WSCalculationProducer;
+import org.egov.wscalculation.repository.rowmapper.DemandSchedulerCheckpointRowMapper;
 import org.egov.wscalculation.repository.rowmapper.DemandSchedulerRowMapper;
 import org.egov.wscalculation.repository.rowmapper.MeterReadingCurrentReadingRowMapper;
 import org.egov.wscalculation.repository.rowmapper.MeterReadingRowMapper;
@@ -42,6 +44,9 @@ public class WSCalculationDaoImpl implements WSCalculationDao {
 	
 	@Autowired
 	private DemandSchedulerRowMapper demandSchedulerRowMapper;
+
+	@Autowired
+	private DemandSchedulerCheckpointRowMapper demandSchedulerCheckpointRowMapper;
 	
 
 	@Value("${egov.meterservice.createmeterconnection}")
@@ -132,6 +137,31 @@ public class WSCalculationDaoImpl implements WSCalculationDao {
 		return jdbcTemplate.query(query, preparedStatement.toArray(), demandSchedulerRowMapper);
 	}
 
+	@Override
+	public List<String> getConnectionsNoList(String tenantId, String connectionType, String fromConnectionNo,
+			int limit) {
+		List<Object> preparedStatement = new ArrayList<>();
+		String query = queryBuilder.getConnectionNumberList(tenantId, connectionType, fromConnectionNo, limit,
+				preparedStatement);
+		log.info("water " + connectionType + " connection page : " + query);
+		return jdbcTemplate.query(query, preparedStatement.toArray(), demandSchedulerRowMapper);
+	}
+
+	@Override
+	public DemandSchedulerCheckpoint getDemandSchedulerCheckpoint(String tenantId, String connectionType,
+			String schedulerDate) {
+		return jdbcTemplate.query(queryBuilder.getDemandSchedulerCheckpointQuery(),
+				new Object[] { tenantId, connectionType, schedulerDate }, demandSchedulerCheckpointRowMapper);
+	}
+
+	@Override
+	public void saveDemandSchedulerCheckpoint(DemandSchedulerCheckpoint checkpoint) {
+		long currentTime = System.currentTimeMillis();
+		jdbcTemplate.update(queryBuilder.getDemandSchedulerCheckpointUpsertQuery(), checkpoint.getTenantId(),
+				checkpoint.getConnectionType(), checkpoint.getSchedulerDate(), checkpoint.getLastConnectionNo(),
+				checkpoint.getStatus(), currentTime, currentTime);
+	}
+
 	@Override
 	public List<String> getTenantId() {
 		String query = queryBuilder.getDistinctTenantIds();
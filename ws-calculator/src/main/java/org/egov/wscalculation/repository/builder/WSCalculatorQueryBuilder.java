@@ -33,6 +33,11 @@ public class WSCalculatorQueryBuilder {
 
 	private static final String distinctTenantIdsCriteria = "SELECT distinct(tenantid) FROM eg_ws_connection ws";
 
+	private static final String demandSchedulerCheckpointQuery = "SELECT tenantid, connectiontype, schedulerdate, lastconnectionno, status, lastmodifiedtime FROM eg_ws_demand_scheduler_checkpoint WHERE tenantid = ? AND connectiontype = ? AND schedulerdate = ?";
+
+	private static final String demandSchedulerCheckpointUpsertQuery = "INSERT INTO eg_ws_demand_scheduler_checkpoint (tenantid, connectiontype, schedulerdate, lastconnectionno, status, createdtime, lastmodifiedtime) VALUES (?, ?, ?, ?, ?, ?, ?)"
+			+ " ON CONFLICT (tenantid, connectiontype, schedulerdate) DO UPDATE SET lastconnectionno = EXCLUDED.lastconnectionno, status = EXCLUDED.status, lastmodifiedtime = EXCLUDED.lastmodifiedtime";
+
 
 	public String getDistinctTenantIds() {
 		return distinctTenantIdsCriteria;
@@ -171,6 +176,38 @@ public class WSCalculatorQueryBuilder {
 		return query.toString();
 		
 	}
+
+	/**
+	 * Page of the connection numbers of the tenant in ascending order,
+	 * starting after the last connection number of the previous page
+	 * 
+	 * @param tenantId Tenant Id
+	 * @param connectionType Connection Type
+	 * @param fromConnectionNo Last connection number processed, null to start from the beginning
+	 * @param limit Maximum number of connection numbers of the page
+	 * @param preparedStatement Prepared SQL Statement
+	 * @return Query for the page of connection numbers
+	 */
+	public String getConnectionNumberList(String tenantId, String connectionType, String fromConnectionNo,
+			int limit, List<Object> preparedStatement) {
+		StringBuilder query = new StringBuilder(getConnectionNumberList(tenantId, connectionType, preparedStatement));
+		if (!StringUtils.isEmpty(fromConnectionNo)) {
+			addClauseIfRequired(preparedStatement, query);
+			query.append(" conn.connectionno > ? ");
+			preparedStatement.add(fromConnectionNo);
+		}
+		query.append(" ORDER BY conn.connectionno LIMIT ?");
+		preparedStatement.add(limit);
+		return query.toString();
+	}
+
+	public String getDemandSchedulerCheckpointQuery() {
+		return demandSchedulerCheckpointQuery;
+	}
+
+	public String getDemandSchedulerCheckpointUpsertQuery() {
+		return demandSchedulerCheckpointUpsertQuery;
+	}
 	
 	public String isBillingPeriodExists(String connectionNo, String billingPeriod, List<Object> preparedStatement) {
 		StringBuilder query = new StringBuilder(noOfConnectionSearchQuery);
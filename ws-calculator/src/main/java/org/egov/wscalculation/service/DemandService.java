@@ -1,18 +1,28 @@
 package org.egov.wscalculation.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
 import org.apache.commons.lang3.StringUtils;
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.common.contract.request.User;
@@ -35,6 +45,7 @@ import org.egov.wscalculation.web.models.DemandDetail;
 import org.egov.wscalculation.web.models.DemandDetailAndCollection;
 import org.egov.wscalculation.web.models.DemandRequest;
 import org.egov.wscalculation.web.models.DemandResponse;
+import org.egov.wscalculation.web.models.DemandSchedulerCheckpoint;
 import org.egov.wscalculation.web.models.GetBillCriteria;
 import org.egov.wscalculation.web.models.Property;
 import org.egov.wscalculation.web.models.RequestInfoWrapper;
@@ -97,6 +108,18 @@ public class DemandService {
     @Autowired
 	private WSCalculationWorkflowValidator wsCalulationWorkflowValidator;
 
+	private ExecutorService fetchBillExecutor;
+
+	@PostConstruct
+	public void initFetchBillExecutor() {
+		fetchBillExecutor = Executors.newFixedThreadPool(configs.getFetchBillPoolSize());
+	}
+
+	@PreDestroy
+	public void shutdownFetchBillExecutor() {
+		fetchBillExecutor.shutdown();
+	}
+
 	/**
 	 * Creates or updates Demand
 	 * 
@@ -108,6 +131,23 @@ public class DemandService {
 	 */
 	public List<Demand> generateDemand(RequestInfo requestInfo, List<Calculation> calculations,
 			Map<String, Object> masterMap, boolean isForConnectionNo) {
+		return generateDemand(requestInfo, calculations, masterMap, isForConnectionNo, Collections.emptyMap());
+	}
+
+	/**
+	 * Creates or updates Demand using the properties already fetched for the
+	 * batch
+	 * 
+	 * @param requestInfo
+	 *            The RequestInfo of the calculation request
+	 * @param calculations
+	 *            The Calculation Objects for which demand has to be generated
+	 *            or updated
+	 * @param propertyMap
+	 *            Map of property id to property fetched for the batch
+	 */
+	public List<Demand> generateDemand(RequestInfo requestInfo, List<Calculation> calculations,
+			Map<String, Object> masterMap, boolean isForConnectionNo, Map<String, Property> propertyMap) {
 		@SuppressWarnings("unchecked")
 		Map<String, Object> financialYearMaster =  (Map<String, Object>) masterMap
 				.get(WSCalculationConstant.BILLING_PERIOD);
@@ -151,7 +191,7 @@ public class DemandService {
 		}
 		List<Demand> createdDemands = new ArrayList<>();
 		if (!CollectionUtils.isEmpty(createCalculations))
-			createdDemands = createDemand(requestInfo, createCalculations, masterMap, isForConnectionNo);
+			createdDemands = createDemand(requestInfo, createCalculations, masterMap, isForConnectionNo, propertyMap);
 
 		if (!CollectionUtils.isEmpty(updateCalculations))
 			createdDemands = updateDemandForCalculation(requestInfo, updateCalculations, fromDate, toDate, isForConnectionNo);
@@ -163,10 +203,11 @@ public class DemandService {
 	 * @param requestInfo RequestInfo
 	 * @param calculations List of Calculation
 	 * @param masterMap Master MDMS Data
+	 * @param propertyMap Map of property id to property fetched for the batch
 	 * @return Returns list of demands
 	 */
 	private List<Demand> createDemand(RequestInfo requestInfo, List<Calculation> calculations,
-			Map<String, Object> masterMap, boolean isForConnectionNO) {
+			Map<String, Object> masterMap, boolean isForConnectionNO, Map<String, Property> propertyMap) {
 		List<Demand> demands = new LinkedList<>();
 		for (Calculation calculation : calculations) {
 			WaterConnection connection = calculation.getWaterConnection();
@@ -177,7 +218,7 @@ public class DemandService {
 			}
 			WaterConnectionRequest waterConnectionRequest = WaterConnectionRequest.builder().waterConnection(connection)
 					.requestInfo(requestInfo).build();
-			Property property = wsCalculationUtil.getProperty(waterConnectionRequest);
+			Property property = wsCalculationUtil.getProperty(waterConnectionRequest, propertyMap);
 			String tenantId = calculation.getTenantId();
 			String consumerCode = isForConnectionNO ? calculation.getConnectionNo()
 					: calculation.getApplicationNO();
@@ -635,12 +676,19 @@ public class DemandService {
 	 *            TenantId for getting master data.
 	 */
 	public void generateDemandForTenantId(String tenantId, RequestInfo requestInfo) {
-		requestInfo.getUserInfo().setTenantId(tenantId);
-		Map<String, Object> billingMasterData = calculatorUtils.loadBillingFrequencyMasterData(requestInfo, tenantId);
-		generateDemandForULB(billingMasterData, requestInfo, tenantId);
+		// Tenants are scheduled concurrently, every tenant works on its own copy
+		RequestInfo tenantRequestInfo = mapper.convertValue(requestInfo, RequestInfo.class);
+		tenantRequestInfo.getUserInfo().setTenantId(tenantId);
+		Map<String, Object> billingMasterData = calculatorUtils.loadBillingFrequencyMasterData(tenantRequestInfo, tenantId);
+		generateDemandForULB(billingMasterData, tenantRequestInfo, tenantId);
 	}
 
 	/**
+	 * Reads the non metered connections of the tenant page by page and
+	 * publishes every page as one batch of calculation criteria keyed by the
+	 * tenant id. The last published connection number is checkpointed after
+	 * every batch, the next page starts after it and a failed run resumes from
+	 * it.
 	 * 
 	 * @param master Master MDMS Data
 	 * @param requestInfo Request Info
@@ -650,23 +698,58 @@ public class DemandService {
 		log.info("Billing master data values for non metered connection:: {}", master);
 		long startDay = (((int) master.get(WSCalculationConstant.Demand_Generate_Date_String)) / 86400000);
 		if(isCurrentDateIsMatching((String) master.get(WSCalculationConstant.Billing_Cycle_String), startDay)) {
-			List<String> connectionNos = waterCalculatorDao.getConnectionsNoList(tenantId,
-					WSCalculationConstant.nonMeterdConnection);
+			String schedulerDate = LocalDate.now().toString();
+			DemandSchedulerCheckpoint checkpoint = waterCalculatorDao.getDemandSchedulerCheckpoint(tenantId,
+					WSCalculationConstant.nonMeterdConnection, schedulerDate);
+			if (checkpoint == null)
+				checkpoint = DemandSchedulerCheckpoint.builder().tenantId(tenantId)
+						.connectionType(WSCalculationConstant.nonMeterdConnection).schedulerDate(schedulerDate).build();
+			else if (WSCalculationConstant.DEMAND_SCHEDULER_COMPLETED.equals(checkpoint.getStatus())) {
+				log.info("Demand generation already scheduled for tenant " + tenantId + " on " + schedulerDate);
+				return;
+			} else
+				log.info("Resuming demand generation for tenant " + tenantId + " after connection "
+						+ checkpoint.getLastConnectionNo());
 			String assessmentYear = estimationService.getAssessmentYear();
-			for (String connectionNo : connectionNos) {
-				CalculationCriteria calculationCriteria = CalculationCriteria.builder().tenantId(tenantId)
-						.assessmentYear(assessmentYear).connectionNo(connectionNo).build();
-				List<CalculationCriteria> calculationCriteriaList = new ArrayList<>();
-				calculationCriteriaList.add(calculationCriteria);
-				CalculationReq calculationReq = CalculationReq.builder().calculationCriteria(calculationCriteriaList)
-						.requestInfo(requestInfo).isconnectionCalculation(true).build();
-				wsCalculationProducer.push(configs.getCreateDemand(), calculationReq);
-				// log.info("Prepared Statement" + calculationRes.toString());
-
-			}
+			List<String> connectionNos;
+			do {
+				// every page is read by a query of its own, no cursor stays open while the page is published
+				connectionNos = waterCalculatorDao.getConnectionsNoList(tenantId,
+						WSCalculationConstant.nonMeterdConnection, checkpoint.getLastConnectionNo(),
+						configs.getDemandSchedulerBatchSize());
+				if (!connectionNos.isEmpty())
+					pushDemandGenerationBatch(connectionNos.stream()
+							.map(connectionNo -> CalculationCriteria.builder().tenantId(tenantId)
+									.assessmentYear(assessmentYear).connectionNo(connectionNo).build())
+							.collect(Collectors.toList()), requestInfo, checkpoint);
+			} while (connectionNos.size() == configs.getDemandSchedulerBatchSize());
+			checkpoint.setStatus(WSCalculationConstant.DEMAND_SCHEDULER_COMPLETED);
+			waterCalculatorDao.saveDemandSchedulerCheckpoint(checkpoint);
 		}
 	}
 
+	/**
+	 * Publishes the batch of criteria as one calculation request and, once
+	 * the send is acknowledged, checkpoints the last connection number of the
+	 * batch
+	 * 
+	 * @param calculationCriteriaList Criteria of the batch
+	 * @param requestInfo Request Info
+	 * @param checkpoint Checkpoint of the tenant
+	 */
+	private void pushDemandGenerationBatch(List<CalculationCriteria> calculationCriteriaList,
+			RequestInfo requestInfo, DemandSchedulerCheckpoint checkpoint) {
+		CalculationReq calculationReq = CalculationReq.builder().calculationCriteria(calculationCriteriaList)
+				.requestInfo(requestInfo).isconnectionCalculation(true).build();
+		// the checkpoint moves past the batch only once the batch is acknowledged
+		if (wsCalculationProducer.push(configs.getCreateDemand(), checkpoint.getTenantId(), calculationReq) == null)
+			throw new CustomException("DEMAND_GENERATION_PUSH_FAILED",
+					"Failed to publish the demand generation batch of tenant: " + checkpoint.getTenantId());
+		checkpoint.setLastConnectionNo(calculationCriteriaList.get(calculationCriteriaList.size() - 1).getConnectionNo());
+		checkpoint.setStatus(WSCalculationConstant.DEMAND_SCHEDULER_IN_PROGRESS);
+		waterCalculatorDao.saveDemandSchedulerCheckpoint(checkpoint);
+	}
+
 	/**
 	 * 
 	 * @param billingFrequency Billing Frequency details
@@ -683,24 +766,94 @@ public class DemandService {
 		return true;
 	}
 	
+	/**
+	 * Fetches the bills of the demands with one fetch bill call per chunk of
+	 * consumer codes. Every bill is pushed for the notification as a message
+	 * of its own, in the shape of a single consumer code fetch bill response.
+	 * 
+	 * @param demandResponse Demands created
+	 * @param requestInfo Request Info
+	 * @return true if bill of any demand is pushed for notification
+	 */
 	public boolean fetchBill(List<Demand> demandResponse, RequestInfo requestInfo) {
-		boolean notificationSent = false;
-		for (Demand demand : demandResponse) {
-			try {
-				Object result = serviceRequestRepository.fetchResult(
-						calculatorUtils.getFetchBillURL(demand.getTenantId(), demand.getConsumerCode()),
-						RequestInfoWrapper.builder().requestInfo(requestInfo).build());
-				HashMap<String, Object> billResponse = new HashMap<>();
-				billResponse.put("requestInfo", requestInfo);
-				billResponse.put("billResponse", result);
-				wsCalculationProducer.push(configs.getPayTriggers(), billResponse);
-				notificationSent = true;
-			} catch (Exception ex) {
-				log.error("Fetch Bill Error", ex);
+		if (CollectionUtils.isEmpty(demandResponse))
+			return false;
+		Map<String, List<String>> tenantWiseConsumerCodes = demandResponse.stream()
+				.collect(Collectors.groupingBy(Demand::getTenantId, LinkedHashMap::new,
+						Collectors.mapping(Demand::getConsumerCode, Collectors.toList())));
+		List<Callable<Boolean>> fetchBillChunks = new ArrayList<>();
+		tenantWiseConsumerCodes.forEach((tenantId, consumerCodes) -> {
+			for (int i = 0; i < consumerCodes.size(); i += configs.getFetchBillBatchSize()) {
+				List<String> chunk = consumerCodes.subList(i,
+						Math.min(i + configs.getFetchBillBatchSize(), consumerCodes.size()));
+				fetchBillChunks.add(() -> fetchBill(tenantId, chunk, requestInfo));
 			}
+		});
+		boolean notificationSent = false;
+		try {
+			for (Future<Boolean> fetchBillChunk : fetchBillExecutor.invokeAll(fetchBillChunks))
+				notificationSent = fetchBillChunk.get() || notificationSent;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			log.error("Fetch Bill Interrupted", ex);
+		} catch (ExecutionException ex) {
+			log.error("Fetch Bill Error", ex);
 		}
 		return notificationSent;
 	}
+
+	/**
+	 * Fetches the bills of a chunk of consumer codes. Consumer codes left
+	 * without a bill by the chunk call are fetched again one by one.
+	 * 
+	 * @param tenantId Tenant Id
+	 * @param consumerCodes Consumer codes of the chunk
+	 * @param requestInfo Request Info
+	 * @return true if bills are pushed for notification
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean fetchBill(String tenantId, List<String> consumerCodes, RequestInfo requestInfo) {
+		List<Map<String, Object>> billResponses = new ArrayList<>(fetchBills(tenantId, consumerCodes, requestInfo));
+		Set<String> billedConsumerCodes = billResponses.stream()
+				.map(billResponse -> ((List<Map<String, Object>>) billResponse.get(WSCalculationConstant.BILL_KEY)).get(0))
+				.map(bill -> (String) bill.get(WSCalculationConstant.BILL_CONSUMER_CODE_KEY)).collect(Collectors.toSet());
+		consumerCodes.stream().filter(consumerCode -> !billedConsumerCodes.contains(consumerCode))
+				.forEach(consumerCode -> billResponses
+						.addAll(fetchBills(tenantId, Collections.singletonList(consumerCode), requestInfo)));
+		for (Map<String, Object> result : billResponses) {
+			HashMap<String, Object> billResponse = new HashMap<>();
+			billResponse.put("requestInfo", requestInfo);
+			billResponse.put("billResponse", result);
+			wsCalculationProducer.push(configs.getPayTriggers(), billResponse);
+		}
+		return !billResponses.isEmpty();
+	}
+
+	/**
+	 * Fetches the bills of the consumer codes and splits the response into
+	 * one fetch bill response per bill
+	 */
+	@SuppressWarnings("unchecked")
+	private List<Map<String, Object>> fetchBills(String tenantId, List<String> consumerCodes, RequestInfo requestInfo) {
+		try {
+			Map<String, Object> result = (Map<String, Object>) serviceRequestRepository.fetchResult(
+					calculatorUtils.getFetchBillURL(tenantId, consumerCodes),
+					RequestInfoWrapper.builder().requestInfo(requestInfo).build());
+			if (result != null && result.get(WSCalculationConstant.BILL_KEY) != null) {
+				List<Map<String, Object>> billResponses = new ArrayList<>();
+				for (Object bill : (List<Object>) result.get(WSCalculationConstant.BILL_KEY)) {
+					HashMap<String, Object> billResponse = new HashMap<>(result);
+					billResponse.put(WSCalculationConstant.BILL_KEY, Collections.singletonList(bill));
+					billResponses.add(billResponse);
+				}
+				return billResponses;
+			}
+			log.error("Fetch Bill Error for consumer codes " + consumerCodes);
+		} catch (Exception ex) {
+			log.error("Fetch Bill Error for consumer codes " + consumerCodes, ex);
+		}
+		return Collections.emptyList();
+	}
 	
 /**
  * compare and update the demand details
@@ -1,22 +1,23 @@
 package org.egov.wscalculation.service;
 
-import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.tracer.model.CustomException;
 import org.egov.wscalculation.constants.WSCalculationConstant;
 import org.egov.wscalculation.web.models.BillingSlab;
+import org.egov.wscalculation.web.models.BillingSlabIndex;
 import org.egov.wscalculation.web.models.CalculationCriteria;
 import org.egov.wscalculation.web.models.Property;
 import org.egov.wscalculation.web.models.RequestInfoWrapper;
@@ -36,12 +37,14 @@ import org.springframework.util.StringUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
 
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
 
 @Service
 @Slf4j
+@Setter
 public class EstimationService {
 
 	@Autowired
@@ -70,12 +73,27 @@ public class EstimationService {
 	@SuppressWarnings("rawtypes")
 	public Map<String, List> getEstimationMap(CalculationCriteria criteria, RequestInfo requestInfo,
 			Map<String, Object> masterData) {
-		String tenantId = requestInfo.getUserInfo().getTenantId();
-		if (criteria.getWaterConnection() == null && !StringUtils.isEmpty(criteria.getConnectionNo())) {
-			List<WaterConnection> waterConnectionList = calculatorUtil.getWaterConnection(requestInfo, criteria.getConnectionNo(), tenantId);
-			WaterConnection waterConnection = calculatorUtil.getWaterConnectionObject(waterConnectionList);
-			criteria.setWaterConnection(waterConnection);
-		}
+		return getEstimationMap(criteria, requestInfo, masterData, Collections.emptyMap());
+	}
+
+	/**
+	 * Generates the tax head estimates using the properties already fetched
+	 * for the batch
+	 *
+	 * @param criteria
+	 *            criteria based on which calculation will be done.
+	 * @param requestInfo
+	 *            request info from incoming request.
+	 * @param masterData
+	 *            Master MDMS Data
+	 * @param propertyMap
+	 *            Map of property id to property fetched for the batch
+	 * @return Map<String, List>
+	 */
+	@SuppressWarnings("rawtypes")
+	public Map<String, List> getEstimationMap(CalculationCriteria criteria, RequestInfo requestInfo,
+			Map<String, Object> masterData, Map<String, Property> propertyMap) {
+		enrichWaterConnection(criteria, requestInfo);
 		if (criteria.getWaterConnection() == null || StringUtils.isEmpty(criteria.getConnectionNo())) {
 			StringBuilder builder = new StringBuilder();
 			builder.append("Water Connection are not present for ")
@@ -83,20 +101,16 @@ public class EstimationService {
 					.append(" connection no");
 			throw new CustomException("WATER_CONNECTION_NOT_FOUND", builder.toString());
 		}
-		Map<String, JSONArray> billingSlabMaster = new HashMap<>();
 		Map<String, JSONArray> timeBasedExemptionMasterMap = new HashMap<>();
 		ArrayList<String> billingSlabIds = new ArrayList<>();
-		billingSlabMaster.put(WSCalculationConstant.WC_BILLING_SLAB_MASTER,
-				(JSONArray) masterData.get(WSCalculationConstant.WC_BILLING_SLAB_MASTER));
-		billingSlabMaster.put(WSCalculationConstant.CALCULATION_ATTRIBUTE_CONST,
-				(JSONArray) masterData.get(WSCalculationConstant.CALCULATION_ATTRIBUTE_CONST));
+		BillingSlabIndex billingSlabIndex = getBillingSlabIndex(masterData);
 		timeBasedExemptionMasterMap.put(WSCalculationConstant.WC_WATER_CESS_MASTER,
 				(JSONArray) (masterData.getOrDefault(WSCalculationConstant.WC_WATER_CESS_MASTER, null)));
 		// mDataService.setWaterConnectionMasterValues(requestInfo, tenantId,
 		// billingSlabMaster,
 		// timeBasedExemptionMasterMap);
-		BigDecimal taxAmt = getWaterEstimationCharge(criteria.getWaterConnection(), criteria, billingSlabMaster, billingSlabIds,
-				requestInfo);
+		BigDecimal taxAmt = getWaterEstimationCharge(criteria.getWaterConnection(), criteria, billingSlabIndex, billingSlabIds,
+				requestInfo, propertyMap);
 		List<TaxHeadEstimate> taxHeadEstimates = getEstimatesForTax(taxAmt, criteria.getWaterConnection(),
 				timeBasedExemptionMasterMap, RequestInfoWrapper.builder().requestInfo(requestInfo).build());
 
@@ -107,6 +121,24 @@ public class EstimationService {
 		return estimatesAndBillingSlabs;
 	}
 
+	/**
+	 * Searches and sets the water connection on the criteria if only the
+	 * connection number is given
+	 * 
+	 * @param criteria
+	 *            Calculation criteria
+	 * @param requestInfo
+	 *            request info from incoming request.
+	 */
+	public void enrichWaterConnection(CalculationCriteria criteria, RequestInfo requestInfo) {
+		if (criteria.getWaterConnection() == null && !StringUtils.isEmpty(criteria.getConnectionNo())) {
+			String tenantId = requestInfo.getUserInfo().getTenantId();
+			List<WaterConnection> waterConnectionList = calculatorUtil.getWaterConnection(requestInfo, criteria.getConnectionNo(), tenantId);
+			if (!CollectionUtils.isEmpty(waterConnectionList))
+				criteria.setWaterConnection(calculatorUtil.getWaterConnectionObject(waterConnectionList));
+		}
+	}
+
 	/**
 	 * 
 	 * @param waterCharge WaterCharge amount
@@ -136,27 +168,73 @@ public class EstimationService {
 	}
 
 	/**
-	 * method to do a first level filtering on the slabs based on the values
-	 * present in the Water Details
+	 * Returns the billing slab index of the loaded master data. The index is
+	 * compiled on first use and kept in the master data map, so that the
+	 * slab master is parsed only once per master data load.
+	 * 
+	 * @param masterData Master MDMS Data
+	 * @return BillingSlabIndex
 	 */
+	public BillingSlabIndex getBillingSlabIndex(Map<String, Object> masterData) {
+		return (BillingSlabIndex) masterData.computeIfAbsent(WSCalculationConstant.WC_BILLING_SLAB_INDEX,
+				key -> compileBillingSlabIndex(
+						(JSONArray) masterData.get(WSCalculationConstant.WC_BILLING_SLAB_MASTER),
+						(JSONArray) masterData.get(WSCalculationConstant.CALCULATION_ATTRIBUTE_CONST)));
+	}
 
-	public BigDecimal getWaterEstimationCharge(WaterConnection waterConnection, CalculationCriteria criteria, 
-			Map<String, JSONArray> billingSlabMaster, ArrayList<String> billingSlabIds, RequestInfo requestInfo) {
-		BigDecimal waterCharge = BigDecimal.ZERO;
-		if (billingSlabMaster.get(WSCalculationConstant.WC_BILLING_SLAB_MASTER) == null)
+	/**
+	 * Parses the billing slab and calculation attribute masters and groups the
+	 * slabs on building type, connection type and calculation attribute
+	 * 
+	 * @param billingSlabMaster WCBillingSlab master
+	 * @param calculationAttributeMaster CalculationAttribute master
+	 * @return BillingSlabIndex
+	 */
+	public BillingSlabIndex compileBillingSlabIndex(JSONArray billingSlabMaster,
+			JSONArray calculationAttributeMaster) {
+		if (billingSlabMaster == null)
 			throw new CustomException("BILLING_SLAB_NOT_FOUND", "Billing Slab are Empty");
 		List<BillingSlab> mappingBillingSlab;
 		try {
-			mappingBillingSlab = mapper.readValue(
-					billingSlabMaster.get(WSCalculationConstant.WC_BILLING_SLAB_MASTER).toJSONString(),
+			mappingBillingSlab = mapper.convertValue(billingSlabMaster,
 					mapper.getTypeFactory().constructCollectionType(List.class, BillingSlab.class));
-		} catch (IOException e) {
+		} catch (IllegalArgumentException e) {
 			throw new CustomException("PARSING_ERROR", "Billing Slab can not be parsed!");
 		}
-		JSONObject calculationAttributeMaster = new JSONObject();
-		calculationAttributeMaster.put(WSCalculationConstant.CALCULATION_ATTRIBUTE_CONST, billingSlabMaster.get(WSCalculationConstant.CALCULATION_ATTRIBUTE_CONST));
-        String calculationAttribute = getCalculationAttribute(calculationAttributeMaster, waterConnection.getConnectionType());
-		List<BillingSlab> billingSlabs = getSlabsFiltered(waterConnection, mappingBillingSlab, calculationAttribute, requestInfo);
+		Map<String, List<BillingSlab>> billingSlabs = new HashMap<>();
+		for (BillingSlab billingSlab : mappingBillingSlab) {
+			if (billingSlab.getSlabs() != null) {
+				List<Slab> slabs = new ArrayList<>(billingSlab.getSlabs());
+				slabs.sort(Comparator.comparingInt(Slab::getFrom));
+				billingSlab.setSlabs(slabs);
+			}
+			billingSlabs.computeIfAbsent(BillingSlabIndex.getKey(billingSlab.getBuildingType(),
+					billingSlab.getConnectionType(), billingSlab.getCalculationAttribute()), key -> new ArrayList<>())
+					.add(billingSlab);
+		}
+		Map<String, String> calculationAttributes = new HashMap<>();
+		if (calculationAttributeMaster != null) {
+			for (Object master : calculationAttributeMaster) {
+				JSONObject attribute = mapper.convertValue(master, JSONObject.class);
+				calculationAttributes.putIfAbsent(attribute.getAsString(WSCalculationConstant.NAME),
+						attribute.getAsString(WSCalculationConstant.ATTRIBUTE));
+			}
+		}
+		return new BillingSlabIndex(calculationAttributes, billingSlabs);
+	}
+
+	/**
+	 * method to do a first level filtering on the slabs based on the values
+	 * present in the Water Details
+	 */
+
+	public BigDecimal getWaterEstimationCharge(WaterConnection waterConnection, CalculationCriteria criteria, 
+			BillingSlabIndex billingSlabIndex, ArrayList<String> billingSlabIds, RequestInfo requestInfo,
+			Map<String, Property> propertyMap) {
+		BigDecimal waterCharge = BigDecimal.ZERO;
+		String calculationAttribute = getCalculationAttribute(billingSlabIndex, waterConnection.getConnectionType());
+		List<BillingSlab> billingSlabs = getSlabsFiltered(waterConnection, billingSlabIndex, calculationAttribute,
+				requestInfo, propertyMap);
 		if (billingSlabs == null || billingSlabs.isEmpty())
 			throw new CustomException("BILLING_SLAB_NOT_FOUND", "Billing Slab are Empty");
 		if (billingSlabs.size() > 1)
@@ -206,35 +284,27 @@ public class EstimationService {
 		return waterCharge;
 	}
 
-	private List<BillingSlab> getSlabsFiltered(WaterConnection waterConnection, List<BillingSlab> billingSlabs,
-			String calculationAttribute, RequestInfo requestInfo) {
+	private List<BillingSlab> getSlabsFiltered(WaterConnection waterConnection, BillingSlabIndex billingSlabIndex,
+			String calculationAttribute, RequestInfo requestInfo, Map<String, Property> propertyMap) {
 
 		Property property = wSCalculationUtil.getProperty(
-				WaterConnectionRequest.builder().waterConnection(waterConnection).requestInfo(requestInfo).build());
+				WaterConnectionRequest.builder().waterConnection(waterConnection).requestInfo(requestInfo).build(),
+				propertyMap);
 		// get billing Slab
-		log.debug(" the slabs count : " + billingSlabs.size());
 		final String buildingType = (property.getUsageCategory() != null) ? property.getUsageCategory().split("\\.")[0]
 				: "";
 		// final String buildingType = "Domestic";
 		final String connectionType = waterConnection.getConnectionType();
 
-		return billingSlabs.stream().filter(slab -> {
-			boolean isBuildingTypeMatching = slab.getBuildingType().equalsIgnoreCase(buildingType);
-			boolean isConnectionTypeMatching = slab.getConnectionType().equalsIgnoreCase(connectionType);
-			boolean isCalculationAttributeMatching = slab.getCalculationAttribute()
-					.equalsIgnoreCase(calculationAttribute);
-			return isBuildingTypeMatching && isConnectionTypeMatching && isCalculationAttributeMatching;
-		}).collect(Collectors.toList());
+		return billingSlabIndex.getBillingSlabs(buildingType, connectionType, calculationAttribute);
 	}
 	
-	private String getCalculationAttribute(Map<String, Object> calculationAttributeMap, String connectionType) {
-		if (calculationAttributeMap == null)
+	private String getCalculationAttribute(BillingSlabIndex billingSlabIndex, String connectionType) {
+		String calculationAttribute = billingSlabIndex.getCalculationAttribute(connectionType);
+		if (calculationAttribute == null)
 			throw new CustomException("CALCULATION_ATTRIBUTE_MASTER_NOT_FOUND",
 					"Calculation attribute master not found!!");
-		JSONArray filteredMasters = JsonPath.read(calculationAttributeMap,
-				"$.CalculationAttribute[?(@.name=='" + connectionType + "')]");
-		JSONObject master = mapper.convertValue(filteredMasters.get(0), JSONObject.class);
-		return master.getAsString(WSCalculationConstant.ATTRIBUTE);
+		return calculationAttribute;
 	}
 	
 	/**
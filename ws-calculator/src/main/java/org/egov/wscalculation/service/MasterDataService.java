@@ -29,6 +29,7 @@ import org.egov.wscalculation.web.models.TaxPeriod;
 import org.egov.wscalculation.web.models.TaxPeriodResponse;
 import org.egov.wscalculation.repository.ServiceRequestRepository;
 import org.egov.wscalculation.util.CalculatorUtil;
+import org.egov.wscalculation.util.MasterDataCache;
 import org.egov.wscalculation.util.WSCalculationUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -36,10 +37,12 @@ import org.springframework.stereotype.Service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
 
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.minidev.json.JSONArray;
 @Slf4j
 @Service
+@Setter
 public class MasterDataService {
 
 	@Autowired
@@ -60,6 +63,9 @@ public class MasterDataService {
 	@Autowired
 	private EstimationService estimationService;
 
+	@Autowired
+	private MasterDataCache masterDataCache;
+
 	/**
 	 * Fetches and creates map of all required masters
 	 * 
@@ -87,11 +93,14 @@ public class MasterDataService {
 	 * @return - Returns the list of TaxPeriod
 	 */
 	public List<TaxPeriod> getTaxPeriodList(RequestInfo requestInfo, String tenantId, String serviceFieldValue) {
-		TaxPeriodResponse res = mapper.convertValue(
-				repository.fetchResult(wSCalculationUtil.getTaxPeriodSearchUrl(tenantId, serviceFieldValue),
-						RequestInfoWrapper.builder().requestInfo(requestInfo).build()),
-				TaxPeriodResponse.class);
-		return res.getTaxPeriods();
+		return masterDataCache.get(tenantId, WSCalculationConstant.BILLING_SERVICE_MODULE,
+				WSCalculationConstant.TAXPERIOD_MASTER_KEY + serviceFieldValue, () -> {
+					TaxPeriodResponse res = mapper.convertValue(
+							repository.fetchResult(wSCalculationUtil.getTaxPeriodSearchUrl(tenantId, serviceFieldValue),
+									RequestInfoWrapper.builder().requestInfo(requestInfo).build()),
+							TaxPeriodResponse.class);
+					return res.getTaxPeriods();
+				});
 	}
 
 	/**
@@ -102,11 +111,14 @@ public class MasterDataService {
 	 * @return - Returns the list of TaxHeadMaster details
 	 */
 	public List<TaxHeadMaster> getTaxHeadMasterMap(RequestInfo requestInfo, String tenantId, String serviceFieldValue) {
-		TaxHeadMasterResponse res = mapper.convertValue(
-				repository.fetchResult(wSCalculationUtil.getTaxHeadSearchUrl(tenantId, serviceFieldValue),
-						RequestInfoWrapper.builder().requestInfo(requestInfo).build()),
-				TaxHeadMasterResponse.class);
-		return res.getTaxHeadMasters();
+		return masterDataCache.get(tenantId, WSCalculationConstant.BILLING_SERVICE_MODULE,
+				WSCalculationConstant.TAXHEADMASTER_MASTER_KEY + serviceFieldValue, () -> {
+					TaxHeadMasterResponse res = mapper.convertValue(
+							repository.fetchResult(wSCalculationUtil.getTaxHeadSearchUrl(tenantId, serviceFieldValue),
+									RequestInfoWrapper.builder().requestInfo(requestInfo).build()),
+							TaxHeadMasterResponse.class);
+					return res.getTaxHeadMasters();
+				});
 	}
 
 	/**
@@ -144,9 +156,12 @@ public class MasterDataService {
 	public void loadBillingSlabsAndTimeBasedExemptions(RequestInfo requestInfo, String tenantId,
 			Map<String, Object> masterMap) {
 
-		MdmsResponse response = mapper.convertValue(repository.fetchResult(calculatorUtils.getMdmsSearchUrl(),
-				calculatorUtils.getWaterConnectionModuleRequest(requestInfo, tenantId)), MdmsResponse.class);
-		Map<String, JSONArray> res = response.getMdmsRes().get(WSCalculationConstant.WS_TAX_MODULE);
+		Map<String, JSONArray> res = masterDataCache.get(tenantId, WSCalculationConstant.WS_TAX_MODULE,
+				WSCalculationConstant.CALCULATION_MASTERS_CACHE_KEY, () -> {
+					MdmsResponse response = mapper.convertValue(repository.fetchResult(calculatorUtils.getMdmsSearchUrl(),
+							calculatorUtils.getWaterConnectionModuleRequest(requestInfo, tenantId)), MdmsResponse.class);
+					return response.getMdmsRes().get(WSCalculationConstant.WS_TAX_MODULE);
+				});
 		for (Entry<String, JSONArray> entry : res.entrySet()) {
 
 			String masterName = entry.getKey();
@@ -168,8 +183,16 @@ public class MasterDataService {
 	 * @return Returns the Financial Year details
 	 */
 	public Map<String, Map<String, Object>> getFinancialYear(RequestInfo requestInfo, String tenantId) {
+		String currentAssessmentYear = estimationService.getAssessmentYear();
+		return masterDataCache.get(tenantId, WSCalculationConstant.FINANCIAL_MODULE,
+				WSCalculationConstant.FINANCIAL_YEAR_MASTER + currentAssessmentYear,
+				() -> fetchFinancialYear(requestInfo, tenantId, currentAssessmentYear));
+	}
+
+	private Map<String, Map<String, Object>> fetchFinancialYear(RequestInfo requestInfo, String tenantId,
+			String currentAssessmentYear) {
 		Set<String> assessmentYears = new HashSet<>(1);
-		assessmentYears.add(estimationService.getAssessmentYear());
+		assessmentYears.add(currentAssessmentYear);
 		MdmsCriteriaReq mdmsCriteriaReq = calculatorUtils.getFinancialYearRequest(requestInfo, assessmentYears,
 				tenantId);
 		StringBuilder url = calculatorUtils.getMdmsSearchUrl();
@@ -397,12 +420,15 @@ public class MasterDataService {
 	 * @return Master For Billing Period
 	 */
 	public Map<String, Object> loadBillingFrequencyMasterData(RequestInfo requestInfo, String tenantId, Map<String, Object> masterMap) {
-		MdmsCriteriaReq mdmsCriteriaReq = calculatorUtils.getBillingFrequency(requestInfo, tenantId);
-		Object res = repository.fetchResult(calculatorUtils.getMdmsSearchUrl(), mdmsCriteriaReq);
-		if (res == null) {
-			throw new CustomException("MDMS_ERROR_FOR_BILLING_FREQUENCY", "Failed to fetch the billing frequency");
-		}
-		ArrayList<?> mdmsResponse = JsonPath.read(res, WSCalculationConstant.JSONPATH_ROOT_FOR_BilingPeriod);
+		ArrayList<?> mdmsResponse = masterDataCache.get(tenantId, WSCalculationConstant.WS_MODULE,
+				WSCalculationConstant.BILLING_PERIOD, () -> {
+					MdmsCriteriaReq mdmsCriteriaReq = calculatorUtils.getBillingFrequency(requestInfo, tenantId);
+					Object res = repository.fetchResult(calculatorUtils.getMdmsSearchUrl(), mdmsCriteriaReq);
+					if (res == null) {
+						throw new CustomException("MDMS_ERROR_FOR_BILLING_FREQUENCY", "Failed to fetch the billing frequency");
+					}
+					return JsonPath.read(res, WSCalculationConstant.JSONPATH_ROOT_FOR_BilingPeriod);
+				});
 		masterMap.put(WSCalculationConstant.Billing_Period_Master, mdmsResponse);
 		return masterMap;
 	}
@@ -415,11 +441,14 @@ public class MasterDataService {
 	 */
 	public Map<String, Object> loadExemptionMaster(RequestInfo requestInfo, String tenantId) {
 		Map<String, Object> master = getMasterMap(requestInfo, tenantId, WSCalculationConstant.ONE_TIME_FEE_SERVICE_FIELD);
-		MdmsResponse response = mapper.convertValue(
-				repository.fetchResult(calculatorUtils.getMdmsSearchUrl(),
-						calculatorUtils.getEstimationMasterCriteria(requestInfo, tenantId)),
-				MdmsResponse.class);
-		Map<String, JSONArray> res = response.getMdmsRes().get(WSCalculationConstant.WS_TAX_MODULE);
+		Map<String, JSONArray> res = masterDataCache.get(tenantId, WSCalculationConstant.WS_TAX_MODULE,
+				WSCalculationConstant.ESTIMATION_MASTERS_CACHE_KEY, () -> {
+					MdmsResponse response = mapper.convertValue(
+							repository.fetchResult(calculatorUtils.getMdmsSearchUrl(),
+									calculatorUtils.getEstimationMasterCriteria(requestInfo, tenantId)),
+							MdmsResponse.class);
+					return response.getMdmsRes().get(WSCalculationConstant.WS_TAX_MODULE);
+				});
 		for (Map.Entry<String, JSONArray> resp : res.entrySet()) {
 			master.put(resp.getKey(), resp.getValue());
 		}
@@ -5,14 +5,22 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.common.contract.request.User;
 import org.egov.mdms.model.MdmsCriteriaReq;
 import org.egov.tracer.model.CustomException;
+import org.egov.wscalculation.config.WSCalculationConfiguration;
 import org.egov.wscalculation.constants.WSCalculationConstant;
 import org.egov.wscalculation.web.models.AdhocTaxReq;
 import org.egov.wscalculation.web.models.Calculation;
@@ -30,6 +38,8 @@ import org.egov.wscalculation.util.CalculatorUtil;
 import org.egov.wscalculation.util.WSCalculationUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 
 import com.jayway.jsonpath.JsonPath;
 
@@ -63,6 +73,9 @@ public class WSCalculationServiceImpl implements WSCalculationService {
 	@Autowired
 	private WSCalculationUtil wSCalculationUtil;
 
+	@Autowired
+	private WSCalculationConfiguration configs;
+
 	/**
 	 * Get CalculationReq and Calculate the Tax Head on Water Charge And Estimation Charge
 	 */
@@ -88,17 +101,84 @@ public class WSCalculationServiceImpl implements WSCalculationService {
 	
 	
 	/**
-	 * 
+	 * Generates demand for a batch of connections. The properties of all the
+	 * connections in the batch are fetched upfront and reused by estimation
+	 * and demand creation.
 	 * 
 	 * @param request - Calculation Request Object
 	 * @return List of calculation.
 	 */
 	public List<Calculation> bulkDemandGeneration(CalculationReq request, Map<String, Object> masterMap) {
-		List<Calculation> calculations = getCalculations(request, masterMap);
-		demandService.generateDemand(request.getRequestInfo(), calculations, masterMap, true);
+		return bulkDemandGeneration(request, masterMap, getWaterConnectionMap(request));
+	}
+
+	/**
+	 * Generates demand for a batch of connections using the water connections
+	 * already searched for the batch
+	 * 
+	 * @param request - Calculation Request Object
+	 * @param masterMap - Master MDMS Data
+	 * @param connectionMap - Map of connection number to its water connections
+	 * @return List of calculation.
+	 */
+	public List<Calculation> bulkDemandGeneration(CalculationReq request, Map<String, Object> masterMap,
+			Map<String, List<WaterConnection>> connectionMap) {
+		request.getCalculationCriteria().forEach(criteria -> {
+			List<WaterConnection> waterConnections = connectionMap.get(criteria.getConnectionNo());
+			if (criteria.getWaterConnection() == null && !CollectionUtils.isEmpty(waterConnections))
+				criteria.setWaterConnection(calculatorUtil.getWaterConnectionObject(waterConnections));
+		});
+		Map<String, Property> propertyMap = getPropertyMapForBatch(request);
+		List<Calculation> calculations = getCalculations(request, masterMap, propertyMap);
+		demandService.generateDemand(request.getRequestInfo(), calculations, masterMap, true, propertyMap);
 		return calculations;
 	}
 
+	/**
+	 * Searches the water connections of all the criteria in the batch which do
+	 * not carry the connection, with multi connection number searches
+	 * 
+	 * @param request - Calculation Request Object
+	 * @return Map of connection number to its water connections
+	 */
+	public Map<String, List<WaterConnection>> getWaterConnectionMap(CalculationReq request) {
+		Map<String, Set<String>> tenantToConnectionNos = new HashMap<>();
+		request.getCalculationCriteria().forEach(criteria -> {
+			if (criteria.getWaterConnection() == null && !StringUtils.isEmpty(criteria.getConnectionNo()))
+				tenantToConnectionNos.computeIfAbsent(criteria.getTenantId(), tenantId -> new HashSet<>())
+						.add(criteria.getConnectionNo());
+		});
+		Map<String, List<WaterConnection>> connectionMap = new HashMap<>();
+		tenantToConnectionNos.forEach((tenantId, connectionNos) -> connectionMap
+				.putAll(calculatorUtil.getWaterConnections(request.getRequestInfo(), connectionNos, tenantId)));
+		return connectionMap;
+	}
+
+	/**
+	 * Enriches the water connection of every criteria in the batch and fetches
+	 * the linked properties with chunked multi id searches
+	 * 
+	 * @param request - Calculation Request Object
+	 * @return Map of property id to property
+	 */
+	private Map<String, Property> getPropertyMapForBatch(CalculationReq request) {
+		Map<String, Set<String>> tenantToPropertyIds = new HashMap<>();
+		for (CalculationCriteria criteria : request.getCalculationCriteria()) {
+			estimationService.enrichWaterConnection(criteria, request.getRequestInfo());
+			WaterConnection waterConnection = criteria.getWaterConnection();
+			if (waterConnection == null || StringUtils.isEmpty(waterConnection.getPropertyId()))
+				continue;
+			tenantToPropertyIds.computeIfAbsent(waterConnection.getTenantId(), tenantId -> new HashSet<>())
+					.add(waterConnection.getPropertyId());
+		}
+		Map<String, Property> propertyMap = new HashMap<>();
+		tenantToPropertyIds.forEach((tenantId, propertyIds) -> propertyMap
+				.putAll(wSCalculationUtil.getPropertyMap(request.getRequestInfo(), tenantId, propertyIds)));
+		log.info("Fetched " + propertyMap.size() + " properties for " + request.getCalculationCriteria().size()
+				+ " calculation criteria");
+		return propertyMap;
+	}
+
 	/**
 	 * 
 	 * @param request - Calculation Request Object
@@ -122,6 +202,23 @@ public class WSCalculationServiceImpl implements WSCalculationService {
 	 */
 	public Calculation getCalculation(RequestInfo requestInfo, CalculationCriteria criteria,
 			Map<String, List> estimatesAndBillingSlabs, Map<String, Object> masterMap, boolean isConnectionFee) {
+		return getCalculation(requestInfo, criteria, estimatesAndBillingSlabs, masterMap, isConnectionFee,
+				Collections.emptyMap());
+	}
+
+	/**
+	 * It will take calculation and return calculation with tax head code
+	 * 
+	 * @param requestInfo Request Info Object
+	 * @param criteria Calculation criteria on meter charge
+	 * @param estimatesAndBillingSlabs Billing Slabs
+	 * @param masterMap Master MDMS Data
+	 * @param propertyMap Map of property id to property fetched for the batch
+	 * @return Calculation With Tax head
+	 */
+	public Calculation getCalculation(RequestInfo requestInfo, CalculationCriteria criteria,
+			Map<String, List> estimatesAndBillingSlabs, Map<String, Object> masterMap, boolean isConnectionFee,
+			Map<String, Property> propertyMap) {
 
 		@SuppressWarnings("unchecked")
 		List<TaxHeadEstimate> estimates = estimatesAndBillingSlabs.get("estimates");
@@ -129,7 +226,8 @@ public class WSCalculationServiceImpl implements WSCalculationService {
 		List<String> billingSlabIds = estimatesAndBillingSlabs.get("billingSlabIds");
 		WaterConnection waterConnection = criteria.getWaterConnection();
 		Property property = wSCalculationUtil.getProperty(
-				WaterConnectionRequest.builder().waterConnection(waterConnection).requestInfo(requestInfo).build());
+				WaterConnectionRequest.builder().waterConnection(waterConnection).requestInfo(requestInfo).build(),
+				propertyMap);
 		
 		String tenantId = null != property.getTenantId() ? property.getTenantId() : criteria.getTenantId();
 
@@ -200,14 +298,27 @@ public class WSCalculationServiceImpl implements WSCalculationService {
 	 * @return all calculations including water charge and taxhead on that
 	 */
 	List<Calculation> getCalculations(CalculationReq request, Map<String, Object> masterMap) {
+		return getCalculations(request, masterMap, Collections.emptyMap());
+	}
+
+	/**
+	 * 
+	 * @param request would be calculations request
+	 * @param masterMap master data
+	 * @param propertyMap Map of property id to property fetched for the batch
+	 * @return all calculations including water charge and taxhead on that
+	 */
+	List<Calculation> getCalculations(CalculationReq request, Map<String, Object> masterMap,
+			Map<String, Property> propertyMap) {
 		List<Calculation> calculations = new ArrayList<>(request.getCalculationCriteria().size());
 		for (CalculationCriteria criteria : request.getCalculationCriteria()) {
 			Map<String, List> estimationMap = estimationService.getEstimationMap(criteria, request.getRequestInfo(),
-					masterMap);
+					masterMap, propertyMap);
 			ArrayList<?> billingFrequencyMap = (ArrayList<?>) masterMap
 					.get(WSCalculationConstant.Billing_Period_Master);
 			masterDataService.enrichBillingPeriod(criteria, billingFrequencyMap, masterMap);
-			Calculation calculation = getCalculation(request.getRequestInfo(), criteria, estimationMap, masterMap, true);
+			Calculation calculation = getCalculation(request.getRequestInfo(), criteria, estimationMap, masterMap,
+					true, propertyMap);
 			calculations.add(calculation);
 		}
 		return calculations;
@@ -280,9 +391,27 @@ public class WSCalculationServiceImpl implements WSCalculationService {
 		if (tenantIds.isEmpty())
 			return;
 		log.info("Tenant Ids : " + tenantIds.toString());
-		tenantIds.forEach(tenantId -> {
-			demandService.generateDemandForTenantId(tenantId, requestInfo);
-		});
+		ExecutorService executorService = Executors
+				.newFixedThreadPool(Math.min(configs.getDemandSchedulerPoolSize(), tenantIds.size()));
+		try {
+			List<Future<?>> tenantDemands = new ArrayList<>();
+			tenantIds.forEach(tenantId -> tenantDemands.add(executorService.submit(() -> {
+				try {
+					demandService.generateDemandForTenantId(tenantId, requestInfo);
+				} catch (Exception ex) {
+					log.error("Demand generation failed for tenant " + tenantId, ex);
+				}
+			})));
+			for (Future<?> tenantDemand : tenantDemands)
+				tenantDemand.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new CustomException("DEMAND_SCHEDULER_INTERRUPTED", "Demand generation scheduler was interrupted");
+		} catch (ExecutionException ex) {
+			log.error("Demand generation scheduler error", ex);
+		} finally {
+			executorService.shutdown();
+		}
 	}
 	
 	/**
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -34,9 +35,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
 
 import lombok.Getter;
+import lombok.Setter;
 
 @Component
 @Getter
+@Setter
 public class CalculatorUtil {
 
 	@Autowired
@@ -140,6 +143,61 @@ public class CalculatorUtil {
 		return response.getWaterConnection();
 	}
 
+	/**
+	 * Searches the water connections of the given connection numbers with
+	 * multi connection number searches instead of one search per connection
+	 * 
+	 * @param requestInfo
+	 *            RequestInfo Object
+	 * @param connectionNos
+	 *            Set of connection numbers
+	 * @param tenantId
+	 *            Tenant Id
+	 * @return Map of connection number to its water connections sorted on last
+	 *         modified time
+	 */
+	public Map<String, List<WaterConnection>> getWaterConnections(RequestInfo requestInfo, Set<String> connectionNos,
+			String tenantId) {
+		Map<String, List<WaterConnection>> connectionMap = new HashMap<>();
+		if (CollectionUtils.isEmpty(connectionNos))
+			return connectionMap;
+		List<String> connectionNoList = new ArrayList<>(connectionNos);
+		int batchSize = calculationConfig.getWaterConnectionSearchBatchSize();
+		for (int from = 0; from < connectionNoList.size(); from += batchSize) {
+			List<String> chunk = connectionNoList.subList(from, Math.min(from + batchSize, connectionNoList.size()));
+			int offset = 0;
+			long pageSize;
+			do {
+				List<WaterConnection> page = searchWaterConnections(requestInfo,
+						getWaterSearchURL(tenantId, chunk, offset, batchSize));
+				page.forEach(connection -> connectionMap
+						.computeIfAbsent(connection.getConnectionNo(), connectionNo -> new ArrayList<>())
+						.add(connection));
+				// search is paginated on the connection id, a page short of the
+				// limit is the last one as the batch size is within the max limit
+				pageSize = page.stream().map(WaterConnection::getId).distinct().count();
+				offset += pageSize;
+			} while (pageSize == batchSize);
+		}
+		connectionMap.values().forEach(connections -> connections
+				.sort(Comparator.comparing(wc -> wc.getAuditDetails().getLastModifiedTime())));
+		return connectionMap;
+	}
+
+	private List<WaterConnection> searchWaterConnections(RequestInfo requestInfo, StringBuilder url) {
+		Object result = serviceRequestRepository.fetchResult(url,
+				RequestInfoWrapper.builder().requestInfo(requestInfo).build());
+		WaterConnectionResponse response;
+		try {
+			response = mapper.convertValue(result, WaterConnectionResponse.class);
+		} catch (IllegalArgumentException e) {
+			throw new CustomException("PARSING_ERROR", "Error while parsing response of Water Connection Search");
+		}
+		if (response == null || CollectionUtils.isEmpty(response.getWaterConnection()))
+			return Collections.emptyList();
+		return response.getWaterConnection();
+	}
+
 	public  WaterConnection getWaterConnectionObject(List<WaterConnection> waterConnectionList){
 		int size = waterConnectionList.size();
 		if(size>1){
@@ -172,6 +230,26 @@ public class CalculatorUtil {
 		return url;
 	}
 
+	/**
+	 * Creates waterConnection search url based on tenantId and a page of
+	 * connectionNumbers
+	 * 
+	 * @return water search url
+	 */
+	private StringBuilder getWaterSearchURL(String tenantId, List<String> connectionNos, int offset, int limit) {
+		StringBuilder url = new StringBuilder(calculationConfig.getWaterConnectionHost());
+		url.append(calculationConfig.getWaterConnectionSearchEndPoint());
+		url.append("?");
+		url.append("tenantId=").append(tenantId);
+		url.append("&");
+		url.append("connectionNumbers=").append(StringUtils.join(connectionNos, ","));
+		url.append("&");
+		url.append("offset=").append(offset);
+		url.append("&");
+		url.append("limit=").append(limit);
+		return url;
+	}
+
 	/**
 	 * 
 	 * @param requestInfo
@@ -252,6 +330,18 @@ public class CalculatorUtil {
 				.append(WSCalculationConstant.WATER_TAX_SERVICE_CODE);
 	}
 
+	/**
+	 * 
+	 * @param tenantId
+	 *            Tenant Id
+	 * @param consumerCodes
+	 *            Consumer Codes of the same tenant
+	 * @return uri of fetch bill for all the consumer codes
+	 */
+	public StringBuilder getFetchBillURL(String tenantId, List<String> consumerCodes) {
+		return getFetchBillURL(tenantId, String.join(",", consumerCodes));
+	}
+
 	/**
 	 * 
 	 * @param requestInfo
@@ -0,0 +1,212 @@
+package org.egov.wscalculation.util;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.common.contract.request.Role;
+import org.egov.tracer.model.CustomException;
+import org.egov.wscalculation.config.WSCalculationConfiguration;
+import org.egov.wscalculation.web.models.MasterDataCacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process cache of the masters fetched from MDMS and billing service, keyed
+ * on tenant id, module and master. Entries expire after the configured time.
+ * Once an entry crosses the refresh time, the first caller reloads it inline
+ * with its own loader, and so with the RequestInfo of its own request. The
+ * other callers keep getting the cached value while it is reloaded, and a
+ * failed reload falls back to the cached value.
+ * Concurrent misses on the same key wait for a single load. Every eviction
+ * moves the version of the tenant, a load or refresh started before the
+ * eviction does not cache its value.
+ * 
+ * Cached values are shared between the callers and must not be modified.
+ */
+@Slf4j
+@Component
+@Setter
+public class MasterDataCache {
+
+	private static final String KEY_SEPARATOR = "|";
+
+	@Autowired
+	private WSCalculationConfiguration config;
+
+	private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+
+	private final Map<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+	private final Map<String, Long> tenantVersions = new ConcurrentHashMap<>();
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	private final AtomicLong loads = new AtomicLong();
+
+	private final AtomicLong loadFailures = new AtomicLong();
+
+	private final AtomicLong refreshes = new AtomicLong();
+
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * Returns the cached master or loads it with the given loader
+	 * 
+	 * @param tenantId Tenant Id
+	 * @param module MDMS module or service the master belongs to
+	 * @param master Master name
+	 * @param loader Fetches the master on a miss or refresh
+	 * @return Cached master
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(String tenantId, String module, String master, Supplier<T> loader) {
+		String key = getKey(tenantId, module, master);
+		CacheEntry entry = cache.get(key);
+		long currentTime = System.currentTimeMillis();
+		if (entry != null && currentTime < entry.getExpiryTime()) {
+			hits.incrementAndGet();
+			if (currentTime >= entry.getRefreshTime() && entry.getRefreshing().compareAndSet(false, true))
+				return (T) refresh(tenantId, key, entry, loader);
+			return (T) entry.getValue();
+		}
+		misses.incrementAndGet();
+		return (T) load(tenantId, key, loader);
+	}
+
+	/**
+	 * Removes all the cached masters of the tenant. Loads of the tenant which
+	 * are in flight are dropped, so that the next miss loads the master again
+	 * and the dropped loads do not cache their values.
+	 * 
+	 * @param tenantId Tenant Id
+	 */
+	public void evict(String tenantId) {
+		String prefix = tenantId + KEY_SEPARATOR;
+		synchronized (tenantVersions) {
+			tenantVersions.merge(tenantId, 1L, Long::sum);
+			loading.keySet().removeIf(key -> key.startsWith(prefix));
+			cache.keySet().removeIf(key -> {
+				boolean isTenantKey = key.startsWith(prefix);
+				if (isTenantKey)
+					evictions.incrementAndGet();
+				return isTenantKey;
+			});
+		}
+		log.info("Evicted master data cache of tenant " + tenantId);
+	}
+
+	/**
+	 * Allows the cache maintenance endpoints only to the users having one of
+	 * the configured admin roles
+	 * 
+	 * @param requestInfo Request Info
+	 */
+	public void validateAdminAccess(RequestInfo requestInfo) {
+		boolean isAdmin = requestInfo != null && requestInfo.getUserInfo() != null
+				&& requestInfo.getUserInfo().getRoles() != null
+				&& requestInfo.getUserInfo().getRoles().stream().map(Role::getCode)
+						.anyMatch(code -> config.getMdmsCacheAdminRoles().contains(code));
+		if (!isAdmin)
+			throw new CustomException("INVALID_MASTER_DATA_CACHE_ACCESS",
+					"Master data cache can be managed only by the roles: " + config.getMdmsCacheAdminRoles());
+	}
+
+	public MasterDataCacheStats getStats() {
+		return MasterDataCacheStats.builder().size(cache.size()).hits(hits.get()).misses(misses.get())
+				.loads(loads.get()).loadFailures(loadFailures.get()).refreshes(refreshes.get())
+				.evictions(evictions.get()).build();
+	}
+
+	private Object load(String tenantId, String key, Supplier<?> loader) {
+		CompletableFuture<Object> future = new CompletableFuture<>();
+		CompletableFuture<Object> inFlight = loading.putIfAbsent(key, future);
+		if (inFlight != null)
+			return await(inFlight);
+		long version = tenantVersions.getOrDefault(tenantId, 0L);
+		try {
+			Object value = loader.get();
+			loads.incrementAndGet();
+			if (value != null)
+				put(tenantId, version, key, value);
+			future.complete(value);
+			return value;
+		} catch (RuntimeException e) {
+			loadFailures.incrementAndGet();
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			loading.remove(key, future);
+		}
+	}
+
+	private Object refresh(String tenantId, String key, CacheEntry entry, Supplier<?> loader) {
+		try {
+			Object value = load(tenantId, key, loader);
+			refreshes.incrementAndGet();
+			return value != null ? value : entry.getValue();
+		} catch (Exception e) {
+			log.error("Master data cache refresh failed for " + key, e);
+			entry.getRefreshing().set(false);
+			return entry.getValue();
+		}
+	}
+
+	private Object await(CompletableFuture<Object> inFlight) {
+		try {
+			return inFlight.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw e;
+		}
+	}
+
+	private void put(String tenantId, long version, String key, Object value) {
+		if (!cache.containsKey(key) && cache.size() >= config.getMdmsCacheMaxSize()) {
+			cache.entrySet().stream().min((first, second) -> Long.compare(first.getValue().getExpiryTime(),
+					second.getValue().getExpiryTime())).ifPresent(oldest -> {
+						if (cache.remove(oldest.getKey(), oldest.getValue()))
+							evictions.incrementAndGet();
+					});
+		}
+		long currentTime = System.currentTimeMillis();
+		CacheEntry entry = new CacheEntry(value, currentTime + config.getMdmsCacheRefreshSeconds() * 1000,
+				currentTime + config.getMdmsCacheExpirySeconds() * 1000, new AtomicBoolean(false));
+		synchronized (tenantVersions) {
+			// the tenant is evicted while the master was loading
+			if (tenantVersions.getOrDefault(tenantId, 0L) != version)
+				return;
+			cache.put(key, entry);
+		}
+	}
+
+	private String getKey(String tenantId, String module, String master) {
+		return tenantId + KEY_SEPARATOR + module + KEY_SEPARATOR + master;
+	}
+
+	@Getter
+	@AllArgsConstructor
+	private static class CacheEntry {
+
+		private Object value;
+
+		private long refreshTime;
+
+		private long expiryTime;
+
+		private AtomicBoolean refreshing;
+	}
+}
@@ -5,6 +5,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
+import org.egov.common.contract.request.RequestInfo;
 import org.egov.tracer.model.CustomException;
 import org.egov.wscalculation.config.WSCalculationConfiguration;
 import org.egov.wscalculation.constants.WSCalculationConstant;
@@ -25,9 +26,11 @@ import org.springframework.util.CollectionUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.Getter;
+import lombok.Setter;
 
 @Component
 @Getter
+@Setter
 public class WSCalculationUtil {
 
 	@Autowired
@@ -49,6 +52,7 @@ public class WSCalculationUtil {
 	private final String mobileNumber = "mobileNumber=";
 	private final String propertyIds = "propertyIds=";
 	private final String uuids = "uuids=";
+	private final String limit = "limit=";
 
 	/**
 	 * Returns the tax head search Url with tenantId and WS service name parameters
@@ -187,6 +191,60 @@ public class WSCalculationUtil {
 		return property;
 	}
 
+	/**
+	 * Returns the property of the connection from the batch property map, falls
+	 * back to property search if the batch was not enriched with it
+	 * 
+	 * @param waterConnectionRequest
+	 *            WaterConnectionRequest
+	 * @param propertyMap
+	 *            Map of property id to property fetched for the batch
+	 * @return Property of the connection
+	 */
+	public Property getProperty(WaterConnectionRequest waterConnectionRequest, Map<String, Property> propertyMap) {
+		Property property = CollectionUtils.isEmpty(propertyMap) ? null
+				: propertyMap.get(waterConnectionRequest.getWaterConnection().getPropertyId());
+		if (property == null)
+			return getProperty(waterConnectionRequest);
+		if (StringUtils.isEmpty(property.getUsageCategory())) {
+			throw new CustomException("INVALID_WATER_CONNECTION_PROPERTY_USAGE_TYPE",
+					"Water connection cannot be enriched without property usage type");
+		}
+		return property;
+	}
+
+	/**
+	 * Searches the given properties in chunks of configured batch size so that
+	 * a batch of connections costs a few property searches instead of one per
+	 * connection
+	 * 
+	 * @param requestInfo
+	 *            RequestInfo of the request
+	 * @param tenantId
+	 *            TenantId of the properties
+	 * @param propertyUuids
+	 *            Set of property ids (uuid) to search
+	 * @return Map of property id to property
+	 */
+	public Map<String, Property> getPropertyMap(RequestInfo requestInfo, String tenantId, Set<String> propertyUuids) {
+		Map<String, Property> propertyMap = new HashMap<>();
+		if (CollectionUtils.isEmpty(propertyUuids))
+			return propertyMap;
+		List<String> ids = new ArrayList<>(propertyUuids);
+		int batchSize = configurations.getPropertySearchBatchSize();
+		for (int from = 0; from < ids.size(); from += batchSize) {
+			List<String> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+			PropertyCriteria propertyCriteria = PropertyCriteria.builder().tenantId(tenantId)
+					.uuids(new HashSet<>(chunk)).limit((long) chunk.size()).build();
+			Object result = serviceRequestRepository.fetchResult(getPropertyURL(propertyCriteria),
+					RequestInfoWrapper.builder().requestInfo(requestInfo).build());
+			List<Property> properties = getPropertyDetails(result);
+			if (!CollectionUtils.isEmpty(properties))
+				properties.forEach(property -> propertyMap.put(property.getId(), property));
+		}
+		return propertyMap;
+	}
+
 	/**
 	 * 
 	 * @param criteria Property Search Criteria
@@ -217,10 +275,16 @@ public class WSCalculationUtil {
 		if (!CollectionUtils.isEmpty(criteria.getUuids())) {
 			if (isanyparametermatch)
 				url.append("&");
+			isanyparametermatch = true;
 			String uuidString = criteria.getUuids().stream().map(uuid -> uuid).collect(Collectors.toSet()).stream()
 					.collect(Collectors.joining(","));
 			url.append(uuids).append(uuidString);
 		}
+		if (criteria.getLimit() != null) {
+			if (isanyparametermatch)
+				url.append("&");
+			url.append(limit).append(criteria.getLimit());
+		}
 		return url;
 	}
 
@@ -9,7 +9,10 @@ import org.egov.wscalculation.service.MasterDataService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import lombok.Setter;
+
 @Component
+@Setter
 public class WaterCessUtil {
 
 	@Autowired
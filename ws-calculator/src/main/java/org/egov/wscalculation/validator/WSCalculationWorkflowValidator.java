@@ -25,10 +25,25 @@ public class WSCalculationWorkflowValidator {
 	private CalculatorUtil util;
 
 	 public Boolean applicationValidation(RequestInfo requestInfo,String tenantId,String connectionNo, Boolean genratedemand){
-	    Map<String,String> errorMap = new HashMap<>();
 		 List<WaterConnection> waterConnectionList = util.getWaterConnection(requestInfo,connectionNo,tenantId);
+		 return applicationValidation(requestInfo, tenantId, waterConnectionList, genratedemand);
+	 }
+
+	 /**
+	  * Validates the workflow state of the connection and its property using the
+	  * already searched connections of the connection number
+	  *
+	  * @param requestInfo RequestInfo of the request
+	  * @param tenantId TenantId of the connection
+	  * @param waterConnectionList Water connections of the connection number sorted on last modified time
+	  * @param genratedemand Generate demand flag
+	  * @return generate demand flag if validation passes
+	  */
+	 public Boolean applicationValidation(RequestInfo requestInfo, String tenantId,
+			 List<WaterConnection> waterConnectionList, Boolean genratedemand) {
+	    Map<String,String> errorMap = new HashMap<>();
 		 WaterConnection waterConnection = null;
-		 if(waterConnectionList != null){
+		 if(!CollectionUtils.isEmpty(waterConnectionList)){
 			 int size = waterConnectionList.size();
 			 waterConnection = waterConnectionList.get(size-1);
 
@@ -81,4 +96,4 @@ public class WSCalculationWorkflowValidator {
 
 		return isApplicationApproved;
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
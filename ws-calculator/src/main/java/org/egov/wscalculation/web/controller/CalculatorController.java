@@ -12,10 +12,12 @@ import org.egov.wscalculation.web.models.CalculationRes;
 import org.egov.wscalculation.web.models.Demand;
 import org.egov.wscalculation.web.models.DemandResponse;
 import org.egov.wscalculation.web.models.GetBillCriteria;
+import org.egov.wscalculation.web.models.MasterDataCacheResponse;
 import org.egov.wscalculation.web.models.RequestInfoWrapper;
 import org.egov.wscalculation.service.DemandService;
 import org.egov.wscalculation.service.WSCalculationService;
 import org.egov.wscalculation.service.WSCalculationServiceImpl;
+import org.egov.wscalculation.util.MasterDataCache;
 import org.egov.wscalculation.util.ResponseInfoFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -24,6 +26,7 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import lombok.Builder;
@@ -51,6 +54,9 @@ public class CalculatorController {
 	@Autowired
 	private final ResponseInfoFactory responseInfoFactory;
 	
+	@Autowired
+	private MasterDataCache masterDataCache;
+	
 	@PostMapping("/_estimate")
 	public ResponseEntity<CalculationRes> getTaxEstimation(@RequestBody @Valid CalculationReq calculationReq) {
 		List<Calculation> calculations = wSCalculationServiceImpl.getEstimation(calculationReq);
@@ -96,4 +102,27 @@ public class CalculatorController {
 		return new ResponseEntity<>(response, HttpStatus.OK);
 
 	}
+	
+	@PostMapping("/masterData/_evict")
+	public ResponseEntity<MasterDataCacheResponse> evictMasterData(
+			@Valid @RequestBody RequestInfoWrapper requestInfoWrapper, @RequestParam("tenantId") String tenantId) {
+		masterDataCache.validateAdminAccess(requestInfoWrapper.getRequestInfo());
+		masterDataCache.evict(tenantId);
+		MasterDataCacheResponse response = MasterDataCacheResponse.builder().cacheStats(masterDataCache.getStats())
+				.responseInfo(
+						responseInfoFactory.createResponseInfoFromRequestInfo(requestInfoWrapper.getRequestInfo(), true))
+				.build();
+		return new ResponseEntity<>(response, HttpStatus.OK);
+	}
+	
+	@PostMapping("/masterData/_stats")
+	public ResponseEntity<MasterDataCacheResponse> masterDataStats(
+			@Valid @RequestBody RequestInfoWrapper requestInfoWrapper) {
+		masterDataCache.validateAdminAccess(requestInfoWrapper.getRequestInfo());
+		MasterDataCacheResponse response = MasterDataCacheResponse.builder().cacheStats(masterDataCache.getStats())
+				.responseInfo(
+						responseInfoFactory.createResponseInfoFromRequestInfo(requestInfoWrapper.getRequestInfo(), true))
+				.build();
+		return new ResponseEntity<>(response, HttpStatus.OK);
+	}
 }
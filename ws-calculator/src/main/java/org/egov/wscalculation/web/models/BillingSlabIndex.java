@@ -0,0 +1,36 @@
+package org.egov.wscalculation.web.models;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Billing slabs of a tenant compiled from the MDMS master once per master data
+ * load. Slabs are grouped on building type, connection type and calculation
+ * attribute and their ranges are sorted on the from value.
+ */
+@Getter
+@AllArgsConstructor
+public class BillingSlabIndex {
+
+	private Map<String, String> calculationAttributes;
+
+	private Map<String, List<BillingSlab>> billingSlabs;
+
+	public static String getKey(String buildingType, String connectionType, String calculationAttribute) {
+		return (buildingType + "|" + connectionType + "|" + calculationAttribute).toLowerCase(Locale.ROOT);
+	}
+
+	public String getCalculationAttribute(String connectionType) {
+		return calculationAttributes.get(connectionType);
+	}
+
+	public List<BillingSlab> getBillingSlabs(String buildingType, String connectionType, String calculationAttribute) {
+		return billingSlabs.getOrDefault(getKey(buildingType, connectionType, calculationAttribute),
+				Collections.emptyList());
+	}
+}
@@ -0,0 +1,38 @@
+package org.egov.wscalculation.web.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MasterDataCacheStats {
+
+	@JsonProperty("size")
+	private Integer size;
+
+	@JsonProperty("hits")
+	private Long hits;
+
+	@JsonProperty("misses")
+	private Long misses;
+
+	@JsonProperty("loads")
+	private Long loads;
+
+	@JsonProperty("loadFailures")
+	private Long loadFailures;
+
+	@JsonProperty("refreshes")
+	private Long refreshes;
+
+	@JsonProperty("evictions")
+	private Long evictions;
+}
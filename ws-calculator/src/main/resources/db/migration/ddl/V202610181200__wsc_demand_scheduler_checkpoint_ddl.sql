@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS eg_ws_demand_scheduler_checkpoint
+(
+  tenantid character varying(64) NOT NULL,
+  connectiontype character varying(64) NOT NULL,
+  schedulerdate character varying(64) NOT NULL,
+  lastconnectionno character varying(64),
+  status character varying(64) NOT NULL,
+  createdtime bigint,
+  lastmodifiedtime bigint,
+  CONSTRAINT pk_eg_ws_demand_scheduler_checkpoint PRIMARY KEY (tenantid, connectiontype, schedulerdate)
+);
@@ -0,0 +1,266 @@
+package org.egov.wscalculation.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.wscalculation.constants.WSCalculationConstant;
+import org.egov.wscalculation.util.WSCalculationUtil;
+import org.egov.wscalculation.web.models.BillingSlab;
+import org.egov.wscalculation.web.models.BillingSlabIndex;
+import org.egov.wscalculation.web.models.CalculationCriteria;
+import org.egov.wscalculation.web.models.Property;
+import org.egov.wscalculation.web.models.Slab;
+import org.egov.wscalculation.web.models.WaterConnection;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+
+/**
+ * Checks that the billing slab index returns the same slabs and calculation
+ * attributes as the filter and the JsonPath lookup it replaces, and the same
+ * charges at the boundaries of the slab ranges
+ */
+public class EstimationServiceTest {
+
+	private static final String WATER_CONSUMPTION = "Water consumption";
+
+	private static final String PROPERTY_ID = "PB-PT-1";
+
+	private static final int[][] METERED_RANGES = { { 0, 1000, 5 }, { 1000, 2000, 7 }, { 2000, 1000000, 9 } };
+
+	private static final int[][] TAP_RANGES = { { 0, 5, 100 }, { 5, 10, 80 }, { 10, 1000, 60 } };
+
+	private ObjectMapper mapper;
+
+	private EstimationService estimationService;
+
+	private JSONArray billingSlabMaster;
+
+	private JSONArray calculationAttributeMaster;
+
+	@Before
+	public void setUp() {
+		mapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+		estimationService = new EstimationService();
+		ReflectionTestUtils.setField(estimationService, "mapper", mapper);
+		ReflectionTestUtils.setField(estimationService, "wSCalculationUtil", new WSCalculationUtil());
+
+		billingSlabMaster = new JSONArray();
+		for (String buildingType : Arrays.asList("RESIDENTIAL", "Commercial", "INDUSTRIAL")) {
+			// the ranges of the metered commercial slab are not in order in the master
+			int[][] meteredRanges = "Commercial".equals(buildingType)
+					? new int[][] { METERED_RANGES[1], METERED_RANGES[2], METERED_RANGES[0] }
+					: METERED_RANGES;
+			billingSlabMaster.add(getBillingSlab(buildingType, WSCalculationConstant.meteredConnectionType,
+					WATER_CONSUMPTION, meteredRanges));
+			billingSlabMaster.add(getBillingSlab(buildingType, WSCalculationConstant.nonMeterdConnection,
+					WSCalculationConstant.noOfTapsConst, TAP_RANGES));
+			billingSlabMaster.add(getBillingSlab(buildingType, WSCalculationConstant.nonMeterdConnection,
+					WSCalculationConstant.flatRateCalculationAttribute, new int[0][]));
+		}
+		// a second slab on the same values is returned along with the first
+		billingSlabMaster.add(getBillingSlab("INDUSTRIAL", WSCalculationConstant.meteredConnectionType,
+				WATER_CONSUMPTION, METERED_RANGES));
+
+		calculationAttributeMaster = new JSONArray();
+		calculationAttributeMaster.add(getCalculationAttribute(WSCalculationConstant.meteredConnectionType,
+				WATER_CONSUMPTION));
+		calculationAttributeMaster.add(getCalculationAttribute(WSCalculationConstant.nonMeterdConnection,
+				WSCalculationConstant.noOfTapsConst));
+		calculationAttributeMaster.add(getCalculationAttribute(WSCalculationConstant.nonMeterdConnection,
+				WSCalculationConstant.flatRateCalculationAttribute));
+	}
+
+	@Test
+	public void billingSlabsMatchFilter() {
+		BillingSlabIndex index = estimationService.compileBillingSlabIndex(billingSlabMaster,
+				calculationAttributeMaster);
+		List<BillingSlab> masterSlabs = getMasterSlabs();
+		int matchedCount = 0;
+		for (String buildingType : Arrays.asList("RESIDENTIAL", "residential", "COMMERCIAL", "INDUSTRIAL", "MIXED", ""))
+			for (String connectionType : Arrays.asList(WSCalculationConstant.meteredConnectionType, "metered",
+					WSCalculationConstant.nonMeterdConnection, "Unknown"))
+				for (String calculationAttribute : Arrays.asList(WATER_CONSUMPTION, "WATER CONSUMPTION",
+						WSCalculationConstant.noOfTapsConst, WSCalculationConstant.flatRateCalculationAttribute)) {
+					List<String> expected = masterSlabs.stream()
+							.filter(slab -> slab.getBuildingType().equalsIgnoreCase(buildingType)
+									&& slab.getConnectionType().equalsIgnoreCase(connectionType)
+									&& slab.getCalculationAttribute().equalsIgnoreCase(calculationAttribute))
+							.map(BillingSlab::getId).collect(Collectors.toList());
+					List<String> actual = index.getBillingSlabs(buildingType, connectionType, calculationAttribute)
+							.stream().map(BillingSlab::getId).collect(Collectors.toList());
+					assertEquals(expected, actual);
+					matchedCount += actual.size();
+				}
+		assertTrue("the grid does not match any slab", matchedCount > 0);
+	}
+
+	@Test
+	public void calculationAttributesMatchMaster() {
+		BillingSlabIndex index = estimationService.compileBillingSlabIndex(billingSlabMaster,
+				calculationAttributeMaster);
+		Map<String, Object> calculationAttributeMap = Collections
+				.singletonMap(WSCalculationConstant.CALCULATION_ATTRIBUTE_CONST, calculationAttributeMaster);
+		for (String connectionType : Arrays.asList(WSCalculationConstant.meteredConnectionType,
+				WSCalculationConstant.nonMeterdConnection)) {
+			JSONArray filteredMasters = JsonPath.read(calculationAttributeMap,
+					"$.CalculationAttribute[?(@.name=='" + connectionType + "')]");
+			assertEquals(mapper.convertValue(filteredMasters.get(0), JSONObject.class)
+					.getAsString(WSCalculationConstant.ATTRIBUTE), index.getCalculationAttribute(connectionType));
+		}
+		assertNull(index.getCalculationAttribute("metered"));
+		assertNull(estimationService.compileBillingSlabIndex(billingSlabMaster, null)
+				.getCalculationAttribute(WSCalculationConstant.meteredConnectionType));
+	}
+
+	@Test
+	public void slabRangesSortedOnFrom() {
+		BillingSlabIndex index = estimationService.compileBillingSlabIndex(billingSlabMaster,
+				calculationAttributeMaster);
+		List<Integer> froms = index.getBillingSlabs("COMMERCIAL", WSCalculationConstant.meteredConnectionType,
+				WATER_CONSUMPTION).get(0).getSlabs().stream().map(Slab::getFrom).collect(Collectors.toList());
+		assertEquals(Arrays.asList(0, 1000, 2000), froms);
+	}
+
+	@Test
+	public void masterIsNotModified() {
+		String master = billingSlabMaster.toJSONString();
+		estimationService.compileBillingSlabIndex(billingSlabMaster, calculationAttributeMaster);
+		assertEquals(master, billingSlabMaster.toJSONString());
+	}
+
+	@Test
+	public void meteredChargeMatchesAtRangeBoundaries() {
+		BillingSlabIndex index = estimationService.compileBillingSlabIndex(billingSlabMaster,
+				calculationAttributeMaster);
+		BillingSlab masterSlab = getMasterSlabs().get(0);
+		for (int consumption : new int[] { 0, 1, 999, 1000, 1001, 1999, 2000, 2001, 999999 }) {
+			WaterConnection connection = getConnection(WSCalculationConstant.meteredConnectionType);
+			CalculationCriteria criteria = CalculationCriteria.builder().waterConnection(connection)
+					.lastReading(100.0).currentReading(100.0 + consumption).build();
+			assertCharge(getMeteredCharge(masterSlab, consumption), getCharge(index, connection, criteria));
+		}
+	}
+
+	@Test
+	public void tapChargeMatchesAtRangeBoundaries() {
+		BillingSlabIndex index = estimationService.compileBillingSlabIndex(billingSlabMaster,
+				calculationAttributeMaster);
+		BillingSlab masterSlab = getMasterSlabs().get(1);
+		for (int noOfTaps : new int[] { 0, 1, 4, 5, 6, 9, 10, 11, 999, 1000, 1001 }) {
+			WaterConnection connection = getConnection(WSCalculationConstant.nonMeterdConnection);
+			connection.setNoOfTaps(noOfTaps);
+			CalculationCriteria criteria = CalculationCriteria.builder().waterConnection(connection).build();
+			assertCharge(getTapCharge(masterSlab, noOfTaps), getCharge(index, connection, criteria));
+		}
+	}
+
+	private BigDecimal getCharge(BillingSlabIndex index, WaterConnection connection, CalculationCriteria criteria) {
+		Property property = new Property();
+		property.setPropertyId(PROPERTY_ID);
+		property.setUsageCategory("RESIDENTIAL.OTHERS");
+		return estimationService.getWaterEstimationCharge(connection, criteria, index, new ArrayList<>(),
+				new RequestInfo(), Collections.singletonMap(PROPERTY_ID, property));
+	}
+
+	/**
+	 * The graded charge of a metered connection of the estimation before the
+	 * index
+	 */
+	private static BigDecimal getMeteredCharge(BillingSlab billSlab, double totalUOM) {
+		BigDecimal waterCharge = BigDecimal.ZERO;
+		if (totalUOM == 0.0)
+			return waterCharge;
+		for (Slab slab : billSlab.getSlabs()) {
+			if (totalUOM > slab.getTo()) {
+				waterCharge = waterCharge.add(BigDecimal.valueOf(((slab.getTo()) - (slab.getFrom())) * slab.getCharge()));
+				totalUOM = totalUOM - ((slab.getTo()) - (slab.getFrom()));
+			} else if (totalUOM < slab.getTo()) {
+				waterCharge = waterCharge.add(BigDecimal.valueOf(totalUOM * slab.getCharge()));
+				break;
+			}
+		}
+		if (billSlab.getMinimumCharge() > waterCharge.doubleValue())
+			waterCharge = BigDecimal.valueOf(billSlab.getMinimumCharge());
+		return waterCharge;
+	}
+
+	/**
+	 * The charge of a non metered connection on taps of the estimation before
+	 * the index
+	 */
+	private static BigDecimal getTapCharge(BillingSlab billSlab, double totalUOM) {
+		BigDecimal waterCharge = BigDecimal.ZERO;
+		if (totalUOM == 0.0)
+			return waterCharge;
+		for (Slab slab : billSlab.getSlabs()) {
+			if (totalUOM >= slab.getFrom() && totalUOM < slab.getTo()) {
+				waterCharge = BigDecimal.valueOf((totalUOM * slab.getCharge()));
+				if (billSlab.getMinimumCharge() > waterCharge.doubleValue())
+					waterCharge = BigDecimal.valueOf(billSlab.getMinimumCharge());
+				break;
+			}
+		}
+		return waterCharge;
+	}
+
+	private static void assertCharge(BigDecimal expected, BigDecimal actual) {
+		assertEquals("expected " + expected + " but was " + actual, 0, expected.compareTo(actual));
+	}
+
+	private List<BillingSlab> getMasterSlabs() {
+		return mapper.convertValue(billingSlabMaster,
+				mapper.getTypeFactory().constructCollectionType(List.class, BillingSlab.class));
+	}
+
+	private static WaterConnection getConnection(String connectionType) {
+		WaterConnection connection = new WaterConnection();
+		connection.setPropertyId(PROPERTY_ID);
+		connection.setConnectionType(connectionType);
+		return connection;
+	}
+
+	private JSONObject getBillingSlab(String buildingType, String connectionType, String calculationAttribute,
+			int[][] ranges) {
+		JSONArray slabs = new JSONArray();
+		for (int[] range : ranges) {
+			JSONObject slab = new JSONObject();
+			slab.put("from", range[0]);
+			slab.put("to", range[1]);
+			slab.put("charge", range[2]);
+			slabs.add(slab);
+		}
+		JSONObject billingSlab = new JSONObject();
+		billingSlab.put("id", String.valueOf(billingSlabMaster.size() + 1));
+		billingSlab.put("buildingType", buildingType);
+		billingSlab.put("connectionType", connectionType);
+		billingSlab.put("calculationAttribute", calculationAttribute);
+		billingSlab.put("minimumCharge", 100);
+		billingSlab.put("slabs", slabs);
+		return billingSlab;
+	}
+
+	private static JSONObject getCalculationAttribute(String name, String attribute) {
+		JSONObject calculationAttribute = new JSONObject();
+		calculationAttribute.put(WSCalculationConstant.NAME, name);
+		calculationAttribute.put(WSCalculationConstant.ATTRIBUTE, attribute);
+		return calculationAttribute;
+	}
+}
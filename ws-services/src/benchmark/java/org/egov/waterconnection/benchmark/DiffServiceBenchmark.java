@@ -0,0 +1,140 @@
+package org.egov.waterconnection.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.egov.waterconnection.service.DiffService;
+import org.egov.waterconnection.service.EditNotificationService;
+import org.egov.waterconnection.web.models.Document;
+import org.egov.waterconnection.web.models.PlumberInfo;
+import org.egov.waterconnection.web.models.Status;
+import org.egov.waterconnection.web.models.WaterConnection;
+import org.egov.waterconnection.web.models.WaterConnectionRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the edit notification check of a water connection update
+ *
+ * A field held directly on the connection is decided without diffing the
+ * object graph, a change in a plumber or no change at all needs the Javers
+ * diff. The notification itself is only counted. Run with mvn -Pbenchmark
+ * -DskipTests verify
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DiffServiceBenchmark {
+
+	private static final String TENANT_ID = "pb.amritsar";
+
+	private static final int DOCUMENT_COUNT = 5;
+
+	private static final int PLUMBER_COUNT = 2;
+
+	@Param({ "connectionField", "plumberInfo", "none" })
+	private String change;
+
+	private DiffService diffService;
+
+	private CountingEditNotificationService editNotificationService;
+
+	private WaterConnectionRequest request;
+
+	private WaterConnection searchResult;
+
+	@Setup
+	public void setup() {
+		editNotificationService = new CountingEditNotificationService();
+		diffService = new DiffService(editNotificationService);
+
+		searchResult = generateConnection();
+		WaterConnection updateConnection = generateConnection();
+		if ("connectionField".equals(change))
+			updateConnection.setNoOfTaps(updateConnection.getNoOfTaps() + 1);
+		else if ("plumberInfo".equals(change))
+			updateConnection.getPlumberInfo().get(0).setLicenseNo("PL-LIC-UPDATED");
+		request = WaterConnectionRequest.builder().waterConnection(updateConnection).build();
+	}
+
+	@Benchmark
+	public int checkDifferenceAndSendEditNotification() {
+		diffService.checkDifferenceAndSendEditNotification(request, searchResult);
+		return editNotificationService.notificationCount;
+	}
+
+	/**
+	 * An active connection with documents and plumbers, every call gives an
+	 * equal but separate object graph
+	 */
+	private static WaterConnection generateConnection() {
+		WaterConnection connection = new WaterConnection();
+		connection.setId("WS-CONN-1");
+		connection.setTenantId(TENANT_ID);
+		connection.setPropertyId("PT-107-001");
+		connection.setApplicationNo("WS_AP/107/2020-21/000001");
+		connection.setApplicationStatus("CONNECTION_ACTIVATED");
+		connection.setConnectionNo("WS/107/2020-21/000001");
+		connection.setRoadType("BMPREMIX");
+		connection.setRoadCuttingArea(10.5f);
+		connection.setConnectionCategory("PERMANENT");
+		connection.setConnectionType("Metered");
+		connection.setWaterSource("GROUND.WELL");
+		connection.setMeterId("METER-1");
+		connection.setPipeSize(1.0);
+		connection.setNoOfTaps(2);
+		connection.setProposedPipeSize(1.0);
+		connection.setProposedTaps(2);
+
+		Map<String, Object> additionalDetails = new HashMap<>();
+		additionalDetails.put("initialMeterReading", 100);
+		additionalDetails.put("locality", "SUN01");
+		connection.setAdditionalDetails(additionalDetails);
+
+		List<Document> documents = new ArrayList<>();
+		for (int i = 0; i < DOCUMENT_COUNT; i++)
+			documents.add(Document.builder().id("DOC-" + i).documentType("OWNER.IDENTITYPROOF-" + i)
+					.fileStoreId("FILESTORE-" + i).documentUid("UID-" + i).status(Status.ACTIVE).build());
+		connection.setDocuments(documents);
+
+		List<PlumberInfo> plumbers = new ArrayList<>();
+		for (int i = 0; i < PLUMBER_COUNT; i++) {
+			PlumberInfo plumber = new PlumberInfo();
+			plumber.setId("PLUMBER-" + i);
+			plumber.setName("Plumber " + i);
+			plumber.setLicenseNo("PL-LIC-" + i);
+			plumber.setMobileNumber("987654321" + i);
+			plumbers.add(plumber);
+		}
+		connection.setPlumberInfo(plumbers);
+		return connection;
+	}
+
+	/**
+	 * Counts the edit notifications in place of sending them
+	 */
+	private static class CountingEditNotificationService extends EditNotificationService {
+
+		private int notificationCount;
+
+		@Override
+		public void sendEditNotification(WaterConnectionRequest request) {
+			notificationCount++;
+		}
+	}
+}
@@ -27,6 +27,9 @@ public class WSConfiguration {
 	@Value("${egov.waterservice.pagination.max.limit}")
 	private Integer maxLimit;
 
+	@Value("${egov.waterservice.export.batch.size}")
+	private Integer exportBatchSize;
+
 	// IDGEN
 	@Value("${egov.idgen.wcid.name}")
 	private String waterConnectionIdGenName;
@@ -82,6 +85,12 @@ public class WSConfiguration {
 	@Value("${egov.localization.statelevel}")
 	private Boolean isLocalizationStateLevel;
 
+	@Value("${egov.localization.cache.expiry.seconds}")
+	private Long localizationCacheExpirySeconds;
+
+	@Value("${egov.localization.cache.max.size}")
+	private Integer localizationCacheMaxSize;
+
 	// SMS
 	@Value("${kafka.topics.notification.sms}")
 	private String smsNotifTopic;
@@ -117,6 +126,12 @@ public class WSConfiguration {
 
     	@Value("${egov.user.search.path}")
     	private String userSearchEndpoint;
+
+    	@Value("${egov.user.cache.expiry.seconds}")
+    	private Long userCacheExpirySeconds;
+
+    	@Value("${egov.user.cache.max.size}")
+    	private Integer userCacheMaxSize;
     
     	// water connection Calculator
     	@Value("${egov.ws.calculation.host}")
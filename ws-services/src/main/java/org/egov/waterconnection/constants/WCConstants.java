@@ -244,4 +244,8 @@ public class WCConstants {
 	
 	public static final String SEARCH_TYPE_CONNECTION = "CONNECTION";
 
+	public static final String PAGINATION_MODE_KEYSET = "KEYSET";
+
+	public static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package org.egov.waterconnection.repository;
 
+import java.util.Iterator;
 import java.util.List;
 
 import org.egov.common.contract.request.RequestInfo;
@@ -11,6 +12,8 @@ public interface WaterDao {
 	void saveWaterConnection(WaterConnectionRequest waterConnectionRequest);
 
 	List<WaterConnection> getWaterConnectionList(SearchCriteria criteria,RequestInfo requestInfo);
+
+	Iterator<List<WaterConnection>> getWaterConnectionPages(SearchCriteria criteria, RequestInfo requestInfo);
 	
 	void updateWaterConnection(WaterConnectionRequest waterConnectionRequest, boolean isStateUpdatable);
 }
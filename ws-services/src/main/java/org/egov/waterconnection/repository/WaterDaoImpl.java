@@ -2,7 +2,14 @@ package org.egov.waterconnection.repository;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.egov.common.contract.request.RequestInfo;
 import org.egov.waterconnection.config.WSConfiguration;
@@ -16,8 +23,10 @@ import org.egov.waterconnection.repository.rowmapper.WaterRowMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 
+import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -53,6 +62,8 @@ public class WaterDaoImpl implements WaterDao {
 	@Override
 	public List<WaterConnection> getWaterConnectionList(SearchCriteria criteria,
 			RequestInfo requestInfo) {
+		if (WCConstants.PAGINATION_MODE_KEYSET.equalsIgnoreCase(criteria.getPaginationMode()))
+			return getWaterConnectionPage(criteria, requestInfo);
 		List<Object> preparedStatement = new ArrayList<>();
 		String query = wsQueryBuilder.getSearchQueryString(criteria, preparedStatement, requestInfo);
 		if (query == null)
@@ -61,9 +72,191 @@ public class WaterDaoImpl implements WaterDao {
 				waterRowMapper);
 		if (waterConnectionList == null)
 			return Collections.emptyList();
+		enrichConnectionChildren(waterConnectionList);
 		return waterConnectionList;
 	}
 
+	/**
+	 * Pages through all the connections matching the criteria. The criteria
+	 * are resolved to the export id query when the pages are created and every
+	 * page is read when it is asked for, in pages of the export batch size
+	 * with their documents, plumber info and holders, so only one page is
+	 * held in memory at a time. Every page is a separate keyset query, so no
+	 * transaction or cursor stays open while the caller enriches and writes a
+	 * page.
+	 * 
+	 * For the connection search type the pages are ordered on connection
+	 * number and a page is extended to the last application of its last
+	 * connection number, so that every page can be filtered on its own.
+	 * 
+	 * @param criteria Search criteria
+	 * @param requestInfo Request Info
+	 * @return Pages of the matching connections
+	 */
+	@Override
+	public Iterator<List<WaterConnection>> getWaterConnectionPages(SearchCriteria criteria, RequestInfo requestInfo) {
+		List<Object> exportIdValues = new ArrayList<>();
+		String exportIdQuery = wsQueryBuilder.getExportIdQueryString(criteria, exportIdValues, requestInfo);
+		if (exportIdQuery == null)
+			return Collections.emptyIterator();
+		return new ExportPageIterator(exportIdQuery, exportIdValues,
+				WCConstants.SEARCH_TYPE_CONNECTION.equals(criteria.getSearchType()));
+	}
+
+	/**
+	 * Reads the export pages one keyset query at a time, the keys of the last
+	 * connection of a page are kept to start the next page after it
+	 */
+	private class ExportPageIterator implements Iterator<List<WaterConnection>> {
+
+		private final String exportIdQuery;
+
+		private final List<Object> exportIdValues;
+
+		private final boolean isConnectionSearch;
+
+		private final int limit = wsConfiguration.getExportBatchSize();
+
+		private ExportKey lastKey;
+
+		private boolean isLastPage;
+
+		private List<WaterConnection> nextPage;
+
+		ExportPageIterator(String exportIdQuery, List<Object> exportIdValues, boolean isConnectionSearch) {
+			this.exportIdQuery = exportIdQuery;
+			this.exportIdValues = exportIdValues;
+			this.isConnectionSearch = isConnectionSearch;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (nextPage == null && !isLastPage)
+				nextPage = readPage();
+			return nextPage != null;
+		}
+
+		@Override
+		public List<WaterConnection> next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			List<WaterConnection> page = nextPage;
+			nextPage = null;
+			return page;
+		}
+
+		private List<WaterConnection> readPage() {
+			List<Object> preparedStatement = new ArrayList<>(exportIdValues);
+			String query = isConnectionSearch
+					? wsQueryBuilder.getExportConnectionPageQuery(exportIdQuery,
+							lastKey == null ? null : lastKey.connectionNo, lastKey == null ? null : lastKey.id, limit,
+							preparedStatement)
+					: wsQueryBuilder.getExportPageQuery(exportIdQuery, lastKey == null ? null : lastKey.appCreatedDate,
+							lastKey == null ? null : lastKey.id, limit, preparedStatement);
+			List<ExportKey> keys = jdbcTemplate.query(query, preparedStatement.toArray(), (rs, rowNum) -> new ExportKey(
+					rs.getString("conn_id"), rs.getString("connectionno"), rs.getLong("appCreatedDate")));
+			if (keys.isEmpty()) {
+				isLastPage = true;
+				return null;
+			}
+			isLastPage = keys.size() < limit;
+			if (isConnectionSearch && !isLastPage) {
+				ExportKey pageLastKey = keys.get(keys.size() - 1);
+				preparedStatement = new ArrayList<>(exportIdValues);
+				query = wsQueryBuilder.getExportConnectionPageQuery(exportIdQuery, pageLastKey.connectionNo,
+						pageLastKey.id, null, preparedStatement);
+				keys.addAll(jdbcTemplate.query(query, preparedStatement.toArray(), (rs, rowNum) -> new ExportKey(
+						rs.getString("conn_id"), rs.getString("connectionno"), rs.getLong("appCreatedDate"))));
+			}
+			lastKey = keys.get(keys.size() - 1);
+
+			Set<String> ids = keys.stream().map(key -> key.id).collect(Collectors.toCollection(LinkedHashSet::new));
+			preparedStatement = new ArrayList<>();
+			query = wsQueryBuilder.getSearchQueryForIds(ids, preparedStatement);
+			List<WaterConnection> waterConnectionList = jdbcTemplate.query(query, preparedStatement.toArray(),
+					waterRowMapper);
+			if (waterConnectionList == null)
+				return Collections.emptyList();
+			enrichConnectionChildren(waterConnectionList);
+			return waterConnectionList;
+		}
+	}
+
+	@AllArgsConstructor
+	private static class ExportKey {
+
+		private final String id;
+
+		private final String connectionNo;
+
+		private final Long appCreatedDate;
+	}
+
+	/**
+	 * Searches one keyset page of connections. The ids of the page are
+	 * selected first and the connections are fetched only for those ids. The
+	 * token to continue after the page is set on the criteria when the page
+	 * is full.
+	 * 
+	 * @param criteria Search criteria with the page token of the previous page
+	 * @param requestInfo Request Info
+	 * @return List of water connections of the page
+	 */
+	private List<WaterConnection> getWaterConnectionPage(SearchCriteria criteria, RequestInfo requestInfo) {
+		criteria.setNextPageToken(null);
+		List<Object> preparedStatement = new ArrayList<>();
+		String query = wsQueryBuilder.getConnectionIdPageQuery(criteria, preparedStatement, requestInfo);
+		if (query == null)
+			return Collections.emptyList();
+		Map<String, Long> connectionIds = new LinkedHashMap<>();
+		jdbcTemplate.query(query, preparedStatement.toArray(),
+				(RowCallbackHandler) rs -> connectionIds.put(rs.getString("conn_id"), rs.getLong("appCreatedDate")));
+		if (connectionIds.isEmpty())
+			return Collections.emptyList();
+		if (connectionIds.size() >= wsQueryBuilder.getLimit(criteria)) {
+			Map.Entry<String, Long> lastConnection = null;
+			for (Map.Entry<String, Long> connectionId : connectionIds.entrySet())
+				lastConnection = connectionId;
+			criteria.setNextPageToken(wsQueryBuilder.getPageToken(lastConnection.getValue(), lastConnection.getKey()));
+		}
+		preparedStatement = new ArrayList<>();
+		query = wsQueryBuilder.getSearchQueryForIds(new LinkedHashSet<>(connectionIds.keySet()), preparedStatement);
+		List<WaterConnection> waterConnectionList = jdbcTemplate.query(query, preparedStatement.toArray(),
+				waterRowMapper);
+		if (waterConnectionList == null)
+			return Collections.emptyList();
+		enrichConnectionChildren(waterConnectionList);
+		return waterConnectionList;
+	}
+
+	/**
+	 * Adds documents, plumber info and connection holders to the connections
+	 * with one query for each of them over all the connection ids
+	 * 
+	 * @param waterConnectionList Connections of the search page
+	 */
+	private void enrichConnectionChildren(List<WaterConnection> waterConnectionList) {
+		if (waterConnectionList.isEmpty())
+			return;
+		Map<String, WaterConnection> connections = new LinkedHashMap<>();
+		waterConnectionList.forEach(waterConnection -> connections.put(waterConnection.getId(), waterConnection));
+
+		List<Object> preparedStatement = new ArrayList<>();
+		String query = wsQueryBuilder.getDocumentSearchQuery(connections.keySet(), preparedStatement);
+		jdbcTemplate.query(query, preparedStatement.toArray(), (RowCallbackHandler) rs -> waterRowMapper
+				.addDocumentToWaterConnection(rs, connections.get(rs.getString("wsid"))));
+
+		preparedStatement = new ArrayList<>();
+		query = wsQueryBuilder.getPlumberInfoSearchQuery(connections.keySet(), preparedStatement);
+		jdbcTemplate.query(query, preparedStatement.toArray(), (RowCallbackHandler) rs -> waterRowMapper
+				.addPlumberInfoToWaterConnection(rs, connections.get(rs.getString("wsid"))));
+
+		preparedStatement = new ArrayList<>();
+		query = wsQueryBuilder.getConnectionHolderSearchQuery(connections.keySet(), preparedStatement);
+		jdbcTemplate.query(query, preparedStatement.toArray(), (RowCallbackHandler) rs -> waterRowMapper
+				.addHoldersDeatilsToWaterConnection(rs, connections.get(rs.getString("holderapplicationId"))));
+	}
+
 	@Override
 	public void updateWaterConnection(WaterConnectionRequest waterConnectionRequest, boolean isStateUpdatable) {
 		if (isStateUpdatable) {
@@ -1,10 +1,13 @@
 package org.egov.waterconnection.repository.builder;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import org.egov.common.contract.request.RequestInfo;
+import org.egov.tracer.model.CustomException;
 import org.egov.waterconnection.config.WSConfiguration;
 import org.egov.waterconnection.service.UserService;
 import org.egov.waterconnection.util.WaterServicesUtil;
@@ -29,32 +32,32 @@ public class WsQueryBuilder {
 	private UserService userService;
 
 	private static final String INNER_JOIN_STRING = "INNER JOIN";
-    private static final String LEFT_OUTER_JOIN_STRING = " LEFT OUTER JOIN ";
 //	private static final String Offset_Limit_String = "OFFSET ? LIMIT ?";
     
     private static String holderSelectValues = "connectionholder.tenantid as holdertenantid, connectionholder.connectionid as holderapplicationId, userid, connectionholder.status as holderstatus, isprimaryholder, connectionholdertype, holdershippercentage, connectionholder.relationship as holderrelationship, connectionholder.createdby as holdercreatedby, connectionholder.createdtime as holdercreatedtime, connectionholder.lastmodifiedby as holderlastmodifiedby, connectionholder.lastmodifiedtime as holderlastmodifiedtime";
 
     
-	private static final String WATER_SEARCH_QUERY = "SELECT conn.*, wc.*, document.*, plumber.*, wc.connectionCategory, wc.connectionType, wc.waterSource,"
+	private static final String WATER_SEARCH_QUERY = "SELECT conn.*, wc.*, wc.connectionCategory, wc.connectionType, wc.waterSource,"
 			+ " wc.meterId, wc.meterInstallationDate, wc.pipeSize, wc.noOfTaps, wc.proposedPipeSize, wc.proposedTaps, wc.connection_id as connection_Id, wc.connectionExecutionDate, wc.initialmeterreading, wc.appCreatedDate,"
 			+ " wc.detailsprovidedby, wc.estimationfileStoreId , wc.sanctionfileStoreId , wc.estimationLetterDate, "
 			+ " conn.id as conn_id, conn.tenantid, conn.applicationNo, conn.applicationStatus, conn.status, conn.connectionNo, conn.oldConnectionNo, conn.property_id, conn.roadcuttingarea,"
 			+ " conn.action, conn.adhocpenalty, conn.adhocrebate, conn.adhocpenaltyreason, conn.applicationType, conn.dateEffectiveFrom,"
 			+ " conn.adhocpenaltycomment, conn.adhocrebatereason, conn.adhocrebatecomment, conn.createdBy as ws_createdBy, conn.lastModifiedBy as ws_lastModifiedBy,"
 			+ " conn.createdTime as ws_createdTime, conn.lastModifiedTime as ws_lastModifiedTime, "
-			+ " conn.locality, conn.roadtype, document.id as doc_Id, document.documenttype, document.filestoreid, document.active as doc_active, plumber.id as plumber_id,"
-			+ " plumber.name as plumber_name, plumber.licenseno,"
-			+ " plumber.mobilenumber as plumber_mobileNumber, plumber.gender as plumber_gender, plumber.fatherorhusbandname, plumber.correspondenceaddress,"
-			+ " plumber.relationship, " + holderSelectValues
+			+ " conn.locality, conn.roadtype"
 			+ " FROM eg_ws_connection conn "
 			+  INNER_JOIN_STRING 
-			+" eg_ws_service wc ON wc.connection_id = conn.id"
-			+  LEFT_OUTER_JOIN_STRING
-			+ "eg_ws_applicationdocument document ON document.wsid = conn.id" 
-			+  LEFT_OUTER_JOIN_STRING
-			+ "eg_ws_plumberinfo plumber ON plumber.wsid = conn.id"
-		    +  LEFT_OUTER_JOIN_STRING
-		    + "eg_ws_connectionholder connectionholder ON connectionholder.connectionid = conn.id";
+			+" eg_ws_service wc ON wc.connection_id = conn.id";
+
+	private static final String DOCUMENT_SEARCH_QUERY = "SELECT document.wsid, document.id as doc_Id, document.documenttype, document.filestoreid, document.active as doc_active"
+			+ " FROM eg_ws_applicationdocument document WHERE document.wsid in (";
+
+	private static final String PLUMBER_SEARCH_QUERY = "SELECT plumber.wsid, plumber.id as plumber_id, plumber.name as plumber_name, plumber.licenseno,"
+			+ " plumber.mobilenumber as plumber_mobileNumber, plumber.gender as plumber_gender, plumber.fatherorhusbandname, plumber.correspondenceaddress,"
+			+ " plumber.relationship FROM eg_ws_plumberinfo plumber WHERE plumber.wsid in (";
+
+	private static final String HOLDER_SEARCH_QUERY = "SELECT " + holderSelectValues
+			+ " FROM eg_ws_connectionholder connectionholder WHERE connectionholder.connectionid in (";
 
 	private static final String PAGINATION_WRAPPER = "SELECT * FROM " +
             "(SELECT *, DENSE_RANK() OVER (ORDER BY conn_id) offset_ FROM " +
@@ -62,7 +65,21 @@ public class WsQueryBuilder {
             " result) result_offset " +
             "WHERE offset_ > ? AND offset_ <= ?";
 	
+	private static final String CONNECTION_ID_PAGE_QUERY = "SELECT conn.id as conn_id, COALESCE(wc.appCreatedDate, 0) as appCreatedDate"
+			+ " FROM eg_ws_connection conn "
+			+  INNER_JOIN_STRING
+			+ " eg_ws_service wc ON wc.connection_id = conn.id";
+
+	private static final String EXPORT_ID_QUERY = "SELECT conn.id as conn_id, conn.connectionNo as connectionno, COALESCE(wc.appCreatedDate, 0) as appCreatedDate"
+			+ " FROM eg_ws_connection conn "
+			+  INNER_JOIN_STRING
+			+ " eg_ws_service wc ON wc.connection_id = conn.id";
+
 	private static final String ORDER_BY_CLAUSE= " ORDER BY wc.appCreatedDate DESC";
+
+	private static final String KEYSET_ORDER_BY_CLAUSE = " ORDER BY appCreatedDate DESC, conn_id DESC";
+
+	private static final String PAGE_TOKEN_SEPARATOR = ":";
 	/**
 	 * 
 	 * @param criteria
@@ -78,6 +95,223 @@ public class WsQueryBuilder {
 		if (criteria.isEmpty())
 				return null;
 		StringBuilder query = new StringBuilder(WATER_SEARCH_QUERY);
+		addSearchCriteria(criteria, preparedStatement, requestInfo, query);
+		query.append(ORDER_BY_CLAUSE);
+		return addPaginationWrapper(query.toString(), preparedStatement, criteria);
+	}
+
+	/**
+	 * Builds the query of the ids of all the matching connections. The export
+	 * pages through it with getExportPageQuery, so the criteria, including the
+	 * property search of a mobile number or property id, are resolved once
+	 * 
+	 * @param criteria
+	 *            The WaterCriteria
+	 * @param preparedStatement
+	 *            The Array Of Object
+	 * @param requestInfo
+	 *            The Request Info
+	 * @return query of the ids of all the matching connections
+	 */
+	public String getExportIdQueryString(SearchCriteria criteria, List<Object> preparedStatement,
+			RequestInfo requestInfo) {
+		if (criteria.isEmpty())
+			return null;
+		StringBuilder query = new StringBuilder(EXPORT_ID_QUERY);
+		addSearchCriteria(criteria, preparedStatement, requestInfo, query);
+		return query.toString();
+	}
+
+	/**
+	 * Builds the query for one export page of the ids selected by the export
+	 * id query, in the order of the search. The page starts after the
+	 * connection of the given app created date and id, the keyset condition is
+	 * added to the where clause of the export id query so that every page is
+	 * read from index_eg_ws_service_keyset.
+	 * 
+	 * @param exportIdQuery
+	 *            Query of getExportIdQueryString
+	 * @param lastAppCreatedDate
+	 *            App created date of the last connection of the previous page, null for the first page
+	 * @param lastId
+	 *            Id of the last connection of the previous page
+	 * @param limit
+	 *            Page size
+	 * @param preparedStatement
+	 *            The Array Of Object holding the values of the export id query
+	 * @return query as a string
+	 */
+	public String getExportPageQuery(String exportIdQuery, Long lastAppCreatedDate, String lastId, int limit,
+			List<Object> preparedStatement) {
+		StringBuilder query = new StringBuilder(exportIdQuery);
+		if (lastAppCreatedDate != null) {
+			addClauseIfRequired(preparedStatement, query);
+			query.append(" (COALESCE(wc.appCreatedDate, 0), wc.connection_id) < (?, ?) ");
+			preparedStatement.add(lastAppCreatedDate);
+			preparedStatement.add(lastId);
+		}
+		query.append(KEYSET_ORDER_BY_CLAUSE).append(" LIMIT ? ");
+		preparedStatement.add(limit);
+		return query.toString();
+	}
+
+	/**
+	 * Builds the query for one export page of the ids selected by the export
+	 * id query in the order of connection number, so that all the
+	 * applications of a connection number are exported next to each other.
+	 * Connections without a connection number are left out, as the connection
+	 * search type leaves them out. The conditions are added to the where
+	 * clause of the export id query so that every page is read from
+	 * index_eg_ws_connection_connectionno_id.
+	 * 
+	 * @param exportIdQuery
+	 *            Query of getExportIdQueryString
+	 * @param lastConnectionNo
+	 *            Connection number of the last connection of the previous page, null for the first page
+	 * @param lastId
+	 *            Id of the last connection of the previous page
+	 * @param limit
+	 *            Page size, null to read the rest of the connections of lastConnectionNo
+	 * @param preparedStatement
+	 *            The Array Of Object holding the values of the export id query
+	 * @return query as a string
+	 */
+	public String getExportConnectionPageQuery(String exportIdQuery, String lastConnectionNo, String lastId,
+			Integer limit, List<Object> preparedStatement) {
+		StringBuilder query = new StringBuilder(exportIdQuery);
+		addClauseIfRequired(preparedStatement, query);
+		query.append(" conn.connectionno IS NOT NULL AND conn.connectionno <> '' ");
+		if (lastConnectionNo != null && limit == null) {
+			query.append(" AND conn.connectionno = ? AND conn.id > ? ORDER BY conn.id");
+			preparedStatement.add(lastConnectionNo);
+			preparedStatement.add(lastId);
+			return query.toString();
+		}
+		if (lastConnectionNo != null) {
+			query.append(" AND (conn.connectionno, conn.id) > (?, ?) ");
+			preparedStatement.add(lastConnectionNo);
+			preparedStatement.add(lastId);
+		}
+		query.append(" ORDER BY conn.connectionno, conn.id LIMIT ? ");
+		preparedStatement.add(limit);
+		return query.toString();
+	}
+
+	/**
+	 * Builds the query for one keyset page of connection ids, the page
+	 * starts after the connection of the page token of the criteria
+	 * 
+	 * @param criteria
+	 *            The WaterCriteria
+	 * @param preparedStatement
+	 *            The Array Of Object
+	 * @param requestInfo
+	 *            The Request Info
+	 * @return query as a string
+	 */
+	public String getConnectionIdPageQuery(SearchCriteria criteria, List<Object> preparedStatement,
+			RequestInfo requestInfo) {
+		if (criteria.isEmpty())
+			return null;
+		StringBuilder query = new StringBuilder(CONNECTION_ID_PAGE_QUERY);
+		addSearchCriteria(criteria, preparedStatement, requestInfo, query);
+		if (!StringUtils.isEmpty(criteria.getPageToken())) {
+			String[] pageToken = parsePageToken(criteria.getPageToken());
+			addClauseIfRequired(preparedStatement, query);
+			query.append(" (COALESCE(wc.appCreatedDate, 0), wc.connection_id) < (?, ?) ");
+			preparedStatement.add(Long.valueOf(pageToken[0]));
+			preparedStatement.add(pageToken[1]);
+		}
+		query.append(KEYSET_ORDER_BY_CLAUSE).append(" LIMIT ? ");
+		preparedStatement.add(getLimit(criteria));
+		return query.toString();
+	}
+
+	/**
+	 * 
+	 * @param ids
+	 *            Connection ids of the page
+	 * @param preparedStatement
+	 *            The Array Of Object
+	 * @return query to fetch the connections of the given ids
+	 */
+	public String getSearchQueryForIds(Set<String> ids, List<Object> preparedStatement) {
+		StringBuilder query = new StringBuilder(WATER_SEARCH_QUERY);
+		query.append(" WHERE conn.id in (").append(createQuery(ids)).append(" )");
+		addToPreparedStatement(preparedStatement, ids);
+		query.append(" ORDER BY COALESCE(wc.appCreatedDate, 0) DESC, conn.id DESC");
+		return query.toString();
+	}
+
+	/**
+	 * 
+	 * @param ids
+	 *            Connection ids
+	 * @param preparedStatement
+	 *            The Array Of Object
+	 * @return query to fetch the documents of the given connections
+	 */
+	public String getDocumentSearchQuery(Set<String> ids, List<Object> preparedStatement) {
+		return getChildSearchQuery(DOCUMENT_SEARCH_QUERY, ids, preparedStatement);
+	}
+
+	/**
+	 * 
+	 * @param ids
+	 *            Connection ids
+	 * @param preparedStatement
+	 *            The Array Of Object
+	 * @return query to fetch the plumber info of the given connections
+	 */
+	public String getPlumberInfoSearchQuery(Set<String> ids, List<Object> preparedStatement) {
+		return getChildSearchQuery(PLUMBER_SEARCH_QUERY, ids, preparedStatement);
+	}
+
+	/**
+	 * 
+	 * @param ids
+	 *            Connection ids
+	 * @param preparedStatement
+	 *            The Array Of Object
+	 * @return query to fetch the connection holders of the given connections
+	 */
+	public String getConnectionHolderSearchQuery(Set<String> ids, List<Object> preparedStatement) {
+		return getChildSearchQuery(HOLDER_SEARCH_QUERY, ids, preparedStatement);
+	}
+
+	private String getChildSearchQuery(String childSearchQuery, Set<String> ids, List<Object> preparedStatement) {
+		addToPreparedStatement(preparedStatement, ids);
+		return childSearchQuery + createQuery(ids) + " )";
+	}
+
+	/**
+	 * 
+	 * @param appCreatedDate
+	 *            App created date of the last connection of the page
+	 * @param id
+	 *            Id of the last connection of the page
+	 * @return opaque token to continue the search after the given connection
+	 */
+	public String getPageToken(Long appCreatedDate, String id) {
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString((appCreatedDate + PAGE_TOKEN_SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private String[] parsePageToken(String pageToken) {
+		try {
+			String[] keys = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8)
+					.split(PAGE_TOKEN_SEPARATOR, 2);
+			Long.parseLong(keys[0]);
+			if (keys.length == 2 && !StringUtils.isEmpty(keys[1]))
+				return keys;
+		} catch (IllegalArgumentException ex) {
+			// reported below as an invalid page token
+		}
+		throw new CustomException("INVALID_PAGE_TOKEN", "The page token " + pageToken + " is not valid");
+	}
+
+	private void addSearchCriteria(SearchCriteria criteria, List<Object> preparedStatement, RequestInfo requestInfo,
+			StringBuilder query) {
 		boolean propertyIdsPresent = false;
 		if (!StringUtils.isEmpty(criteria.getMobileNumber()) || !StringUtils.isEmpty(criteria.getPropertyId())) {
 			Set<String> propertyIds = new HashSet<>();
@@ -97,7 +331,8 @@ public class WsQueryBuilder {
 				addORClauseIfRequired(preparedStatement, query);
 				if(!propertyIdsPresent)
 					query.append("(");
-				query.append(" connectionholder.userid in (").append(createQuery(uuids)).append(" ))");
+				query.append(" conn.id in (SELECT connectionid FROM eg_ws_connectionholder WHERE userid in (")
+						.append(createQuery(uuids)).append(" )))");
 				addToPreparedStatement(preparedStatement, uuids);
 				userIdsPresent = true;
 			}
@@ -130,6 +365,11 @@ public class WsQueryBuilder {
 			query.append(" conn.connectionno = ? ");
 			preparedStatement.add(criteria.getConnectionNumber());
 		}
+		if (!CollectionUtils.isEmpty(criteria.getConnectionNumbers())) {
+			addClauseIfRequired(preparedStatement, query);
+			query.append(" conn.connectionno in (").append(createQuery(criteria.getConnectionNumbers())).append(" )");
+			addToPreparedStatement(preparedStatement, criteria.getConnectionNumbers());
+		}
 		if (!StringUtils.isEmpty(criteria.getStatus())) {
 			addClauseIfRequired(preparedStatement, query);
 			query.append(" conn.status = ? ");
@@ -160,8 +400,6 @@ public class WsQueryBuilder {
 			query.append(" conn.applicationType = ? ");
 			preparedStatement.add(criteria.getApplicationType());
 		}
-		query.append(ORDER_BY_CLAUSE);
-		return addPaginationWrapper(query.toString(), preparedStatement, criteria);
 	}
 	
 	private void addClauseIfRequired(List<Object> values, StringBuilder queryString) {
@@ -198,8 +436,23 @@ public class WsQueryBuilder {
 	 * @return It's returns query
 	 */
 	private String addPaginationWrapper(String query, List<Object> preparedStmtList, SearchCriteria criteria) {
-		Integer limit = config.getDefaultLimit();
+		Integer limit = getLimit(criteria);
 		Integer offset = config.getDefaultOffset();
+		if (criteria.getOffset() != null)
+			offset = criteria.getOffset();
+
+		preparedStmtList.add(offset);
+		preparedStmtList.add(limit + offset);
+		return PAGINATION_WRAPPER.replace("{}",query);
+	}
+
+	/**
+	 * 
+	 * @param criteria SearchCriteria
+	 * @return page size of the search
+	 */
+	public Integer getLimit(SearchCriteria criteria) {
+		Integer limit = config.getDefaultLimit();
 		if (criteria.getLimit() == null && criteria.getOffset() == null)
 			limit = config.getMaxLimit();
 
@@ -208,13 +461,7 @@ public class WsQueryBuilder {
 
 		if (criteria.getLimit() != null && criteria.getLimit() > config.getDefaultOffset())
 			limit = config.getDefaultLimit();
-
-		if (criteria.getOffset() != null)
-			offset = criteria.getOffset();
-
-		preparedStmtList.add(offset);
-		preparedStmtList.add(limit + offset);
-		return PAGINATION_WRAPPER.replace("{}",query);
+		return limit;
 	}
 	
 	private void addORClauseIfRequired(List<Object> values, StringBuilder queryString){
@@ -4,6 +4,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -21,72 +22,83 @@ import org.springframework.util.CollectionUtils;
 public class WaterRowMapper implements ResultSetExtractor<List<WaterConnection>> {
 	@Override
     public List<WaterConnection> extractData(ResultSet rs) throws SQLException, DataAccessException {
-        Map<String, WaterConnection> connectionListMap = new HashMap<>();
-        WaterConnection currentWaterConnection = new WaterConnection();
+        Map<String, WaterConnection> connectionListMap = new LinkedHashMap<>();
         while (rs.next()) {
             String Id = rs.getString("connection_Id");
-            if (connectionListMap.getOrDefault(Id, null) == null) {
-                currentWaterConnection = new WaterConnection();
-                currentWaterConnection.setTenantId(rs.getString("tenantid"));
-                currentWaterConnection.setConnectionCategory(rs.getString("connectionCategory"));
-                currentWaterConnection.setConnectionType(rs.getString("connectionType"));
-                currentWaterConnection.setWaterSource(rs.getString("waterSource"));
-                currentWaterConnection.setMeterId(rs.getString("meterId"));
-                currentWaterConnection.setMeterInstallationDate(rs.getLong("meterInstallationDate"));
-                currentWaterConnection.setId(rs.getString("connection_Id"));
-                currentWaterConnection.setApplicationNo(rs.getString("applicationNo"));
-                currentWaterConnection.setApplicationStatus(rs.getString("applicationstatus"));
-                currentWaterConnection.setStatus(StatusEnum.fromValue(rs.getString("status")));
-                currentWaterConnection.setConnectionNo(rs.getString("connectionNo"));
-                currentWaterConnection.setOldConnectionNo(rs.getString("oldConnectionNo"));
-                currentWaterConnection.setPipeSize(rs.getDouble("pipeSize"));
-                currentWaterConnection.setNoOfTaps(rs.getInt("noOfTaps"));
-                currentWaterConnection.setProposedPipeSize(rs.getDouble("proposedPipeSize"));
-                currentWaterConnection.setProposedTaps(rs.getInt("proposedTaps"));
-                currentWaterConnection.setRoadCuttingArea(rs.getFloat("roadcuttingarea"));
-                currentWaterConnection.setRoadType(rs.getString("roadtype"));
-                HashMap<String, Object> additionalDetails = new HashMap<>();
-                additionalDetails.put(WCConstants.ADHOC_PENALTY, rs.getBigDecimal("adhocpenalty"));
-                additionalDetails.put(WCConstants.ADHOC_REBATE, rs.getBigDecimal("adhocrebate"));
-                additionalDetails.put(WCConstants.ADHOC_PENALTY_REASON, rs.getString("adhocpenaltyreason"));
-                additionalDetails.put(WCConstants.ADHOC_PENALTY_COMMENT, rs.getString("adhocpenaltycomment"));
-                additionalDetails.put(WCConstants.ADHOC_REBATE_REASON, rs.getString("adhocrebatereason"));
-                additionalDetails.put(WCConstants.ADHOC_REBATE_COMMENT, rs.getString("adhocrebatecomment"));
-                additionalDetails.put(WCConstants.INITIAL_METER_READING_CONST, rs.getBigDecimal("initialmeterreading"));
-                additionalDetails.put(WCConstants.APP_CREATED_DATE, rs.getBigDecimal("appCreatedDate"));
-                additionalDetails.put(WCConstants.DETAILS_PROVIDED_BY, rs.getString("detailsprovidedby"));
-                additionalDetails.put(WCConstants.ESTIMATION_FILESTORE_ID, rs.getString("estimationfileStoreId"));
-                additionalDetails.put(WCConstants.SANCTION_LETTER_FILESTORE_ID, rs.getString("sanctionfileStoreId"));
-                additionalDetails.put(WCConstants.ESTIMATION_DATE_CONST, rs.getBigDecimal("estimationLetterDate"));
-                additionalDetails.put(WCConstants.LOCALITY, rs.getString("locality"));
-                currentWaterConnection.setAdditionalDetails(additionalDetails);
-                currentWaterConnection
-                        .processInstance(ProcessInstance.builder().action((rs.getString("action"))).build());
-                currentWaterConnection.setPropertyId(rs.getString("property_id"));
-                // Add documents id's
-                currentWaterConnection.setConnectionExecutionDate(rs.getLong("connectionExecutionDate"));
-                currentWaterConnection.setApplicationType(rs.getString("applicationType"));
-                currentWaterConnection.setDateEffectiveFrom(rs.getLong("dateEffectiveFrom"));
-
-                AuditDetails auditdetails = AuditDetails.builder().createdBy(rs.getString("ws_createdBy"))
-                        .createdTime(rs.getLong("ws_createdTime")).lastModifiedBy(rs.getString("ws_lastModifiedBy"))
-                        .lastModifiedTime(rs.getLong("ws_lastModifiedTime")).build();
-                currentWaterConnection.setAuditDetails(auditdetails);
-
-                connectionListMap.put(Id, currentWaterConnection);
-            }
-            addChildrenToProperty(rs, currentWaterConnection);
+            if (connectionListMap.getOrDefault(Id, null) == null)
+                connectionListMap.put(Id, mapWaterConnection(rs));
         }
         return new ArrayList<>(connectionListMap.values());
     }
 
-    private void addChildrenToProperty(ResultSet rs, WaterConnection waterConnection) throws SQLException {
-        addDocumentToWaterConnection(rs, waterConnection);
-        addPlumberInfoToWaterConnection(rs, waterConnection);
-        addHoldersDeatilsToWaterConnection(rs, waterConnection);
+    /**
+     * Maps the connection and service columns of the current row
+     *
+     * @param rs Row of the connection search
+     * @return Water connection of the row
+     * @throws SQLException
+     */
+    public WaterConnection mapWaterConnection(ResultSet rs) throws SQLException {
+        WaterConnection currentWaterConnection = new WaterConnection();
+        currentWaterConnection.setTenantId(rs.getString("tenantid"));
+        currentWaterConnection.setConnectionCategory(rs.getString("connectionCategory"));
+        currentWaterConnection.setConnectionType(rs.getString("connectionType"));
+        currentWaterConnection.setWaterSource(rs.getString("waterSource"));
+        currentWaterConnection.setMeterId(rs.getString("meterId"));
+        currentWaterConnection.setMeterInstallationDate(rs.getLong("meterInstallationDate"));
+        currentWaterConnection.setId(rs.getString("connection_Id"));
+        currentWaterConnection.setApplicationNo(rs.getString("applicationNo"));
+        currentWaterConnection.setApplicationStatus(rs.getString("applicationstatus"));
+        currentWaterConnection.setStatus(StatusEnum.fromValue(rs.getString("status")));
+        currentWaterConnection.setConnectionNo(rs.getString("connectionNo"));
+        currentWaterConnection.setOldConnectionNo(rs.getString("oldConnectionNo"));
+        currentWaterConnection.setPipeSize(rs.getDouble("pipeSize"));
+        currentWaterConnection.setNoOfTaps(rs.getInt("noOfTaps"));
+        currentWaterConnection.setProposedPipeSize(rs.getDouble("proposedPipeSize"));
+        currentWaterConnection.setProposedTaps(rs.getInt("proposedTaps"));
+        currentWaterConnection.setRoadCuttingArea(rs.getFloat("roadcuttingarea"));
+        currentWaterConnection.setRoadType(rs.getString("roadtype"));
+        HashMap<String, Object> additionalDetails = new HashMap<>();
+        additionalDetails.put(WCConstants.ADHOC_PENALTY, rs.getBigDecimal("adhocpenalty"));
+        additionalDetails.put(WCConstants.ADHOC_REBATE, rs.getBigDecimal("adhocrebate"));
+        additionalDetails.put(WCConstants.ADHOC_PENALTY_REASON, rs.getString("adhocpenaltyreason"));
+        additionalDetails.put(WCConstants.ADHOC_PENALTY_COMMENT, rs.getString("adhocpenaltycomment"));
+        additionalDetails.put(WCConstants.ADHOC_REBATE_REASON, rs.getString("adhocrebatereason"));
+        additionalDetails.put(WCConstants.ADHOC_REBATE_COMMENT, rs.getString("adhocrebatecomment"));
+        additionalDetails.put(WCConstants.INITIAL_METER_READING_CONST, rs.getBigDecimal("initialmeterreading"));
+        additionalDetails.put(WCConstants.APP_CREATED_DATE, rs.getBigDecimal("appCreatedDate"));
+        additionalDetails.put(WCConstants.DETAILS_PROVIDED_BY, rs.getString("detailsprovidedby"));
+        additionalDetails.put(WCConstants.ESTIMATION_FILESTORE_ID, rs.getString("estimationfileStoreId"));
+        additionalDetails.put(WCConstants.SANCTION_LETTER_FILESTORE_ID, rs.getString("sanctionfileStoreId"));
+        additionalDetails.put(WCConstants.ESTIMATION_DATE_CONST, rs.getBigDecimal("estimationLetterDate"));
+        additionalDetails.put(WCConstants.LOCALITY, rs.getString("locality"));
+        currentWaterConnection.setAdditionalDetails(additionalDetails);
+        currentWaterConnection
+                .processInstance(ProcessInstance.builder().action((rs.getString("action"))).build());
+        currentWaterConnection.setPropertyId(rs.getString("property_id"));
+        // Add documents id's
+        currentWaterConnection.setConnectionExecutionDate(rs.getLong("connectionExecutionDate"));
+        currentWaterConnection.setApplicationType(rs.getString("applicationType"));
+        currentWaterConnection.setDateEffectiveFrom(rs.getLong("dateEffectiveFrom"));
+
+        AuditDetails auditdetails = AuditDetails.builder().createdBy(rs.getString("ws_createdBy"))
+                .createdTime(rs.getLong("ws_createdTime")).lastModifiedBy(rs.getString("ws_lastModifiedBy"))
+                .lastModifiedTime(rs.getLong("ws_lastModifiedTime")).build();
+        currentWaterConnection.setAuditDetails(auditdetails);
+
+        return currentWaterConnection;
     }
 
-    private void addDocumentToWaterConnection(ResultSet rs, WaterConnection waterConnection) throws SQLException {
+    /**
+     * Documents, plumber info and connection holders are fetched by separate
+     * queries for a page of connections and added to the connection of each
+     * row by the below methods
+     *
+     * @param rs Row of the document search
+     * @param waterConnection Water connection of the row
+     * @throws SQLException
+     */
+    public void addDocumentToWaterConnection(ResultSet rs, WaterConnection waterConnection) throws SQLException {
         String document_Id = rs.getString("doc_Id");
         String isActive = rs.getString("doc_active");
         boolean documentActive = false;
@@ -104,7 +116,7 @@ public class WaterRowMapper implements ResultSetExtractor<List<WaterConnection>>
         }
     }
 
-    private void addPlumberInfoToWaterConnection(ResultSet rs, WaterConnection waterConnection) throws SQLException {
+    public void addPlumberInfoToWaterConnection(ResultSet rs, WaterConnection waterConnection) throws SQLException {
         String plumber_id = rs.getString("plumber_id");
         if (!StringUtils.isEmpty(plumber_id)) {
             PlumberInfo plumber = new PlumberInfo();
@@ -120,7 +132,7 @@ public class WaterRowMapper implements ResultSetExtractor<List<WaterConnection>>
         }
     }
 
-    private void addHoldersDeatilsToWaterConnection(ResultSet rs, WaterConnection waterConnection) throws SQLException {
+    public void addHoldersDeatilsToWaterConnection(ResultSet rs, WaterConnection waterConnection) throws SQLException {
         String uuid = rs.getString("userid");
         List<OwnerInfo> connectionHolders = waterConnection.getConnectionHolders();
         if (!CollectionUtils.isEmpty(connectionHolders)) {
@@ -5,6 +5,7 @@ package org.egov.waterconnection.service;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
 
 import org.egov.waterconnection.constants.WCConstants;
 import org.egov.waterconnection.web.models.WaterConnection;
@@ -23,8 +24,18 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class DiffService {
 	
+	private final EditNotificationService editNotificationService;
+
+	/**
+	 * Javers instances are thread safe, the type mappings are built once
+	 */
+	private final Javers javers = JaversBuilder.javers().build();
+
 	@Autowired
-	private EditNotificationService editNotificationService;
+	public DiffService(EditNotificationService editNotificationService) {
+		this.editNotificationService = editNotificationService;
+	}
+
 	/**
 	 * Creates a list of Difference object between the update and search
 	 * 
@@ -34,26 +45,55 @@ public class DiffService {
 	public void checkDifferenceAndSendEditNotification(WaterConnectionRequest request, WaterConnection searchResult) {
 		try {
 				WaterConnection updateConnection = request.getWaterConnection();
-				if (!CollectionUtils.isEmpty(getUpdateFields(updateConnection, searchResult))
-						|| !CollectionUtils.isEmpty(getObjectsAdded(updateConnection, searchResult))
-						|| !CollectionUtils.isEmpty(getObjectsRemoved(updateConnection, searchResult))) {
+				if (isConnectionFieldUpdated(updateConnection, searchResult)) {
+					editNotificationService.sendEditNotification(request);
+					return;
+				}
+				Diff diff = javers.compare(updateConnection, searchResult);
+				if (!CollectionUtils.isEmpty(getUpdateFields(diff))
+						|| !CollectionUtils.isEmpty(getObjectsAdded(diff))
+						|| !CollectionUtils.isEmpty(getObjectsRemoved(diff))) {
 					editNotificationService.sendEditNotification(request);
 				}
 		} catch (Exception ex) {
 			log.error("Edit Notification Error!!", ex);
 		}
 	}
-	
+
 	/**
-	 * Check updated fields
+	 * Compares the fields to check which are held directly on the connection,
+	 * a change in any of them is reported by the diff as well, so the diff of
+	 * the whole object graph is skipped
 	 * 
 	 * @param updateConnection WaterConnection Object
 	 * @param searchResult WaterConnection Object
+	 * @return true if any of the fields is updated
+	 */
+	private boolean isConnectionFieldUpdated(WaterConnection updateConnection, WaterConnection searchResult) {
+		if (updateConnection == null || searchResult == null)
+			return false;
+		return !Objects.equals(updateConnection.getWaterSource(), searchResult.getWaterSource())
+				|| !Objects.equals(updateConnection.getMeterId(), searchResult.getMeterId())
+				|| !Objects.equals(updateConnection.getMeterInstallationDate(), searchResult.getMeterInstallationDate())
+				|| !Objects.equals(updateConnection.getProposedPipeSize(), searchResult.getProposedPipeSize())
+				|| !Objects.equals(updateConnection.getProposedTaps(), searchResult.getProposedTaps())
+				|| !Objects.equals(updateConnection.getPipeSize(), searchResult.getPipeSize())
+				|| !Objects.equals(updateConnection.getNoOfTaps(), searchResult.getNoOfTaps())
+				|| !Objects.equals(updateConnection.getOldConnectionNo(), searchResult.getOldConnectionNo())
+				|| !Objects.equals(updateConnection.getRoadType(), searchResult.getRoadType())
+				|| !Objects.equals(updateConnection.getRoadCuttingArea(), searchResult.getRoadCuttingArea())
+				|| !Objects.equals(updateConnection.getConnectionExecutionDate(), searchResult.getConnectionExecutionDate())
+				|| !Objects.equals(updateConnection.getConnectionCategory(), searchResult.getConnectionCategory())
+				|| !Objects.equals(updateConnection.getConnectionType(), searchResult.getConnectionType());
+	}
+	
+	/**
+	 * Check updated fields
+	 * 
+	 * @param diff Diff of the update and search WaterConnection Objects
 	 * @return List of updated fields
 	 */
-	private List<String> getUpdateFields(WaterConnection updateConnection, WaterConnection searchResult) {
-		Javers javers = JaversBuilder.javers().build();
-		Diff diff = javers.compare(updateConnection, searchResult);
+	private List<String> getUpdateFields(Diff diff) {
 		List<ValueChange> changes = diff.getChangesByType(ValueChange.class);
 		if (CollectionUtils.isEmpty(changes))
 			return Collections.emptyList();
@@ -69,14 +109,11 @@ public class DiffService {
 	/**
 	 * Check for added new object
 	 * 
-	 * @param updateConnection WaterConnection Object
-	 * @param searchResult WaterConnection Object
+	 * @param diff Diff of the update and search WaterConnection Objects
 	 * @return list of added object
 	 */
 	@SuppressWarnings("unchecked")
-	private List<String> getObjectsAdded(WaterConnection updateConnection, WaterConnection searchResult) {
-		Javers javers = JaversBuilder.javers().build();
-		Diff diff = javers.compare(updateConnection, searchResult);
+	private List<String> getObjectsAdded(Diff diff) {
 		List<NewObject> objectsAdded = diff.getObjectsByChangeType(NewObject.class);
 		if (CollectionUtils.isEmpty(objectsAdded))
 			return Collections.emptyList();
@@ -94,14 +131,11 @@ public class DiffService {
 	
 	/**
 	 * 
-	 * @param updateConnection WaterConnection Object
-	 * @param searchResult WaterConnection Object
+	 * @param diff Diff of the update and search WaterConnection Objects
 	 * @return List of added or removed object
 	 */
-    private List<String> getObjectsRemoved(WaterConnection updateConnection, WaterConnection searchResult) {
+    private List<String> getObjectsRemoved(Diff diff) {
 
-        Javers javers = JaversBuilder.javers().build();
-        Diff diff = javers.compare(updateConnection, searchResult);
         List<ValueChange> changes = diff.getChangesByType(ValueChange.class);
         if (CollectionUtils.isEmpty(changes))
             return Collections.emptyList();
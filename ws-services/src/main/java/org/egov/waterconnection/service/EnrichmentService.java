@@ -15,7 +15,6 @@ import org.egov.waterconnection.web.models.*;
 import org.egov.waterconnection.web.models.Connection.StatusEnum;
 import org.egov.waterconnection.web.models.Idgen.IdResponse;
 import org.egov.waterconnection.web.models.users.UserDetailResponse;
-import org.egov.waterconnection.web.models.users.UserSearchRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
@@ -281,9 +280,8 @@ public class EnrichmentService {
 		}
 		if (CollectionUtils.isEmpty(connectionHolderIds))
 			return;
-		UserSearchRequest userSearchRequest = userService.getBaseUserSearchRequest(criteria.getTenantId(), requestInfo);
-		userSearchRequest.setUuid(connectionHolderIds);
-		UserDetailResponse userDetailResponse = userService.getUser(userSearchRequest);
+		UserDetailResponse userDetailResponse = userService.getUsersByUuid(connectionHolderIds, criteria.getTenantId(),
+				requestInfo);
 		enrichConnectionHolderInfo(userDetailResponse, waterConnectionList);
 	}
 
@@ -2,12 +2,15 @@ package org.egov.waterconnection.service;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -16,6 +19,7 @@ import org.egov.common.contract.request.Role;
 import org.egov.tracer.model.CustomException;
 import org.egov.waterconnection.config.WSConfiguration;
 import org.egov.waterconnection.repository.ServiceRequestRepository;
+import org.egov.waterconnection.util.UserCache;
 import org.egov.waterconnection.web.models.*;
 import org.egov.waterconnection.web.models.users.UserDetailResponse;
 import org.egov.waterconnection.web.models.users.UserSearchRequest;
@@ -38,6 +42,9 @@ public class UserService {
 	@Autowired
 	private ObjectMapper mapper;
 
+	@Autowired
+	private UserCache userCache;
+
 	/**
 	 * Creates user of the connection holders of water connection if it is not
 	 * created already
@@ -89,6 +96,7 @@ public class UserService {
 				// Assigns value of fields from user got from userDetailResponse to owner object
 				setOwnerFields(holderInfo, userDetailResponse, request.getRequestInfo());
 			});
+			userCache.evict(request.getWaterConnection().getConnectionHolders());
 		}
 	}
 
@@ -297,6 +305,35 @@ public class UserService {
 		return userDetailResponse;
 	}
 	
+	/**
+	 * Searches the users of the given uuids, users found in the user cache are
+	 * not searched again and the rest are searched in one call
+	 *
+	 * @param uuids Uuids of the users
+	 * @param tenantId Tenant Id
+	 * @param requestInfo Request Info
+	 * @return UserDetailResponse containing the users found
+	 */
+	public UserDetailResponse getUsersByUuid(Set<String> uuids, String tenantId, RequestInfo requestInfo) {
+		Map<String, OwnerInfo> users = userCache.getUsers(uuids);
+		Set<String> missingUuids = uuids.stream().filter(uuid -> !users.containsKey(uuid))
+				.collect(Collectors.toCollection(TreeSet::new));
+		UserDetailResponse userDetailResponse = new UserDetailResponse();
+		if (!missingUuids.isEmpty()) {
+			userDetailResponse = userCache.coalesce(tenantId + missingUuids, () -> {
+				UserSearchRequest userSearchRequest = getBaseUserSearchRequest(tenantId, requestInfo);
+				userSearchRequest.setUuid(missingUuids);
+				UserDetailResponse response = getUser(userSearchRequest);
+				if (!CollectionUtils.isEmpty(response.getUser()))
+					userCache.putUsers(response.getUser());
+				return response;
+			});
+			if (!CollectionUtils.isEmpty(userDetailResponse.getUser()))
+				userDetailResponse.getUser().forEach(user -> users.put(user.getUuid(), user));
+		}
+		return new UserDetailResponse(userDetailResponse.getResponseInfo(), new ArrayList<>(users.values()));
+	}
+	
 	/**
 	 * Get user based on given property
 	 * @param userSearchRequest
@@ -308,6 +345,9 @@ public class UserService {
 		UserDetailResponse userDetailResponse = userCall(userSearchRequest, uri);
 		if (CollectionUtils.isEmpty(userDetailResponse.getUser()))
 			return Collections.emptySet();
+		// active users are cached for the holder enrichment of the same search
+		userCache.putUsers(userDetailResponse.getUser().stream().filter(user -> Boolean.TRUE.equals(user.getActive()))
+				.collect(Collectors.toList()));
 		return userDetailResponse.getUser().stream().map(OwnerInfo::getUuid).collect(Collectors.toSet());
 	}
 
@@ -321,10 +361,18 @@ public class UserService {
 	public Set<String> getUUIDForUsers(String mobileNumber, String tenantId, RequestInfo requestInfo) {
 		//TenantId is not mandatory when Citizen searches. So it can be empty. Refer the value from UserInfo
 		tenantId = StringUtils.isEmpty(tenantId) ? requestInfo.getUserInfo().getTenantId() : tenantId;
-		UserSearchRequest userSearchRequest = UserSearchRequest.builder()
-				.requestInfo(requestInfo).userType("CITIZEN")
-				.tenantId(tenantId).mobileNumber(mobileNumber).build();
-		return getUsersUUID(userSearchRequest);
+		Set<String> uuids = userCache.getUuids(tenantId, mobileNumber);
+		if (uuids != null)
+			return uuids;
+		String searchTenantId = tenantId;
+		return userCache.coalesce(userCache.getKey(tenantId, mobileNumber), () -> {
+			UserSearchRequest userSearchRequest = UserSearchRequest.builder()
+					.requestInfo(requestInfo).userType("CITIZEN")
+					.tenantId(searchTenantId).mobileNumber(mobileNumber).build();
+			Set<String> userIds = getUsersUUID(userSearchRequest);
+			userCache.putUuids(searchTenantId, mobileNumber, userIds);
+			return userIds;
+		});
 	}
 
 	public void updateUser(WaterConnectionRequest request, WaterConnection existingWaterConnection) {
@@ -340,5 +388,8 @@ public class UserService {
 
 		//Update connection holder.
 		createUser(request);
+		// existing holders are evicted only once user service has updated them
+		if (!CollectionUtils.isEmpty(existingWaterConnection.getConnectionHolders()))
+			userCache.evict(existingWaterConnection.getConnectionHolders());
 	}
 }
@@ -1,5 +1,6 @@
 package org.egov.waterconnection.service;
 
+import java.util.Iterator;
 import java.util.List;
 
 import org.egov.common.contract.request.RequestInfo;
@@ -12,6 +13,8 @@ public interface WaterService {
 	List<WaterConnection> createWaterConnection(WaterConnectionRequest waterConnectionRequest);
 
 	List<WaterConnection> search(SearchCriteria criteria, RequestInfo requestInfo);
+
+	Iterator<List<WaterConnection>> export(SearchCriteria criteria, RequestInfo requestInfo);
 	
 	List<WaterConnection> updateWaterConnection(WaterConnectionRequest waterConnectionRequest);
 
@@ -3,6 +3,7 @@ package org.egov.waterconnection.service;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -126,6 +127,46 @@ public class WaterServiceImpl implements WaterService {
 		return waterConnectionList;
 	}
 
+	/**
+	 * Pages through all the matching water connections, holders of every
+	 * page are enriched with one user search when the page is read. The
+	 * connection search type is filtered as in search. The criteria are
+	 * resolved when this method is called, so that invalid criteria fail
+	 * before the export starts
+	 * 
+	 * @param criteria
+	 *            WaterConnectionSearchCriteria contains search criteria on water
+	 *            connection
+	 * @param requestInfo
+	 * @return Pages of matching water connections, a page may be empty after
+	 *         the filter of the connection search type
+	 */
+	@Override
+	public Iterator<List<WaterConnection>> export(SearchCriteria criteria, RequestInfo requestInfo) {
+		boolean isConnectionSearch = !StringUtils.isEmpty(criteria.getSearchType())
+				&& criteria.getSearchType().equals(WCConstants.SEARCH_TYPE_CONNECTION);
+		Iterator<List<WaterConnection>> pages = waterDao.getWaterConnectionPages(criteria, requestInfo);
+		return new Iterator<List<WaterConnection>>() {
+
+			@Override
+			public boolean hasNext() {
+				return pages.hasNext();
+			}
+
+			@Override
+			public List<WaterConnection> next() {
+				List<WaterConnection> connections = pages.next();
+				List<WaterConnection> waterConnectionList = isConnectionSearch
+						? enrichmentService.filterConnections(connections) : connections;
+				if (waterConnectionList.isEmpty())
+					return waterConnectionList;
+				waterConnectionValidator.validatePropertyForConnection(waterConnectionList);
+				enrichmentService.enrichConnectionHolderDeatils(waterConnectionList, criteria, requestInfo);
+				return waterConnectionList;
+			}
+		};
+	}
+
 	/**
 	 * 
 	 * @param criteria
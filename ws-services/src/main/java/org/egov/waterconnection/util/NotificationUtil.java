@@ -1,7 +1,5 @@
 package org.egov.waterconnection.util;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
@@ -12,13 +10,10 @@ import org.egov.waterconnection.web.models.EventRequest;
 import org.egov.waterconnection.web.models.SMSRequest;
 import org.egov.waterconnection.producer.WaterConnectionProducer;
 import org.egov.waterconnection.repository.ServiceRequestRepository;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
-import com.jayway.jsonpath.JsonPath;
-
 import lombok.extern.slf4j.Slf4j;
 
 @Component
@@ -34,6 +29,9 @@ public class NotificationUtil {
 	@Autowired
 	private WaterConnectionProducer producer;
 	
+	@Autowired
+	private LocalizationCache localizationCache;
+	
 	
 	/**
 	 * Returns the uri for the localization call
@@ -68,10 +66,7 @@ public class NotificationUtil {
 	 * @return Localization messages for the module
 	 */
 	public String getLocalizationMessages(String tenantId, RequestInfo requestInfo) {
-		@SuppressWarnings("rawtypes")
-		LinkedHashMap responseMap = (LinkedHashMap) serviceRequestRepository.fetchResult(getUri(tenantId, requestInfo),
-				requestInfo);
-		return new JSONObject(responseMap).toString();
+		return localizationCache.getLocalizationMessages(getUri(tenantId, requestInfo), requestInfo);
 	}
 	
 	/**
@@ -82,18 +77,7 @@ public class NotificationUtil {
 	 * @return message for the specific code
 	 */
 	public String getMessageTemplate(String notificationCode, String localizationMessage) {
-		String path = "$..messages[?(@.code==\"{}\")].message";
-		path = path.replace("{}", notificationCode);
-		String message = null;
-		try {
-			ArrayList<String> messageObj = (ArrayList<String>) JsonPath.parse(localizationMessage).read(path);
-			if(messageObj != null && messageObj.size() > 0) {
-				message = messageObj.get(0);
-			}
-		} catch (Exception e) {
-			log.warn("Fetching from localization failed", e);
-		}
-		return message;
+		return localizationCache.getMessageTemplate(notificationCode, localizationMessage);
 	}
 	
 	
@@ -0,0 +1,191 @@
+package org.egov.waterconnection.util;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.egov.tracer.model.CustomException;
+import org.egov.waterconnection.config.WSConfiguration;
+import org.egov.waterconnection.web.models.OwnerInfo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Short lived in-process cache of the users fetched from user service, keyed
+ * on uuid, and of the user uuids of a mobile number, keyed on tenant id and
+ * mobile number. Both maps are bounded by the configured size and drop the
+ * least recently used entry on overflow.
+ *
+ * Concurrent lookups of the same key are coalesced, only the first caller
+ * calls user service and the rest wait for its result.
+ *
+ * Cached users are shared between the callers and must not be modified.
+ *
+ * Eviction only reaches the cache of this instance. A user updated through
+ * another replica, or directly in user service, stays cached here until the
+ * entry expires, so egov.user.cache.expiry.seconds bounds how stale a cached
+ * user can be.
+ */
+@Component
+public class UserCache {
+
+	private static final String KEY_SEPARATOR = "|";
+
+	@Autowired
+	private WSConfiguration config;
+
+	private Map<String, CacheEntry<OwnerInfo>> usersByUuid;
+
+	private Map<String, CacheEntry<Set<String>>> uuidsByMobileNumber;
+
+	private final Map<String, CompletableFuture<Object>> inFlightCalls = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	public void init() {
+		usersByUuid = boundedMap(config.getUserCacheMaxSize());
+		uuidsByMobileNumber = boundedMap(config.getUserCacheMaxSize());
+	}
+
+	/**
+	 *
+	 * @param uuids Uuids of the users
+	 * @return Cached users of the given uuids which are not expired
+	 */
+	public Map<String, OwnerInfo> getUsers(Collection<String> uuids) {
+		Map<String, OwnerInfo> users = new HashMap<>();
+		uuids.forEach(uuid -> {
+			OwnerInfo user = getValue(usersByUuid, uuid);
+			if (user != null)
+				users.put(uuid, user);
+		});
+		return users;
+	}
+
+	public void putUsers(Collection<OwnerInfo> users) {
+		long expiryTime = getExpiryTime();
+		users.stream().filter(user -> !StringUtils.isEmpty(user.getUuid()))
+				.forEach(user -> usersByUuid.put(user.getUuid(), new CacheEntry<>(user, expiryTime)));
+	}
+
+	/**
+	 *
+	 * @param tenantId Tenant Id
+	 * @param mobileNumber Mobile number
+	 * @return Cached uuids of the users of the mobile number, null on a miss
+	 */
+	public Set<String> getUuids(String tenantId, String mobileNumber) {
+		return getValue(uuidsByMobileNumber, getKey(tenantId, mobileNumber));
+	}
+
+	public void putUuids(String tenantId, String mobileNumber, Set<String> uuids) {
+		uuidsByMobileNumber.put(getKey(tenantId, mobileNumber),
+				new CacheEntry<>(Collections.unmodifiableSet(uuids), getExpiryTime()));
+	}
+
+	/**
+	 * Removes the cached users of the given users and the cached uuids of
+	 * their mobile numbers
+	 *
+	 * @param users Users created or updated in user service
+	 */
+	public void evict(Collection<OwnerInfo> users) {
+		users.forEach(user -> {
+			if (!StringUtils.isEmpty(user.getUuid()))
+				usersByUuid.remove(user.getUuid());
+			if (!StringUtils.isEmpty(user.getMobileNumber())) {
+				String suffix = KEY_SEPARATOR + user.getMobileNumber();
+				synchronized (uuidsByMobileNumber) {
+					uuidsByMobileNumber.keySet().removeIf(key -> key.endsWith(suffix));
+				}
+			}
+		});
+	}
+
+	/**
+	 * Runs the loader for the key unless a call for the same key is already
+	 * running, in which case the result of that call is returned
+	 *
+	 * @param key Key of the call, equal for calls returning the same result
+	 * @param loader Call to user service
+	 * @return Result of the loader
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T coalesce(String key, Supplier<T> loader) {
+		CompletableFuture<Object> call = new CompletableFuture<>();
+		CompletableFuture<Object> runningCall = inFlightCalls.putIfAbsent(key, call);
+		if (runningCall != null) {
+			try {
+				return (T) runningCall.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CustomException("USER_SEARCH_INTERRUPTED", "Interrupted while waiting for the user search");
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException)
+					throw (RuntimeException) e.getCause();
+				throw new CustomException("USER_SEARCH_ERROR", e.getCause().getMessage());
+			}
+		}
+		try {
+			T result = loader.get();
+			call.complete(result);
+			return result;
+		} catch (RuntimeException e) {
+			call.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlightCalls.remove(key, call);
+		}
+	}
+
+	private <T> T getValue(Map<String, CacheEntry<T>> cache, String key) {
+		CacheEntry<T> entry = cache.get(key);
+		if (entry == null)
+			return null;
+		if (System.currentTimeMillis() >= entry.getExpiryTime()) {
+			cache.remove(key);
+			return null;
+		}
+		return entry.getValue();
+	}
+
+	private long getExpiryTime() {
+		return System.currentTimeMillis() + config.getUserCacheExpirySeconds() * 1000L;
+	}
+
+	public String getKey(String tenantId, String mobileNumber) {
+		return tenantId + KEY_SEPARATOR + mobileNumber;
+	}
+
+	private static <V> Map<String, V> boundedMap(int maxSize) {
+		return Collections.synchronizedMap(new LinkedHashMap<String, V>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+				return size() > maxSize;
+			}
+		});
+	}
+
+	@Getter
+	@AllArgsConstructor
+	private static class CacheEntry<T> {
+
+		private final T value;
+
+		private final long expiryTime;
+	}
+}
@@ -1,8 +1,13 @@
 package org.egov.waterconnection.web.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import javax.validation.Valid;
 
+import org.egov.waterconnection.constants.WCConstants;
 import org.egov.waterconnection.web.models.RequestInfoWrapper;
 import org.egov.waterconnection.web.models.SearchCriteria;
 import org.egov.waterconnection.web.models.WaterConnection;
@@ -19,11 +24,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Getter
 @Setter
 @Builder
@@ -37,6 +47,9 @@ public class WaterController {
 	@Autowired
 	private final ResponseInfoFactory responseInfoFactory;
 
+	@Autowired
+	private ObjectMapper mapper;
+
 	@RequestMapping(value = "/_create", method = RequestMethod.POST, produces = "application/json")
 	public ResponseEntity<WaterConnectionResponse> createWaterConnection(
 			@Valid @RequestBody WaterConnectionRequest waterConnectionRequest) {
@@ -55,10 +68,45 @@ public class WaterController {
 		WaterConnectionResponse response = WaterConnectionResponse.builder().waterConnection(waterConnectionList)
 				.responseInfo(responseInfoFactory.createResponseInfoFromRequestInfo(requestInfoWrapper.getRequestInfo(),
 						true))
-				.build();
+				.nextPageToken(criteria.getNextPageToken()).build();
 		return new ResponseEntity<>(response, HttpStatus.OK);
 	}
 
+	/**
+	 * Streams the matching connections as newline delimited JSON. The criteria
+	 * are resolved and the first page is read before the response is
+	 * returned, so that they fail with an error response. Once the body is
+	 * being written the status is already sent, a failure of a later page is
+	 * logged and ends the body.
+	 */
+	@RequestMapping(value = "/_export", method = RequestMethod.POST, produces = WCConstants.NDJSON_CONTENT_TYPE)
+	public ResponseEntity<StreamingResponseBody> export(@Valid @RequestBody RequestInfoWrapper requestInfoWrapper,
+			@Valid @ModelAttribute SearchCriteria criteria) {
+		Iterator<List<WaterConnection>> pages = waterService.export(criteria, requestInfoWrapper.getRequestInfo());
+		List<WaterConnection> firstPage = pages.hasNext() ? pages.next() : Collections.emptyList();
+		StreamingResponseBody responseBody = outputStream -> {
+			try {
+				writeConnections(outputStream, firstPage);
+				while (pages.hasNext())
+					writeConnections(outputStream, pages.next());
+			} catch (Exception ex) {
+				log.error("Export of water connections failed after the response was started", ex);
+			} finally {
+				outputStream.close();
+			}
+		};
+		return new ResponseEntity<>(responseBody, HttpStatus.OK);
+	}
+
+	private void writeConnections(OutputStream outputStream, List<WaterConnection> waterConnectionList)
+			throws IOException {
+		for (WaterConnection waterConnection : waterConnectionList) {
+			outputStream.write(mapper.writeValueAsBytes(waterConnection));
+			outputStream.write('\n');
+		}
+		outputStream.flush();
+	}
+
 	@RequestMapping(value = "/_update", method = RequestMethod.POST, produces = "application/json")
 	public ResponseEntity<WaterConnectionResponse> updateWaterConnection(
 			@Valid @RequestBody WaterConnectionRequest waterConnectionRequest) {
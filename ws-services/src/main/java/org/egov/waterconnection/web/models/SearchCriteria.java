@@ -42,6 +42,9 @@ public class SearchCriteria {
 	@JsonProperty("connectionNumber")
 	private String connectionNumber;
 
+	@JsonProperty("connectionNumbers")
+	private Set<String> connectionNumbers;
+
 	@JsonProperty("oldConnectionNumber")
 	private String oldConnectionNumber;
 
@@ -72,6 +75,15 @@ public class SearchCriteria {
 	@JsonProperty("searchType")
 	private String searchType = "APPLICATION";
 
+	@JsonProperty("paginationMode")
+	private String paginationMode;
+
+	@JsonProperty("pageToken")
+	private String pageToken;
+
+	@JsonIgnore
+	private String nextPageToken;
+
 	@JsonIgnore
 	private List<String> ownerIds;
 
@@ -79,6 +91,7 @@ public class SearchCriteria {
 		return (StringUtils.isEmpty(this.tenantId) && StringUtils.isEmpty(this.mobileNumber)
 				&& StringUtils.isEmpty(this.propertyId) && CollectionUtils.isEmpty(this.ids)
 				&& StringUtils.isEmpty(this.oldConnectionNumber) && StringUtils.isEmpty(this.connectionNumber)
+				&& CollectionUtils.isEmpty(this.connectionNumbers)
 				&& StringUtils.isEmpty(this.status) && StringUtils.isEmpty(this.applicationNumber)
 				&& StringUtils.isEmpty(this.applicationStatus) && StringUtils.isEmpty(this.fromDate)
 				&& StringUtils.isEmpty(this.toDate) && StringUtils.isEmpty(this.applicationType));
@@ -86,7 +99,7 @@ public class SearchCriteria {
 
 	public boolean tenantIdOnly() {
 		return (this.tenantId != null && this.status == null && this.ids == null && this.applicationNumber == null
-				&& this.connectionNumber == null && this.oldConnectionNumber == null && this.mobileNumber == null
+				&& this.connectionNumber == null && this.connectionNumbers == null && this.oldConnectionNumber == null && this.mobileNumber == null
 				&& this.fromDate == null && this.toDate == null && this.ownerIds == null && this.propertyId == null
 				&& this.applicationType == null);
 	}
@@ -37,6 +37,9 @@ public class WaterConnectionResponse {
 	@Valid
 	private List<WaterConnection> waterConnection = null;
 
+	@JsonProperty("nextPageToken")
+	private String nextPageToken = null;
+
 	public WaterConnectionResponse responseInfo(ResponseInfo responseInfo) {
 		this.responseInfo = responseInfo;
 		return this;
@@ -96,12 +99,13 @@ public class WaterConnectionResponse {
 		}
 		WaterConnectionResponse waterConnectionResponse = (WaterConnectionResponse) o;
 		return Objects.equals(this.responseInfo, waterConnectionResponse.responseInfo)
-				&& Objects.equals(this.waterConnection, waterConnectionResponse.waterConnection);
+				&& Objects.equals(this.waterConnection, waterConnectionResponse.waterConnection)
+				&& Objects.equals(this.nextPageToken, waterConnectionResponse.nextPageToken);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(responseInfo, waterConnection);
+		return Objects.hash(responseInfo, waterConnection, nextPageToken);
 	}
 
 	@Override
@@ -111,6 +115,7 @@ public class WaterConnectionResponse {
 
 		sb.append("    responseInfo: ").append(toIndentedString(responseInfo)).append("\n");
 		sb.append("    waterConnection: ").append(toIndentedString(waterConnection)).append("\n");
+		sb.append("    nextPageToken: ").append(toIndentedString(nextPageToken)).append("\n");
 		sb.append("}");
 		return sb.toString();
 	}
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS index_eg_ws_service_keyset ON eg_ws_service ((COALESCE(appCreatedDate, 0)) DESC, connection_id DESC);
\ No newline at end of file
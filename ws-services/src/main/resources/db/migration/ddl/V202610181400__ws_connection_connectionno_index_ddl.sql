@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS index_eg_ws_connection_connectionno_id ON eg_ws_connection (connectionno, id);
\ No newline at end of file
@@ -0,0 +1,154 @@
+package org.egov.waterconnection.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.egov.common.contract.request.RequestInfo;
+import org.egov.tracer.model.CustomException;
+import org.egov.waterconnection.config.WSConfiguration;
+import org.egov.waterconnection.constants.WCConstants;
+import org.egov.waterconnection.repository.builder.WsQueryBuilder;
+import org.egov.waterconnection.web.models.SearchCriteria;
+import org.egov.waterconnection.web.models.WaterConnection;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Walks the keyset pages of WaterDaoImpl over a table of connections, every
+ * connection has to be visited exactly once, also when connections share an
+ * app created date and when the last page is full.
+ */
+public class WaterDaoImplTest {
+
+	private static final String TENANT_ID = "pb.amritsar";
+
+	@Test
+	public void pagesVisitEveryConnectionOnce() {
+		long[] appCreatedDates = { 0, 0, 0, 1589865600000L, 1589865600000L, 1589865600000L, 1589865600000L,
+				1589952000000L, 1590038400000L, 1590038400000L, 1590124800000L };
+		ConnectionTable table = new ConnectionTable();
+		for (int i = 0; i < appCreatedDates.length; i++)
+			table.rows.add(new Object[] { "WS-" + (char) ('a' + (i * 7) % appCreatedDates.length), appCreatedDates[i] });
+		List<String> expected = table.rows.stream().sorted(ConnectionTable.KEYSET_ORDER).map(row -> (String) row[0])
+				.collect(Collectors.toList());
+
+		for (int pageSize = 1; pageSize <= expected.size() + 1; pageSize++) {
+			table.idQueryCount = 0;
+			WaterDaoImpl waterDao = getWaterDao(table, pageSize);
+			SearchCriteria criteria = SearchCriteria.builder().tenantId(TENANT_ID)
+					.paginationMode(WCConstants.PAGINATION_MODE_KEYSET).build();
+			List<String> visited = new ArrayList<>();
+			do {
+				waterDao.getWaterConnectionList(criteria, new RequestInfo())
+						.forEach(connection -> visited.add(connection.getId()));
+				criteria.setPageToken(criteria.getNextPageToken());
+			} while (criteria.getPageToken() != null && table.idQueryCount <= expected.size());
+			assertEquals("page size " + pageSize, expected, visited);
+			// a full last page cannot tell that it is the last one, an empty page follows it
+			int pageCount = expected.size() / pageSize + 1;
+			assertEquals("page size " + pageSize, pageCount, table.idQueryCount);
+		}
+	}
+
+	@Test
+	public void invalidPageTokensAreRejected() {
+		WaterDaoImpl waterDao = getWaterDao(new ConnectionTable(), 50);
+		for (String pageToken : Arrays.asList("not a token", encode("abc:id"), encode("1589865600000"),
+				encode("1589865600000:"), encode(":id"))) {
+			SearchCriteria criteria = SearchCriteria.builder().tenantId(TENANT_ID)
+					.paginationMode(WCConstants.PAGINATION_MODE_KEYSET).pageToken(pageToken).build();
+			try {
+				waterDao.getWaterConnectionList(criteria, new RequestInfo());
+				fail("accepted the page token " + pageToken);
+			} catch (CustomException ex) {
+				assertEquals("INVALID_PAGE_TOKEN", ex.getCode());
+			}
+		}
+	}
+
+	private static WaterDaoImpl getWaterDao(ConnectionTable table, int pageSize) {
+		WsQueryBuilder queryBuilder = new WsQueryBuilder();
+		ReflectionTestUtils.setField(queryBuilder, "config",
+				WSConfiguration.builder().defaultLimit(pageSize).maxLimit(pageSize).defaultOffset(0).build());
+		WaterDaoImpl waterDao = new WaterDaoImpl();
+		ReflectionTestUtils.setField(waterDao, "jdbcTemplate", table);
+		ReflectionTestUtils.setField(waterDao, "wsQueryBuilder", queryBuilder);
+		return waterDao;
+	}
+
+	private static String encode(String pageToken) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(pageToken.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Answers the queries of WaterDaoImpl from rows of connection id and app
+	 * created date, the id page query is run with the values bound to it and
+	 * the connections, documents, plumbers and holders of a page are stubbed
+	 */
+	private static class ConnectionTable extends JdbcTemplate {
+
+		private static final Comparator<Object[]> KEYSET_ORDER = Comparator
+				.<Object[], Long> comparing(row -> (Long) row[1]).thenComparing(row -> (String) row[0]).reversed();
+
+		private final List<Object[]> rows = new ArrayList<>();
+
+		private int idQueryCount;
+
+		@Override
+		public void query(String sql, Object[] args, RowCallbackHandler rch) {
+			if (!sql.trim().endsWith("LIMIT ?"))
+				return;
+			idQueryCount++;
+			int limit = (Integer) args[args.length - 1];
+			Object[] after = sql.contains("< (?, ?)") ? new Object[] { args[args.length - 2], args[args.length - 3] }
+					: null;
+			List<Object[]> page = rows.stream().sorted(KEYSET_ORDER)
+					.filter(row -> after == null || KEYSET_ORDER.compare(row, after) > 0).limit(limit)
+					.collect(Collectors.toList());
+			for (Object[] row : page) {
+				try {
+					rch.processRow(getResultSet(row));
+				} catch (SQLException ex) {
+					throw new IllegalStateException(ex);
+				}
+			}
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> T query(String sql, Object[] args, ResultSetExtractor<T> rse) {
+			List<WaterConnection> connections = new ArrayList<>();
+			for (Object id : args) {
+				WaterConnection connection = new WaterConnection();
+				connection.setId((String) id);
+				connections.add(connection);
+			}
+			return (T) connections;
+		}
+
+		private static ResultSet getResultSet(Object[] row) {
+			return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+					new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+						if (method.getName().equals("getString") && "conn_id".equals(args[0]))
+							return row[0];
+						if (method.getName().equals("getLong") && "appCreatedDate".equals(args[0]))
+							return row[1];
+						throw new UnsupportedOperationException(method.getName());
+					});
+		}
+	}
+}